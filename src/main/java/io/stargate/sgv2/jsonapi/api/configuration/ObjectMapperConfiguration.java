@@ -5,11 +5,15 @@ import com.fasterxml.jackson.core.StreamReadConstraints;
 import com.fasterxml.jackson.core.StreamReadFeature;
 import com.fasterxml.jackson.core.StreamWriteFeature;
 import com.fasterxml.jackson.databind.*;
+import com.fasterxml.jackson.databind.cfg.ContextAttributes;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import io.quarkus.jackson.ObjectMapperCustomizer;
+import io.stargate.sgv2.jsonapi.api.model.command.deserializers.InsertManyDocumentsDeserializer;
+import io.stargate.sgv2.jsonapi.api.model.command.deserializers.VectorAwareJsonNodeDeserializer;
 import io.stargate.sgv2.jsonapi.api.model.command.serializer.CqlVectorSerializer;
 import io.stargate.sgv2.jsonapi.config.DocumentLimitsConfig;
+import io.stargate.sgv2.jsonapi.config.OperationsConfig;
 import jakarta.enterprise.inject.Instance;
 import jakarta.enterprise.inject.Produces;
 import jakarta.inject.Singleton;
@@ -20,8 +24,10 @@ public class ObjectMapperConfiguration {
   @Singleton
   @Produces
   ObjectMapper objectMapper(
-      DocumentLimitsConfig documentLimitsConfig, Instance<ObjectMapperCustomizer> customizers) {
-    ObjectMapper mapper = createMapper(documentLimitsConfig);
+      DocumentLimitsConfig documentLimitsConfig,
+      OperationsConfig operationsConfig,
+      Instance<ObjectMapperCustomizer> customizers) {
+    ObjectMapper mapper = createMapper(documentLimitsConfig, operationsConfig);
     // apply all ObjectMapperCustomizer beans (incl. Quarkus)
     for (ObjectMapperCustomizer customizer : customizers) {
       customizer.customize(mapper);
@@ -34,7 +40,8 @@ public class ObjectMapperConfiguration {
     return mapper;
   }
 
-  private ObjectMapper createMapper(DocumentLimitsConfig documentLimitsConfig) {
+  private ObjectMapper createMapper(
+      DocumentLimitsConfig documentLimitsConfig, OperationsConfig operationsConfig) {
     int maxNumLen = documentLimitsConfig.maxNumberLength();
 
     // Number token limit handled by lower-level parser factory, need to construct first:
@@ -60,9 +67,12 @@ public class ObjectMapperConfiguration {
              */
             .disable(StreamWriteFeature.WRITE_BIGDECIMAL_AS_PLAIN)
             .build();
-    // For now, just one custom serializer to register
     SimpleModule cqlSerializersModule =
         new SimpleModule("CqlVectorSerializerModule").addSerializer(new CqlVectorSerializer());
+    // Reads $vector arrays as floats, while other numbers stay exact (see below)
+    SimpleModule vectorDeserializersModule =
+        new SimpleModule("VectorDeserializerModule")
+            .addDeserializer(JsonNode.class, new VectorAwareJsonNodeDeserializer());
     JsonMapper mapper =
         JsonMapper.builder(jsonFactory)
             // important for retaining number accuracy!
@@ -71,8 +81,21 @@ public class ObjectMapperConfiguration {
             .enable(MapperFeature.ACCEPT_CASE_INSENSITIVE_ENUMS)
             // Add custom serializers/deserializers:
             .addModule(cqlSerializersModule)
+            .addModule(vectorDeserializersModule)
             // And problem (error) handler too
             .addHandler(new CommandObjectMapperHandler())
+            // An insertMany over the limits fails as soon as it is read
+            .defaultAttributes(
+                ContextAttributes.getEmpty()
+                    .withSharedAttribute(
+                        InsertManyDocumentsDeserializer.MAX_DOCUMENTS_ATTRIBUTE,
+                        operationsConfig.maxDocumentInsertCount())
+                    .withSharedAttribute(
+                        InsertManyDocumentsDeserializer.MAX_DOCUMENT_SIZE_ATTRIBUTE,
+                        documentLimitsConfig.maxSize())
+                    .withSharedAttribute(
+                        InsertManyDocumentsDeserializer.MAX_DOCUMENT_DEPTH_ATTRIBUTE,
+                        documentLimitsConfig.maxDepth()))
             .build();
     return mapper;
   }
@@ -11,7 +11,9 @@ import io.stargate.sgv2.jsonapi.config.feature.ApiFeatures;
 import io.stargate.sgv2.jsonapi.logging.LoggingMDCContext;
 import io.stargate.sgv2.jsonapi.metrics.CommandFeatures;
 import io.stargate.sgv2.jsonapi.metrics.JsonProcessingMetricsReporter;
+import io.stargate.sgv2.jsonapi.service.cql.builder.CqlTemplateCache;
 import io.stargate.sgv2.jsonapi.service.cqldriver.CQLSessionCache;
+import io.stargate.sgv2.jsonapi.service.cqldriver.executor.HedgedReadStats;
 import io.stargate.sgv2.jsonapi.service.embedding.operation.EmbeddingProvider;
 import io.stargate.sgv2.jsonapi.service.embedding.operation.EmbeddingProviderFactory;
 import io.stargate.sgv2.jsonapi.service.reranking.operation.RerankingProviderFactory;
@@ -53,6 +55,8 @@ public class CommandContext<SchemaT extends SchemaObject> implements LoggingMDCC
   private final EmbeddingProviderFactory embeddingProviderFactory;
   private final RerankingProviderFactory rerankingProviderFactory;
   private final MeterRegistry meterRegistry;
+  private final HedgedReadStats hedgedReadStats;
+  private final CqlTemplateCache cqlTemplateCache;
 
   // Request specific
   private final SchemaT schemaObject;
@@ -83,7 +87,9 @@ public class CommandContext<SchemaT extends SchemaObject> implements LoggingMDCC
       CommandConfig commandConfig,
       EmbeddingProviderFactory embeddingProviderFactory,
       RerankingProviderFactory rerankingProviderFactory,
-      MeterRegistry meterRegistry) {
+      MeterRegistry meterRegistry,
+      HedgedReadStats hedgedReadStats,
+      CqlTemplateCache cqlTemplateCache) {
 
     // Common for all instances
     this.cqlSessionCache = cqlSessionCache;
@@ -92,6 +98,8 @@ public class CommandContext<SchemaT extends SchemaObject> implements LoggingMDCC
     this.jsonProcessingMetricsReporter = jsonProcessingMetricsReporter;
     this.meterRegistry = meterRegistry;
     this.rerankingProviderFactory = rerankingProviderFactory;
+    this.hedgedReadStats = hedgedReadStats;
+    this.cqlTemplateCache = cqlTemplateCache;
 
     // Request specific
     this.embeddingProvider = embeddingProvider; // to be removed later, this is a single provider
@@ -202,6 +210,14 @@ public class CommandContext<SchemaT extends SchemaObject> implements LoggingMDCC
     return meterRegistry;
   }
 
+  public HedgedReadStats hedgedReadStats() {
+    return hedgedReadStats;
+  }
+
+  public CqlTemplateCache cqlTemplateCache() {
+    return cqlTemplateCache;
+  }
+
   public boolean isCollectionContext() {
     return schemaObject().type() == SchemaObjectType.COLLECTION;
   }
@@ -270,6 +286,8 @@ public class CommandContext<SchemaT extends SchemaObject> implements LoggingMDCC
     private EmbeddingProviderFactory embeddingProviderFactory;
     private RerankingProviderFactory rerankingProviderFactory;
     private MeterRegistry meterRegistry;
+    private HedgedReadStats hedgedReadStats;
+    private CqlTemplateCache cqlTemplateCache;
 
     BuilderSupplier() {}
 
@@ -306,6 +324,16 @@ public class CommandContext<SchemaT extends SchemaObject> implements LoggingMDCC
       return this;
     }
 
+    public BuilderSupplier withHedgedReadStats(HedgedReadStats hedgedReadStats) {
+      this.hedgedReadStats = hedgedReadStats;
+      return this;
+    }
+
+    public BuilderSupplier withCqlTemplateCache(CqlTemplateCache cqlTemplateCache) {
+      this.cqlTemplateCache = cqlTemplateCache;
+      return this;
+    }
+
     public <SchemaT extends SchemaObject> Builder<SchemaT> getBuilder(SchemaT schemaObject) {
 
       Objects.requireNonNull(
@@ -315,6 +343,8 @@ public class CommandContext<SchemaT extends SchemaObject> implements LoggingMDCC
       Objects.requireNonNull(embeddingProviderFactory, "embeddingProviderFactory must not be null");
       Objects.requireNonNull(rerankingProviderFactory, "rerankingProviderFactory must not be null");
       Objects.requireNonNull(meterRegistry, "meterRegistry must not be null");
+      Objects.requireNonNull(hedgedReadStats, "hedgedReadStats must not be null");
+      Objects.requireNonNull(cqlTemplateCache, "cqlTemplateCache must not be null");
 
       // SchemaObject is passed here so the generics gets locked here, makes call chaining easier
       Objects.requireNonNull(schemaObject, "schemaObject must not be null");
@@ -382,7 +412,9 @@ public class CommandContext<SchemaT extends SchemaObject> implements LoggingMDCC
                 commandConfig,
                 embeddingProviderFactory,
                 rerankingProviderFactory,
-                meterRegistry);
+                meterRegistry,
+                hedgedReadStats,
+                cqlTemplateCache);
         context.addToMDC();
         return context;
       }
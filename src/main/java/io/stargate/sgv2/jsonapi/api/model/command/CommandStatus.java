@@ -137,6 +137,14 @@ public enum CommandStatus {
   @JsonProperty(Names.SORTED_ROW_COUNT)
   SORTED_ROW_COUNT(Names.SORTED_ROW_COUNT),
 
+  /**
+   * The age in milliseconds of a result served from the read result cache, only present when the
+   * result came from the cache. The result may not include writes made in that time through other
+   * nodes.
+   */
+  @JsonProperty(Names.CACHED_RESULT_AGE)
+  CACHED_RESULT_AGE(Names.CACHED_RESULT_AGE),
+
   /** The internal tracing for processing the request. */
   @JsonProperty(Names.TRACE)
   TRACE(Names.TRACE),
@@ -183,6 +191,7 @@ public enum CommandStatus {
     String PRIMARY_KEY_SCHEMA = "primaryKeySchema";
     String PROJECTION_SCHEMA = "projectionSchema";
     String SORTED_ROW_COUNT = "sortedRowCount";
+    String CACHED_RESULT_AGE = "cachedResultAgeMillis";
     String TRACE = "trace";
   }
 }
@@ -2,10 +2,10 @@ package io.stargate.sgv2.jsonapi.api.model.command.clause.update;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.stargate.sgv2.jsonapi.config.constants.DocumentConstants;
+import io.stargate.sgv2.jsonapi.util.FloatVectorNode;
 
 /**
  * This operation will be used to pass along $vectorize content and provides a method to update a
@@ -24,11 +24,7 @@ public record EmbeddingUpdateOperation(String vectorizeContent) {
   public void updateDocument(JsonNode doc, float[] vector) {
     ObjectMapper objectMapper = new ObjectMapper();
     JsonNodeFactory nodeFactory = objectMapper.getNodeFactory();
-    final JsonNode vectorJsonNode = doc.get(DocumentConstants.Fields.VECTOR_EMBEDDING_FIELD);
-    final ArrayNode arrayNode = nodeFactory.arrayNode(vector.length);
-    for (float listValue : vector) {
-      arrayNode.add(nodeFactory.numberNode(listValue));
-    }
-    ((ObjectNode) doc).set(DocumentConstants.Fields.VECTOR_EMBEDDING_FIELD, arrayNode);
+    final FloatVectorNode vectorNode = new FloatVectorNode(nodeFactory, vector);
+    ((ObjectNode) doc).set(DocumentConstants.Fields.VECTOR_EMBEDDING_FIELD, vectorNode);
   }
 }
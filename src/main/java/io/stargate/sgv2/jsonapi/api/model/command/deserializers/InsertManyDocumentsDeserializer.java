@@ -0,0 +1,183 @@
+package io.stargate.sgv2.jsonapi.api.model.command.deserializers;
+
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.util.JsonParserDelegate;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import io.stargate.sgv2.jsonapi.exception.DocumentException;
+import io.stargate.sgv2.jsonapi.exception.RequestException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link StdDeserializer} for the <code>documents</code> of an <code>insertMany</code> that stops
+ * reading the request as soon as it breaks a limit, rather than reading all of it first.
+ *
+ * <p>When the array has more documents than can be inserted, see {@link
+ * io.stargate.sgv2.jsonapi.config.OperationsConfig#maxDocumentInsertCount()}, the same error as the
+ * {@link io.stargate.sgv2.jsonapi.api.model.command.validation.MaxInsertManyDocuments} validation
+ * is thrown when the first document over the maximum starts, so the rest of the array is not
+ * parsed. The size and depth limits from {@link
+ * io.stargate.sgv2.jsonapi.config.DocumentLimitsConfig} are checked on each token while a document
+ * is read, the size is the length of the document in the request. These fail the whole command
+ * with the same error the shredder uses for a document over the limits.
+ *
+ * <p>The limits are read from the shared attributes of the mapper, see {@link
+ * #MAX_DOCUMENTS_ATTRIBUTE}, {@link #MAX_DOCUMENT_SIZE_ATTRIBUTE} and {@link
+ * #MAX_DOCUMENT_DEPTH_ATTRIBUTE}, a limit that is not set is not checked.
+ */
+public class InsertManyDocumentsDeserializer extends StdDeserializer<List<JsonNode>> {
+
+  /** Shared mapper attribute with the maximum number of documents. */
+  public static final String MAX_DOCUMENTS_ATTRIBUTE = "insertMany.maxDocuments";
+
+  /** Shared mapper attribute with the maximum size of a document. */
+  public static final String MAX_DOCUMENT_SIZE_ATTRIBUTE = "insertMany.maxDocumentSize";
+
+  /** Shared mapper attribute with the maximum depth of a document. */
+  public static final String MAX_DOCUMENT_DEPTH_ATTRIBUTE = "insertMany.maxDocumentDepth";
+
+  public InsertManyDocumentsDeserializer() {
+    super(List.class);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<JsonNode> deserialize(
+      JsonParser jsonParser, DeserializationContext deserializationContext) throws IOException {
+    if (!jsonParser.isExpectedStartArrayToken()) {
+      return (List<JsonNode>) deserializationContext.handleUnexpectedToken(List.class, jsonParser);
+    }
+
+    int maxDocuments = intAttribute(deserializationContext, MAX_DOCUMENTS_ATTRIBUTE);
+    int maxSize = intAttribute(deserializationContext, MAX_DOCUMENT_SIZE_ATTRIBUTE);
+    int maxDepth = intAttribute(deserializationContext, MAX_DOCUMENT_DEPTH_ATTRIBUTE);
+
+    List<JsonNode> documents = new ArrayList<>();
+    while (jsonParser.nextToken() != JsonToken.END_ARRAY) {
+      if (documents.size() >= maxDocuments) {
+        throw RequestException.Code.COMMAND_FIELD_VALUE_INVALID.get(
+            Map.of(
+                "field",
+                "documents",
+                "value",
+                "<JSON array of more than %d documents>".formatted(maxDocuments),
+                "message",
+                "amount of documents to insert is over the max limit (more than %d)"
+                    .formatted(maxDocuments)));
+      }
+      var documentParser = new DocumentLimitsParser(jsonParser, maxSize, maxDepth);
+      documents.add(deserializationContext.readValue(documentParser, JsonNode.class));
+    }
+    return documents;
+  }
+
+  private static int intAttribute(DeserializationContext deserializationContext, String name) {
+    return deserializationContext.getAttribute(name) instanceof Integer value
+        ? value
+        : Integer.MAX_VALUE;
+  }
+
+  /**
+   * Parser for one document that fails as soon as the document is deeper or longer than allowed.
+   * Created when the parser is on the first token of the document.
+   *
+   * <p>The <code>nextXxx()</code> methods that skip tokens are routed through {@link #nextToken()}
+   * so every token is checked.
+   */
+  private static class DocumentLimitsParser extends JsonParserDelegate {
+
+    private final int maxSize;
+    private final int maxDepth;
+    private final long startOffset;
+    private int depth;
+
+    DocumentLimitsParser(JsonParser jsonParser, int maxSize, int maxDepth) throws IOException {
+      super(jsonParser);
+      this.maxSize = maxSize;
+      this.maxDepth = maxDepth;
+      this.startOffset = offset(jsonParser.currentTokenLocation());
+      checkToken(jsonParser.currentToken());
+    }
+
+    @Override
+    public JsonToken nextToken() throws IOException {
+      return checkToken(super.nextToken());
+    }
+
+    @Override
+    public JsonToken nextValue() throws IOException {
+      var token = nextToken();
+      return token == JsonToken.FIELD_NAME ? nextToken() : token;
+    }
+
+    @Override
+    public String nextFieldName() throws IOException {
+      return nextToken() == JsonToken.FIELD_NAME ? currentName() : null;
+    }
+
+    @Override
+    public boolean nextFieldName(SerializableString str) throws IOException {
+      return nextToken() == JsonToken.FIELD_NAME && str.getValue().equals(currentName());
+    }
+
+    @Override
+    public String nextTextValue() throws IOException {
+      return nextToken() == JsonToken.VALUE_STRING ? getText() : null;
+    }
+
+    @Override
+    public JsonParser skipChildren() throws IOException {
+      if (currentToken() == JsonToken.START_OBJECT || currentToken() == JsonToken.START_ARRAY) {
+        int open = 1;
+        while (open > 0) {
+          var token = nextToken();
+          if (token == null) {
+            break;
+          }
+          if (token.isStructStart()) {
+            open++;
+          } else if (token.isStructEnd()) {
+            open--;
+          }
+        }
+      }
+      return this;
+    }
+
+    private JsonToken checkToken(JsonToken token) {
+      if (token == null) {
+        return null;
+      }
+      if (token.isStructStart() && ++depth > maxDepth) {
+        throw DocumentException.Code.SHRED_DOC_LIMIT_VIOLATION.get(
+            Map.of(
+                "errorMessage", "document depth exceeds maximum allowed (%d)".formatted(maxDepth)));
+      }
+      if (token.isStructEnd()) {
+        depth--;
+      }
+      long size = offset(delegate.currentLocation()) - startOffset;
+      if (startOffset >= 0 && size > maxSize) {
+        throw DocumentException.Code.SHRED_DOC_LIMIT_VIOLATION.get(
+            Map.of(
+                "errorMessage",
+                "document size (at least %d chars) exceeds maximum allowed (%d)"
+                    .formatted(size, maxSize)));
+      }
+      return token;
+    }
+
+    /** Offset in the request, chars when reading text and bytes when reading a stream. */
+    private static long offset(JsonLocation location) {
+      return location.getCharOffset() >= 0 ? location.getCharOffset() : location.getByteOffset();
+    }
+  }
+}
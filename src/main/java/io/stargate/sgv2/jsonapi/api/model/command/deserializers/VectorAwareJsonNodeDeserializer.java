@@ -0,0 +1,146 @@
+package io.stargate.sgv2.jsonapi.api.model.command.deserializers;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.deser.std.JsonNodeDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.type.LogicalType;
+import io.stargate.sgv2.jsonapi.config.constants.DocumentConstants;
+import io.stargate.sgv2.jsonapi.util.FloatVectorNode;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * {@link StdDeserializer} for {@link JsonNode} that reads <code>$vector</code> arrays straight into
+ * a {@link FloatVectorNode}, rather than a node per element.
+ *
+ * <p>The mapper uses {@link
+ * com.fasterxml.jackson.databind.DeserializationFeature#USE_BIG_DECIMAL_FOR_FLOATS} so that numbers
+ * in documents keep their accuracy, which means each element of a vector would otherwise be parsed
+ * as a {@link java.math.BigDecimal} only to be converted to a float when shredding. Vectors are
+ * stored as floats, so nothing is lost by parsing them as floats.
+ *
+ * <p>Objects and arrays are read here so we can see the property names, scalar values are left to
+ * the default {@link JsonNodeDeserializer}. A <code>$vector</code> array that contains anything
+ * other than numbers is read as a regular array, so the usual validation reports the bad value.
+ */
+public class VectorAwareJsonNodeDeserializer extends StdDeserializer<JsonNode> {
+
+  private static final JsonDeserializer<? extends JsonNode> DEFAULT_DESERIALIZER =
+      JsonNodeDeserializer.getDeserializer(JsonNode.class);
+
+  // grown by doubling, so common embedding sizes need a few copies at most
+  private static final int INITIAL_VECTOR_CAPACITY = 256;
+
+  public VectorAwareJsonNodeDeserializer() {
+    super(JsonNode.class);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public JsonNode deserialize(JsonParser jsonParser, DeserializationContext deserializationContext)
+      throws IOException {
+    if (jsonParser.hasToken(JsonToken.START_OBJECT)) {
+      return readObject(jsonParser, deserializationContext);
+    }
+    if (jsonParser.hasToken(JsonToken.START_ARRAY)) {
+      return readArray(
+          jsonParser, deserializationContext, deserializationContext.getNodeFactory().arrayNode());
+    }
+    return DEFAULT_DESERIALIZER.deserialize(jsonParser, deserializationContext);
+  }
+
+  /** Same as {@link JsonNodeDeserializer}, explicit JSON null is a {@link NullNode}. */
+  @Override
+  public JsonNode getNullValue(DeserializationContext deserializationContext) {
+    return NullNode.getInstance();
+  }
+
+  /** Same as {@link JsonNodeDeserializer}, a missing property is null not {@link NullNode}. */
+  @Override
+  public Object getAbsentValue(DeserializationContext deserializationContext) {
+    return null;
+  }
+
+  @Override
+  public boolean isCachable() {
+    return true;
+  }
+
+  @Override
+  public LogicalType logicalType() {
+    return LogicalType.Untyped;
+  }
+
+  private ObjectNode readObject(
+      JsonParser jsonParser, DeserializationContext deserializationContext) throws IOException {
+    var objectNode = deserializationContext.getNodeFactory().objectNode();
+    String name;
+    while ((name = jsonParser.nextFieldName()) != null) {
+      if (jsonParser.nextToken() == JsonToken.START_ARRAY
+          && DocumentConstants.Fields.VECTOR_EMBEDDING_FIELD.equals(name)) {
+        objectNode.replace(name, readVector(jsonParser, deserializationContext));
+      } else {
+        objectNode.replace(name, deserialize(jsonParser, deserializationContext));
+      }
+    }
+    if (!jsonParser.hasToken(JsonToken.END_OBJECT)) {
+      deserializationContext.reportWrongTokenException(
+          JsonNode.class, JsonToken.END_OBJECT, "Unexpected end-of-input in Object");
+    }
+    return objectNode;
+  }
+
+  /** Reads the remaining elements of an array into the <code>arrayNode</code>. */
+  private ArrayNode readArray(
+      JsonParser jsonParser, DeserializationContext deserializationContext, ArrayNode arrayNode)
+      throws IOException {
+    JsonToken token;
+    while ((token = jsonParser.nextToken()) != JsonToken.END_ARRAY) {
+      if (token == null) {
+        deserializationContext.reportWrongTokenException(
+            JsonNode.class, JsonToken.END_ARRAY, "Unexpected end-of-input in Array");
+      }
+      arrayNode.add(deserialize(jsonParser, deserializationContext));
+    }
+    return arrayNode;
+  }
+
+  /** Reads a <code>$vector</code> array, the parser is on the start of the array. */
+  private ArrayNode readVector(JsonParser jsonParser, DeserializationContext deserializationContext)
+      throws IOException {
+    var nodeFactory = deserializationContext.getNodeFactory();
+
+    float[] values = new float[INITIAL_VECTOR_CAPACITY];
+    int size = 0;
+    JsonToken token;
+    while ((token = jsonParser.nextToken()) == JsonToken.VALUE_NUMBER_FLOAT
+        || token == JsonToken.VALUE_NUMBER_INT) {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, size * 2);
+      }
+      values[size++] = jsonParser.getFloatValue();
+    }
+    if (token == JsonToken.END_ARRAY) {
+      return new FloatVectorNode(nodeFactory, Arrays.copyOf(values, size));
+    }
+
+    // Not all numbers, read as a regular array and leave it to validation to report the bad value
+    var arrayNode = nodeFactory.arrayNode();
+    for (int i = 0; i < size; i++) {
+      arrayNode.add(nodeFactory.numberNode(values[i]));
+    }
+    if (token == null) {
+      deserializationContext.reportWrongTokenException(
+          JsonNode.class, JsonToken.END_ARRAY, "Unexpected end-of-input in Array");
+    }
+    arrayNode.add(deserialize(jsonParser, deserializationContext));
+    return readArray(jsonParser, deserializationContext, arrayNode);
+  }
+}
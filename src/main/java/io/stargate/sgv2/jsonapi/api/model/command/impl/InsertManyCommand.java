@@ -2,9 +2,11 @@ package io.stargate.sgv2.jsonapi.api.model.command.impl;
 
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import io.stargate.sgv2.jsonapi.api.model.command.Command;
 import io.stargate.sgv2.jsonapi.api.model.command.CommandName;
 import io.stargate.sgv2.jsonapi.api.model.command.ModifyCommand;
+import io.stargate.sgv2.jsonapi.api.model.command.deserializers.InsertManyDocumentsDeserializer;
 import io.stargate.sgv2.jsonapi.api.model.command.validation.MaxInsertManyDocuments;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
@@ -25,6 +27,7 @@ public record InsertManyCommand(
     @NotNull
         @NotEmpty
         @MaxInsertManyDocuments
+        @JsonDeserialize(using = InsertManyDocumentsDeserializer.class)
         @Schema(
             description = "JSON document to insert.",
             implementation = Object.class,
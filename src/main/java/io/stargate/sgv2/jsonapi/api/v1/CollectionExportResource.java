@@ -0,0 +1,184 @@
+package io.stargate.sgv2.jsonapi.api.v1;
+
+import static io.stargate.sgv2.jsonapi.util.CqlIdentifierUtil.cqlIdentifierFromUserInput;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.smallrye.mutiny.Multi;
+import io.stargate.sgv2.jsonapi.ConfigPreLoader;
+import io.stargate.sgv2.jsonapi.api.model.command.CommandContext;
+import io.stargate.sgv2.jsonapi.api.model.command.impl.FindCommand;
+import io.stargate.sgv2.jsonapi.api.request.RequestContext;
+import io.stargate.sgv2.jsonapi.config.constants.OpenApiConstants;
+import io.stargate.sgv2.jsonapi.metrics.JsonProcessingMetricsReporter;
+import io.stargate.sgv2.jsonapi.service.cql.builder.CqlTemplateCache;
+import io.stargate.sgv2.jsonapi.service.cqldriver.CqlSessionCacheSupplier;
+import io.stargate.sgv2.jsonapi.service.cqldriver.executor.HedgedReadStats;
+import io.stargate.sgv2.jsonapi.service.embedding.operation.EmbeddingProviderFactory;
+import io.stargate.sgv2.jsonapi.service.export.BulkExporter;
+import io.stargate.sgv2.jsonapi.service.export.ExportRequest;
+import io.stargate.sgv2.jsonapi.service.processor.MeteredCommandProcessor;
+import io.stargate.sgv2.jsonapi.service.processor.TenantAdmissionController;
+import io.stargate.sgv2.jsonapi.service.reranking.operation.RerankingProviderFactory;
+import io.stargate.sgv2.jsonapi.service.schema.SchemaObjectCacheSupplier;
+import io.stargate.sgv2.jsonapi.service.schema.UnscopedSchemaObjectIdentifier;
+import io.stargate.sgv2.jsonapi.service.schema.tables.TableBasedSchemaObject;
+import jakarta.inject.Inject;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import java.util.function.Supplier;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.media.Content;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
+import org.eclipse.microprofile.openapi.annotations.parameters.Parameters;
+import org.eclipse.microprofile.openapi.annotations.parameters.RequestBody;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
+import org.eclipse.microprofile.openapi.annotations.security.SecurityRequirement;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+import org.jboss.resteasy.reactive.RestMediaType;
+import org.jboss.resteasy.reactive.RestStreamElementType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Streams all the documents of a collection, or rows of a table, as newline delimited JSON, see
+ * {@link BulkExporter}.
+ *
+ * <p>This is for bulk reads such as backups, which would otherwise page through the collection
+ * with <code>find</code> and pay for parsing a command and building a response for every page.
+ */
+@Path(CollectionExportResource.BASE_PATH)
+@Produces(RestMediaType.APPLICATION_NDJSON)
+@Consumes(MediaType.APPLICATION_JSON)
+@SecurityRequirement(name = OpenApiConstants.SecuritySchemes.TOKEN)
+@Tag(ref = "Documents")
+public class CollectionExportResource {
+  private static final Logger LOGGER = LoggerFactory.getLogger(CollectionExportResource.class);
+
+  public static final String BASE_PATH = CollectionResource.BASE_PATH + "/export";
+
+  @Inject private RequestContext requestContext;
+
+  private final SchemaObjectCacheSupplier schemaObjectCacheSupplier;
+  private final CommandContext.BuilderSupplier contextBuilderSupplier;
+  private final MeteredCommandProcessor meteredCommandProcessor;
+  private final TenantAdmissionController tenantAdmissionController;
+  private final ObjectMapper objectMapper;
+
+  @Inject
+  public CollectionExportResource(
+      SchemaObjectCacheSupplier schemaObjectCacheSupplier,
+      MeteredCommandProcessor meteredCommandProcessor,
+      MeterRegistry meterRegistry,
+      JsonProcessingMetricsReporter jsonProcessingMetricsReporter,
+      CqlSessionCacheSupplier sessionCacheSupplier,
+      EmbeddingProviderFactory embeddingProviderFactory,
+      RerankingProviderFactory rerankingProviderFactory,
+      HedgedReadStats hedgedReadStats,
+      CqlTemplateCache cqlTemplateCache,
+      TenantAdmissionController tenantAdmissionController,
+      ObjectMapper objectMapper) {
+
+    this.schemaObjectCacheSupplier = schemaObjectCacheSupplier;
+    this.meteredCommandProcessor = meteredCommandProcessor;
+    this.tenantAdmissionController = tenantAdmissionController;
+    this.objectMapper = objectMapper;
+
+    contextBuilderSupplier =
+        CommandContext.builderSupplier()
+            .withJsonProcessingMetricsReporter(jsonProcessingMetricsReporter)
+            .withCqlSessionCache(sessionCacheSupplier.get())
+            .withCommandConfig(ConfigPreLoader.getPreLoadOrEmpty())
+            .withEmbeddingProviderFactory(embeddingProviderFactory)
+            .withRerankingProviderFactory(rerankingProviderFactory)
+            .withMeterRegistry(meterRegistry)
+            .withHedgedReadStats(hedgedReadStats)
+            .withCqlTemplateCache(cqlTemplateCache);
+  }
+
+  @Operation(
+      summary = "Export documents",
+      description =
+          "Streams all the documents of a collection, or rows of a table, as newline delimited JSON.")
+  @Parameters(
+      value = {
+        @Parameter(name = "keyspace", ref = "keyspace"),
+        @Parameter(name = "collection", ref = "collection")
+      })
+  @RequestBody(
+      content =
+          @Content(
+              mediaType = MediaType.APPLICATION_JSON,
+              schema = @Schema(implementation = ExportRequest.class)))
+  @APIResponses(
+      @APIResponse(
+          responseCode = "200",
+          description =
+              "One document per line, with a `$checkpoint` line after each page. Note that in case of errors, response code remains `HTTP 200` and the last line has the errors.",
+          content = @Content(mediaType = RestMediaType.APPLICATION_NDJSON)))
+  @POST
+  @RestStreamElementType(MediaType.TEXT_PLAIN)
+  public Multi<String> export(
+      @Valid ExportRequest request,
+      @PathParam("keyspace") @NotEmpty String keyspace,
+      @PathParam("collection") @NotEmpty String collection) {
+
+    var exportRequest = request == null ? ExportRequest.EXPORT_ALL : request;
+    var unscopedSchemaIdentifier =
+        new UnscopedSchemaObjectIdentifier.DefaultKeyspaceScopedName(
+            cqlIdentifierFromUserInput(keyspace), cqlIdentifierFromUserInput(collection));
+
+    return schemaObjectCacheSupplier
+        .get()
+        .getTableBased(requestContext, unscopedSchemaIdentifier, requestContext.userAgent(), false)
+        .onItem()
+        .transformToMulti(
+            schemaObject -> {
+              var commandContext =
+                  contextBuilderSupplier
+                      .getBuilder(schemaObject)
+                      .withCommandName(ExportRequest.class.getSimpleName())
+                      .withRequestContext(requestContext)
+                      .build();
+
+              Supplier<CommandContext<? extends TableBasedSchemaObject>> findContexts =
+                  () ->
+                      contextBuilderSupplier
+                          .getBuilder(schemaObject)
+                          .withCommandName(FindCommand.class.getSimpleName())
+                          .withRequestContext(requestContext)
+                          .build();
+
+              return new BulkExporter(
+                      commandContext,
+                      findContexts,
+                      meteredCommandProcessor,
+                      tenantAdmissionController,
+                      objectMapper)
+                  .export(exportRequest)
+                  .onTermination()
+                  .invoke(
+                      () -> {
+                        try {
+                          commandContext.close();
+                        } catch (Exception e) {
+                          LOGGER.error(
+                              "Error closing the command context for requestContext={}",
+                              requestContext,
+                              e);
+                        }
+                      });
+            })
+        .onFailure()
+        // failures before the export starts, such as an unknown collection
+        .recoverWithItem(throwable -> BulkExporter.errorLine(objectMapper, throwable));
+  }
+}
@@ -0,0 +1,203 @@
+package io.stargate.sgv2.jsonapi.api.v1;
+
+import static io.stargate.sgv2.jsonapi.util.CqlIdentifierUtil.cqlIdentifierFromUserInput;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.smallrye.common.annotation.Blocking;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import io.stargate.sgv2.jsonapi.ConfigPreLoader;
+import io.stargate.sgv2.jsonapi.api.model.command.CommandContext;
+import io.stargate.sgv2.jsonapi.api.model.command.impl.InsertManyCommand;
+import io.stargate.sgv2.jsonapi.api.request.RequestContext;
+import io.stargate.sgv2.jsonapi.config.constants.OpenApiConstants;
+import io.stargate.sgv2.jsonapi.metrics.JsonProcessingMetricsReporter;
+import io.stargate.sgv2.jsonapi.service.bulkimport.BulkImporter;
+import io.stargate.sgv2.jsonapi.service.cql.builder.CqlTemplateCache;
+import io.stargate.sgv2.jsonapi.service.cqldriver.CqlSessionCacheSupplier;
+import io.stargate.sgv2.jsonapi.service.cqldriver.executor.HedgedReadStats;
+import io.stargate.sgv2.jsonapi.service.embedding.operation.EmbeddingProviderFactory;
+import io.stargate.sgv2.jsonapi.service.export.BulkExporter;
+import io.stargate.sgv2.jsonapi.service.processor.MeteredCommandProcessor;
+import io.stargate.sgv2.jsonapi.service.reranking.operation.RerankingProviderFactory;
+import io.stargate.sgv2.jsonapi.service.schema.SchemaObjectCacheSupplier;
+import io.stargate.sgv2.jsonapi.service.schema.UnscopedSchemaObjectIdentifier;
+import io.stargate.sgv2.jsonapi.service.schema.tables.TableBasedSchemaObject;
+import jakarta.inject.Inject;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Supplier;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.media.Content;
+import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
+import org.eclipse.microprofile.openapi.annotations.parameters.Parameters;
+import org.eclipse.microprofile.openapi.annotations.parameters.RequestBody;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
+import org.eclipse.microprofile.openapi.annotations.security.SecurityRequirement;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+import org.jboss.resteasy.reactive.RestMediaType;
+import org.jboss.resteasy.reactive.RestStreamElementType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Imports documents into a collection, or rows into a table, from newline delimited JSON, see
+ * {@link BulkImporter}.
+ *
+ * <p>This is for bulk loads, which would otherwise send an <code>insertMany</code> request for
+ * every {@link io.stargate.sgv2.jsonapi.config.OperationsConfig#maxDocumentInsertCount()}
+ * documents.
+ */
+@Path(CollectionImportResource.BASE_PATH)
+@Produces(RestMediaType.APPLICATION_NDJSON)
+@Consumes(RestMediaType.APPLICATION_NDJSON)
+@SecurityRequirement(name = OpenApiConstants.SecuritySchemes.TOKEN)
+@Tag(ref = "Documents")
+public class CollectionImportResource {
+  private static final Logger LOGGER = LoggerFactory.getLogger(CollectionImportResource.class);
+
+  public static final String BASE_PATH = CollectionResource.BASE_PATH + "/import";
+
+  @Inject private RequestContext requestContext;
+
+  private final SchemaObjectCacheSupplier schemaObjectCacheSupplier;
+  private final CommandContext.BuilderSupplier contextBuilderSupplier;
+  private final EmbeddingProviderFactory embeddingProviderFactory;
+  private final MeteredCommandProcessor meteredCommandProcessor;
+  private final ObjectMapper objectMapper;
+
+  @Inject
+  public CollectionImportResource(
+      SchemaObjectCacheSupplier schemaObjectCacheSupplier,
+      MeteredCommandProcessor meteredCommandProcessor,
+      MeterRegistry meterRegistry,
+      JsonProcessingMetricsReporter jsonProcessingMetricsReporter,
+      CqlSessionCacheSupplier sessionCacheSupplier,
+      EmbeddingProviderFactory embeddingProviderFactory,
+      RerankingProviderFactory rerankingProviderFactory,
+      HedgedReadStats hedgedReadStats,
+      CqlTemplateCache cqlTemplateCache,
+      ObjectMapper objectMapper) {
+
+    this.schemaObjectCacheSupplier = schemaObjectCacheSupplier;
+    this.embeddingProviderFactory = embeddingProviderFactory;
+    this.meteredCommandProcessor = meteredCommandProcessor;
+    this.objectMapper = objectMapper;
+
+    contextBuilderSupplier =
+        CommandContext.builderSupplier()
+            .withJsonProcessingMetricsReporter(jsonProcessingMetricsReporter)
+            .withCqlSessionCache(sessionCacheSupplier.get())
+            .withCommandConfig(ConfigPreLoader.getPreLoadOrEmpty())
+            .withEmbeddingProviderFactory(embeddingProviderFactory)
+            .withRerankingProviderFactory(rerankingProviderFactory)
+            .withMeterRegistry(meterRegistry)
+            .withHedgedReadStats(hedgedReadStats)
+            .withCqlTemplateCache(cqlTemplateCache);
+  }
+
+  @Operation(
+      summary = "Import documents",
+      description =
+          "Inserts documents into a collection, or rows into a table, from newline delimited JSON.")
+  @Parameters(
+      value = {
+        @Parameter(name = "keyspace", ref = "keyspace"),
+        @Parameter(name = "collection", ref = "collection")
+      })
+  @RequestBody(
+      content = @Content(mediaType = RestMediaType.APPLICATION_NDJSON),
+      description = "One JSON document per line.")
+  @APIResponses(
+      @APIResponse(
+          responseCode = "200",
+          description =
+              "One line for each batch of documents inserted, with the response for each document and the progress so far. Note that in case of errors, response code remains `HTTP 200`.",
+          content = @Content(mediaType = RestMediaType.APPLICATION_NDJSON)))
+  @POST
+  // reading the body is blocking, the lines are read on a worker thread as they are needed
+  @Blocking
+  @RestStreamElementType(MediaType.TEXT_PLAIN)
+  public Multi<String> importDocuments(
+      InputStream body,
+      @PathParam("keyspace") @NotEmpty String keyspace,
+      @PathParam("collection") @NotEmpty String collection) {
+
+    var unscopedSchemaIdentifier =
+        new UnscopedSchemaObjectIdentifier.DefaultKeyspaceScopedName(
+            cqlIdentifierFromUserInput(keyspace), cqlIdentifierFromUserInput(collection));
+
+    var reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+    Multi<String> lines =
+        Multi.createFrom()
+            .iterable(() -> reader.lines().iterator())
+            .runSubscriptionOn(Infrastructure.getDefaultWorkerPool());
+
+    return schemaObjectCacheSupplier
+        .get()
+        .getTableBased(requestContext, unscopedSchemaIdentifier, requestContext.userAgent(), false)
+        .onItem()
+        .transformToMulti(
+            schemaObject -> {
+              var commandName = InsertManyCommand.class.getSimpleName();
+              // each batch gets the provider again, a cached provider is closed some time after it
+              // is removed from the cache and an import can run for longer than that
+              Supplier<CommandContext<? extends TableBasedSchemaObject>> contexts =
+                  () ->
+                      contextBuilderSupplier
+                          .getBuilder(schemaObject)
+                          .withEmbeddingProvider(
+                              CollectionResource.embeddingProvider(
+                                  embeddingProviderFactory,
+                                  requestContext,
+                                  schemaObject,
+                                  commandName))
+                          .withCommandName(commandName)
+                          .withRequestContext(requestContext)
+                          .build();
+              var commandContext = contexts.get();
+
+              return new BulkImporter(
+                      commandContext, contexts, meteredCommandProcessor, objectMapper)
+                  .importLines(lines)
+                  .onTermination()
+                  .invoke(
+                      () -> {
+                        try {
+                          commandContext.close();
+                        } catch (Exception e) {
+                          LOGGER.error(
+                              "Error closing the command context for requestContext={}",
+                              requestContext,
+                              e);
+                        }
+                      });
+            })
+        .onFailure()
+        // failures before the import starts, such as an unknown collection
+        .recoverWithItem(throwable -> BulkExporter.errorLine(objectMapper, throwable))
+        // also when the client goes away or the lines were never read
+        .onTermination()
+        .invoke(() -> close(reader));
+  }
+
+  private static void close(BufferedReader reader) {
+    try {
+      reader.close();
+    } catch (IOException e) {
+      LOGGER.warn("Error closing the import request body", e);
+    }
+  }
+}
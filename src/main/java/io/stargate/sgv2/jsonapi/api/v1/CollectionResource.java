@@ -27,18 +27,24 @@ import io.stargate.sgv2.jsonapi.api.model.command.impl.UpdateManyCommand;
 import io.stargate.sgv2.jsonapi.api.model.command.impl.UpdateOneCommand;
 import io.stargate.sgv2.jsonapi.api.model.command.tracing.RequestTracing;
 import io.stargate.sgv2.jsonapi.api.request.RequestContext;
+import io.stargate.sgv2.jsonapi.api.v1.metrics.JsonApiMetricsConfig;
 import io.stargate.sgv2.jsonapi.config.constants.OpenApiConstants;
 import io.stargate.sgv2.jsonapi.config.feature.FeaturesConfig;
 import io.stargate.sgv2.jsonapi.metrics.JsonProcessingMetricsReporter;
+import io.stargate.sgv2.jsonapi.service.cql.builder.CqlTemplateCache;
 import io.stargate.sgv2.jsonapi.service.cqldriver.CqlSessionCacheSupplier;
+import io.stargate.sgv2.jsonapi.service.cqldriver.executor.HedgedReadStats;
 import io.stargate.sgv2.jsonapi.service.cqldriver.executor.VectorColumnDefinition;
 import io.stargate.sgv2.jsonapi.service.embedding.operation.EmbeddingProvider;
 import io.stargate.sgv2.jsonapi.service.embedding.operation.EmbeddingProviderFactory;
+import io.stargate.sgv2.jsonapi.service.processor.CommandStageTimer;
+import io.stargate.sgv2.jsonapi.service.processor.CommandStageTimer.Stage;
 import io.stargate.sgv2.jsonapi.service.processor.MeteredCommandProcessor;
 import io.stargate.sgv2.jsonapi.service.reranking.operation.RerankingProviderFactory;
 import io.stargate.sgv2.jsonapi.service.schema.SchemaObjectCacheSupplier;
 import io.stargate.sgv2.jsonapi.service.schema.SchemaObjectType;
 import io.stargate.sgv2.jsonapi.service.schema.UnscopedSchemaObjectIdentifier;
+import io.stargate.sgv2.jsonapi.service.schema.tables.TableBasedSchemaObject;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotEmpty;
@@ -85,20 +91,27 @@ public class CollectionResource {
   private final CommandContext.BuilderSupplier contextBuilderSupplier;
   private final EmbeddingProviderFactory embeddingProviderFactory;
   private final MeteredCommandProcessor meteredCommandProcessor;
+  private final MeterRegistry meterRegistry;
+  private final JsonApiMetricsConfig jsonApiMetricsConfig;
 
   @Inject
   public CollectionResource(
       SchemaObjectCacheSupplier schemaObjectCacheSupplier,
       MeteredCommandProcessor meteredCommandProcessor,
       MeterRegistry meterRegistry,
+      JsonApiMetricsConfig jsonApiMetricsConfig,
       JsonProcessingMetricsReporter jsonProcessingMetricsReporter,
       CqlSessionCacheSupplier sessionCacheSupplier,
       EmbeddingProviderFactory embeddingProviderFactory,
-      RerankingProviderFactory rerankingProviderFactory) {
+      RerankingProviderFactory rerankingProviderFactory,
+      HedgedReadStats hedgedReadStats,
+      CqlTemplateCache cqlTemplateCache) {
 
     this.schemaObjectCacheSupplier = schemaObjectCacheSupplier;
     this.embeddingProviderFactory = embeddingProviderFactory;
     this.meteredCommandProcessor = meteredCommandProcessor;
+    this.meterRegistry = meterRegistry;
+    this.jsonApiMetricsConfig = jsonApiMetricsConfig;
 
     contextBuilderSupplier =
         CommandContext.builderSupplier()
@@ -107,7 +120,9 @@ public class CollectionResource {
             .withCommandConfig(ConfigPreLoader.getPreLoadOrEmpty())
             .withEmbeddingProviderFactory(embeddingProviderFactory)
             .withRerankingProviderFactory(rerankingProviderFactory)
-            .withMeterRegistry(meterRegistry);
+            .withMeterRegistry(meterRegistry)
+            .withHedgedReadStats(hedgedReadStats)
+            .withCqlTemplateCache(cqlTemplateCache);
   }
 
   @Operation(
@@ -211,13 +226,21 @@ public class CollectionResource {
         new UnscopedSchemaObjectIdentifier.DefaultKeyspaceScopedName(
             cqlIdentifierFromUserInput(keyspace), cqlIdentifierFromUserInput(collection));
 
-    return schemaObjectCacheSupplier
-        .get()
-        .getTableBased(
-            requestContext,
-            unscopedSchemaIdentifier,
-            requestContext.userAgent(),
-            command.isForceSchemaRefresh())
+    var schemaObjectUni =
+        schemaObjectCacheSupplier
+            .get()
+            .getTableBased(
+                requestContext,
+                unscopedSchemaIdentifier,
+                requestContext.userAgent(),
+                command.isForceSchemaRefresh());
+
+    return CommandStageTimer.timed(
+            meterRegistry,
+            jsonApiMetricsConfig,
+            command.getClass().getSimpleName(),
+            Stage.SCHEMA_LOOKUP,
+            schemaObjectUni)
         .onItemOrFailure()
         .transformToUni(
             (schemaObject, throwable) -> {
@@ -228,38 +251,12 @@ public class CollectionResource {
                             .addThrowable(throwable)
                             .build());
               } else {
-                // TODO: This needs to change, currently it is only checking if there is vectorize
-                // for the $vector column in a collection
-
-                VectorColumnDefinition vectorColDef = null;
-                if (schemaObject.type() == SchemaObjectType.COLLECTION) {
-                  vectorColDef =
-                      schemaObject
-                          .vectorConfig()
-                          .getColumnDefinition(VECTOR_EMBEDDING_TEXT_FIELD)
-                          .orElse(null);
-                } else if (schemaObject.type() == SchemaObjectType.TABLE) {
-                  vectorColDef =
-                      schemaObject
-                          .vectorConfig()
-                          .getFirstVectorColumnWithVectorizeDefinition()
-                          .orElse(null);
-                }
-
-                EmbeddingProvider embeddingProvider = null;
-
-                if (vectorColDef != null && vectorColDef.vectorizeDefinition() != null) {
-                  embeddingProvider =
-                      embeddingProviderFactory.create(
-                          requestContext.tenant(),
-                          requestContext.authToken(),
-                          vectorColDef.vectorizeDefinition().provider(),
-                          vectorColDef.vectorizeDefinition().modelName(),
-                          vectorColDef.vectorSize(),
-                          vectorColDef.vectorizeDefinition().parameters(),
-                          vectorColDef.vectorizeDefinition().authentication(),
-                          command.getClass().getSimpleName());
-                }
+                var embeddingProvider =
+                    embeddingProvider(
+                        embeddingProviderFactory,
+                        requestContext,
+                        schemaObject,
+                        command.getClass().getSimpleName());
 
                 var commandContext =
                     contextBuilderSupplier
@@ -318,4 +315,41 @@ public class CollectionResource {
             })
         .map(CommandResult::toRestResponse);
   }
+
+  /**
+   * Gets the embedding provider for the vectorize definition of the collection or table.
+   *
+   * @return The provider, or <code>null</code> if there is no vectorize definition.
+   */
+  static EmbeddingProvider embeddingProvider(
+      EmbeddingProviderFactory embeddingProviderFactory,
+      RequestContext requestContext,
+      TableBasedSchemaObject schemaObject,
+      String commandName) {
+
+    // TODO: This needs to change, currently it is only checking if there is vectorize
+    // for the $vector column in a collection
+
+    VectorColumnDefinition vectorColDef = null;
+    if (schemaObject.type() == SchemaObjectType.COLLECTION) {
+      vectorColDef =
+          schemaObject.vectorConfig().getColumnDefinition(VECTOR_EMBEDDING_TEXT_FIELD).orElse(null);
+    } else if (schemaObject.type() == SchemaObjectType.TABLE) {
+      vectorColDef =
+          schemaObject.vectorConfig().getFirstVectorColumnWithVectorizeDefinition().orElse(null);
+    }
+
+    if (vectorColDef == null || vectorColDef.vectorizeDefinition() == null) {
+      return null;
+    }
+    return embeddingProviderFactory.create(
+        requestContext.tenant(),
+        requestContext.authToken(),
+        vectorColDef.vectorizeDefinition().provider(),
+        vectorColDef.vectorizeDefinition().modelName(),
+        vectorColDef.vectorSize(),
+        vectorColDef.vectorizeDefinition().parameters(),
+        vectorColDef.vectorizeDefinition().authentication(),
+        commandName);
+  }
 }
@@ -18,6 +18,7 @@
 package io.stargate.sgv2.jsonapi.config;
 
 import com.datastax.oss.driver.api.core.ConsistencyLevel;
+import com.datastax.oss.driver.api.core.DefaultConsistencyLevel;
 import io.smallrye.config.ConfigMapping;
 import io.smallrye.config.WithConverter;
 import io.smallrye.config.WithDefault;
@@ -26,7 +27,9 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import javax.annotation.Nullable;
 
@@ -89,6 +92,403 @@ public interface OperationsConfig {
   @WithDefault("false")
   boolean enableEmbeddingGateway();
 
+  /**
+   * @return Settings for how calls are made to the embedding gateway, only used when {@link
+   *     #enableEmbeddingGateway()} is true.
+   */
+  @NotNull
+  @Valid
+  EmbeddingGatewayConfig embeddingGateway();
+
+  interface EmbeddingGatewayConfig {
+
+    /**
+     * @return Flag to use the bidirectional streaming {@code EmbedStream} and {@code RerankStream}
+     *     RPCs, which pipeline sub-batches of a call over one stream, rather than the unary RPCs.
+     *     The gateway must support the streaming RPCs, defaults to <code>false</code>.
+     */
+    @WithDefault("false")
+    boolean streamingEnabled();
+
+    /**
+     * @return Number of texts to vectorize in each sub-batch sent on the streaming RPC, defaults
+     *     to <code>32</code>.
+     */
+    @Positive
+    @WithDefault("32")
+    int streamingBatchSize();
+
+    /**
+     * @return Maximum number of sub-batches sent on the stream that have not yet had a response,
+     *     the next sub-batch is sent as each response arrives, defaults to <code>4</code>.
+     */
+    @Positive
+    @WithDefault("4")
+    int streamingMaxInFlight();
+  }
+
+  /**
+   * @return Settings for admitting commands into the pipeline, so one tenant cannot take all the
+   *     resources.
+   */
+  @NotNull
+  @Valid
+  AdmissionControlConfig admissionControl();
+
+  /**
+   * Configuration for per-tenant admission control, see {@link
+   * io.stargate.sgv2.jsonapi.service.processor.TenantAdmissionController}.
+   *
+   * <p>Each command is given a cost estimate, and the limits below are in those cost units. A
+   * point read costs <code>1</code>, sorting, vectorizing and reranking cost more.
+   */
+  interface AdmissionControlConfig {
+
+    /**
+     * @return If admission control is enabled, defaults to <code>false</code>.
+     */
+    @WithDefault("false")
+    boolean enabled();
+
+    /**
+     * @return Total cost of the commands that can run at once across all tenants, defaults to
+     *     <code>2000</code>.
+     */
+    @Positive
+    @WithDefault("2000")
+    int maxCost();
+
+    /**
+     * @return Total cost of the commands that can run at once for a single tenant, defaults to
+     *     <code>200</code>.
+     */
+    @Positive
+    @WithDefault("200")
+    int maxTenantCost();
+
+    /**
+     * @return Maximum number of commands a tenant can have waiting to be admitted, commands past
+     *     this are rejected straight away, defaults to <code>100</code>.
+     */
+    @Positive
+    @WithDefault("100")
+    int maxTenantQueueSize();
+
+    /**
+     * @return Maximum time a command will wait to be admitted before it is rejected, defaults to
+     *     <code>5000</code>.
+     */
+    @Positive
+    @WithDefault("5000")
+    long maxQueueWaitMillis();
+
+    /**
+     * @return Weight for the tenants that should get a larger share when the server is busy, keyed
+     *     by tenant id. Tenants not listed have a weight of <code>1</code>.
+     */
+    Map<String, Integer> tenantWeights();
+  }
+
+  /**
+   * @return Settings for caching the results of repeated read commands on collections.
+   */
+  @NotNull
+  @Valid
+  ResultCacheConfig resultCache();
+
+  /**
+   * Configuration for the read result cache, see {@link
+   * io.stargate.sgv2.jsonapi.service.processor.ReadResultCache}.
+   *
+   * <p>Only the <code>find</code>, <code>findOne</code>, <code>countDocuments</code> and <code>
+   * estimatedDocumentCount</code> commands on the listed collections are cached. Cached results are
+   * removed when a write to the collection is made through this node, or the schema changes, but
+   * writes through other nodes are only seen once the entry expires. Responses served from the
+   * cache have the <code>cachedResultAgeMillis</code> status.
+   */
+  interface ResultCacheConfig {
+
+    /**
+     * @return If the read result cache is enabled, defaults to <code>false</code>.
+     */
+    @WithDefault("false")
+    boolean enabled();
+
+    /**
+     * @return Collections to cache read results for, as <code>keyspace.collection</code>. No
+     *     collections are cached if not set.
+     */
+    Optional<List<String>> collections();
+
+    /**
+     * @return How long a result is cached for, this is the longest time a result can be stale for
+     *     writes through other nodes, defaults to <code>1000</code>.
+     */
+    @Positive
+    @WithDefault("1000")
+    long ttlMillis();
+
+    /**
+     * @return Approximate maximum size of the cached results, estimated from the size of the
+     *     serialized result, defaults to <code>33554432</code> (32MB).
+     */
+    @Positive
+    @WithDefault("33554432")
+    long maxSizeBytes();
+  }
+
+  /**
+   * @return Settings for the bulk export endpoint.
+   */
+  @NotNull
+  @Valid
+  ExportConfig export();
+
+  /**
+   * Configuration for the bulk export endpoint, see {@link
+   * io.stargate.sgv2.jsonapi.service.export.BulkExporter}.
+   *
+   * <p>An export without a filter scans the token ring of the table, split into segments that are
+   * read in parallel.
+   */
+  interface ExportConfig {
+
+    /**
+     * @return Number of token ranges the ring is split into for an export, defaults to <code>16
+     *     </code>. A checkpoint keeps the number of segments it was started with.
+     */
+    @Positive
+    @Max(1024)
+    @WithDefault("16")
+    int segments();
+
+    /**
+     * @return Maximum number of segments read at the same time for one export, defaults to <code>4
+     *     </code>.
+     */
+    @Positive
+    @WithDefault("4")
+    int parallelism();
+
+    /**
+     * @return Page size used to read each segment, defaults to <code>500</code>.
+     */
+    @Positive
+    @WithDefault("500")
+    int pageSize();
+  }
+
+  /**
+   * @return Settings for the bulk import endpoint.
+   */
+  @NotNull
+  @Valid
+  BulkImportConfig bulkImport();
+
+  /**
+   * Configuration for the bulk import endpoint, see {@link
+   * io.stargate.sgv2.jsonapi.service.bulkimport.BulkImporter}.
+   *
+   * <p>Documents are inserted in batches of {@link #maxDocumentInsertCount()}.
+   */
+  interface BulkImportConfig {
+
+    /**
+     * @return Maximum number of batches inserted at the same time for one import, defaults to
+     *     <code>4</code>.
+     */
+    @Positive
+    @WithDefault("4")
+    int parallelism();
+  }
+
+  /**
+   * @return Settings for running the CPU heavy parts of expensive commands off the event loop.
+   */
+  @NotNull
+  @Valid
+  OffloadConfig offload();
+
+  /**
+   * Configuration for offloading expensive commands, see {@link
+   * io.stargate.sgv2.jsonapi.service.processor.CommandOffloader}.
+   *
+   * <p>Commands are given the same cost estimate used for admission control, see {@link
+   * AdmissionControlConfig}, a point read costs <code>1</code>.
+   */
+  interface OffloadConfig {
+
+    /**
+     * @return If expensive commands are offloaded, defaults to <code>false</code>.
+     */
+    @WithDefault("false")
+    boolean enabled();
+
+    /**
+     * @return Minimum estimated cost of a command for it to be offloaded, defaults to <code>4
+     *     </code>. A sorted <code>find</code>, or an <code>insertMany</code> of 60 documents,
+     *     costs at least this.
+     */
+    @Positive
+    @WithDefault("4")
+    int minCost();
+
+    /**
+     * @return If offloaded commands run on virtual threads, otherwise they run on the bounded
+     *     worker pool, defaults to <code>true</code>.
+     */
+    @WithDefault("true")
+    boolean virtualThreads();
+  }
+
+  /**
+   * @return Settings for writing only the changed index entries when a collection document is
+   *     updated.
+   */
+  @NotNull
+  @Valid
+  DeltaUpdatesConfig deltaUpdates();
+
+  /**
+   * Configuration for collection updates that write only the index entries that changed, rather
+   * than rewriting every index column of the document. See {@link
+   * io.stargate.sgv2.jsonapi.service.operation.collections.DocumentUpdateDelta}.
+   */
+  interface DeltaUpdatesConfig {
+
+    /**
+     * @return If collection updates write only the changed index entries, defaults to <code>false
+     *     </code>.
+     */
+    @WithDefault("false")
+    boolean enabled();
+
+    /**
+     * @return Maximum number of changed index entries as a ratio of all the index entries of the
+     *     updated document, above which the document is rewritten in full, defaults to <code>0.5
+     *     </code>.
+     */
+    @Positive
+    @Max(1)
+    @WithDefault("0.5")
+    double maxChangedRatio();
+  }
+
+  /**
+   * @return Settings for the adaptive concurrency limit on calls to embedding and reranking
+   *     providers.
+   */
+  @NotNull
+  @Valid
+  ProviderConcurrencyConfig providerConcurrency();
+
+  /**
+   * Each provider, model and credential gets a concurrency limit that grows additively while calls
+   * succeed and shrinks multiplicatively when the provider rate limits or times out (AIMD). Calls
+   * over the limit wait in a FIFO queue, and are rejected when the queue is full or they wait too
+   * long.
+   */
+  interface ProviderConcurrencyConfig {
+
+    /**
+     * @return Flag to enable the adaptive concurrency limit, defaults to <code>false</code>.
+     */
+    @WithDefault("false")
+    boolean enabled();
+
+    /**
+     * @return Concurrency limit for a provider and credential before any calls are made, defaults
+     *     to <code>10</code>.
+     */
+    @Positive
+    @WithDefault("10")
+    int initialLimit();
+
+    /**
+     * @return The limit will not shrink below this, defaults to <code>1</code>.
+     */
+    @Positive
+    @WithDefault("1")
+    int minLimit();
+
+    /**
+     * @return The limit will not grow above this, defaults to <code>100</code>.
+     */
+    @Positive
+    @WithDefault("100")
+    int maxLimit();
+
+    /**
+     * @return Factor the limit is multiplied by when the provider rate limits or times out,
+     *     defaults to <code>0.7</code>.
+     */
+    @Positive
+    @Max(1)
+    @WithDefault("0.7")
+    double backoffRatio();
+
+    /**
+     * @return Maximum number of calls waiting for a provider and credential, calls past this are
+     *     rejected straight away, defaults to <code>50</code>.
+     */
+    @Positive
+    @WithDefault("50")
+    int maxQueueSize();
+
+    /**
+     * @return Maximum time a call will wait in the queue before it is rejected, defaults to <code>
+     *     5000</code>.
+     */
+    @Positive
+    @WithDefault("5000")
+    long maxQueueWaitMillis();
+  }
+
+  /**
+   * @return Settings for reusing embedding and reranking provider instances, and their REST
+   *     clients, across commands.
+   */
+  @NotNull
+  @Valid
+  ProviderClientsConfig providerClients();
+
+  /**
+   * Providers are cached by model provider, model name, service config (base URL and timeouts),
+   * dimension and service parameters, credentials are passed per call and are not part of the key.
+   */
+  interface ProviderClientsConfig {
+
+    /**
+     * @return Flag to reuse provider instances across commands, defaults to <code>true</code>.
+     */
+    @WithDefault("true")
+    boolean enabled();
+
+    /**
+     * @return Maximum number of provider instances kept, defaults to <code>1000</code>.
+     */
+    @Positive
+    @WithDefault("1000")
+    int maxSize();
+
+    /**
+     * @return Time a provider instance is kept after it was last used, defaults to <code>600000
+     *     </code>.
+     */
+    @Positive
+    @WithDefault("600000")
+    long maxIdleMillis();
+
+    /**
+     * @return Time after a provider instance is removed from the cache, because it was idle or the
+     *     cache was full, before its REST clients are closed, so commands that are still using it
+     *     can finish, defaults to <code>300000</code>.
+     */
+    @Positive
+    @WithDefault("300000")
+    long closeDelayMillis();
+  }
+
   /**
    * @return Defines the maximum limit of document read to perform in memory sorting <code>10000
    *     </code>.
@@ -274,10 +674,27 @@ public interface OperationsConfig {
     @WithDefault("1000")
     int ddlRetryDelayMillis();
 
-    /** Create table cool off period before create index . */
+    /**
+     * Maximum time to wait for the schema to be in agreement after a schema change, before making
+     * the next one such as creating the indexes for a new collection. Use 0 to not wait.
+     */
     @WithDefault("2000")
     int ddlDelayMillis();
 
+    /** How often to check if the schema is in agreement while waiting for it. */
+    @WithDefault("100")
+    @Positive
+    int ddlSchemaAgreementPollMillis();
+
+    /**
+     * Maximum number of indexes to create at the same time when creating a collection. The default
+     * of 1 creates them one after the other, creating them in parallel is faster but can cause
+     * schema disagreements on clusters with many nodes.
+     */
+    @WithDefault("1")
+    @Positive
+    int ddlIndexConcurrency();
+
     /** Maximum retry attempt for ddl command. */
     @WithDefault("2")
     int ddlRetries();
@@ -303,6 +720,193 @@ public interface OperationsConfig {
     @WithConverter(ConsistencyLevelConverter.class)
     ConsistencyLevel serialConsistency();
 
+    /**
+     * @return Number of pages to request ahead of the page being processed when a read goes
+     *     through more than one page, such as in-memory sorts and counting by key. <code>0</code>
+     *     requests each page when it is needed, defaults to <code>1</code>. See {@link
+     *     io.stargate.sgv2.jsonapi.service.cqldriver.executor.PagePrefetcher}.
+     */
+    @PositiveOrZero
+    @Max(8)
+    @WithDefault("1")
+    int pagePrefetchLookAhead();
+
+    /**
+     * @return Settings for hedging collection reads and vector searches.
+     */
+    @Valid
+    HedgedReadsConfig hedgedReads();
+
+    /**
+     * Configuration for hedged reads: when a read has not returned after the observed latency
+     * percentile for the table, the same (idempotent) read is sent again and the first result to
+     * return is used. See {@link
+     * io.stargate.sgv2.jsonapi.service.cqldriver.executor.ReadHedger}.
+     */
+    interface HedgedReadsConfig {
+
+      /**
+       * @return If reads should be hedged, defaults to <code>false</code>.
+       */
+      @WithDefault("false")
+      boolean enabled();
+
+      /**
+       * @return Latency percentile for the table after which the hedge is sent, defaults to <code>
+       *     0.95</code>.
+       */
+      @Positive
+      @Max(1)
+      @WithDefault("0.95")
+      double percentile();
+
+      /**
+       * @return Minimum delay before the hedge is sent, so very fast tables are not hedged on
+       *     noise, defaults to <code>5</code>.
+       */
+      @Positive
+      @WithDefault("5")
+      long minDelayMillis();
+
+      /**
+       * @return Number of reads that must be observed for a table before it is hedged, defaults
+       *     to <code>100</code>.
+       */
+      @Positive
+      @WithDefault("100")
+      int minSamples();
+
+      /**
+       * @return Maximum hedges a tenant can send as a ratio of its reads, defaults to <code>0.05
+       *     </code>, i.e. at most one hedge for every 20 reads.
+       */
+      @Positive
+      @Max(1)
+      @WithDefault("0.05")
+      double budgetRatio();
+
+      /**
+       * @return Maximum hedges a tenant can send in a burst once it has saved up budget, defaults
+       *     to <code>10</code>.
+       */
+      @Positive
+      @WithDefault("10")
+      int budgetBurst();
+    }
+
+    /**
+     * @return Settings for collapsing identical collection reads that are in flight at the same
+     *     time.
+     */
+    @Valid
+    CoalescedReadsConfig coalescedReads();
+
+    /**
+     * Configuration for coalesced reads: identical reads for a tenant that are in flight at the
+     * same time are sent to the database once and all get the result. See {@link
+     * io.stargate.sgv2.jsonapi.service.cqldriver.executor.ReadCoalescer}.
+     */
+    interface CoalescedReadsConfig {
+
+      /**
+       * @return If identical in-flight reads should be collapsed, defaults to <code>false</code>.
+       */
+      @WithDefault("false")
+      boolean enabled();
+    }
+
+    /**
+     * @return Settings for reading many documents by <code>_id</code>, such as for an <code>$in
+     *     </code> filter.
+     */
+    @Valid
+    MultiGetConfig multiGet();
+
+    /**
+     * Configuration for reading many documents by <code>_id</code>: the single document reads are
+     * grouped by the replica that owns the document and interleaved across the replicas, with a
+     * limit on how many run at once. See {@link
+     * io.stargate.sgv2.jsonapi.service.cqldriver.executor.MultiGetReader}.
+     */
+    interface MultiGetConfig {
+
+      /**
+       * @return If reads by <code>_id</code> are grouped by replica, defaults to <code>false
+       *     </code>, when disabled all the reads are sent at once.
+       */
+      @WithDefault("false")
+      boolean enabled();
+
+      /**
+       * @return Maximum number of the single document reads for one command that run at once,
+       *     defaults to <code>16</code>.
+       */
+      @Positive
+      @WithDefault("16")
+      int maxConcurrency();
+    }
+
+    /**
+     * @return Settings for sizing the pages of reads that go through all the pages of a query, such
+     *     as in-memory sorts and exports.
+     */
+    @Valid
+    AdaptivePagingConfig adaptivePaging();
+
+    /**
+     * Configuration for adaptive paging: the pages of a scan are sized from the observed bytes and
+     * latency per row for the table, rather than the fixed page size for the command. See {@link
+     * io.stargate.sgv2.jsonapi.service.cqldriver.executor.AdaptivePageSizer}.
+     */
+    interface AdaptivePagingConfig {
+
+      /**
+       * @return If the pages of scans are sized from the observed rows, defaults to <code>false
+       *     </code>, when disabled the page size for the command is used.
+       */
+      @WithDefault("false")
+      boolean enabled();
+
+      /**
+       * @return Target size of a page in bytes, defaults to <code>1048576</code> (1 MiB).
+       */
+      @Positive
+      @WithDefault("1048576")
+      long targetPageBytes();
+
+      /**
+       * @return Target time to read a page, so pages are smaller when the database is slow,
+       *     defaults to <code>200</code>.
+       */
+      @Positive
+      @WithDefault("200")
+      long targetPageLatencyMillis();
+
+      /**
+       * @return Smallest page size used once the pages are sized from the observed rows, defaults
+       *     to <code>20</code>.
+       */
+      @Positive
+      @WithDefault("20")
+      int minPageSize();
+
+      /**
+       * @return Largest page size used once the pages are sized from the observed rows, defaults to
+       *     <code>2000</code>.
+       */
+      @Positive
+      @WithDefault("2000")
+      int maxPageSize();
+
+      /**
+       * @return Number of pages that must be observed for a table before its pages are sized from
+       *     the observed rows, defaults to <code>5</code>.
+       */
+      @Positive
+      @WithDefault("5")
+      int minSamples();
+    }
+
     interface ConsistencyConfig {
 
       /**
@@ -336,6 +940,37 @@ public interface OperationsConfig {
       @NotNull
       @WithConverter(ConsistencyLevelConverter.class)
       ConsistencyLevel vectorSearch();
+
+      /**
+       * @return Consistency for the reads and vector searches of read only collection commands,
+       *     such as <code>find</code>, for a tenant, keyed by tenant id. See {@link
+       *     io.stargate.sgv2.jsonapi.service.cqldriver.executor.ReadConsistencyPolicy}.
+       */
+      Map<String, DefaultConsistencyLevel> tenantReads();
+
+      /**
+       * @return Consistency for the reads and vector searches of read only commands on a
+       *     collection, keyed by keyspace and then collection name, takes precedence over {@link
+       *     #tenantReads()}.
+       */
+      Map<String, Map<String, DefaultConsistencyLevel>> collectionReads();
+
+      /**
+       * @return If the consistency for the reads and vector searches of read only collection
+       *     commands can be set with the {@link
+       *     io.stargate.sgv2.jsonapi.config.constants.HttpConstants#READ_CONSISTENCY_HEADER_NAME}
+       *     request header, defaults to <code>false</code>. Takes precedence over {@link
+       *     #collectionReads()}.
+       */
+      @WithDefault("false")
+      boolean readsHeaderEnabled();
+
+      /**
+       * @return Consistency levels that can be set with the request header, defaults to <code>
+       *     LOCAL_ONE</code> and <code>LOCAL_QUORUM</code>.
+       */
+      @WithDefault("LOCAL_ONE,LOCAL_QUORUM")
+      List<DefaultConsistencyLevel> readsHeaderAllowed();
     }
   }
 
@@ -20,6 +20,9 @@ public interface HttpConstants {
   /** Data API reranking service Authentication token header name. */
   String RERANKING_AUTHENTICATION_TOKEN_HEADER_NAME = "reranking-api-key";
 
+  /** Header to set the consistency of the reads for read only commands, when enabled. */
+  String READ_CONSISTENCY_HEADER_NAME = "Read-Consistency";
+
   /** Bearer prefix for the API key. */
   String BEARER_PREFIX_FOR_API_KEY = "Bearer ";
 }
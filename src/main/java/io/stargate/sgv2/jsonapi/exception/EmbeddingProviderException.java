@@ -43,6 +43,7 @@ public class EmbeddingProviderException extends ServerException {
     EMBEDDING_PROVIDER_BAD_HOST_NAME,
     EMBEDDING_PROVIDER_AUTHENTICATION_KEYS_NOT_PROVIDED,
     EMBEDDING_PROVIDER_CLIENT_ERROR,
+    EMBEDDING_PROVIDER_OVERLOADED,
     EMBEDDING_PROVIDER_RATE_LIMITED,
     EMBEDDING_PROVIDER_SERVER_ERROR,
     EMBEDDING_PROVIDER_TIMEOUT,
@@ -62,6 +62,7 @@ public class RequestException extends APIException {
 
     UNSUPPORTED_COLLECTION_COMMAND,
     UNSUPPORTED_CONTENT_TYPE,
+    UNSUPPORTED_READ_CONSISTENCY,
     UNSUPPORTED_RERANKING_COMMAND,
     UNSUPPORTED_TABLE_COMMAND,
     ;
@@ -36,6 +36,8 @@ public class ServerException extends APIException {
   public enum Code implements ErrorCode<ServerException> {
     // Error code for "should never happen" style server errors
     INTERNAL_SERVER_ERROR,
+    // Error code for commands rejected by admission control, see TenantAdmissionController
+    TENANT_OVERLOADED,
     // Error code for any other unknown / unexpected server error
     UNEXPECTED_SERVER_ERROR;
 
@@ -218,6 +218,10 @@ public class FrameworkExceptionMapper {
                 "not one of known fields (%s)".formatted(knownDesc)));
       }
 
+        // Our own error thrown from a deserializer, e.g. an insertMany over the limits, that
+        // Jackson wrapped: report it as is
+      case JsonMappingException jme when jme.getCause() instanceof APIException ae -> ae;
+
         // NOTE: must be after the UnrecognizedPropertyException check
         // 09-Jan-2025, tatu: [data-api#1812] Not ideal but slightly better than before
       case JsonMappingException jme ->
@@ -69,6 +69,16 @@ public final class CommandFeatures {
     }
   }
 
+  /**
+   * Checks if this instance contains the feature.
+   *
+   * @param commandFeature The feature to check for.
+   * @return {@code true} if the feature is present, {@code false} otherwise.
+   */
+  public boolean contains(CommandFeature commandFeature) {
+    return commandFeatures.contains(commandFeature);
+  }
+
   /**
    * Checks if this instance contains any features.
    *
@@ -7,9 +7,15 @@ public interface MetricsConstants {
 
   /** Defines common tag keys used across various metrics. */
   interface MetricTags {
+    String COMMAND_STAGE_TAG = "stage";
     String KEYSPACE_TAG = "keyspace";
+    String MODEL_PROVIDER_TAG = "model.provider";
+    String MODEL_TYPE_TAG = "model.type";
+    String READ_CONSISTENCY_SOURCE_TAG = "source";
+    String READ_CONSISTENCY_TAG = "consistency";
     String RERANKING_PROVIDER_TAG = "reranking.provider";
     String RERANKING_MODEL_TAG = "reranking.model";
+    String SCHEMA_CHANGE_PHASE_TAG = "phase";
     String SESSION_TAG = "session";
     String TENANT_TAG = "tenant";
     String TABLE_TAG = "table";
@@ -17,11 +23,31 @@ public interface MetricsConstants {
 
   /** Defines metric names that used in the DataAPI */
   interface MetricNames {
+    String ADAPTIVE_PAGE_SIZE_METRIC = "adaptive.page.size";
+    String COALESCED_READS_COLLAPSED_METRIC = "coalesced.reads.collapsed";
+    String COMMAND_ADMISSION_ADMITTED_METRIC = "command.admission.admitted";
+    String COMMAND_ADMISSION_IN_FLIGHT_COST_METRIC = "command.admission.in.flight.cost";
+    String COMMAND_ADMISSION_QUEUE_DEPTH_METRIC = "command.admission.queue.depth";
+    String COMMAND_ADMISSION_REJECTED_METRIC = "command.admission.rejected";
+    String COMMAND_ADMISSION_WAIT_METRIC = "command.admission.wait";
+    String COMMAND_EVENT_LOOP_BLOCKED_METRIC = "command.event.loop.blocked";
+    String COMMAND_OFFLOADED_METRIC = "command.offloaded";
+    String COMMAND_STAGE_DURATION_METRIC = "command.stage.duration";
+    String HEDGED_READS_SENT_METRIC = "hedged.reads.sent";
+    String HEDGED_READS_WON_METRIC = "hedged.reads.won";
     String HTTP_SERVER_REQUESTS = "http.server.requests";
+    String MULTI_GET_FAN_OUT_METRIC = "multi.get.fan.out";
+    String MULTI_GET_KEYS_METRIC = "multi.get.keys";
+    String PROVIDER_CONCURRENCY_IN_FLIGHT_METRIC = "model.provider.concurrency.in.flight";
+    String PROVIDER_CONCURRENCY_LIMIT_METRIC = "model.provider.concurrency.limit";
+    String PROVIDER_CONCURRENCY_QUEUE_DEPTH_METRIC = "model.provider.concurrency.queue.depth";
+    String PROVIDER_CONCURRENCY_REJECTED_METRIC = "model.provider.concurrency.rejected";
+    String READ_CONSISTENCY_OVERRIDES_METRIC = "read.consistency.overrides";
     String RERANK_ALL_CALL_DURATION_METRIC = "rerank.all.call.duration";
     String RERANK_ALL_PASSAGE_COUNT_METRIC = "rerank.all.passage.count";
     String RERANK_TENANT_CALL_DURATION_METRIC = "rerank.tenant.call.duration";
     String RERANK_TENANT_PASSAGE_COUNT_METRIC = "rerank.tenant.passage.count";
+    String SCHEMA_CHANGE_PHASE_DURATION_METRIC = "schema.change.phase.duration";
     String VECTORIZE_CALL_DURATION_METRIC = "vectorize.call.duration";
   }
 }
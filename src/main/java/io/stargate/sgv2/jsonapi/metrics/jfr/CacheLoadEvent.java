@@ -0,0 +1,38 @@
+package io.stargate.sgv2.jsonapi.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for loading a value into a {@link io.stargate.sgv2.jsonapi.util.DynamicTTLCache}, such
+ * as creating a CQL session or reading a schema object.
+ */
+@Name("io.stargate.sgv2.jsonapi.CacheLoad")
+@Label("Cache Load")
+@Category(JfrEvents.CATEGORY)
+@Description("Loading of a value into a Data API cache, after a miss or a forced refresh.")
+@Enabled(false)
+@StackTrace(false)
+public class CacheLoadEvent extends Event {
+
+  @Label("Cache")
+  String cache;
+
+  @Label("Forced Refresh")
+  boolean forceRefresh;
+
+  @Label("Failure")
+  String failure;
+
+  /** Sets the fields of the event for the load. */
+  public void complete(String cacheName, boolean forceRefresh, Throwable failure) {
+    this.cache = cacheName;
+    this.forceRefresh = forceRefresh;
+    this.failure = JfrEvents.failureName(failure);
+  }
+}
@@ -0,0 +1,52 @@
+package io.stargate.sgv2.jsonapi.metrics.jfr;
+
+import io.stargate.sgv2.jsonapi.api.model.command.CommandContext;
+import io.stargate.sgv2.jsonapi.api.model.command.CommandResult;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** JFR event for processing a command, from the start of the command until the result is built. */
+@Name("io.stargate.sgv2.jsonapi.Command")
+@Label("Command")
+@Category(JfrEvents.CATEGORY)
+@Description("Processing of a Data API command.")
+@Enabled(false)
+@StackTrace(false)
+public class CommandEvent extends Event {
+
+  @Label("Tenant")
+  String tenant;
+
+  @Label("Command")
+  String command;
+
+  @Label("Keyspace")
+  String keyspace;
+
+  @Label("Table")
+  @Description("Table or collection the command was for, if any.")
+  String table;
+
+  @Label("Error Count")
+  int errorCount;
+
+  @Label("Failure")
+  @Description("Class of the unexpected failure, if the command did not produce a result.")
+  String failure;
+
+  /** Sets the fields of the event from the command and its result. */
+  public void complete(CommandContext<?> commandContext, CommandResult result, Throwable failure) {
+    var identifier = commandContext.schemaObject().identifier();
+    tenant = String.valueOf(commandContext.requestContext().tenant());
+    command = commandContext.commandName();
+    keyspace = identifier.keyspace() == null ? null : identifier.keyspace().asInternal();
+    table = identifier.table() == null ? null : identifier.table().asInternal();
+    errorCount = result == null || result.errors() == null ? 0 : result.errors().size();
+    this.failure = JfrEvents.failureName(failure);
+  }
+}
@@ -0,0 +1,97 @@
+package io.stargate.sgv2.jsonapi.metrics.jfr;
+
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.google.common.annotations.VisibleForTesting;
+import io.stargate.sgv2.jsonapi.api.request.tenant.Tenant;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for running a CQL statement, from when the session is requested until the first page
+ * of results is returned.
+ */
+@Name("io.stargate.sgv2.jsonapi.CqlStatement")
+@Label("CQL Statement")
+@Category(JfrEvents.CATEGORY)
+@Description("Execution of a CQL statement, and the first page of results.")
+@Enabled(false)
+@StackTrace(false)
+public class CqlStatementEvent extends Event {
+
+  // finds the keyspace and table the statements we build are for, they are always qualified
+  private static final Pattern TARGET_PATTERN =
+      Pattern.compile(
+          "\\b(?:FROM|INTO|UPDATE|TABLE|ON)\\s+(?:IF\\s+(?:NOT\\s+)?EXISTS\\s+)?"
+              + "\"?(\\w+)\"?\\.\"?(\\w+)\"?",
+          Pattern.CASE_INSENSITIVE);
+
+  @Label("Tenant")
+  String tenant;
+
+  @Label("Keyspace")
+  String keyspace;
+
+  @Label("Table")
+  String table;
+
+  @Label("Statement Kind")
+  @Description("First keyword of the statement, such as SELECT or INSERT.")
+  String kind;
+
+  @Label("Rows")
+  @Description("Rows in the first page of results.")
+  int rows;
+
+  @Label("Page Size")
+  int pageSize;
+
+  @Label("Paging State")
+  @Description("If the statement continued from a paging state.")
+  boolean pagingState;
+
+  @Label("Has More Pages")
+  boolean hasMorePages;
+
+  @Label("Failure")
+  String failure;
+
+  /** Sets the fields of the event from the statement and its results. */
+  public void complete(
+      Tenant tenant, SimpleStatement statement, AsyncResultSet resultSet, Throwable failure) {
+    this.tenant = String.valueOf(tenant);
+    var query = statement.getQuery();
+    this.kind = statementKind(query);
+    var matcher = TARGET_PATTERN.matcher(query);
+    if (matcher.find()) {
+      this.keyspace = matcher.group(1);
+      this.table = matcher.group(2);
+    } else if (statement.getKeyspace() != null) {
+      this.keyspace = statement.getKeyspace().asInternal();
+    }
+    this.pageSize = statement.getPageSize();
+    this.pagingState = statement.getPagingState() != null;
+    if (resultSet != null) {
+      this.rows = resultSet.remaining();
+      this.hasMorePages = resultSet.hasMorePages();
+    }
+    this.failure = JfrEvents.failureName(failure);
+  }
+
+  @VisibleForTesting
+  static String statementKind(String query) {
+    var trimmed = query.stripLeading();
+    int end = 0;
+    while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+      end++;
+    }
+    return trimmed.substring(0, end).toUpperCase(Locale.ROOT);
+  }
+}
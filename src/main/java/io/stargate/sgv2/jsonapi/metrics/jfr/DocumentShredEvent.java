@@ -0,0 +1,56 @@
+package io.stargate.sgv2.jsonapi.metrics.jfr;
+
+import io.stargate.sgv2.jsonapi.api.request.tenant.Tenant;
+import io.stargate.sgv2.jsonapi.service.schema.collections.CollectionSchemaObject;
+import io.stargate.sgv2.jsonapi.service.shredding.collections.WritableShreddedDocument;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** JFR event for shredding a document into the columns of a collection. */
+@Name("io.stargate.sgv2.jsonapi.DocumentShred")
+@Label("Document Shred")
+@Category(JfrEvents.CATEGORY)
+@Description("Shredding of a document to write to a collection.")
+@Enabled(false)
+@StackTrace(false)
+public class DocumentShredEvent extends Event {
+
+  @Label("Tenant")
+  String tenant;
+
+  @Label("Command")
+  String command;
+
+  @Label("Keyspace")
+  String keyspace;
+
+  @Label("Collection")
+  String collection;
+
+  @Label("Document Size")
+  @Description("Length of the serialized document JSON, in characters.")
+  int documentSize;
+
+  @Label("Path Count")
+  @Description("Number of paths in the document, the entries in exist_keys.")
+  int pathCount;
+
+  /** Sets the fields of the event from the shredded document. */
+  public void complete(
+      Tenant tenant,
+      String commandName,
+      CollectionSchemaObject collection,
+      WritableShreddedDocument document) {
+    this.tenant = String.valueOf(tenant);
+    this.command = commandName;
+    this.keyspace = collection.identifier().keyspace().asInternal();
+    this.collection = collection.identifier().table().asInternal();
+    this.documentSize = document.docJson().length();
+    this.pathCount = document.existKeys().size();
+  }
+}
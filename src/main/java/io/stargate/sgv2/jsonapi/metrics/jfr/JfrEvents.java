@@ -0,0 +1,79 @@
+package io.stargate.sgv2.jsonapi.metrics.jfr;
+
+import io.smallrye.mutiny.Uni;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+import jdk.jfr.Event;
+
+/**
+ * Helpers for the custom Java Flight Recorder events of the Data API, see the event classes in this
+ * package.
+ *
+ * <p>All the events are disabled by default, so they are only recorded when enabled in the JFR
+ * settings of a recording, for example with <code>
+ * jfr configure io.stargate.sgv2.jsonapi.CqlStatement#enabled=true</code> or by adding them to a
+ * custom <code>.jfc</code> file. When an event is disabled the only cost is checking if it is
+ * enabled, the fields of the event are only set when it is going to be committed.
+ */
+public final class JfrEvents {
+
+  /** Category all the Data API events are shown under in JDK Mission Control. */
+  static final String CATEGORY = "Data API";
+
+  private JfrEvents() {}
+
+  /**
+   * Called with the outcome of the {@link Uni} to set the fields of an event before it is
+   * committed.
+   */
+  @FunctionalInterface
+  public interface EventCompleter<EventT extends Event, T> {
+    /**
+     * @param event The event to set the fields of.
+     * @param item The item from the Uni, may be null.
+     * @param failure The failure from the Uni, null if it completed.
+     */
+    void complete(EventT event, T item, Throwable failure);
+  }
+
+  /**
+   * Records an event for how long the <code>uni</code> takes, from when it is subscribed to until
+   * it completes or fails.
+   *
+   * @param eventFactory Creates a new event.
+   * @param uni The Uni to record.
+   * @param completer Called to set the fields of the event, only when the event will be committed.
+   * @return The <code>uni</code> unchanged when the event is disabled, otherwise a Uni that records
+   *     the event.
+   */
+  public static <EventT extends Event, T> Uni<T> recorded(
+      Supplier<EventT> eventFactory, Uni<T> uni, EventCompleter<EventT, T> completer) {
+
+    if (!eventFactory.get().isEnabled()) {
+      return uni;
+    }
+    return Uni.createFrom()
+        .deferred(
+            () -> {
+              var event = eventFactory.get();
+              event.begin();
+              return uni.onItemOrFailure()
+                  .invoke(
+                      (item, failure) -> {
+                        event.end();
+                        if (event.shouldCommit()) {
+                          completer.complete(event, item, failure);
+                          event.commit();
+                        }
+                      });
+            });
+  }
+
+  /** Name of the class of the failure for the events, or null if there was no failure. */
+  static String failureName(Throwable failure) {
+    if (failure instanceof CompletionException && failure.getCause() != null) {
+      failure = failure.getCause();
+    }
+    return failure == null ? null : failure.getClass().getSimpleName();
+  }
+}
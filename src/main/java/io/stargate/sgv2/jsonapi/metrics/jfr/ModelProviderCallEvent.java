@@ -0,0 +1,56 @@
+package io.stargate.sgv2.jsonapi.metrics.jfr;
+
+import io.stargate.sgv2.jsonapi.api.request.tenant.Tenant;
+import io.stargate.sgv2.jsonapi.service.provider.ModelType;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** JFR event for a call to an embedding or reranking model provider. */
+@Name("io.stargate.sgv2.jsonapi.ModelProviderCall")
+@Label("Model Provider Call")
+@Category(JfrEvents.CATEGORY)
+@Description("Call to an embedding or reranking model provider.")
+@Enabled(false)
+@StackTrace(false)
+public class ModelProviderCallEvent extends Event {
+
+  @Label("Tenant")
+  String tenant;
+
+  @Label("Model Type")
+  String modelType;
+
+  @Label("Provider")
+  String provider;
+
+  @Label("Model")
+  String model;
+
+  @Label("Input Count")
+  @Description("Number of texts to vectorize, or passages to rerank, in the call.")
+  int inputCount;
+
+  @Label("Failure")
+  String failure;
+
+  /** Sets the fields of the event for the call. */
+  public void complete(
+      ModelType modelType,
+      Tenant tenant,
+      String provider,
+      String model,
+      int inputCount,
+      Throwable failure) {
+    this.modelType = modelType.name();
+    this.tenant = String.valueOf(tenant);
+    this.provider = provider;
+    this.model = model;
+    this.inputCount = inputCount;
+    this.failure = JfrEvents.failureName(failure);
+  }
+}
@@ -0,0 +1,241 @@
+package io.stargate.sgv2.jsonapi.service.bulkimport;
+
+import com.fasterxml.jackson.core.JacksonException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.stargate.sgv2.jsonapi.api.model.command.CommandContext;
+import io.stargate.sgv2.jsonapi.api.model.command.CommandResult;
+import io.stargate.sgv2.jsonapi.api.model.command.CommandStatus;
+import io.stargate.sgv2.jsonapi.api.model.command.impl.InsertManyCommand;
+import io.stargate.sgv2.jsonapi.api.model.command.tracing.RequestTracing;
+import io.stargate.sgv2.jsonapi.config.OperationsConfig;
+import io.stargate.sgv2.jsonapi.config.constants.ErrorConstants;
+import io.stargate.sgv2.jsonapi.exception.RequestException;
+import io.stargate.sgv2.jsonapi.service.export.BulkExporter;
+import io.stargate.sgv2.jsonapi.service.processor.MeteredCommandProcessor;
+import io.stargate.sgv2.jsonapi.service.schema.tables.TableBasedSchemaObject;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Imports documents into a collection, or rows into a table, from newline delimited JSON.
+ *
+ * <p>Each line is parsed as it arrives and the documents are grouped into batches of {@link
+ * OperationsConfig#maxDocumentInsertCount()}. Each batch is inserted with an unordered <code>
+ * insertMany</code>, which shreds, vectorizes and writes it, and up to {@link
+ * OperationsConfig.BulkImportConfig#parallelism()} batches are inserted at the same time while the
+ * following lines are parsed. Lines are only read as fast as the batches are inserted. Each batch
+ * is a command with its own {@link CommandContext}, as the context is not shared between commands
+ * that run at the same time.
+ *
+ * <p>There is one result line for each batch, in the order the batches complete:
+ *
+ * <pre>
+ * {"firstLine":1,"lastLine":100,"documentResponses":[{"line":1,"_id":"a","status":"OK"}, ...],
+ *   "errors":[...],"progress":{"lines":100,"inserted":99,"failed":1}}
+ * </pre>
+ *
+ * The <code>documentResponses</code> are the same as for <code>insertMany</code> with the <code>
+ * returnDocumentResponses</code> option, with the line number added. Lines that are not a JSON
+ * object have the status <code>ERROR</code>. The <code>progress</code> is the total for all the
+ * batches so far.
+ */
+public class BulkImporter {
+  private static final Logger LOGGER = LoggerFactory.getLogger(BulkImporter.class);
+
+  private static final String STATUS_OK = "OK";
+  private static final String STATUS_ERROR = "ERROR";
+
+  private final Supplier<CommandContext<? extends TableBasedSchemaObject>> batchContexts;
+  private final MeteredCommandProcessor commandProcessor;
+  private final ObjectMapper objectMapper;
+  private final OperationsConfig operationsConfig;
+
+  /**
+   * @param commandContext Context for the import.
+   * @param batchContexts Creates the context for the <code>insertMany</code> command of each batch,
+   *     the contexts are closed when the command completes.
+   */
+  public BulkImporter(
+      CommandContext<? extends TableBasedSchemaObject> commandContext,
+      Supplier<CommandContext<? extends TableBasedSchemaObject>> batchContexts,
+      MeteredCommandProcessor commandProcessor,
+      ObjectMapper objectMapper) {
+    Objects.requireNonNull(commandContext, "commandContext must not be null");
+    this.batchContexts = Objects.requireNonNull(batchContexts, "batchContexts must not be null");
+    this.commandProcessor =
+        Objects.requireNonNull(commandProcessor, "commandProcessor must not be null");
+    this.objectMapper = Objects.requireNonNull(objectMapper, "objectMapper must not be null");
+    this.operationsConfig = commandContext.config().get(OperationsConfig.class);
+  }
+
+  /**
+   * Imports the documents from the lines.
+   *
+   * @param lines The lines of the request, without the newline. Blank lines are skipped but
+   *     counted for the line numbers.
+   * @return Multi of the result lines to write, without the newline. Failures are returned as the
+   *     last line rather than failing the Multi.
+   */
+  public Multi<String> importLines(Multi<String> lines) {
+    var lineNumber = new AtomicLong();
+    var progress = new Progress();
+
+    return lines
+        .map(text -> parse(lineNumber.incrementAndGet(), text))
+        .filter(line -> !line.blank())
+        .group()
+        .intoLists()
+        .of(operationsConfig.maxDocumentInsertCount())
+        .onItem()
+        .transformToUni(this::insert)
+        .merge(operationsConfig.bulkImport().parallelism())
+        // batches come here one at a time, so the progress needs no locking
+        .map(batch -> batchLine(batch, progress).toString())
+        .onFailure()
+        .recoverWithItem(throwable -> BulkExporter.errorLine(objectMapper, throwable));
+  }
+
+  private ParsedLine parse(long lineNumber, String text) {
+    if (text.isBlank()) {
+      return new ParsedLine(lineNumber, null, null);
+    }
+    try {
+      var document = objectMapper.readTree(text);
+      if (document.isObject()) {
+        return new ParsedLine(lineNumber, document, null);
+      }
+      return new ParsedLine(lineNumber, null, notJson("line is not a JSON object"));
+    } catch (JacksonException e) {
+      return new ParsedLine(lineNumber, null, notJson(e.getOriginalMessage()));
+    }
+  }
+
+  private static RuntimeException notJson(String message) {
+    return RequestException.Code.REQUEST_NOT_JSON.get(
+        Map.of(ErrorConstants.TemplateVars.ERROR_MESSAGE, message));
+  }
+
+  private Uni<InsertedBatch> insert(List<ParsedLine> lines) {
+    var documents = lines.stream().map(ParsedLine::document).filter(Objects::nonNull).toList();
+    if (documents.isEmpty()) {
+      return Uni.createFrom().item(new InsertedBatch(lines, null));
+    }
+    var batchContext = batchContexts.get();
+    return commandProcessor
+        .processCommand(
+            batchContext,
+            new InsertManyCommand(documents, new InsertManyCommand.Options(false, true)))
+        .map(result -> new InsertedBatch(lines, result))
+        .onTermination()
+        .invoke(() -> close(batchContext));
+  }
+
+  private static void close(CommandContext<?> context) {
+    try {
+      context.close();
+    } catch (Exception e) {
+      LOGGER.error("Error closing the command context for the import insertMany command", e);
+    }
+  }
+
+  /** Builds the result line for the batch, and adds the batch to the progress. */
+  private ObjectNode batchLine(InsertedBatch batch, Progress progress) {
+    var errors = objectMapper.createArrayNode();
+    JsonNode insertResponses = objectMapper.missingNode();
+    if (batch.result() != null) {
+      JsonNode result = objectMapper.valueToTree(batch.result());
+      result.path("errors").forEach(errors::add);
+      insertResponses = result.path("status").path(CommandStatus.DOCUMENT_RESPONSES.apiName());
+    }
+    // the errors for lines that are not valid are added after the errors from the insert
+    var insertErrorCount = errors.size();
+
+    var line = objectMapper.createObjectNode();
+    line.put("firstLine", batch.lines().getFirst().lineNumber());
+    line.put("lastLine", batch.lines().getLast().lineNumber());
+    var documentResponses = line.putArray(CommandStatus.DOCUMENT_RESPONSES.apiName());
+
+    int insertIndex = 0;
+    for (var parsed : batch.lines()) {
+      var response = documentResponses.addObject().put("line", parsed.lineNumber());
+      if (parsed.error() != null) {
+        errors.add(errorNode(parsed.error()));
+        response.put("status", STATUS_ERROR).put("errorsIdx", errors.size() - 1);
+      } else if (insertResponses.has(insertIndex)) {
+        response.setAll((ObjectNode) insertResponses.get(insertIndex++));
+      } else {
+        // the whole insertMany failed, such as when the collection was dropped
+        response.put("status", STATUS_ERROR);
+        if (insertErrorCount > 0) {
+          response.put("errorsIdx", 0);
+        }
+      }
+      progress.add(response.path("status").asText());
+    }
+    if (!errors.isEmpty()) {
+      line.set("errors", errors);
+    }
+    line.set("progress", progress.toJson(objectMapper));
+    return line;
+  }
+
+  private JsonNode errorNode(Throwable error) {
+    JsonNode result =
+        objectMapper.valueToTree(
+            CommandResult.statusOnlyBuilder(RequestTracing.NO_OP).addThrowable(error).build());
+    return result.path("errors").path(0);
+  }
+
+  /**
+   * A line of the request.
+   *
+   * @param document The document, or <code>null</code> if the line is blank or not valid.
+   * @param error The error if the line is not valid, <code>null</code> otherwise.
+   */
+  private record ParsedLine(long lineNumber, JsonNode document, RuntimeException error) {
+    boolean blank() {
+      return document == null && error == null;
+    }
+  }
+
+  /**
+   * The lines of a batch and the result of the insert.
+   *
+   * @param result The result of the <code>insertMany</code>, or <code>null</code> if there were no
+   *     valid documents in the batch.
+   */
+  private record InsertedBatch(List<ParsedLine> lines, CommandResult result) {}
+
+  /** Totals for all the batches so far, only updated from the ordered stream of batches. */
+  private static class Progress {
+    private long lines;
+    private long inserted;
+    private long failed;
+
+    void add(String status) {
+      lines++;
+      switch (status) {
+        case STATUS_OK -> inserted++;
+        case STATUS_ERROR -> failed++;
+        default -> {}
+      }
+    }
+
+    ObjectNode toJson(ObjectMapper objectMapper) {
+      return objectMapper
+          .createObjectNode()
+          .put("lines", lines)
+          .put("inserted", inserted)
+          .put("failed", failed);
+    }
+  }
+}
@@ -0,0 +1,86 @@
+package io.stargate.sgv2.jsonapi.service.cql.builder;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.annotations.VisibleForTesting;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Cache of CQL query text rendered by the {@link QueryBuilder}, keyed by the structural shape of
+ * the query rather than its values.
+ *
+ * <p>Applications send the same few filter shapes over and over with different values, and every
+ * value (including the map keys for document paths, see {@link
+ * io.stargate.sgv2.jsonapi.service.operation.builder.ConditionLHS}) is bound as a positional
+ * parameter. So two queries with the same {@link TemplateKey} always render to the same CQL text,
+ * and we only need to collect the values for each request. Rendering walks every column through
+ * {@link io.stargate.sgv2.jsonapi.service.cql.ColumnUtils#maybeQuote(String)}, which is where most
+ * of the cost is, and keeping the text stable also means identical statements share the one
+ * string instance.
+ *
+ * <p>Only the text up to the end of the where clause is cached. The <code>ORDER BY</code> and
+ * <code>LIMIT</code> are added for each query, so queries that only differ by their limit share the
+ * template, and the limit is not part of the key.
+ *
+ * <p>The entries do not depend on the tenant, the keyspace and table are part of the key. The
+ * operations pass the cache from the {@link
+ * io.stargate.sgv2.jsonapi.api.model.command.CommandContext} to the {@link QueryBuilder}.
+ */
+@ApplicationScoped
+public class CqlTemplateCache {
+
+  /** Max number of distinct query shapes to keep, sized well above what a busy node sees. */
+  static final long DEFAULT_MAX_SIZE = 10_000;
+
+  private final Cache<TemplateKey, String> cache;
+
+  public CqlTemplateCache() {
+    this(DEFAULT_MAX_SIZE);
+  }
+
+  @VisibleForTesting
+  CqlTemplateCache(long maxSize) {
+    this.cache = Caffeine.newBuilder().maximumSize(maxSize).build();
+  }
+
+  /**
+   * Returns the CQL text for the template, rendering it with the <code>renderer</code> if it is
+   * not already cached.
+   */
+  public String get(TemplateKey key, Function<TemplateKey, String> renderer) {
+    Objects.requireNonNull(key, "key must not be null");
+    return cache.get(key, renderer);
+  }
+
+  @VisibleForTesting
+  long estimatedSize() {
+    return cache.estimatedSize();
+  }
+
+  @VisibleForTesting
+  void clear() {
+    cache.invalidateAll();
+  }
+
+  /**
+   * Structural description of a SELECT built by the {@link QueryBuilder} up to the end of the where
+   * clause, everything that affects the CQL text but none of the values that are bound to it.
+   *
+   * @param keyspace Keyspace name, may be null if the query is not qualified.
+   * @param table Table name.
+   * @param selection Columns in the select clause, in order.
+   * @param functionCalls Function calls in the select clause, in order, see {@link
+   *     QueryBuilder.FunctionCall#shapeKey()}.
+   * @param whereShape Shape of the where expression, empty if there is none, see {@link
+   *     QueryBuilder}
+   */
+  public record TemplateKey(
+      String keyspace,
+      String table,
+      List<String> selection,
+      List<String> functionCalls,
+      String whereShape) {}
+}
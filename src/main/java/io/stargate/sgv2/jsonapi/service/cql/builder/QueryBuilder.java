@@ -22,6 +22,9 @@ public class QueryBuilder {
 
   private static final String COUNT_FUNCTION_NAME = "COUNT";
 
+  /** Cache of the rendered CQL for a query shape, {@code null} if the CQL is not cached. */
+  private final CqlTemplateCache templateCache;
+
   private String keyspaceName;
   private String tableName;
   private boolean isInsert;
@@ -42,6 +45,19 @@ public class QueryBuilder {
   /** The where expression which contains conditions and logic operation for a SELECT or UPDATE. */
   private Expression<BuiltCondition> whereExpression = null;
 
+  /** Builder that renders the CQL for each query. */
+  public QueryBuilder() {
+    this(null);
+  }
+
+  /**
+   * @param templateCache Cache for the CQL of the query shapes, may be null to render the CQL for
+   *     each query.
+   */
+  public QueryBuilder(CqlTemplateCache templateCache) {
+    this.templateCache = templateCache;
+  }
+
   public void keyspace(String keyspace) {
     this.keyspaceName = keyspace;
   }
@@ -129,8 +145,90 @@ public class QueryBuilder {
         "Unsupported cql query type in QueryBuilder (isSelect=false)");
   }
 
+  /**
+   * Builds the SELECT by walking the where expression once to get its shape and values, the CQL
+   * text for the shape comes from the {@link CqlTemplateCache}, if there is one, and is only
+   * rendered the first time we see it. The order and limit are added after.
+   */
   private Query selectQuery() {
-    List<Object> values = new ArrayList<>();
+    // check the vector before going to the cache, so a cache hit cannot skip the check
+    boolean hasSimilarityFunction = false;
+    for (FunctionCall functionCall : functionCalls) {
+      hasSimilarityFunction |= functionCall.isSimilarityFunction;
+    }
+    if ((orderByAnn != null || hasSimilarityFunction) && vectorValue == null) {
+      throw ServerException.internalServerError("Missing the vector value when building cql");
+    }
+
+    List<Object> whereValues = new ArrayList<>();
+    StringBuilder whereShape = new StringBuilder();
+    if (whereExpression != null) {
+      appendExpressionShape(whereShape, whereExpression, whereValues);
+    }
+
+    String cql;
+    if (templateCache == null) {
+      cql = renderSelectCql();
+    } else {
+      var templateKey =
+          new CqlTemplateCache.TemplateKey(
+              keyspaceName,
+              tableName,
+              List.copyOf(selection),
+              functionCalls.stream().map(FunctionCall::shapeKey).toList(),
+              whereShape.toString());
+      cql = templateCache.get(templateKey, key -> renderSelectCql());
+    }
+    cql = appendOrderAndLimit(cql);
+
+    // values must be in the same order as the positional markers rendered in renderSelectCql() and
+    // appendOrderAndLimit()
+    List<Object> values = new ArrayList<>(whereValues.size() + 3);
+    for (FunctionCall functionCall : functionCalls) {
+      if (functionCall.isSimilarityFunction) {
+        values.add(vectorValue);
+      }
+    }
+    values.addAll(whereValues);
+    if (orderByAnn != null) {
+      values.add(vectorValue);
+    }
+    if (bm25Clause != null) {
+      values.add(bm25Clause.query());
+    }
+    return new Query(cql, values);
+  }
+
+  /**
+   * Appends the structure of the expression to the <code>shape</code>, and the values for the
+   * conditions to the <code>values</code>, visiting the conditions in the same order as {@link
+   * #addExpressionCql(StringBuilder, Expression)}.
+   */
+  private static void appendExpressionShape(
+      StringBuilder shape, Expression<BuiltCondition> expression, List<Object> values) {
+    switch (expression.getExprType()) {
+      case "and", "or" -> {
+        shape.append(expression.getExprType()).append('(');
+        for (Expression<BuiltCondition> child : expression.getChildren()) {
+          appendExpressionShape(shape, child, values);
+          shape.append(',');
+        }
+        shape.append(')');
+      }
+      case "variable" -> {
+        Variable<BuiltCondition> variable = (Variable) expression;
+        BuiltCondition condition = variable.getValue();
+        condition.lhs.appendShapeKey(shape);
+        shape.append(condition.predicate.name());
+        condition.rhsTerm.appendPositionalValue(values);
+      }
+      default ->
+          throw ServerException.internalServerError(
+              "Unsupported expression type " + expression.getExprType());
+    }
+  }
+
+  private String renderSelectCql() {
     StringBuilder builder = new StringBuilder("SELECT ");
     // Data API has 3 sets of selection columns: DOCUMENT, SORTED_DOCUMENT, KEY
     if (selection.isEmpty() && functionCalls.isEmpty()) {
@@ -139,20 +237,26 @@ public class QueryBuilder {
       builder.append(
           Stream.concat(
                   selection.stream().map(QueryBuilder::cqlName),
-                  functionCalls.stream()
-                      .map(functionCall -> formatFunctionCall(functionCall, values)))
+                  functionCalls.stream().map(this::formatFunctionCall))
               .collect(Collectors.joining(", ")));
     }
     builder.append(" FROM ").append(maybeQualify(tableName));
 
-    appendWheres(builder, values);
+    appendWheres(builder);
+    return builder.toString();
+  }
 
+  /**
+   * @return The <code>cql</code> with the order and limit of the query added, the same instance if
+   *     there are none.
+   */
+  private String appendOrderAndLimit(String cql) {
+    if (orderByAnn == null && bm25Clause == null && limitInt == null) {
+      return cql;
+    }
+    StringBuilder builder = new StringBuilder(cql);
     if (orderByAnn != null) {
-      if (vectorValue == null) {
-        throw ServerException.internalServerError("Missing the vector value when building cql");
-      }
       builder.append(" ORDER BY ").append(orderByAnn).append(" ANN OF ?");
-      values.add(vectorValue);
     }
 
     if (bm25Clause != null) {
@@ -171,33 +275,27 @@ public class QueryBuilder {
           .append(bm25Clause.column())
           .append(" BM25 OF ? LIMIT ")
           .append(bm25Limit);
-
-      values.add(bm25Clause.query());
     } else if (limitInt != null) {
       builder.append(" LIMIT ").append(limitInt == -1 ? "?" : limitInt);
     }
 
-    return new Query(builder.toString(), values);
+    return builder.toString();
   }
 
-  private void appendWheres(StringBuilder builder, List<Object> values) {
+  private void appendWheres(StringBuilder builder) {
     // Data API fully rely on Expression<BuildCondition> instead of List<BuildCondition>
     if (this.whereExpression != null) {
-      appendConditions(this.whereExpression, " WHERE ", builder, values);
+      appendConditions(this.whereExpression, " WHERE ", builder);
     }
   }
 
   private void appendConditions(
-      Expression<BuiltCondition> whereExpression,
-      String initialPrefix,
-      StringBuilder builder,
-      List<Object> values) {
+      Expression<BuiltCondition> whereExpression, String initialPrefix, StringBuilder builder) {
     builder.append(initialPrefix);
-    addExpressionCql(builder, whereExpression, values);
+    addExpressionCql(builder, whereExpression);
   }
 
-  private void addExpressionCql(
-      StringBuilder sb, Expression<BuiltCondition> outerExpression, List<Object> values) {
+  private void addExpressionCql(StringBuilder sb, Expression<BuiltCondition> outerExpression) {
     List<Expression<BuiltCondition>> innerExpressions = outerExpression.getChildren();
     switch (outerExpression.getExprType()) {
       case "and" -> {
@@ -206,7 +304,7 @@ public class QueryBuilder {
           sb.append("(");
         }
         for (int i = 0; i < innerExpressions.size(); i++) {
-          addExpressionCql(sb, innerExpressions.get(i), values);
+          addExpressionCql(sb, innerExpressions.get(i));
           if (i == innerExpressions.size() - 1) {
             break;
           }
@@ -223,7 +321,7 @@ public class QueryBuilder {
           sb.append("(");
         }
         for (int i = 0; i < innerExpressions.size(); i++) {
-          addExpressionCql(sb, innerExpressions.get(i), values);
+          addExpressionCql(sb, innerExpressions.get(i));
           if (i == innerExpressions.size() - 1) {
             break;
           }
@@ -239,7 +337,6 @@ public class QueryBuilder {
         Variable<BuiltCondition> variable = (Variable) outerExpression;
         BuiltCondition condition = variable.getValue();
         condition.lhs.appendToBuilder(sb);
-        condition.rhsTerm.appendPositionalValue(values);
         sb.append(condition.predicate.getCql()).append("?");
       }
       default ->
@@ -262,10 +359,10 @@ public class QueryBuilder {
 
   /**
    * @param functionCall functionCall such as similarityScore
-   * @param values values list to be populated
-   * @return
+   * @return the CQL for the function call, the vector for a similarity function is a positional
+   *     marker that {@link #selectQuery()} binds.
    */
-  private String formatFunctionCall(QueryBuilder.FunctionCall functionCall, List<Object> values) {
+  private String formatFunctionCall(QueryBuilder.FunctionCall functionCall) {
     StringBuilder builder = new StringBuilder();
     if (functionCall.getColumnName() == null
         && COUNT_FUNCTION_NAME.equals(functionCall.getFunctionName())) {
@@ -277,11 +374,7 @@ public class QueryBuilder {
           .append('(')
           .append(cqlName(functionCall.getColumnName()));
       if (functionCall.isSimilarityFunction) {
-        if (vectorValue == null) {
-          throw ServerException.internalServerError("Missing the vector value when building cql");
-        }
         builder.append(", ").append('?');
-        values.add(vectorValue);
       }
       builder.append(')');
     }
@@ -370,5 +463,10 @@ public class QueryBuilder {
     public void setAlias(String alias) {
       this.alias = alias;
     }
+
+    /** Key for the function call in the {@link CqlTemplateCache.TemplateKey}. */
+    String shapeKey() {
+      return functionName + '(' + columnName + ')' + alias + (isSimilarityFunction ? "?" : "");
+    }
   }
 }
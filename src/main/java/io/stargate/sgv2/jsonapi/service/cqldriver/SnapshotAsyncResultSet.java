@@ -0,0 +1,107 @@
+package io.stargate.sgv2.jsonapi.service.cqldriver;
+
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.ColumnDefinitions;
+import com.datastax.oss.driver.api.core.cql.ExecutionInfo;
+import com.datastax.oss.driver.api.core.cql.Row;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.CompletionStage;
+import org.jspecify.annotations.NonNull;
+
+/**
+ * A copy of the current page of an {@link AsyncResultSet}, so the page can be read by more than
+ * one caller.
+ *
+ * <p>The page from the driver can only be iterated once, this keeps the rows in a list that is
+ * shared by each view. Use {@link #copyOf(AsyncResultSet)} once, which reads the page from the
+ * driver, and then {@link #view()} to get a result set for each caller. Each view has its own
+ * position in the rows and behaves like the result set from the driver: {@link #currentPage()}
+ * continues from the rows already read and {@link #remaining()} is the number of rows not yet read.
+ * Fetching the next page is passed to the result set from the driver, which starts a new request
+ * each time it is called.
+ */
+public class SnapshotAsyncResultSet implements AsyncResultSet {
+
+  private final AsyncResultSet source;
+  private final List<Row> rows;
+  // index of the next row to read from this view, not thread safe same as the driver
+  private int position;
+
+  private SnapshotAsyncResultSet(AsyncResultSet source, List<Row> rows) {
+    this.source = Objects.requireNonNull(source, "source must not be null");
+    this.rows = Objects.requireNonNull(rows, "rows must not be null");
+  }
+
+  /** Copies the current page of the <code>source</code>, which reads all the rows from it. */
+  public static SnapshotAsyncResultSet copyOf(AsyncResultSet source) {
+    var rows = new ArrayList<Row>(Math.max(0, source.remaining()));
+    source.currentPage().forEach(rows::add);
+    return new SnapshotAsyncResultSet(source, Collections.unmodifiableList(rows));
+  }
+
+  /** Gets a result set that shares the rows of this snapshot. */
+  public SnapshotAsyncResultSet view() {
+    return new SnapshotAsyncResultSet(source, rows);
+  }
+
+  @Override
+  @NonNull
+  public ColumnDefinitions getColumnDefinitions() {
+    return source.getColumnDefinitions();
+  }
+
+  @Override
+  @NonNull
+  public ExecutionInfo getExecutionInfo() {
+    return source.getExecutionInfo();
+  }
+
+  @Override
+  @NonNull
+  public Iterable<Row> currentPage() {
+    return RowIterator::new;
+  }
+
+  @Override
+  public int remaining() {
+    return rows.size() - position;
+  }
+
+  @Override
+  public boolean hasMorePages() {
+    return source.hasMorePages();
+  }
+
+  @Override
+  @NonNull
+  public CompletionStage<AsyncResultSet> fetchNextPage() throws IllegalStateException {
+    return source.fetchNextPage();
+  }
+
+  @Override
+  public boolean wasApplied() {
+    return source.wasApplied();
+  }
+
+  /** Iterator that moves the position of the view, so every iterator continues from it. */
+  private class RowIterator implements Iterator<Row> {
+
+    @Override
+    public boolean hasNext() {
+      return position < rows.size();
+    }
+
+    @Override
+    public Row next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return rows.get(position++);
+    }
+  }
+}
@@ -0,0 +1,175 @@
+package io.stargate.sgv2.jsonapi.service.cqldriver.executor;
+
+import static io.stargate.sgv2.jsonapi.metrics.MetricsConstants.MetricNames.ADAPTIVE_PAGE_SIZE_METRIC;
+import static io.stargate.sgv2.jsonapi.metrics.MetricsConstants.MetricTags.KEYSPACE_TAG;
+import static io.stargate.sgv2.jsonapi.metrics.MetricsConstants.MetricTags.TABLE_TAG;
+
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.annotations.VisibleForTesting;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.smallrye.mutiny.Uni;
+import io.stargate.sgv2.jsonapi.config.OperationsConfig;
+import io.stargate.sgv2.jsonapi.service.schema.SchemaObjectIdentifier;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Sizes the pages of a read that goes through all the pages of a query, such as an in-memory sort
+ * or an export, from the observed bytes per row and latency per row for the table.
+ *
+ * <p>With a fixed page size a scan of many small rows makes many round trips, while a page of wide
+ * rows can be very large. The page size is chosen so a page is close to the target bytes and the
+ * target latency, whichever is smaller, within the configured minimum and maximum and never more
+ * than the rows the caller can use. Latency per row is measured on the scan pages only, which are
+ * large enough that the fixed cost of a round trip does not dominate.
+ *
+ * <p>The configured page size is used until enough pages have been seen for the table. Row size
+ * and latency are tracked per keyspace and table across all tenants, and shared by all instances,
+ * created per operation with the target table.
+ */
+public class AdaptivePageSizer {
+
+  private static final SharedState SHARED_STATE = new SharedState();
+
+  private final OperationsConfig.QueriesConfig.AdaptivePagingConfig config;
+  private final MeterRegistry meterRegistry;
+  private final SchemaObjectIdentifier target;
+  private final SharedState sharedState;
+
+  public AdaptivePageSizer(
+      OperationsConfig.QueriesConfig.AdaptivePagingConfig config,
+      MeterRegistry meterRegistry,
+      SchemaObjectIdentifier target) {
+    this(config, meterRegistry, target, SHARED_STATE);
+  }
+
+  @VisibleForTesting
+  AdaptivePageSizer(
+      OperationsConfig.QueriesConfig.AdaptivePagingConfig config,
+      MeterRegistry meterRegistry,
+      SchemaObjectIdentifier target,
+      SharedState sharedState) {
+    this.config = Objects.requireNonNull(config, "config must not be null");
+    this.meterRegistry = Objects.requireNonNull(meterRegistry, "meterRegistry must not be null");
+    this.target = Objects.requireNonNull(target, "target must not be null");
+    this.sharedState = Objects.requireNonNull(sharedState, "sharedState must not be null");
+  }
+
+  /**
+   * Gets the page size for the next page of a scan.
+   *
+   * @param configuredPageSize Page size to use until enough pages have been seen for the table.
+   * @param maxPageSize Most rows the caller can use from the page, such as the limit on the rows
+   *     for an in-memory sort.
+   * @return Page size, between the configured minimum and maximum, and no more than <code>
+   *     maxPageSize</code>.
+   */
+  public int pageSize(int configuredPageSize, int maxPageSize) {
+    var stats = sharedState.stats.getIfPresent(target.fullName());
+    long estimate =
+        stats == null
+            ? -1
+            : stats.estimatePageSize(
+                config.minSamples(),
+                config.targetPageBytes(),
+                Duration.ofMillis(config.targetPageLatencyMillis()).toNanos());
+    if (estimate < 0) {
+      return Math.min(configuredPageSize, maxPageSize);
+    }
+
+    int pageSize = (int) Math.max(config.minPageSize(), Math.min(estimate, config.maxPageSize()));
+    pageSize = Math.max(1, Math.min(pageSize, maxPageSize));
+    meterRegistry.summary(ADAPTIVE_PAGE_SIZE_METRIC, tags()).record(pageSize);
+    return pageSize;
+  }
+
+  /**
+   * Records the size and latency of a page read, from when the read is subscribed to until it
+   * returns.
+   *
+   * @param read Supplier of the read for the page, called when the returned Uni is subscribed to
+   *     so the page size can be chosen then.
+   * @return Uni with the page.
+   */
+  public Uni<AsyncResultSet> measured(Supplier<Uni<AsyncResultSet>> read) {
+    return Uni.createFrom()
+        .deferred(
+            () -> {
+              long startNanos = System.nanoTime();
+              return read.get()
+                  .onItem()
+                  .invoke(page -> record(page, System.nanoTime() - startNanos));
+            });
+  }
+
+  private void record(AsyncResultSet page, long latencyNanos) {
+    var executionInfo = page.getExecutionInfo();
+    int rows = page.remaining();
+    int bytes = executionInfo == null ? -1 : executionInfo.getResponseSizeInBytes();
+    // the size is not known for all responses, and an empty page says nothing about the rows
+    if (rows <= 0 || bytes <= 0) {
+      return;
+    }
+    var stats = sharedState.stats.get(target.fullName(), k -> new PageStats());
+    stats.record(rows, bytes, latencyNanos);
+  }
+
+  private Tags tags() {
+    return Tags.of(
+        KEYSPACE_TAG, target.keyspace().asInternal(), TABLE_TAG, target.table().asInternal());
+  }
+
+  /** Page stats shared by all the {@link AdaptivePageSizer} instances. */
+  @VisibleForTesting
+  static class SharedState {
+    private static final long MAX_ENTRIES = 10_000;
+    private static final Duration IDLE_EXPIRY = Duration.ofMinutes(10);
+
+    final Cache<String, PageStats> stats =
+        Caffeine.newBuilder().maximumSize(MAX_ENTRIES).expireAfterAccess(IDLE_EXPIRY).build();
+  }
+
+  /**
+   * Exponentially weighted moving averages of the bytes and latency per row of the pages read for
+   * a table, so the estimate follows changes in the rows and the load on the database.
+   */
+  @VisibleForTesting
+  static class PageStats {
+    private static final double WEIGHT = 0.2;
+
+    private long samples;
+    private double bytesPerRow;
+    private double nanosPerRow;
+
+    synchronized void record(int rows, int bytes, long latencyNanos) {
+      double pageBytesPerRow = (double) bytes / rows;
+      double pageNanosPerRow = (double) latencyNanos / rows;
+      if (samples == 0) {
+        bytesPerRow = pageBytesPerRow;
+        nanosPerRow = pageNanosPerRow;
+      } else {
+        bytesPerRow += WEIGHT * (pageBytesPerRow - bytesPerRow);
+        nanosPerRow += WEIGHT * (pageNanosPerRow - nanosPerRow);
+      }
+      samples++;
+    }
+
+    /**
+     * @return Rows that fit in both the target bytes and the target latency, or <code>-1</code> if
+     *     not enough samples yet.
+     */
+    synchronized long estimatePageSize(
+        int minSamples, long targetPageBytes, long targetPageLatencyNanos) {
+      if (samples < minSamples) {
+        return -1;
+      }
+      double byBytes = targetPageBytes / Math.max(1.0, bytesPerRow);
+      double byLatency = targetPageLatencyNanos / Math.max(1.0, nanosPerRow);
+      return (long) Math.min(byBytes, byLatency);
+    }
+  }
+}
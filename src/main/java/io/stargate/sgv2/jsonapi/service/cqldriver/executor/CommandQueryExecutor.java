@@ -1,6 +1,5 @@
 package io.stargate.sgv2.jsonapi.service.cqldriver.executor;
 
-import com.datastax.oss.driver.api.core.AsyncPagingIterable;
 import com.datastax.oss.driver.api.core.CqlIdentifier;
 import com.datastax.oss.driver.api.core.CqlSession;
 import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
@@ -8,14 +7,15 @@ import com.datastax.oss.driver.api.core.cql.SimpleStatement;
 import com.datastax.oss.driver.api.core.metadata.Metadata;
 import com.datastax.oss.driver.api.core.metadata.schema.KeyspaceMetadata;
 import com.google.common.annotations.VisibleForTesting;
-import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 import io.stargate.sgv2.jsonapi.api.request.RequestContext;
+import io.stargate.sgv2.jsonapi.metrics.jfr.CqlStatementEvent;
+import io.stargate.sgv2.jsonapi.metrics.jfr.JfrEvents;
 import io.stargate.sgv2.jsonapi.service.cqldriver.AccumulatingAsyncResultSet;
 import io.stargate.sgv2.jsonapi.service.cqldriver.CQLSessionCache;
+import java.nio.ByteBuffer;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Configured to execute queries for a specific command that relies on drive profiles
@@ -64,13 +64,35 @@ public class CommandQueryExecutor {
   private final CQLSessionCache cqlSessionCache;
   private final RequestContext requestContext;
   private final QueryTarget queryTarget;
+  private final int pagePrefetchLookAhead;
+  // nullable, reading all pages uses the page size on the statement if null
+  private final AdaptivePageSizer adaptivePageSizer;
 
   public CommandQueryExecutor(
       CQLSessionCache cqlSessionCache, RequestContext requestContext, QueryTarget queryTarget) {
+    this(cqlSessionCache, requestContext, queryTarget, PagePrefetcher.DEFAULT_LOOK_AHEAD);
+  }
+
+  public CommandQueryExecutor(
+      CQLSessionCache cqlSessionCache,
+      RequestContext requestContext,
+      QueryTarget queryTarget,
+      int pagePrefetchLookAhead) {
+    this(cqlSessionCache, requestContext, queryTarget, pagePrefetchLookAhead, null);
+  }
+
+  public CommandQueryExecutor(
+      CQLSessionCache cqlSessionCache,
+      RequestContext requestContext,
+      QueryTarget queryTarget,
+      int pagePrefetchLookAhead,
+      AdaptivePageSizer adaptivePageSizer) {
     this.cqlSessionCache =
         Objects.requireNonNull(cqlSessionCache, "cqlSessionCache must not be null");
     this.requestContext = requestContext;
     this.queryTarget = queryTarget;
+    this.pagePrefetchLookAhead = pagePrefetchLookAhead;
+    this.adaptivePageSizer = adaptivePageSizer;
   }
 
   public Uni<AsyncResultSet> executeRead(SimpleStatement statement) {
@@ -85,6 +107,10 @@ public class CommandQueryExecutor {
    *
    * <p>It needs to do this without blocking on the reactive thread.
    *
+   * <p>If there is an {@link AdaptivePageSizer} and the statement has a page size, each page is
+   * sized from the rows observed for the table, otherwise all pages use the page size on the
+   * statement.
+   *
    * @param statement The statement to execute.
    * @param rowAccumulator The accumulator to hold the rows that are read as we go through the
    *     pages. The accumulator can keep them all or discard some / all as they are read.
@@ -95,32 +121,36 @@ public class CommandQueryExecutor {
 
     var accumulator = new AccumulatingAsyncResultSet(rowAccumulator);
 
-    return Multi.createBy()
-        .repeating()
-        .uni(
-            () -> new AtomicReference<AsyncResultSet>(null), // the state passed to the producer
-            stateRef -> {
-              Uni<AsyncResultSet> result =
-                  stateRef.get() == null
-                      ? executeRead(statement) // AsyncResultSet is null so first page
-                      : Uni.createFrom()
-                          .completionStage(stateRef.get().fetchNextPage()); // After first page
-              // returning result for looping, this is remembering the rows as we page through them
-              return result
-                  .onItem()
-                  .invoke(
-                      rs -> {
-                        accumulator.accumulate(rs);
-                        stateRef.set(rs);
-                      });
-            })
-        // Documents read until pageState available, max records read is deleteLimit + 1 TODO
-        // COMMENTS
-        .whilst(AsyncPagingIterable::hasMorePages)
-        .collect()
-        .asList()
+    // the next pages are requested while the rows from the current page are accumulated
+    var pages =
+        adaptivePageSizer == null || statement.getPageSize() <= 0
+            ? PagePrefetcher.pages(() -> executeRead(statement), pagePrefetchLookAhead)
+            : PagePrefetcher.pages(
+                () -> executeAdaptivePage(statement, null),
+                previousPage ->
+                    executeAdaptivePage(
+                        statement, previousPage.getExecutionInfo().getPagingState()),
+                pagePrefetchLookAhead);
+    return pages
         .onItem()
-        .transformToUni(resultSets -> Uni.createFrom().item(accumulator));
+        .invoke(accumulator::accumulate)
+        .collect()
+        .last()
+        .<AsyncResultSet>map(lastPage -> accumulator);
+  }
+
+  /**
+   * Reads a page sized by the {@link AdaptivePageSizer}, the page size on the statement is used
+   * until the table has enough observed pages. The CQL limit on the statement still applies across
+   * the pages.
+   */
+  private Uni<AsyncResultSet> executeAdaptivePage(
+      SimpleStatement statement, ByteBuffer pagingState) {
+    return adaptivePageSizer.measured(
+        () -> {
+          var pageSize = adaptivePageSizer.pageSize(statement.getPageSize(), Integer.MAX_VALUE);
+          return executeRead(statement.setPageSize(pageSize).setPagingState(pagingState));
+        });
   }
 
   public Uni<AsyncResultSet> executeWrite(SimpleStatement statement) {
@@ -173,6 +203,17 @@ public class CommandQueryExecutor {
     return executeAndWrap(statement);
   }
 
+  /**
+   * Checks if all the nodes agree on the schema version, see {@link
+   * CqlSession#checkSchemaAgreementAsync()}.
+   *
+   * @return Uni of true if the schema is in agreement.
+   */
+  public Uni<Boolean> checkSchemaAgreement() {
+    return session()
+        .flatMap(session -> Uni.createFrom().completionStage(session::checkSchemaAgreementAsync));
+  }
+
   /**
    * Gets the {@link CqlSession} this executor is using.
    *
@@ -199,8 +240,14 @@ public class CommandQueryExecutor {
   @VisibleForTesting
   public Uni<AsyncResultSet> executeAndWrap(SimpleStatement statement) {
 
-    return session()
-        .flatMap(
-            session -> Uni.createFrom().completionStage(() -> session.executeAsync(statement)));
+    var execution =
+        session()
+            .flatMap(
+                session -> Uni.createFrom().completionStage(() -> session.executeAsync(statement)));
+    return JfrEvents.recorded(
+        CqlStatementEvent::new,
+        execution,
+        (event, resultSet, failure) ->
+            event.complete(requestContext.tenant(), statement, resultSet, failure));
   }
 }
@@ -0,0 +1,42 @@
+package io.stargate.sgv2.jsonapi.service.cqldriver.executor;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.stargate.sgv2.jsonapi.api.request.tenant.Tenant;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.time.Duration;
+
+/**
+ * Read latencies for each table and the hedge budget for each tenant, used by the {@link
+ * ReadHedger} instances that are created for each operation.
+ *
+ * <p>Entries that are not used for a while are dropped, so tables that are no longer read and
+ * tenants that have gone away do not keep their state.
+ */
+@ApplicationScoped
+public class HedgedReadStats {
+
+  private static final long MAX_ENTRIES = 10_000;
+  private static final Duration IDLE_EXPIRY = Duration.ofMinutes(10);
+
+  private final Cache<String, ReadHedger.LatencyWindow> latencies =
+      Caffeine.newBuilder().maximumSize(MAX_ENTRIES).expireAfterAccess(IDLE_EXPIRY).build();
+  private final Cache<Tenant, ReadHedger.HedgeBudget> budgets =
+      Caffeine.newBuilder().maximumSize(MAX_ENTRIES).expireAfterAccess(IDLE_EXPIRY).build();
+
+  /**
+   * @param table Full name of the table.
+   * @param minSamples Samples needed before the window has a percentile, if it is created.
+   */
+  ReadHedger.LatencyWindow latencies(String table, int minSamples) {
+    return latencies.get(table, k -> new ReadHedger.LatencyWindow(minSamples));
+  }
+
+  /**
+   * @param tenant The tenant.
+   * @param burst Max hedges the tenant can send in a burst, if the budget is created.
+   */
+  ReadHedger.HedgeBudget budget(Tenant tenant, int burst) {
+    return budgets.get(tenant, k -> new ReadHedger.HedgeBudget(burst));
+  }
+}
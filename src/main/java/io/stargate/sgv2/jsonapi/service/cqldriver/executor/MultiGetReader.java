@@ -0,0 +1,157 @@
+package io.stargate.sgv2.jsonapi.service.cqldriver.executor;
+
+import static io.stargate.sgv2.jsonapi.metrics.MetricsConstants.MetricNames.MULTI_GET_FAN_OUT_METRIC;
+import static io.stargate.sgv2.jsonapi.metrics.MetricsConstants.MetricNames.MULTI_GET_KEYS_METRIC;
+import static io.stargate.sgv2.jsonapi.metrics.MetricsConstants.MetricTags.KEYSPACE_TAG;
+import static io.stargate.sgv2.jsonapi.metrics.MetricsConstants.MetricTags.TABLE_TAG;
+import static io.stargate.sgv2.jsonapi.metrics.MetricsConstants.MetricTags.TENANT_TAG;
+
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.datastax.oss.driver.api.core.metadata.Metadata;
+import com.datastax.oss.driver.api.core.metadata.Node;
+import com.datastax.oss.driver.api.core.metadata.TokenMap;
+import com.google.common.annotations.VisibleForTesting;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.stargate.sgv2.jsonapi.api.request.tenant.Tenant;
+import io.stargate.sgv2.jsonapi.config.OperationsConfig;
+import io.stargate.sgv2.jsonapi.service.schema.SchemaObjectIdentifier;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Runs the single document reads for a command that reads many documents by <code>_id</code>, such
+ * as <code>{"_id": {"$in": [...]}}</code> which is split into one read per id.
+ *
+ * <p>Each read has the routing key of its document set, so the driver sends it to a replica that
+ * owns the document rather than a coordinator that has to forward it. The reads are grouped by the
+ * first replica for their token, from the driver token metadata, and the groups are interleaved so
+ * the reads running at once are spread over the replicas rather than queued up on one of them. At
+ * most {@link OperationsConfig.QueriesConfig.MultiGetConfig#maxConcurrency()} reads run at once,
+ * and the results are returned in the order of the reads so the documents come back in the order
+ * they were asked for.
+ *
+ * <p>The number of replica groups, the fan out, and the number of reads are recorded for each
+ * command. Reads without a routing key, or when there is no token metadata, are in a group of their
+ * own.
+ */
+public class MultiGetReader {
+
+  private final OperationsConfig.QueriesConfig.MultiGetConfig config;
+  private final MeterRegistry meterRegistry;
+  private final SchemaObjectIdentifier target;
+
+  public MultiGetReader(
+      OperationsConfig.QueriesConfig.MultiGetConfig config,
+      MeterRegistry meterRegistry,
+      SchemaObjectIdentifier target) {
+    this.config = Objects.requireNonNull(config, "config must not be null");
+    this.meterRegistry = Objects.requireNonNull(meterRegistry, "meterRegistry must not be null");
+    this.target = Objects.requireNonNull(target, "target must not be null");
+  }
+
+  /**
+   * Runs the reads grouped by replica.
+   *
+   * @param tenant Tenant for the metrics.
+   * @param metadata Driver metadata to get the replicas from.
+   * @param statements The single document reads.
+   * @param read Function to run a read.
+   * @return Multi of the result sets, in the same order as the <code>statements</code>.
+   */
+  public Multi<AsyncResultSet> execute(
+      Tenant tenant,
+      Metadata metadata,
+      List<SimpleStatement> statements,
+      Function<SimpleStatement, Uni<AsyncResultSet>> read) {
+
+    var groups = groupByReplica(metadata.getTokenMap(), statements);
+    var tags = tags(tenant);
+    meterRegistry.summary(MULTI_GET_FAN_OUT_METRIC, tags).record(groups.size());
+    meterRegistry.summary(MULTI_GET_KEYS_METRIC, tags).record(statements.size());
+
+    return Multi.createFrom()
+        .iterable(interleave(groups))
+        .onItem()
+        .transformToUni(
+            index -> read.apply(statements.get(index)).map(resultSet -> new Read(index, resultSet)))
+        .merge(config.maxConcurrency())
+        .collect()
+        .asList()
+        .onItem()
+        .transformToMulti(
+            reads ->
+                Multi.createFrom()
+                    .iterable(
+                        reads.stream()
+                            .sorted(Comparator.comparingInt(Read::index))
+                            .map(Read::resultSet)
+                            .toList()));
+  }
+
+  /**
+   * Groups the statements by the first replica for their routing key, in the order the replicas
+   * are first seen.
+   *
+   * @return The groups, each is the list of indexes into <code>statements</code>.
+   */
+  @VisibleForTesting
+  static List<List<Integer>> groupByReplica(
+      Optional<TokenMap> tokenMap, List<SimpleStatement> statements) {
+
+    Map<Object, List<Integer>> groups = new LinkedHashMap<>();
+    for (int i = 0; i < statements.size(); i++) {
+      // reads where we do not know the replica each go in a group of their own
+      Object groupKey =
+          replica(tokenMap, statements.get(i)).map(Object.class::cast).orElseGet(Object::new);
+      groups.computeIfAbsent(groupKey, k -> new ArrayList<>()).add(i);
+    }
+    return List.copyOf(groups.values());
+  }
+
+  /** Takes one read from each group in turn, until all the groups are empty. */
+  @VisibleForTesting
+  static List<Integer> interleave(List<List<Integer>> groups) {
+    int total = groups.stream().mapToInt(List::size).sum();
+    var interleaved = new ArrayList<Integer>(total);
+    for (int round = 0; interleaved.size() < total; round++) {
+      for (var group : groups) {
+        if (round < group.size()) {
+          interleaved.add(group.get(round));
+        }
+      }
+    }
+    return interleaved;
+  }
+
+  private static Optional<Node> replica(Optional<TokenMap> tokenMap, SimpleStatement statement) {
+    if (tokenMap.isEmpty()
+        || statement.getRoutingKey() == null
+        || statement.getRoutingKeyspace() == null) {
+      return Optional.empty();
+    }
+    var token = tokenMap.get().newToken(statement.getRoutingKey());
+    return tokenMap.get().getReplicas(statement.getRoutingKeyspace(), token).stream().findFirst();
+  }
+
+  private Tags tags(Tenant tenant) {
+    return Tags.of(
+        TENANT_TAG,
+        String.valueOf(tenant),
+        KEYSPACE_TAG,
+        target.keyspace().asInternal(),
+        TABLE_TAG,
+        target.table().asInternal());
+  }
+
+  private record Read(int index, AsyncResultSet resultSet) {}
+}
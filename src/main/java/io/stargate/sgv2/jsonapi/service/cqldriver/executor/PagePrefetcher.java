@@ -0,0 +1,123 @@
+package io.stargate.sgv2.jsonapi.service.cqldriver.executor;
+
+import com.datastax.oss.driver.api.core.AsyncPagingIterable;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Reads all the pages of a query, requesting the next pages from the database while the current
+ * page is being processed.
+ *
+ * <p>Without prefetching the next page is only requested after the previous page has been
+ * processed, so a multi page scan alternates between waiting on the network and decoding rows. With
+ * a look-ahead of <code>n</code>, up to <code>n</code> pages past the one being processed are
+ * requested. Each page can only be requested once the page before it has arrived, because it needs
+ * that page's paging state, so the look-ahead bounds how far ahead of the consumer the reads can
+ * run rather than how many run at once.
+ *
+ * <p>A look-ahead of <code>0</code> requests each page when it is needed, same as not prefetching.
+ * Pages are emitted in order, and the last page emitted is the one without more pages.
+ */
+public final class PagePrefetcher {
+
+  /** Look-ahead used when there is no config, see {@link CommandQueryExecutor}. */
+  public static final int DEFAULT_LOOK_AHEAD = 1;
+
+  private PagePrefetcher() {}
+
+  /**
+   * Reads all the pages using {@link AsyncResultSet#fetchNextPage()} to get the next page.
+   *
+   * @param firstPage Supplier of the read for the first page.
+   * @param lookAhead Number of pages to request ahead of the page being processed.
+   * @return Multi of the pages, in order.
+   */
+  public static Multi<AsyncResultSet> pages(
+      Supplier<Uni<AsyncResultSet>> firstPage, int lookAhead) {
+    return pages(
+        firstPage,
+        previousPage -> Uni.createFrom().completionStage(previousPage::fetchNextPage),
+        lookAhead);
+  }
+
+  /**
+   * Reads all the pages using <code>nextPage</code> to get the next page.
+   *
+   * @param firstPage Supplier of the read for the first page.
+   * @param nextPage Function to read the page after the one passed, only called for pages that
+   *     have more pages.
+   * @param lookAhead Number of pages to request ahead of the page being processed.
+   * @return Multi of the pages, in order.
+   */
+  public static Multi<AsyncResultSet> pages(
+      Supplier<Uni<AsyncResultSet>> firstPage,
+      Function<AsyncResultSet, Uni<AsyncResultSet>> nextPage,
+      int lookAhead) {
+    Objects.requireNonNull(firstPage, "firstPage must not be null");
+    Objects.requireNonNull(nextPage, "nextPage must not be null");
+    if (lookAhead < 0) {
+      throw new IllegalArgumentException("lookAhead must not be negative, got " + lookAhead);
+    }
+
+    return Multi.createBy()
+        .repeating()
+        .uni(() -> new PrefetchState(firstPage, nextPage, lookAhead), PrefetchState::next)
+        .whilst(AsyncPagingIterable::hasMorePages);
+  }
+
+  /**
+   * The pages that have been requested and not yet emitted, each page is chained on the one before
+   * it so it is requested as soon as that page arrives.
+   */
+  private static class PrefetchState {
+
+    private final Supplier<Uni<AsyncResultSet>> firstPage;
+    private final Function<AsyncResultSet, Uni<AsyncResultSet>> nextPage;
+    private final int lookAhead;
+
+    private final ArrayDeque<CompletionStage<AsyncResultSet>> requested = new ArrayDeque<>();
+    // the last page requested, null until the first page is requested
+    private CompletionStage<AsyncResultSet> last;
+
+    PrefetchState(
+        Supplier<Uni<AsyncResultSet>> firstPage,
+        Function<AsyncResultSet, Uni<AsyncResultSet>> nextPage,
+        int lookAhead) {
+      this.firstPage = firstPage;
+      this.nextPage = nextPage;
+      this.lookAhead = lookAhead;
+    }
+
+    /** Called by the repeating Multi, one call at a time, for the next page to emit. */
+    synchronized Uni<AsyncResultSet> next() {
+      if (requested.isEmpty()) {
+        request();
+      }
+      var page = requested.poll();
+      while (requested.size() < lookAhead) {
+        request();
+      }
+      return Uni.createFrom().completionStage(page);
+    }
+
+    private void request() {
+      last =
+          last == null
+              ? firstPage.get().subscribeAsCompletionStage()
+              : last.thenCompose(
+                  previousPage ->
+                      previousPage == null || !previousPage.hasMorePages()
+                          // past the last page, this is never emitted
+                          ? CompletableFuture.<AsyncResultSet>completedFuture(null)
+                          : nextPage.apply(previousPage).subscribeAsCompletionStage());
+      requested.add(last);
+    }
+  }
+}
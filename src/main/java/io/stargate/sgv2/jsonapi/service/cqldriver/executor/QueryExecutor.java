@@ -2,6 +2,7 @@ package io.stargate.sgv2.jsonapi.service.cqldriver.executor;
 
 import static io.stargate.sgv2.jsonapi.util.CqlIdentifierUtil.cqlIdentifierFromUserInput;
 
+import com.datastax.oss.driver.api.core.ConsistencyLevel;
 import com.datastax.oss.driver.api.core.DriverTimeoutException;
 import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
 import com.datastax.oss.driver.api.core.cql.SimpleStatement;
@@ -9,6 +10,7 @@ import com.datastax.oss.driver.api.core.metadata.Metadata;
 import com.datastax.oss.driver.api.core.metadata.schema.TableMetadata;
 import com.datastax.oss.driver.api.core.servererrors.InvalidQueryException;
 import com.datastax.oss.driver.api.core.servererrors.TruncateException;
+import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 import io.stargate.sgv2.jsonapi.api.model.command.tracing.DBTraceMessages;
 import io.stargate.sgv2.jsonapi.api.model.command.tracing.RequestTracing;
@@ -16,10 +18,13 @@ import io.stargate.sgv2.jsonapi.api.request.RequestContext;
 import io.stargate.sgv2.jsonapi.config.OperationsConfig;
 import io.stargate.sgv2.jsonapi.config.constants.ErrorConstants;
 import io.stargate.sgv2.jsonapi.exception.SchemaException;
+import io.stargate.sgv2.jsonapi.metrics.jfr.CqlStatementEvent;
+import io.stargate.sgv2.jsonapi.metrics.jfr.JfrEvents;
 import io.stargate.sgv2.jsonapi.service.cqldriver.CQLSessionCache;
 import java.nio.ByteBuffer;
 import java.time.Duration;
 import java.util.Base64;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Function;
@@ -43,6 +48,16 @@ public class QueryExecutor {
   // nullable, see executeAsync
   private final Function<SimpleStatement, DriverExceptionHandler> exceptionHandlerFactory;
   private final RequestTracing requestTracing;
+  // nullable, reads are not hedged if null
+  private final ReadHedger readHedger;
+  // nullable, reads are not coalesced if null
+  private final ReadCoalescer readCoalescer;
+  // nullable, reads by _id are all sent at once if null
+  private final MultiGetReader multiGetReader;
+  // nullable, reads use the configured consistency if null
+  private final ReadConsistencyPolicy readConsistencyPolicy;
+  // nullable, scans use the page size for the command if null
+  private final AdaptivePageSizer adaptivePageSizer;
 
   public QueryExecutor(CQLSessionCache cqlSessionCache, OperationsConfig operationsConfig) {
     this(cqlSessionCache, operationsConfig, null, RequestTracing.NO_OP);
@@ -53,14 +68,92 @@ public class QueryExecutor {
       OperationsConfig operationsConfig,
       Function<SimpleStatement, DriverExceptionHandler> exceptionHandlerFactory,
       RequestTracing requestTracing) {
+    this(
+        builder(cqlSessionCache, operationsConfig)
+            .exceptionHandlerFactory(exceptionHandlerFactory)
+            .requestTracing(requestTracing));
+  }
 
+  private QueryExecutor(Builder builder) {
     this.cqlSessionCache =
-        Objects.requireNonNull(cqlSessionCache, "cqlSessionCache must not be null");
+        Objects.requireNonNull(builder.cqlSessionCache, "cqlSessionCache must not be null");
     this.operationsConfig =
-        Objects.requireNonNull(operationsConfig, "operationsConfig must not be null");
+        Objects.requireNonNull(builder.operationsConfig, "operationsConfig must not be null");
     // null checked in executeAsync
-    this.exceptionHandlerFactory = exceptionHandlerFactory;
-    this.requestTracing = Objects.requireNonNull(requestTracing, "requestTracing must not be null");
+    this.exceptionHandlerFactory = builder.exceptionHandlerFactory;
+    this.requestTracing =
+        Objects.requireNonNull(builder.requestTracing, "requestTracing must not be null");
+    this.readHedger = builder.readHedger;
+    this.readCoalescer = builder.readCoalescer;
+    this.multiGetReader = builder.multiGetReader;
+    this.readConsistencyPolicy = builder.readConsistencyPolicy;
+    this.adaptivePageSizer = builder.adaptivePageSizer;
+  }
+
+  /**
+   * Builder for a QueryExecutor with the optional collaborators for reads, those not set are not
+   * used.
+   */
+  public static Builder builder(
+      CQLSessionCache cqlSessionCache, OperationsConfig operationsConfig) {
+    return new Builder(cqlSessionCache, operationsConfig);
+  }
+
+  public static class Builder {
+    private final CQLSessionCache cqlSessionCache;
+    private final OperationsConfig operationsConfig;
+    private Function<SimpleStatement, DriverExceptionHandler> exceptionHandlerFactory;
+    private RequestTracing requestTracing = RequestTracing.NO_OP;
+    private ReadHedger readHedger;
+    private ReadCoalescer readCoalescer;
+    private MultiGetReader multiGetReader;
+    private ReadConsistencyPolicy readConsistencyPolicy;
+    private AdaptivePageSizer adaptivePageSizer;
+
+    private Builder(CQLSessionCache cqlSessionCache, OperationsConfig operationsConfig) {
+      this.cqlSessionCache = cqlSessionCache;
+      this.operationsConfig = operationsConfig;
+    }
+
+    public Builder exceptionHandlerFactory(
+        Function<SimpleStatement, DriverExceptionHandler> exceptionHandlerFactory) {
+      this.exceptionHandlerFactory = exceptionHandlerFactory;
+      return this;
+    }
+
+    public Builder requestTracing(RequestTracing requestTracing) {
+      this.requestTracing = requestTracing;
+      return this;
+    }
+
+    public Builder readHedger(ReadHedger readHedger) {
+      this.readHedger = readHedger;
+      return this;
+    }
+
+    public Builder readCoalescer(ReadCoalescer readCoalescer) {
+      this.readCoalescer = readCoalescer;
+      return this;
+    }
+
+    public Builder multiGetReader(MultiGetReader multiGetReader) {
+      this.multiGetReader = multiGetReader;
+      return this;
+    }
+
+    public Builder readConsistencyPolicy(ReadConsistencyPolicy readConsistencyPolicy) {
+      this.readConsistencyPolicy = readConsistencyPolicy;
+      return this;
+    }
+
+    public Builder adaptivePageSizer(AdaptivePageSizer adaptivePageSizer) {
+      this.adaptivePageSizer = adaptivePageSizer;
+      return this;
+    }
+
+    public QueryExecutor build() {
+      return new QueryExecutor(this);
+    }
   }
 
   private Uni<AsyncResultSet> executeAsync(
@@ -105,7 +198,64 @@ public class QueryExecutor {
                         "Statement trace for non task based operation");
                     yield Uni.createFrom().item(asyncResultSet);
                   }
-                });
+                })
+        .plug(
+            execution ->
+                JfrEvents.recorded(
+                    CqlStatementEvent::new,
+                    execution,
+                    (event, resultSet, failure) ->
+                        event.complete(requestContext.tenant(), statement, resultSet, failure)));
+  }
+
+  /** Executes a read, hedging it if there is a {@link ReadHedger}. */
+  private Uni<AsyncResultSet> executeHedgedRead(
+      RequestContext requestContext, SimpleStatement statement) {
+
+    return readHedger == null
+        ? executeAsync(requestContext, statement)
+        : readHedger.execute(requestContext, () -> executeAsync(requestContext, statement));
+  }
+
+  /**
+   * Executes a read, collapsing it with identical reads in flight if there is a {@link
+   * ReadCoalescer}. Not collapsed when tracing, because each request needs its own trace.
+   */
+  private Uni<AsyncResultSet> executeCoalescedRead(
+      RequestContext requestContext, SimpleStatement statement) {
+
+    return readCoalescer == null || requestTracing.enabled()
+        ? executeHedgedRead(requestContext, statement)
+        : readCoalescer.execute(
+            requestContext, statement, () -> executeHedgedRead(requestContext, statement));
+  }
+
+  /**
+   * Executes several reads that are each for a single document, such as the reads for an <code>_id
+   * $in</code> filter. If there is a {@link MultiGetReader} the reads are grouped by replica, with
+   * a limit on how many run at once, and the results are in the same order as the statements.
+   * Otherwise all the reads are sent at once and the results are in the order they arrive.
+   *
+   * @param statements The reads, each should have a routing key.
+   * @param read Function to run a single read, such as {@link #executeRead(RequestContext,
+   *     SimpleStatement, Optional, int)}.
+   * @return Multi of the result sets.
+   */
+  public Multi<AsyncResultSet> executeReads(
+      RequestContext requestContext,
+      List<SimpleStatement> statements,
+      Function<SimpleStatement, Uni<AsyncResultSet>> read) {
+
+    if (multiGetReader == null || statements.size() < 2) {
+      return Multi.createFrom().iterable(statements).onItem().transformToUniAndMerge(read);
+    }
+    return cqlSessionCache
+        .getSession(requestContext)
+        .onItem()
+        .transformToMulti(
+            session ->
+                multiGetReader.execute(
+                    requestContext.tenant(), session.getMetadata(), statements, read));
   }
 
   /**
@@ -124,14 +274,55 @@ public class QueryExecutor {
       Optional<String> pagingState,
       int pageSize) {
     simpleStatement =
-        simpleStatement
-            .setPageSize(pageSize)
-            .setConsistencyLevel(operationsConfig.queriesConfig().consistency().reads());
+        withReadConsistency(
+            simpleStatement.setPageSize(pageSize),
+            operationsConfig.queriesConfig().consistency().reads());
     if (pagingState.isPresent()) {
       simpleStatement =
           simpleStatement.setPagingState(ByteBuffer.wrap(decodeBase64(pagingState.get())));
     }
-    return executeAsync(requestContext, simpleStatement);
+    return executeCoalescedRead(requestContext, simpleStatement);
+  }
+
+  /**
+   * Execute a read for a page of a scan that reads all the pages of the query, such as an in-memory
+   * sort or an export. If there is an {@link AdaptivePageSizer} the page is sized from the rows
+   * observed for the table, otherwise the <code>pageSize</code> is used.
+   *
+   * @param simpleStatement - Simple statement with query and parameters. The table name used in the
+   *     query must have keyspace prefixed.
+   * @param pagingState - The paging state from the previous page, empty for the first page.
+   * @param pageSize - page size for the command, used until the table has enough observed pages.
+   * @param maxPageSize - most rows the scan can use from a page.
+   * @return AsyncResultSet
+   */
+  public Uni<AsyncResultSet> executeScanRead(
+      RequestContext requestContext,
+      SimpleStatement simpleStatement,
+      Optional<String> pagingState,
+      int pageSize,
+      int maxPageSize) {
+    if (adaptivePageSizer == null) {
+      return executeRead(requestContext, simpleStatement, pagingState, pageSize);
+    }
+    return adaptivePageSizer.measured(
+        () ->
+            executeRead(
+                requestContext,
+                simpleStatement,
+                pagingState,
+                adaptivePageSizer.pageSize(pageSize, maxPageSize)));
+  }
+
+  /**
+   * Sets the consistency from the {@link ReadConsistencyPolicy} if there is one, otherwise the
+   * <code>configured</code> consistency.
+   */
+  private SimpleStatement withReadConsistency(
+      SimpleStatement statement, ConsistencyLevel configured) {
+    return readConsistencyPolicy == null
+        ? statement.setConsistencyLevel(configured)
+        : readConsistencyPolicy.apply(statement);
   }
 
   /**
@@ -144,9 +335,9 @@ public class QueryExecutor {
   public Uni<AsyncResultSet> executeCount(
       RequestContext requestContext, SimpleStatement simpleStatement) {
     simpleStatement =
-        simpleStatement
-            .setExecutionProfileName("count")
-            .setConsistencyLevel(operationsConfig.queriesConfig().consistency().reads());
+        withReadConsistency(
+            simpleStatement.setExecutionProfileName("count"),
+            operationsConfig.queriesConfig().consistency().reads());
     return executeAsync(requestContext, simpleStatement);
   }
 
@@ -160,7 +351,7 @@ public class QueryExecutor {
   public Uni<AsyncResultSet> executeEstimatedCount(
       RequestContext requestContext, SimpleStatement simpleStatement) {
     simpleStatement =
-        simpleStatement.setConsistencyLevel(operationsConfig.queriesConfig().consistency().reads());
+        withReadConsistency(simpleStatement, operationsConfig.queriesConfig().consistency().reads());
 
     return executeAsync(requestContext, simpleStatement);
   }
@@ -181,15 +372,15 @@ public class QueryExecutor {
       Optional<String> pagingState,
       int pageSize) {
     simpleStatement =
-        simpleStatement
-            .setPageSize(pageSize)
-            .setConsistencyLevel(operationsConfig.queriesConfig().consistency().vectorSearch());
+        withReadConsistency(
+            simpleStatement.setPageSize(pageSize),
+            operationsConfig.queriesConfig().consistency().vectorSearch());
     if (pagingState.isPresent()) {
       simpleStatement =
           simpleStatement.setPagingState(ByteBuffer.wrap(decodeBase64(pagingState.get())));
     }
 
-    return executeAsync(requestContext, simpleStatement);
+    return executeHedgedRead(requestContext, simpleStatement);
   }
 
   /**
@@ -297,6 +488,18 @@ public class QueryExecutor {
         .atMost(2);
   }
 
+  /**
+   * Checks if all the nodes agree on the schema version, see {@link
+   * com.datastax.oss.driver.api.core.session.Session#checkSchemaAgreementAsync()}.
+   *
+   * @return Uni of true if the schema is in agreement.
+   */
+  public Uni<Boolean> checkSchemaAgreement(RequestContext requestContext) {
+    return cqlSessionCache
+        .getSession(requestContext)
+        .flatMap(session -> Uni.createFrom().completionStage(session::checkSchemaAgreementAsync));
+  }
+
   public Uni<Metadata> getDriverMetadata(RequestContext requestContext) {
 
     return cqlSessionCache
@@ -348,6 +551,11 @@ public class QueryExecutor {
     return Base64.getDecoder().decode(base64encoded);
   }
 
+  /** Number of pages to request ahead when reading many pages, see {@link PagePrefetcher}. */
+  public int pagePrefetchLookAhead() {
+    return operationsConfig.queriesConfig().pagePrefetchLookAhead();
+  }
+
   public CQLSessionCache getCqlSessionCache() {
     return this.cqlSessionCache;
   }
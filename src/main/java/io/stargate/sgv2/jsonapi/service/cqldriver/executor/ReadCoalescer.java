@@ -0,0 +1,159 @@
+package io.stargate.sgv2.jsonapi.service.cqldriver.executor;
+
+import static io.stargate.sgv2.jsonapi.metrics.MetricsConstants.MetricNames.COALESCED_READS_COLLAPSED_METRIC;
+import static io.stargate.sgv2.jsonapi.metrics.MetricsConstants.MetricTags.KEYSPACE_TAG;
+import static io.stargate.sgv2.jsonapi.metrics.MetricsConstants.MetricTags.TABLE_TAG;
+import static io.stargate.sgv2.jsonapi.metrics.MetricsConstants.MetricTags.TENANT_TAG;
+
+import com.datastax.oss.driver.api.core.ConsistencyLevel;
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.google.common.annotations.VisibleForTesting;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.smallrye.mutiny.Uni;
+import io.stargate.sgv2.jsonapi.api.request.RequestContext;
+import io.stargate.sgv2.jsonapi.api.request.tenant.Tenant;
+import io.stargate.sgv2.jsonapi.service.cqldriver.SnapshotAsyncResultSet;
+import io.stargate.sgv2.jsonapi.service.schema.SchemaObjectIdentifier;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Collapses identical reads that are in flight at the same time into a single read, all the callers
+ * get the same rows (single-flight).
+ *
+ * <p>Hot documents, such as configuration records, can be read by many requests at once with the
+ * same <code>findOne</code>. The first read for a tenant, statement, bound values, consistency,
+ * page size and paging state is sent to the database, and identical reads that arrive before it
+ * completes wait for it rather than sending their own. The key is removed when the read completes,
+ * so no result is used after its read has completed and there is no staleness beyond the time the
+ * read was in flight. Failures are passed to all the waiting callers, if the first caller cancels
+ * the waiting callers send their own read.
+ *
+ * <p>Only reads are collapsed, which are idempotent, see {@link QueryExecutor#executeRead}. The
+ * in-flight reads are shared by all instances, created per operation with the target table.
+ */
+public class ReadCoalescer {
+
+  private static final Map<ReadKey, CompletableFuture<SnapshotAsyncResultSet>> IN_FLIGHT =
+      new ConcurrentHashMap<>();
+
+  private final MeterRegistry meterRegistry;
+  private final SchemaObjectIdentifier target;
+  private final Map<ReadKey, CompletableFuture<SnapshotAsyncResultSet>> inFlight;
+
+  public ReadCoalescer(MeterRegistry meterRegistry, SchemaObjectIdentifier target) {
+    this(meterRegistry, target, IN_FLIGHT);
+  }
+
+  @VisibleForTesting
+  ReadCoalescer(
+      MeterRegistry meterRegistry,
+      SchemaObjectIdentifier target,
+      Map<ReadKey, CompletableFuture<SnapshotAsyncResultSet>> inFlight) {
+    this.meterRegistry = Objects.requireNonNull(meterRegistry, "meterRegistry must not be null");
+    this.target = Objects.requireNonNull(target, "target must not be null");
+    this.inFlight = Objects.requireNonNull(inFlight, "inFlight must not be null");
+  }
+
+  /**
+   * Runs the read, or waits for an identical read that is already in flight.
+   *
+   * @param requestContext Context for the request, used to get the tenant for the key.
+   * @param statement The statement to run, with the consistency, page size and paging state set.
+   * @param read Supplier of the read, only called if there is no identical read in flight.
+   * @return Uni with the result of the read, each caller gets its own view of the rows.
+   */
+  public Uni<AsyncResultSet> execute(
+      RequestContext requestContext,
+      SimpleStatement statement,
+      Supplier<Uni<AsyncResultSet>> read) {
+
+    return Uni.createFrom()
+        .deferred(
+            () -> {
+              var key = ReadKey.of(requestContext.tenant(), statement);
+              var future = new CompletableFuture<SnapshotAsyncResultSet>();
+              var existing = inFlight.putIfAbsent(key, future);
+
+              if (existing != null) {
+                meterRegistry
+                    .counter(COALESCED_READS_COLLAPSED_METRIC, tags(requestContext.tenant()))
+                    .increment();
+                // copy so a waiting caller that cancels does not cancel the shared read
+                return Uni.createFrom()
+                    .completionStage(existing.copy())
+                    .<AsyncResultSet>map(SnapshotAsyncResultSet::view)
+                    .onFailure(CancellationException.class)
+                    .recoverWithUni(read);
+              }
+
+              // deferred so a read that throws rather than returning a failed Uni still removes
+              // the key and fails the waiting callers
+              return Uni.createFrom()
+                  .deferred(read)
+                  .onItemOrFailure()
+                  .transformToUni(
+                      (resultSet, error) -> {
+                        inFlight.remove(key, future);
+                        if (error != null) {
+                          future.completeExceptionally(error);
+                          return Uni.createFrom().<AsyncResultSet>failure(error);
+                        }
+                        var snapshot = SnapshotAsyncResultSet.copyOf(resultSet);
+                        future.complete(snapshot);
+                        return Uni.createFrom().<AsyncResultSet>item(snapshot.view());
+                      })
+                  .onCancellation()
+                  .invoke(
+                      () -> {
+                        inFlight.remove(key, future);
+                        future.cancel(false);
+                      });
+            });
+  }
+
+  private Tags tags(Tenant tenant) {
+    return Tags.of(
+        TENANT_TAG,
+        String.valueOf(tenant),
+        KEYSPACE_TAG,
+        target.keyspace().asInternal(),
+        TABLE_TAG,
+        target.table().asInternal());
+  }
+
+  /**
+   * Identifies reads that return the same rows, the values are compared with equals which the
+   * driver value types implement.
+   */
+  @VisibleForTesting
+  record ReadKey(
+      Tenant tenant,
+      String query,
+      List<Object> positionalValues,
+      Map<CqlIdentifier, Object> namedValues,
+      ConsistencyLevel consistencyLevel,
+      int pageSize,
+      ByteBuffer pagingState) {
+
+    static ReadKey of(Tenant tenant, SimpleStatement statement) {
+      return new ReadKey(
+          tenant,
+          statement.getQuery(),
+          statement.getPositionalValues(),
+          statement.getNamedValues(),
+          statement.getConsistencyLevel(),
+          statement.getPageSize(),
+          statement.getPagingState());
+    }
+  }
+}
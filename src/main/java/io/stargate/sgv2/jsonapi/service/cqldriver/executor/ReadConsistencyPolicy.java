@@ -0,0 +1,192 @@
+package io.stargate.sgv2.jsonapi.service.cqldriver.executor;
+
+import static io.stargate.sgv2.jsonapi.metrics.MetricsConstants.MetricNames.READ_CONSISTENCY_OVERRIDES_METRIC;
+import static io.stargate.sgv2.jsonapi.metrics.MetricsConstants.MetricTags.KEYSPACE_TAG;
+import static io.stargate.sgv2.jsonapi.metrics.MetricsConstants.MetricTags.READ_CONSISTENCY_SOURCE_TAG;
+import static io.stargate.sgv2.jsonapi.metrics.MetricsConstants.MetricTags.READ_CONSISTENCY_TAG;
+import static io.stargate.sgv2.jsonapi.metrics.MetricsConstants.MetricTags.TABLE_TAG;
+import static io.stargate.sgv2.jsonapi.metrics.MetricsConstants.MetricTags.TENANT_TAG;
+
+import com.datastax.oss.driver.api.core.ConsistencyLevel;
+import com.datastax.oss.driver.api.core.DefaultConsistencyLevel;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.google.common.annotations.VisibleForTesting;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.stargate.sgv2.jsonapi.api.model.command.CommandContext;
+import io.stargate.sgv2.jsonapi.api.request.tenant.Tenant;
+import io.stargate.sgv2.jsonapi.config.OperationsConfig;
+import io.stargate.sgv2.jsonapi.config.constants.HttpConstants;
+import io.stargate.sgv2.jsonapi.exception.RequestException;
+import io.stargate.sgv2.jsonapi.service.schema.SchemaObjectIdentifier;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Consistency for the reads and vector searches of a read only collection command, when one is set
+ * for the tenant, the collection or in the request, rather than the {@link
+ * OperationsConfig.QueriesConfig.ConsistencyConfig#reads()} and {@link
+ * OperationsConfig.QueriesConfig.ConsistencyConfig#vectorSearch()} used for all commands.
+ *
+ * <p>Read mostly tenants, such as catalogs, or analytics reads that can tolerate reading from a
+ * single replica, can use <code>LOCAL_ONE</code> to halve the replica work of a <code>
+ * LOCAL_QUORUM</code> read. The most specific setting is used: the {@link
+ * HttpConstants#READ_CONSISTENCY_HEADER_NAME} header when it is enabled, then {@link
+ * OperationsConfig.QueriesConfig.ConsistencyConfig#collectionReads()} and then {@link
+ * OperationsConfig.QueriesConfig.ConsistencyConfig#tenantReads()}.
+ *
+ * <p>Only used for operations that only read, see {@link
+ * io.stargate.sgv2.jsonapi.service.operation.Operation#isReadOnly()}, so the reads before a write,
+ * such as for <code>findOneAndUpdate</code>, keep the configured consistency. Each statement the
+ * consistency is applied to is counted, tagged with the consistency and where it came from.
+ */
+public class ReadConsistencyPolicy {
+
+  /** Where the consistency for the command came from. */
+  public enum Source {
+    HEADER("header"),
+    COLLECTION("collection"),
+    TENANT("tenant");
+
+    private final String tagValue;
+
+    Source(String tagValue) {
+      this.tagValue = tagValue;
+    }
+
+    public String tagValue() {
+      return tagValue;
+    }
+  }
+
+  private final ConsistencyLevel consistency;
+  private final Source source;
+  private final Counter appliedCounter;
+
+  @VisibleForTesting
+  ReadConsistencyPolicy(
+      ConsistencyLevel consistency,
+      Source source,
+      MeterRegistry meterRegistry,
+      Tenant tenant,
+      SchemaObjectIdentifier target) {
+    this.consistency = Objects.requireNonNull(consistency, "consistency must not be null");
+    this.source = Objects.requireNonNull(source, "source must not be null");
+    Objects.requireNonNull(meterRegistry, "meterRegistry must not be null");
+    Objects.requireNonNull(target, "target must not be null");
+
+    this.appliedCounter =
+        meterRegistry.counter(
+            READ_CONSISTENCY_OVERRIDES_METRIC,
+            Tags.of(
+                TENANT_TAG,
+                String.valueOf(tenant),
+                KEYSPACE_TAG,
+                target.keyspace().asInternal(),
+                TABLE_TAG,
+                target.table().asInternal(),
+                READ_CONSISTENCY_TAG,
+                consistency.name(),
+                READ_CONSISTENCY_SOURCE_TAG,
+                source.tagValue()));
+  }
+
+  /**
+   * Gets the policy for a read only collection command.
+   *
+   * @param commandContext Context of the command, must be for a collection.
+   * @param consistencyConfig The consistency configuration.
+   * @return The policy, or null if there is no consistency set for the command and the configured
+   *     consistency should be used.
+   * @throws RequestException if the header is enabled and the value is not one of the {@link
+   *     OperationsConfig.QueriesConfig.ConsistencyConfig#readsHeaderAllowed()}.
+   */
+  public static ReadConsistencyPolicy forCommand(
+      CommandContext<?> commandContext,
+      OperationsConfig.QueriesConfig.ConsistencyConfig consistencyConfig) {
+
+    var requestContext = commandContext.requestContext();
+    var headers = requestContext.getHttpHeaders();
+    return resolve(
+        consistencyConfig,
+        commandContext.meterRegistry(),
+        requestContext.tenant(),
+        commandContext.schemaObject().identifier(),
+        headers == null ? null : headers.getHeader(HttpConstants.READ_CONSISTENCY_HEADER_NAME));
+  }
+
+  @VisibleForTesting
+  static ReadConsistencyPolicy resolve(
+      OperationsConfig.QueriesConfig.ConsistencyConfig consistencyConfig,
+      MeterRegistry meterRegistry,
+      Tenant tenant,
+      SchemaObjectIdentifier target,
+      String headerValue) {
+
+    if (consistencyConfig.readsHeaderEnabled() && headerValue != null && !headerValue.isBlank()) {
+      return new ReadConsistencyPolicy(
+          headerConsistency(consistencyConfig, headerValue),
+          Source.HEADER,
+          meterRegistry,
+          tenant,
+          target);
+    }
+
+    var collectionConsistency =
+        consistencyConfig
+            .collectionReads()
+            .getOrDefault(target.keyspace().asInternal(), Map.of())
+            .get(target.table().asInternal());
+    if (collectionConsistency != null) {
+      return new ReadConsistencyPolicy(
+          collectionConsistency, Source.COLLECTION, meterRegistry, tenant, target);
+    }
+
+    var tenantConsistency = consistencyConfig.tenantReads().get(String.valueOf(tenant));
+    if (tenantConsistency != null) {
+      return new ReadConsistencyPolicy(
+          tenantConsistency, Source.TENANT, meterRegistry, tenant, target);
+    }
+    return null;
+  }
+
+  private static ConsistencyLevel headerConsistency(
+      OperationsConfig.QueriesConfig.ConsistencyConfig consistencyConfig, String headerValue) {
+
+    var allowed = consistencyConfig.readsHeaderAllowed();
+    var normalized = headerValue.trim().toUpperCase(Locale.ROOT);
+    for (DefaultConsistencyLevel level : allowed) {
+      if (level.name().equals(normalized)) {
+        return level;
+      }
+    }
+    throw RequestException.Code.UNSUPPORTED_READ_CONSISTENCY.get(
+        Map.of(
+            "header",
+            HttpConstants.READ_CONSISTENCY_HEADER_NAME,
+            "value",
+            headerValue,
+            "supported",
+            allowed.stream().map(DefaultConsistencyLevel::name).collect(Collectors.joining(", "))));
+  }
+
+  /**
+   * @return The consistency for the reads and vector searches of the command.
+   */
+  public ConsistencyLevel consistency() {
+    return consistency;
+  }
+
+  public Source source() {
+    return source;
+  }
+
+  /** Sets the consistency on the statement, and counts it. */
+  SimpleStatement apply(SimpleStatement statement) {
+    appliedCounter.increment();
+    return statement.setConsistencyLevel(consistency);
+  }
+}
@@ -0,0 +1,250 @@
+package io.stargate.sgv2.jsonapi.service.cqldriver.executor;
+
+import static io.stargate.sgv2.jsonapi.metrics.MetricsConstants.MetricNames.HEDGED_READS_SENT_METRIC;
+import static io.stargate.sgv2.jsonapi.metrics.MetricsConstants.MetricNames.HEDGED_READS_WON_METRIC;
+import static io.stargate.sgv2.jsonapi.metrics.MetricsConstants.MetricTags.KEYSPACE_TAG;
+import static io.stargate.sgv2.jsonapi.metrics.MetricsConstants.MetricTags.TABLE_TAG;
+import static io.stargate.sgv2.jsonapi.metrics.MetricsConstants.MetricTags.TENANT_TAG;
+
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.google.common.annotations.VisibleForTesting;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.smallrye.mutiny.Uni;
+import io.stargate.sgv2.jsonapi.api.request.RequestContext;
+import io.stargate.sgv2.jsonapi.api.request.tenant.Tenant;
+import io.stargate.sgv2.jsonapi.config.OperationsConfig;
+import io.stargate.sgv2.jsonapi.service.schema.SchemaObjectIdentifier;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Sends a second copy of a read when the first has not returned within the observed latency
+ * percentile for the table, and uses whichever returns first. The slower request is cancelled, and
+ * the read only fails if every request that was sent fails.
+ *
+ * <p>This clips the tail latency caused by a single slow replica or coordinator, without waiting
+ * for the driver request timeout and retry. It is only used for reads, which are idempotent, see
+ * {@link QueryExecutor#executeRead} and {@link QueryExecutor#executeVectorSearch}.
+ *
+ * <p>Latency is tracked per keyspace and table across all tenants, and a table is not hedged until
+ * enough reads have been seen. Each tenant has a budget that limits the hedges it can send to a
+ * ratio of its reads, so a cluster wide slowdown does not double the load from a tenant. The
+ * latency and budget state is in the {@link HedgedReadStats} bean, instances are created per
+ * operation with the target table.
+ *
+ * <p>Only the latency of the first request is recorded, if the hedge wins that is how long the
+ * first request had been running when it was cancelled. Recording the winner would lower the
+ * percentile as hedges win, and so hedge more and more reads.
+ */
+public class ReadHedger {
+
+  private final OperationsConfig.QueriesConfig.HedgedReadsConfig config;
+  private final MeterRegistry meterRegistry;
+  private final SchemaObjectIdentifier target;
+  private final HedgedReadStats stats;
+
+  public ReadHedger(
+      OperationsConfig.QueriesConfig.HedgedReadsConfig config,
+      MeterRegistry meterRegistry,
+      SchemaObjectIdentifier target,
+      HedgedReadStats stats) {
+    this.config = Objects.requireNonNull(config, "config must not be null");
+    this.meterRegistry = Objects.requireNonNull(meterRegistry, "meterRegistry must not be null");
+    this.target = Objects.requireNonNull(target, "target must not be null");
+    this.stats = Objects.requireNonNull(stats, "stats must not be null");
+  }
+
+  /**
+   * Runs the read, hedging it if the table has enough latency samples and the tenant has budget.
+   *
+   * @param requestContext Context for the request, used to get the tenant for the budget.
+   * @param read Supplier of the read, called once for the first request and again for the hedge.
+   *     Each call must start a new request.
+   * @return Uni with the result of the first read to complete, or failed when all the reads sent
+   *     failed.
+   */
+  public Uni<AsyncResultSet> execute(
+      RequestContext requestContext, Supplier<Uni<AsyncResultSet>> read) {
+
+    var latencies = stats.latencies(target.fullName(), config.minSamples());
+    var budget = stats.budget(requestContext.tenant(), config.budgetBurst());
+    budget.earn(config.budgetRatio());
+
+    long startNanos = System.nanoTime();
+    long delayNanos = latencies.percentileNanos(config.percentile());
+    if (delayNanos < 0) {
+      return read.get().onItem().invoke(ignored -> latencies.record(elapsed(startNanos)));
+    }
+
+    delayNanos = Math.max(delayNanos, Duration.ofMillis(config.minDelayMillis()).toNanos());
+    var tags = tags(requestContext.tenant());
+    var attempts = new Attempts();
+    var hedgeCompleted = new AtomicBoolean();
+
+    Uni<Attempt> primary =
+        read.get()
+            .onItem()
+            .invoke(ignored -> latencies.record(elapsed(startNanos)))
+            .onCancellation()
+            .invoke(
+                () -> {
+                  // cancelled because the hedge won, still running so at least this slow
+                  if (hedgeCompleted.get()) {
+                    latencies.record(elapsed(startNanos));
+                  }
+                })
+            .map(resultSet -> new Attempt(resultSet, false))
+            // a failed primary must not fail the read while the hedge may still succeed
+            .onFailure(failure -> !attempts.failed())
+            .recoverWithUni(() -> Uni.createFrom().nothing());
+    Uni<Attempt> hedge =
+        Uni.createFrom()
+            .voidItem()
+            .onItem()
+            .delayIt()
+            .by(Duration.ofNanos(delayNanos))
+            .onItem()
+            .transformToUni(
+                ignored -> {
+                  if (!budget.trySpend() || !attempts.startHedge()) {
+                    return Uni.createFrom().<Attempt>nothing();
+                  }
+                  meterRegistry.counter(HEDGED_READS_SENT_METRIC, tags).increment();
+                  return read.get()
+                      .onItem()
+                      .invoke(resultSet -> hedgeCompleted.set(true))
+                      .map(resultSet -> new Attempt(resultSet, true))
+                      // a failed hedge must not fail the read, leave it to the primary
+                      .onFailure(failure -> !attempts.failed())
+                      .recoverWithUni(() -> Uni.createFrom().nothing());
+                });
+
+    return Uni.combine()
+        .any()
+        .of(primary, hedge)
+        .map(
+            attempt -> {
+              if (attempt.hedge()) {
+                meterRegistry.counter(HEDGED_READS_WON_METRIC, tags).increment();
+              }
+              return attempt.resultSet();
+            });
+  }
+
+  private Tags tags(Tenant tenant) {
+    return Tags.of(
+        TENANT_TAG,
+        String.valueOf(tenant),
+        KEYSPACE_TAG,
+        target.keyspace().asInternal(),
+        TABLE_TAG,
+        target.table().asInternal());
+  }
+
+  private static long elapsed(long startNanos) {
+    return System.nanoTime() - startNanos;
+  }
+
+  private record Attempt(AsyncResultSet resultSet, boolean hedge) {}
+
+  /** Counts the requests sent and failed for one read, the read fails when all of them failed. */
+  private static class Attempts {
+    private int sent = 1;
+    private int failed;
+
+    /**
+     * @return False if the read has already failed, so the hedge is not sent.
+     */
+    synchronized boolean startHedge() {
+      if (failed >= sent) {
+        return false;
+      }
+      sent++;
+      return true;
+    }
+
+    /**
+     * @return True if every request sent has now failed, so the read fails.
+     */
+    synchronized boolean failed() {
+      failed++;
+      return failed >= sent;
+    }
+  }
+
+  /**
+   * Ring buffer of the most recent read latencies for a table, the percentile is recalculated
+   * every {@link #RECALCULATE_EVERY} samples so most reads do not sort the window.
+   */
+  @VisibleForTesting
+  static class LatencyWindow {
+    private static final int WINDOW_SIZE = 256;
+    private static final int RECALCULATE_EVERY = 32;
+
+    private final int minSamples;
+    private final long[] samples = new long[WINDOW_SIZE];
+    private long count;
+    private double cachedPercentile = Double.NaN;
+    private long cachedPercentileNanos = -1;
+
+    LatencyWindow(int minSamples) {
+      this.minSamples = minSamples;
+    }
+
+    synchronized void record(long latencyNanos) {
+      samples[(int) (count % WINDOW_SIZE)] = latencyNanos;
+      count++;
+      if (count % RECALCULATE_EVERY == 0) {
+        cachedPercentile = Double.NaN;
+      }
+    }
+
+    /**
+     * @return The latency at the percentile, or <code>-1</code> if not enough samples yet.
+     */
+    synchronized long percentileNanos(double percentile) {
+      if (count < minSamples) {
+        return -1;
+      }
+      if (percentile != cachedPercentile) {
+        var sorted = Arrays.copyOf(samples, (int) Math.min(count, WINDOW_SIZE));
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        cachedPercentileNanos = sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+        cachedPercentile = percentile;
+      }
+      return cachedPercentileNanos;
+    }
+  }
+
+  /**
+   * Token bucket limiting the hedges for a tenant to a ratio of its reads, starts full so a new
+   * tenant can hedge straight away.
+   */
+  @VisibleForTesting
+  static class HedgeBudget {
+    private final int burst;
+    private double tokens;
+
+    HedgeBudget(int burst) {
+      this.burst = burst;
+      this.tokens = burst;
+    }
+
+    synchronized void earn(double ratio) {
+      tokens = Math.min(burst, tokens + ratio);
+    }
+
+    synchronized boolean trySpend() {
+      if (tokens >= 1) {
+        tokens -= 1;
+        return true;
+      }
+      return false;
+    }
+  }
+}
@@ -0,0 +1,48 @@
+package io.stargate.sgv2.jsonapi.service.cqldriver.executor;
+
+import com.datastax.oss.driver.api.core.cql.Row;
+import java.util.Objects;
+
+/**
+ * A {@link Row} with the values of the columns it is being sorted on, read once when the row is
+ * added to the {@link SortedRowAccumulator}.
+ *
+ * <p>Only the sort columns are kept, not a cache of every column in the row. Sort columns with a
+ * numeric, boolean, or date and time type are kept as a <code>long</code> that compares in the same
+ * order as the value, so comparing them does not box or call {@link Comparable}. Other types are
+ * kept as the object from the driver, see {@link SortedRowAccumulator.SortKeyComparator} for how
+ * they are built and compared.
+ */
+public final class SortKeyRow {
+
+  private final Row row;
+  // long key for each sort term, only valid for terms that use a long key
+  private final long[] longKeys;
+  // object key for each sort term, null if no sort terms use an object key
+  private final Object[] objectKeys;
+  // bit set for the sort terms where the value is null
+  private final long nullKeys;
+
+  public SortKeyRow(Row row, long[] longKeys, Object[] objectKeys, long nullKeys) {
+    this.row = Objects.requireNonNull(row, "row must not be null");
+    this.longKeys = Objects.requireNonNull(longKeys, "longKeys must not be null");
+    this.objectKeys = objectKeys;
+    this.nullKeys = nullKeys;
+  }
+
+  public Row getRow() {
+    return row;
+  }
+
+  public boolean isNullKey(int term) {
+    return (nullKeys & (1L << term)) != 0;
+  }
+
+  public long longKey(int term) {
+    return longKeys[term];
+  }
+
+  public Object objectKey(int term) {
+    return objectKeys == null ? null : objectKeys[term];
+  }
+}
@@ -9,19 +9,23 @@ import org.slf4j.LoggerFactory;
 /*
  * RowAccumulator implementation which sorts the added rows as they are added, and trims the memory usage
  * to only keep skip + limit rows in memory.
+ *
+ * Rows are kept as a SortKeyRow with only the values of the sort columns, and once the window is
+ * full a row that sorts after the last row in it is dropped straight away.
  */
 public class SortedRowAccumulator implements RowAccumulator {
   private static final Logger LOGGER = LoggerFactory.getLogger(SortedRowAccumulator.class);
 
-  private final MinMaxPriorityQueue<ValueCachingRow> rows;
+  private final MinMaxPriorityQueue<SortKeyRow> rows;
+  private final SortKeyComparator comparator;
   private final RowSortSettings rowSortSettings;
   private final int maxSortWindowSize;
 
   private int sortedRowsCount = 0;
 
-  public SortedRowAccumulator(
-      RowSortSettings rowSortSettings, Comparator<ValueCachingRow> comparator) {
+  public SortedRowAccumulator(RowSortSettings rowSortSettings, SortKeyComparator comparator) {
 
+    this.comparator = Objects.requireNonNull(comparator, "comparator must not be null");
     this.rowSortSettings =
         Objects.requireNonNull(rowSortSettings, "rowSortSettings must not be null");
     this.maxSortWindowSize = rowSortSettings.skip() + rowSortSettings.returnLimit();
@@ -61,7 +65,7 @@ public class SortedRowAccumulator implements RowAccumulator {
     // If the skip is 0 and the return limit is the max value, return all the rows
     if (rowSortSettings.skip() == 0 && rowSortSettings.returnLimit() == Integer.MAX_VALUE) {
       LOGGER.debug("getPage() returning all rows because skip is 0 and returnLimit is max");
-      return rows.stream().map(ValueCachingRow::getRow).toList();
+      return rows.stream().map(SortKeyRow::getRow).toList();
     }
     // begin value to read from the sorted list
     int begin = rowSortSettings.skip();
@@ -106,7 +110,14 @@ public class SortedRowAccumulator implements RowAccumulator {
     if (sortedRowsCount >= rowSortSettings.maxSortedRows()) {
       return false;
     }
-    rows.add(new ValueCachingRow(row));
+
+    var sortKeyRow = comparator.sortKeyRow(row);
+    // once the window is full, a row that does not sort before the last one would be removed
+    // straight away, so do not add it
+    if (rows.size() >= maxSortWindowSize && comparator.compare(sortKeyRow, rows.peekLast()) >= 0) {
+      return true;
+    }
+    rows.add(sortKeyRow);
     return true;
   }
 
@@ -135,4 +146,16 @@ public class SortedRowAccumulator implements RowAccumulator {
    *     from the database to sort.
    */
   public record RowSortSettings(int skip, int returnLimit, int maxSortedRows) {}
+
+  /** Builds the {@link SortKeyRow} for a row and compares them, in the order to sort the rows. */
+  public interface SortKeyComparator extends Comparator<SortKeyRow> {
+
+    /**
+     * Reads the values of the sort columns from the row.
+     *
+     * @param row The row to read from.
+     * @return The {@link SortKeyRow} to keep for the row.
+     */
+    SortKeyRow sortKeyRow(Row row);
+  }
 }
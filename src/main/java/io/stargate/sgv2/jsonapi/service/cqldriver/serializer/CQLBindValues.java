@@ -11,11 +11,11 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * Utility class for methods used to convert from Java types to CQL types, for use in CQL bind
@@ -32,7 +32,11 @@ public class CQLBindValues {
   }
 
   public static Set<String> getSetValue(Set<JsonPath> from) {
-    return from.stream().map(val -> val.toString()).collect(Collectors.toSet());
+    final Set<String> to = new HashSet<>(from.size());
+    for (JsonPath path : from) {
+      to.add(path.toString());
+    }
+    return to;
   }
 
   public static Set<String> getStringSetValue(Set<String> from) {
@@ -4,7 +4,6 @@ import static io.stargate.sgv2.jsonapi.config.constants.DocumentConstants.Fields
 import static io.stargate.sgv2.jsonapi.config.constants.DocumentConstants.Fields.VECTOR_EMBEDDING_TEXT_FIELD;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.smallrye.mutiny.Uni;
@@ -21,6 +20,7 @@ import io.stargate.sgv2.jsonapi.service.schema.SchemaObject;
 import io.stargate.sgv2.jsonapi.service.schema.tables.ApiColumnDef;
 import io.stargate.sgv2.jsonapi.service.schema.tables.ApiTypeName;
 import io.stargate.sgv2.jsonapi.service.schema.tables.ApiVectorType;
+import io.stargate.sgv2.jsonapi.util.FloatVectorNode;
 import io.stargate.sgv2.jsonapi.util.JsonUtil;
 import java.util.*;
 
@@ -155,11 +155,8 @@ public class DataVectorizer {
                                           collectionVectorDefinition.vectorSize(),
                                           vector.length)));
                     }
-                    final ArrayNode arrayNode = nodeFactory.arrayNode(vector.length);
-                    for (float listValue : vector) {
-                      arrayNode.add(nodeFactory.numberNode(listValue));
-                    }
-                    ((ObjectNode) document).set(VECTOR_EMBEDDING_FIELD, arrayNode);
+                    final var vectorNode = new FloatVectorNode(nodeFactory, vector);
+                    ((ObjectNode) document).set(VECTOR_EMBEDDING_FIELD, vectorNode);
                   }
                   return true;
                 });
@@ -407,12 +404,7 @@ public class DataVectorizer {
     private void updateTarget(float[] vector) {
       Objects.requireNonNull(parentObject, "parentObject must not be null");
 
-      var arrayNode = JsonNodeFactory.instance.arrayNode(vector.length);
-      for (float v : vector) {
-        arrayNode.add(JsonNodeFactory.instance.numberNode(v));
-      }
-
-      parentObject.set(columnDef.jsonKey(), arrayNode);
+      parentObject.set(columnDef.jsonKey(), new FloatVectorNode(JsonNodeFactory.instance, vector));
     }
   }
 
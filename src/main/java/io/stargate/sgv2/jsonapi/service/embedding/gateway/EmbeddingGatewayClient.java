@@ -1,5 +1,6 @@
 package io.stargate.sgv2.jsonapi.service.embedding.gateway;
 
+import com.google.common.collect.Lists;
 import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
 import io.smallrye.mutiny.Uni;
@@ -7,11 +8,14 @@ import io.stargate.embedding.gateway.EmbeddingGateway;
 import io.stargate.embedding.gateway.EmbeddingService;
 import io.stargate.sgv2.jsonapi.api.request.EmbeddingCredentials;
 import io.stargate.sgv2.jsonapi.api.request.tenant.Tenant;
+import io.stargate.sgv2.jsonapi.config.OperationsConfig;
 import io.stargate.sgv2.jsonapi.exception.*;
 import io.stargate.sgv2.jsonapi.service.embedding.configuration.EmbeddingProvidersConfig;
 import io.stargate.sgv2.jsonapi.service.embedding.configuration.ServiceConfigStore;
 import io.stargate.sgv2.jsonapi.service.embedding.operation.EmbeddingProvider;
+import io.stargate.sgv2.jsonapi.service.provider.GatewayStreamPipeline;
 import io.stargate.sgv2.jsonapi.service.provider.ModelProvider;
+import io.stargate.sgv2.jsonapi.service.provider.ModelUsage;
 import io.stargate.sgv2.jsonapi.util.ClassUtils;
 import java.util.*;
 
@@ -34,6 +38,8 @@ public class EmbeddingGatewayClient extends EmbeddingProvider {
   private final EmbeddingService grpcGatewayClient;
   private final Map<String, String> authentication;
   private final String commandName;
+  // nullable, when null the unary RPC is always used
+  private final OperationsConfig.EmbeddingGatewayConfig gatewayConfig;
 
   public EmbeddingGatewayClient(
       ModelProvider modelProvider,
@@ -47,6 +53,34 @@ public class EmbeddingGatewayClient extends EmbeddingProvider {
       EmbeddingService grpcGatewayClient,
       Map<String, String> authentication,
       String commandName) {
+    this(
+        modelProvider,
+        providerConfig,
+        modelConfig,
+        serviceConfig,
+        dimension,
+        vectorizeServiceParameters,
+        tenant,
+        authToken,
+        grpcGatewayClient,
+        authentication,
+        commandName,
+        null);
+  }
+
+  public EmbeddingGatewayClient(
+      ModelProvider modelProvider,
+      EmbeddingProvidersConfig.EmbeddingProviderConfig providerConfig,
+      EmbeddingProvidersConfig.EmbeddingProviderConfig.ModelConfig modelConfig,
+      ServiceConfigStore.ServiceConfig serviceConfig,
+      int dimension,
+      Map<String, Object> vectorizeServiceParameters,
+      Tenant tenant,
+      String authToken,
+      EmbeddingService grpcGatewayClient,
+      Map<String, String> authentication,
+      String commandName,
+      OperationsConfig.EmbeddingGatewayConfig gatewayConfig) {
     super(
         modelProvider,
         providerConfig,
@@ -60,6 +94,7 @@ public class EmbeddingGatewayClient extends EmbeddingProvider {
     this.grpcGatewayClient = grpcGatewayClient;
     this.authentication = authentication;
     this.commandName = commandName;
+    this.gatewayConfig = gatewayConfig;
   }
 
   @Override
@@ -82,6 +117,100 @@ public class EmbeddingGatewayClient extends EmbeddingProvider {
       EmbeddingCredentials embeddingCredentials,
       EmbeddingRequestType embeddingRequestType) {
 
+    if (gatewayConfig != null
+        && gatewayConfig.streamingEnabled()
+        && texts.size() > gatewayConfig.streamingBatchSize()) {
+      return vectorizeStreaming(batchId, texts, embeddingCredentials, embeddingRequestType);
+    }
+
+    var gatewayRequest =
+        buildGatewayRequest(batchId, texts, embeddingCredentials, embeddingRequestType);
+
+    // aaron 17 June 2025 - unsure why this error handled was not in the uni pipeline below
+    // kept it as is when refactoring
+    Uni<EmbeddingGateway.EmbeddingResponse> embeddingResponse;
+    try {
+      embeddingResponse = grpcGatewayClient.embed(gatewayRequest);
+    } catch (StatusRuntimeException e) {
+      throw mapStatusException(e);
+    }
+
+    return embeddingResponse
+        .onItem()
+        .transform(
+            gatewayResponse ->
+                new BatchedEmbeddingResponse(
+                    batchId,
+                    decodeEmbeddings(gatewayResponse),
+                    createModelUsage(gatewayResponse.getModelUsage())));
+  }
+
+  /**
+   * Splits the texts into sub-batches of {@link
+   * OperationsConfig.EmbeddingGatewayConfig#streamingBatchSize()} and sends them over one {@code
+   * EmbedStream} call, so the gateway can call the provider for several sub-batches at once. The
+   * sub-batch responses are put back in order and returned as one response for the <code>batchId
+   * </code>.
+   */
+  private Uni<BatchedEmbeddingResponse> vectorizeStreaming(
+      int batchId,
+      List<String> texts,
+      EmbeddingCredentials embeddingCredentials,
+      EmbeddingRequestType embeddingRequestType) {
+
+    var subBatches = Lists.partition(texts, gatewayConfig.streamingBatchSize());
+    List<EmbeddingGateway.ProviderEmbedRequest> requests = new ArrayList<>(subBatches.size());
+    for (int i = 0; i < subBatches.size(); i++) {
+      requests.add(
+          buildGatewayRequest(i, subBatches.get(i), embeddingCredentials, embeddingRequestType));
+    }
+
+    GatewayStreamPipeline<EmbeddingGateway.ProviderEmbedRequest, EmbeddingGateway.EmbeddingResponse>
+        pipeline = new GatewayStreamPipeline<>(requests, gatewayConfig.streamingMaxInFlight());
+
+    return pipeline
+        .execute(grpcGatewayClient::embedStream)
+        .onItem()
+        .transform(
+            gatewayResponse ->
+                new BatchedEmbeddingResponse(
+                    gatewayResponse.getBatchId(),
+                    decodeEmbeddings(gatewayResponse),
+                    createModelUsage(gatewayResponse.getModelUsage())))
+        .onFailure(StatusRuntimeException.class)
+        .transform(throwable -> mapStatusException((StatusRuntimeException) throwable))
+        .collect()
+        .asList()
+        .map(
+            subBatchResponses -> {
+              if (subBatchResponses.size() != requests.size()) {
+                throw new IllegalStateException(
+                    "EmbedStream returned %s responses for %s sub-batches"
+                        .formatted(subBatchResponses.size(), requests.size()));
+              }
+              // responses arrive as each sub-batch completes, put them back in input order
+              var ordered = new ArrayList<>(subBatchResponses);
+              ordered.sort(Comparator.comparingInt(BatchedEmbeddingResponse::batchId));
+
+              List<float[]> vectors = new ArrayList<>(texts.size());
+              ModelUsage aggregatedModelUsage = null;
+              for (BatchedEmbeddingResponse subBatchResponse : ordered) {
+                vectors.addAll(subBatchResponse.embeddings());
+                aggregatedModelUsage =
+                    aggregatedModelUsage == null
+                        ? subBatchResponse.modelUsage()
+                        : aggregatedModelUsage.merge(subBatchResponse.modelUsage());
+              }
+              return new BatchedEmbeddingResponse(batchId, vectors, aggregatedModelUsage);
+            });
+  }
+
+  private EmbeddingGateway.ProviderEmbedRequest buildGatewayRequest(
+      int batchId,
+      List<String> texts,
+      EmbeddingCredentials embeddingCredentials,
+      EmbeddingRequestType embeddingRequestType) {
+
     var gatewayRequestParams =
         new HashMap<
             String, EmbeddingGateway.ProviderEmbedRequest.EmbeddingRequest.ParameterValue>();
@@ -158,58 +287,47 @@ public class EmbeddingGatewayClient extends EmbeddingProvider {
       contextBuilder.putAllAuthTokens(authentication);
     }
 
-    var gatewayRequest =
-        EmbeddingGateway.ProviderEmbedRequest.newBuilder()
-            .setEmbeddingRequest(gatewayEmbedding)
-            .setProviderContext(contextBuilder.build())
-            .build();
+    return EmbeddingGateway.ProviderEmbedRequest.newBuilder()
+        .setEmbeddingRequest(gatewayEmbedding)
+        .setProviderContext(contextBuilder.build())
+        .setBatchId(batchId)
+        .build();
+  }
 
-    // aaron 17 June 2025 - unsure why this error handled was not in the uni pipeline below
-    // kept it as is when refactoring
-    Uni<EmbeddingGateway.EmbeddingResponse> embeddingResponse;
-    try {
-      embeddingResponse = grpcGatewayClient.embed(gatewayRequest);
-    } catch (StatusRuntimeException e) {
-      if (e.getStatus().getCode().equals(Status.Code.DEADLINE_EXCEEDED)) {
-        throw EmbeddingProviderException.Code.EMBEDDING_PROVIDER_TIMEOUT.get(
-            Map.of(
-                "modelProvider",
-                modelProvider().apiName(),
-                "httpStatus",
-                String.valueOf(e.getStatus().getCode()),
-                "errorMessage",
-                e.getMessage()));
-      }
-      throw e;
+  private RuntimeException mapStatusException(StatusRuntimeException e) {
+    if (e.getStatus().getCode().equals(Status.Code.DEADLINE_EXCEEDED)) {
+      return EmbeddingProviderException.Code.EMBEDDING_PROVIDER_TIMEOUT.get(
+          Map.of(
+              "modelProvider",
+              modelProvider().apiName(),
+              "httpStatus",
+              String.valueOf(e.getStatus().getCode()),
+              "errorMessage",
+              e.getMessage()));
     }
+    return e;
+  }
 
-    return embeddingResponse
-        .onItem()
-        .transform(
-            gatewayResponse -> {
-              if (gatewayResponse.hasError()) {
-                throw new EmbeddingProviderException(
-                    gatewayResponse.getError().getErrorCode(),
-                    gatewayResponse.getError().getErrorTitle(),
-                    gatewayResponse.getError().getErrorBody());
+  private static List<float[]> decodeEmbeddings(
+      EmbeddingGateway.EmbeddingResponse gatewayResponse) {
+    if (gatewayResponse.hasError()) {
+      throw new EmbeddingProviderException(
+          gatewayResponse.getError().getErrorCode(),
+          gatewayResponse.getError().getErrorTitle(),
+          gatewayResponse.getError().getErrorBody());
+    }
+    // aaron - 10 June 2025 - previous code would silently swallow no data returned
+    // but grpc will make sure resp.getEmbeddingsList() is never null
+    return gatewayResponse.getEmbeddingsList().stream()
+        .map(
+            data -> {
+              float[] embedding = new float[data.getEmbeddingCount()];
+              for (int i = 0; i < data.getEmbeddingCount(); i++) {
+                embedding[i] = data.getEmbedding(i);
               }
-              // aaron - 10 June 2025 - previous code would silently swallow no data returned
-              // but grpc will make sure resp.getEmbeddingsList() is never null
-
-              final List<float[]> vectors =
-                  gatewayResponse.getEmbeddingsList().stream()
-                      .map(
-                          data -> {
-                            float[] embedding = new float[data.getEmbeddingCount()];
-                            for (int i = 0; i < data.getEmbeddingCount(); i++) {
-                              embedding[i] = data.getEmbedding(i);
-                            }
-                            return embedding;
-                          })
-                      .toList();
-              return new BatchedEmbeddingResponse(
-                  batchId, vectors, createModelUsage(gatewayResponse.getModelUsage()));
-            });
+              return embedding;
+            })
+        .toList();
   }
 
   /** Return MAX_VALUE because the batching is done inside EGW */
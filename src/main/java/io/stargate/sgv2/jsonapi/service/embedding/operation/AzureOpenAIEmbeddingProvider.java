@@ -51,10 +51,11 @@ public class AzureOpenAIEmbeddingProvider extends EmbeddingProvider {
     String actualUrl =
         replaceParameters(serviceConfig.getBaseUrl(modelName()), vectorizeServiceParameters);
     azureClient =
-        QuarkusRestClientBuilder.newBuilder()
-            .baseUri(URI.create(actualUrl))
-            .readTimeout(requestProperties().readTimeoutMillis(), TimeUnit.MILLISECONDS)
-            .build(AzureOpenAIEmbeddingProviderClient.class);
+        restClient(
+            QuarkusRestClientBuilder.newBuilder()
+                .baseUri(URI.create(actualUrl))
+                .readTimeout(requestProperties().readTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .build(AzureOpenAIEmbeddingProviderClient.class));
   }
 
   /**
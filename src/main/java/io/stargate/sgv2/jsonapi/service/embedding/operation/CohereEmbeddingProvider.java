@@ -49,10 +49,11 @@ public class CohereEmbeddingProvider extends EmbeddingProvider {
         vectorizeServiceParameters);
 
     cohereClient =
-        QuarkusRestClientBuilder.newBuilder()
-            .baseUri(URI.create(serviceConfig.getBaseUrl(modelName())))
-            .readTimeout(requestProperties().readTimeoutMillis(), TimeUnit.MILLISECONDS)
-            .build(CohereEmbeddingProviderClient.class);
+        restClient(
+            QuarkusRestClientBuilder.newBuilder()
+                .baseUri(URI.create(serviceConfig.getBaseUrl(modelName())))
+                .readTimeout(requestProperties().readTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .build(CohereEmbeddingProviderClient.class));
   }
 
   @Override
@@ -0,0 +1,97 @@
+package io.stargate.sgv2.jsonapi.service.embedding.operation;
+
+import io.smallrye.mutiny.Uni;
+import io.stargate.sgv2.jsonapi.api.request.EmbeddingCredentials;
+import io.stargate.sgv2.jsonapi.exception.EmbeddingProviderException;
+import io.stargate.sgv2.jsonapi.service.provider.ModelType;
+import io.stargate.sgv2.jsonapi.service.provider.ProviderConcurrencyLimiters;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * A decorator that wraps an {@link EmbeddingProvider} and runs each {@link #vectorize} call through
+ * the {@link io.stargate.sgv2.jsonapi.service.provider.AdaptiveConcurrencyLimiter} for the
+ * provider, model and credential.
+ *
+ * <p>Rate limit and timeout errors from the provider shrink the limit, calls that are rejected
+ * because too many are already waiting fail with {@link
+ * EmbeddingProviderException.Code#EMBEDDING_PROVIDER_OVERLOADED}.
+ */
+public class ConcurrencyLimitedEmbeddingProvider extends EmbeddingProvider {
+
+  private final EmbeddingProvider delegate;
+  private final ProviderConcurrencyLimiters limiters;
+
+  public ConcurrencyLimitedEmbeddingProvider(
+      EmbeddingProvider delegate, ProviderConcurrencyLimiters limiters) {
+    super(
+        delegate.modelProvider(),
+        delegate.providerConfig,
+        delegate.modelConfig,
+        delegate.serviceConfig,
+        delegate.dimension,
+        delegate.vectorizeServiceParameters);
+
+    this.delegate = delegate;
+    this.limiters = Objects.requireNonNull(limiters, "limiters must not be null");
+  }
+
+  @Override
+  protected String errorMessageJsonPtr() {
+    return "";
+  }
+
+  @Override
+  public String nameForMetrics() {
+    return delegate.nameForMetrics();
+  }
+
+  @Override
+  public Uni<BatchedEmbeddingResponse> vectorize(
+      int batchId,
+      List<String> texts,
+      EmbeddingCredentials embeddingCredentials,
+      EmbeddingRequestType embeddingRequestType) {
+
+    return limiters
+        .limiterFor(
+            ModelType.EMBEDDING, modelProvider(), modelName(), credential(embeddingCredentials))
+        .execute(
+            () -> delegate.vectorize(batchId, texts, embeddingCredentials, embeddingRequestType),
+            ConcurrencyLimitedEmbeddingProvider::isOverloaded,
+            this::rejected);
+  }
+
+  @Override
+  public int maxBatchSize() {
+    return delegate.maxBatchSize();
+  }
+
+  private RuntimeException rejected(String reason) {
+    limiters.recordRejected(ModelType.EMBEDDING, modelProvider());
+    return EmbeddingProviderException.Code.EMBEDDING_PROVIDER_OVERLOADED.get(
+        Map.of("modelProvider", modelProvider().apiName(), "errorMessage", reason));
+  }
+
+  private static boolean isOverloaded(Throwable throwable) {
+    if (throwable instanceof TimeoutException) {
+      return true;
+    }
+    return throwable instanceof EmbeddingProviderException epe
+        && (EmbeddingProviderException.Code.EMBEDDING_PROVIDER_RATE_LIMITED.name().equals(epe.code)
+            || EmbeddingProviderException.Code.EMBEDDING_PROVIDER_TIMEOUT.name().equals(epe.code));
+  }
+
+  /** The credential the limit is shared by, falls back to the tenant when there is no key. */
+  private static String credential(EmbeddingCredentials embeddingCredentials) {
+    if (embeddingCredentials == null) {
+      return null;
+    }
+    return embeddingCredentials
+        .apiKey()
+        .or(embeddingCredentials::accessId)
+        .orElseGet(() -> String.valueOf(embeddingCredentials.tenant()));
+  }
+}
@@ -9,10 +9,14 @@ import io.stargate.sgv2.jsonapi.service.embedding.configuration.EmbeddingProvide
 import io.stargate.sgv2.jsonapi.service.embedding.configuration.ServiceConfigStore;
 import io.stargate.sgv2.jsonapi.service.embedding.gateway.EmbeddingGatewayClient;
 import io.stargate.sgv2.jsonapi.service.provider.ModelProvider;
+import io.stargate.sgv2.jsonapi.service.provider.ModelType;
+import io.stargate.sgv2.jsonapi.service.provider.ProviderClientCache;
+import io.stargate.sgv2.jsonapi.service.provider.ProviderConcurrencyLimiters;
 import io.stargate.sgv2.jsonapi.syncservice.SyncServiceClient;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import org.slf4j.Logger;
@@ -32,6 +36,10 @@ public class EmbeddingProviderFactory {
 
   @Inject SyncServiceClient syncServiceClient;
 
+  @Inject ProviderConcurrencyLimiters providerConcurrencyLimiters;
+
+  @Inject ProviderClientCache providerClientCache;
+
   @FunctionalInterface
   interface ProviderConstructor {
     EmbeddingProvider create(
@@ -173,18 +181,20 @@ public class EmbeddingProviderFactory {
                             .formatted(modelName, serviceConfig.modelProvider())));
 
     if (operationsConfig.enableEmbeddingGateway()) {
-      return new EmbeddingGatewayClient(
-          modelProvider,
-          providerConfig,
-          modelConfig,
-          serviceConfig,
-          dimension,
-          vectorizeServiceParameters,
-          tenant,
-          authToken,
-          grpcGatewayClient,
-          authentication,
-          commandName);
+      return maybeLimitConcurrency(
+          new EmbeddingGatewayClient(
+              modelProvider,
+              providerConfig,
+              modelConfig,
+              serviceConfig,
+              dimension,
+              vectorizeServiceParameters,
+              tenant,
+              authToken,
+              grpcGatewayClient,
+              authentication,
+              commandName,
+              operationsConfig.embeddingGateway()));
     }
 
     var ctor = EMBEDDING_PROVIDER_CTORS.get(modelProvider);
@@ -193,9 +203,20 @@ public class EmbeddingProviderFactory {
           "ModelProvider does not have a constructor: " + modelProvider);
     }
 
-    var provider =
-        ctor.create(
-            providerConfig, modelConfig, serviceConfig, dimension, vectorizeServiceParameters);
+    // providers only hold config and their rest clients, credentials are passed per call, so
+    // they are reused across commands, the wrappers below hold the per request state
+    var parameters = vectorizeServiceParameters;
+    var key =
+        new ProviderClientCache.Key(
+            ModelType.EMBEDDING,
+            modelProvider,
+            modelName,
+            List.of(serviceConfig, dimension, parameters));
+    EmbeddingProvider provider =
+        providerClientCache.get(
+            key,
+            EmbeddingProvider.class,
+            () -> ctor.create(providerConfig, modelConfig, serviceConfig, dimension, parameters));
 
     // Wrap with credential resolver if shared-secret authentication is configured
     if (authentication != null && !authentication.isEmpty()) {
@@ -204,6 +225,12 @@ public class EmbeddingProviderFactory {
               provider, syncServiceClient, authentication, tenant, authToken);
     }
 
-    return provider;
+    return maybeLimitConcurrency(provider);
+  }
+
+  private EmbeddingProvider maybeLimitConcurrency(EmbeddingProvider provider) {
+    return providerConcurrencyLimiters.enabled()
+        ? new ConcurrencyLimitedEmbeddingProvider(provider, providerConcurrencyLimiters)
+        : provider;
   }
 }
@@ -47,10 +47,11 @@ public class HuggingFaceDedicatedEmbeddingProvider extends EmbeddingProvider {
     String dedicatedApiUrl =
         replaceParameters(serviceConfig.getBaseUrl(modelName()), vectorizeServiceParameters);
     huggingFaceClient =
-        QuarkusRestClientBuilder.newBuilder()
-            .baseUri(URI.create(dedicatedApiUrl))
-            .readTimeout(requestProperties().readTimeoutMillis(), TimeUnit.MILLISECONDS)
-            .build(HuggingFaceDedicatedEmbeddingProviderClient.class);
+        restClient(
+            QuarkusRestClientBuilder.newBuilder()
+                .baseUri(URI.create(dedicatedApiUrl))
+                .readTimeout(requestProperties().readTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .build(HuggingFaceDedicatedEmbeddingProviderClient.class));
   }
 
   /**
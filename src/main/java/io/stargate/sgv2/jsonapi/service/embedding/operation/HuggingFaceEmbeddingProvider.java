@@ -43,10 +43,11 @@ public class HuggingFaceEmbeddingProvider extends EmbeddingProvider {
     var actualUrl = replaceParameters(baseUrl, Map.of("modelId", modelName()));
 
     huggingFaceClient =
-        QuarkusRestClientBuilder.newBuilder()
-            .baseUri(URI.create(actualUrl))
-            .readTimeout(requestProperties().readTimeoutMillis(), TimeUnit.MILLISECONDS)
-            .build(HuggingFaceEmbeddingProviderClient.class);
+        restClient(
+            QuarkusRestClientBuilder.newBuilder()
+                .baseUri(URI.create(actualUrl))
+                .readTimeout(requestProperties().readTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .build(HuggingFaceEmbeddingProviderClient.class));
   }
 
   /**
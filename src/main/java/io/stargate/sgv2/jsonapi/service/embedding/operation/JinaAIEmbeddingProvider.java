@@ -47,10 +47,11 @@ public class JinaAIEmbeddingProvider extends EmbeddingProvider {
         vectorizeServiceParameters);
 
     jinaClient =
-        QuarkusRestClientBuilder.newBuilder()
-            .baseUri(URI.create(serviceConfig.getBaseUrl(modelName())))
-            .readTimeout(requestProperties().readTimeoutMillis(), TimeUnit.MILLISECONDS)
-            .build(JinaAIEmbeddingProviderClient.class);
+        restClient(
+            QuarkusRestClientBuilder.newBuilder()
+                .baseUri(URI.create(serviceConfig.getBaseUrl(modelName())))
+                .readTimeout(requestProperties().readTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .build(JinaAIEmbeddingProviderClient.class));
   }
 
   /**
@@ -10,6 +10,9 @@ import io.stargate.sgv2.jsonapi.api.request.EmbeddingCredentials;
 import io.stargate.sgv2.jsonapi.api.request.RequestContext;
 import io.stargate.sgv2.jsonapi.api.v1.metrics.JsonApiMetricsConfig;
 import io.stargate.sgv2.jsonapi.metrics.MetricsConstants;
+import io.stargate.sgv2.jsonapi.metrics.jfr.JfrEvents;
+import io.stargate.sgv2.jsonapi.metrics.jfr.ModelProviderCallEvent;
+import io.stargate.sgv2.jsonapi.service.provider.ModelType;
 import io.stargate.sgv2.jsonapi.service.provider.ModelUsage;
 import io.stargate.sgv2.jsonapi.util.recordable.PrettyPrintable;
 import java.util.ArrayList;
@@ -91,8 +94,23 @@ public class MeteredEmbeddingProviderWrapper {
         .transformToUni(
             batch -> {
               // call vectorize by the batch id
-              return embeddingProvider.vectorize(
-                  batch.getLeft(), batch.getRight(), embeddingCredentials, embeddingRequestType);
+              var batchCall =
+                  embeddingProvider.vectorize(
+                      batch.getLeft(),
+                      batch.getRight(),
+                      embeddingCredentials,
+                      embeddingRequestType);
+              return JfrEvents.recorded(
+                  ModelProviderCallEvent::new,
+                  batchCall,
+                  (event, response, failure) ->
+                      event.complete(
+                          ModelType.EMBEDDING,
+                          requestContext.tenant(),
+                          embeddingProvider.nameForMetrics(),
+                          embeddingProvider.modelName(),
+                          batch.getRight().size(),
+                          failure));
             })
         .merge()
         .collect()
@@ -46,10 +46,11 @@ public class MistralEmbeddingProvider extends EmbeddingProvider {
         vectorizeServiceParameters);
 
     mistralClient =
-        QuarkusRestClientBuilder.newBuilder()
-            .baseUri(URI.create(serviceConfig.getBaseUrl(modelName())))
-            .readTimeout(requestProperties().readTimeoutMillis(), TimeUnit.MILLISECONDS)
-            .build(MistralEmbeddingProviderClient.class);
+        restClient(
+            QuarkusRestClientBuilder.newBuilder()
+                .baseUri(URI.create(serviceConfig.getBaseUrl(modelName())))
+                .readTimeout(requestProperties().readTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .build(MistralEmbeddingProviderClient.class));
   }
 
   /**
@@ -47,10 +47,11 @@ public class NvidiaEmbeddingProvider extends EmbeddingProvider {
         vectorizeServiceParameters);
 
     nvidiaClient =
-        QuarkusRestClientBuilder.newBuilder()
-            .baseUri(URI.create(serviceConfig.getBaseUrl(modelName())))
-            .readTimeout(requestProperties().readTimeoutMillis(), TimeUnit.MILLISECONDS)
-            .build(NvidiaEmbeddingProviderClient.class);
+        restClient(
+            QuarkusRestClientBuilder.newBuilder()
+                .baseUri(URI.create(serviceConfig.getBaseUrl(modelName())))
+                .readTimeout(requestProperties().readTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .build(NvidiaEmbeddingProviderClient.class));
   }
 
   /**
@@ -46,10 +46,11 @@ public class OpenAIEmbeddingProvider extends EmbeddingProvider {
         vectorizeServiceParameters);
 
     openAIClient =
-        QuarkusRestClientBuilder.newBuilder()
-            .baseUri(URI.create(serviceConfig.getBaseUrl(modelName())))
-            .readTimeout(requestProperties().readTimeoutMillis(), TimeUnit.MILLISECONDS)
-            .build(OpenAIEmbeddingProviderClient.class);
+        restClient(
+            QuarkusRestClientBuilder.newBuilder()
+                .baseUri(URI.create(serviceConfig.getBaseUrl(modelName())))
+                .readTimeout(requestProperties().readTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .build(OpenAIEmbeddingProviderClient.class));
   }
 
   /**
@@ -50,10 +50,11 @@ public class UpstageAIEmbeddingProvider extends EmbeddingProvider {
 
     this.modelNamePrefix = modelConfig.name();
     upstageClient =
-        QuarkusRestClientBuilder.newBuilder()
-            .baseUri(URI.create(serviceConfig.getBaseUrl(modelName())))
-            .readTimeout(requestProperties().readTimeoutMillis(), TimeUnit.MILLISECONDS)
-            .build(UpstageAIEmbeddingProviderClient.class);
+        restClient(
+            QuarkusRestClientBuilder.newBuilder()
+                .baseUri(URI.create(serviceConfig.getBaseUrl(modelName())))
+                .readTimeout(requestProperties().readTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .build(UpstageAIEmbeddingProviderClient.class));
   }
 
   @Override
@@ -48,10 +48,11 @@ public class VertexAIEmbeddingProvider extends EmbeddingProvider {
     String actualUrl =
         replaceParameters(serviceConfig.getBaseUrl(modelName()), vectorizeServiceParameters);
     vertexClient =
-        QuarkusRestClientBuilder.newBuilder()
-            .baseUri(URI.create(actualUrl))
-            .readTimeout(requestProperties().readTimeoutMillis(), TimeUnit.MILLISECONDS)
-            .build(VertexAIEmbeddingProviderClient.class);
+        restClient(
+            QuarkusRestClientBuilder.newBuilder()
+                .baseUri(URI.create(actualUrl))
+                .readTimeout(requestProperties().readTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .build(VertexAIEmbeddingProviderClient.class));
   }
 
   @Override
@@ -57,10 +57,11 @@ public class VoyageAIEmbeddingProvider extends EmbeddingProvider {
     autoTruncate = (v instanceof Boolean) ? (Boolean) v : null;
 
     voyageClient =
-        QuarkusRestClientBuilder.newBuilder()
-            .baseUri(URI.create(serviceConfig.getBaseUrl(modelName())))
-            .readTimeout(requestProperties().readTimeoutMillis(), TimeUnit.MILLISECONDS)
-            .build(VoyageAIEmbeddingProviderClient.class);
+        restClient(
+            QuarkusRestClientBuilder.newBuilder()
+                .baseUri(URI.create(serviceConfig.getBaseUrl(modelName())))
+                .readTimeout(requestProperties().readTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .build(VoyageAIEmbeddingProviderClient.class));
   }
 
   /**
@@ -0,0 +1,370 @@
+package io.stargate.sgv2.jsonapi.service.export;
+
+import static com.datastax.oss.driver.api.querybuilder.QueryBuilder.bindMarker;
+import static com.datastax.oss.driver.api.querybuilder.QueryBuilder.selectFrom;
+
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.datastax.oss.driver.api.core.metadata.schema.ColumnMetadata;
+import com.datastax.oss.driver.api.querybuilder.select.Select;
+import com.fasterxml.jackson.core.JacksonException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.annotations.VisibleForTesting;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.stargate.sgv2.jsonapi.api.model.command.CommandContext;
+import io.stargate.sgv2.jsonapi.api.model.command.CommandResult;
+import io.stargate.sgv2.jsonapi.api.model.command.Projectable;
+import io.stargate.sgv2.jsonapi.api.model.command.ResponseData;
+import io.stargate.sgv2.jsonapi.api.model.command.impl.FindCommand;
+import io.stargate.sgv2.jsonapi.api.model.command.tracing.RequestTracing;
+import io.stargate.sgv2.jsonapi.config.OperationsConfig;
+import io.stargate.sgv2.jsonapi.service.cqldriver.executor.AdaptivePageSizer;
+import io.stargate.sgv2.jsonapi.service.cqldriver.executor.DriverExceptionHandler;
+import io.stargate.sgv2.jsonapi.service.cqldriver.executor.PagePrefetcher;
+import io.stargate.sgv2.jsonapi.service.cqldriver.executor.QueryExecutor;
+import io.stargate.sgv2.jsonapi.service.operation.collections.CollectionDriverExceptionHandler;
+import io.stargate.sgv2.jsonapi.service.operation.collections.CollectionReadOperation;
+import io.stargate.sgv2.jsonapi.service.operation.tables.TableDriverExceptionHandler;
+import io.stargate.sgv2.jsonapi.service.operation.tables.TableProjection;
+import io.stargate.sgv2.jsonapi.service.processor.MeteredCommandProcessor;
+import io.stargate.sgv2.jsonapi.service.processor.TenantAdmissionController;
+import io.stargate.sgv2.jsonapi.service.projection.DocumentProjector;
+import io.stargate.sgv2.jsonapi.service.schema.collections.spec.SuperShreddingMetadata;
+import io.stargate.sgv2.jsonapi.service.schema.tables.TableBasedSchemaObject;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Exports all the documents of a collection, or rows of a table, as newline delimited JSON.
+ *
+ * <p>Each line is a document, collections without a projection export the stored <code>doc_json
+ * </code> without parsing it. After each page there is a <code>{"$checkpoint": "..."}</code> line,
+ * which can be sent back in {@link ExportRequest#checkpoint()} to continue the export after the
+ * documents before it. If the export fails the last line has the <code>errors</code> of a {@link
+ * CommandResult}.
+ *
+ * <p>Without a filter the token ring of the table is split into {@link
+ * OperationsConfig.ExportConfig#segments()} ranges that are read in parallel, up to {@link
+ * OperationsConfig.ExportConfig#parallelism()} at a time. The order of the documents is not
+ * defined. The checkpoint has the paging state for each range, see {@link ExportCheckpoint}. The
+ * pages are not commands, each page read is admitted by the {@link TenantAdmissionController} so an
+ * export shares the tenant quota with the commands from the tenant, and is seen in the admission
+ * and driver metrics rather than the command metrics.
+ *
+ * <p>With a filter the documents are read by running the <code>find</code> command page by page on
+ * the server, so the filter and projection work the same as <code>find</code>, and each page is
+ * admitted and metered as a command with its own {@link CommandContext}. The checkpoint is the
+ * <code>pageState</code> for the next page.
+ *
+ * <p>The pages are read as the lines are consumed, so a slow client slows down the reads.
+ */
+public class BulkExporter {
+  private static final Logger LOGGER = LoggerFactory.getLogger(BulkExporter.class);
+
+  public static final String CHECKPOINT_FIELD = "$checkpoint";
+
+  // the Murmur3 partitioner token ring is (Long.MIN_VALUE, Long.MAX_VALUE]
+  private static final BigInteger RING_START = BigInteger.valueOf(Long.MIN_VALUE);
+  private static final BigInteger RING_SIZE =
+      BigInteger.valueOf(Long.MAX_VALUE).subtract(RING_START);
+
+  private final CommandContext<? extends TableBasedSchemaObject> commandContext;
+  private final Supplier<CommandContext<? extends TableBasedSchemaObject>> findContexts;
+  private final MeteredCommandProcessor commandProcessor;
+  private final TenantAdmissionController admissionController;
+  private final ObjectMapper objectMapper;
+  private final OperationsConfig operationsConfig;
+
+  /**
+   * @param commandContext Context for the export.
+   * @param findContexts Creates the context for each <code>find</code> command of an export with a
+   *     filter, the contexts are closed when the command completes.
+   */
+  public BulkExporter(
+      CommandContext<? extends TableBasedSchemaObject> commandContext,
+      Supplier<CommandContext<? extends TableBasedSchemaObject>> findContexts,
+      MeteredCommandProcessor commandProcessor,
+      TenantAdmissionController admissionController,
+      ObjectMapper objectMapper) {
+    this.commandContext = Objects.requireNonNull(commandContext, "commandContext must not be null");
+    this.findContexts = Objects.requireNonNull(findContexts, "findContexts must not be null");
+    this.commandProcessor =
+        Objects.requireNonNull(commandProcessor, "commandProcessor must not be null");
+    this.admissionController =
+        Objects.requireNonNull(admissionController, "admissionController must not be null");
+    this.objectMapper = Objects.requireNonNull(objectMapper, "objectMapper must not be null");
+    this.operationsConfig = commandContext.config().get(OperationsConfig.class);
+  }
+
+  /**
+   * Exports the documents or rows selected by the request.
+   *
+   * @return Multi of the lines to write, without the newline. Failures are returned as the last
+   *     line rather than failing the Multi.
+   */
+  public Multi<String> export(ExportRequest request) {
+    return Multi.createFrom()
+        .deferred(() -> request.filter() == null ? scan(request) : find(request))
+        .onFailure()
+        .recoverWithItem(throwable -> errorLine(objectMapper, throwable));
+  }
+
+  /** Export without a filter, reading the token ranges of the table in parallel. */
+  private Multi<String> scan(ExportRequest request) {
+    var exportConfig = operationsConfig.export();
+    var checkpoint =
+        request.checkpoint() == null
+            ? ExportCheckpoint.start(exportConfig.segments())
+            : ExportCheckpoint.parse(request.checkpoint());
+
+    var schemaObject = commandContext.schemaObject();
+    List<ColumnMetadata> partitionKey = schemaObject.tableMetadata().getPartitionKey();
+    var tokenColumns = partitionKey.stream().map(ColumnMetadata::getName).toList();
+
+    Function<Row, String> rowWriter;
+    Select select;
+    var from = selectFrom(schemaObject.keyspaceName(), schemaObject.tableName());
+    if (commandContext.isCollectionContext()) {
+      select = from.column(SuperShreddingMetadata.Identifiers.DOC_JSON);
+      rowWriter = documentWriter(request.projection());
+    } else {
+      Projectable projectable = request::projection;
+      var projection =
+          TableProjection.fromDefinition(
+              commandContext.asTableContext(), objectMapper, projectable);
+      select = projection.apply(from);
+      rowWriter = row -> writeLine(projection.projectRow(row));
+    }
+    var cql =
+        select
+            .whereToken(tokenColumns)
+            .isGreaterThan(bindMarker())
+            .whereToken(tokenColumns)
+            .isLessThanOrEqualTo(bindMarker())
+            .asCql();
+
+    var queryExecutor = scanQueryExecutor();
+    var segmentCount = checkpoint.segmentCount();
+    List<Multi<ExportedPage>> segments = new ArrayList<>(segmentCount);
+    for (int segment = 0; segment < segmentCount; segment++) {
+      if (checkpoint.isDone(segment)) {
+        continue;
+      }
+      var statement =
+          SimpleStatement.newInstance(
+              cql, segmentBound(segment, segmentCount), segmentBound(segment + 1, segmentCount));
+      segments.add(
+          segmentPages(
+              queryExecutor, statement, segment, checkpoint.pagingState(segment), rowWriter));
+    }
+
+    return Multi.createBy()
+        .merging()
+        .withConcurrency(exportConfig.parallelism())
+        .streams(segments)
+        .onItem()
+        .transformToIterable(
+            page -> {
+              // pages come here one at a time, the checkpoint includes this page and all the
+              // pages emitted before it
+              checkpoint.pageExported(page.segment(), page.nextPagingState());
+              page.lines().add(checkpointLine(checkpoint.encode()));
+              return page.lines();
+            });
+  }
+
+  /**
+   * Exports only size their pages from the observed rows, hedging, coalescing and grouping by
+   * replica are for the reads of commands.
+   */
+  @VisibleForTesting
+  QueryExecutor scanQueryExecutor() {
+    var adaptivePagingConfig = operationsConfig.queriesConfig().adaptivePaging();
+    return QueryExecutor.builder(commandContext.cqlSessionCache(), operationsConfig)
+        .exceptionHandlerFactory(this::exceptionHandler)
+        .requestTracing(commandContext.requestTracing())
+        .adaptivePageSizer(
+            adaptivePagingConfig.enabled()
+                ? new AdaptivePageSizer(
+                    adaptivePagingConfig,
+                    commandContext.meterRegistry(),
+                    commandContext.schemaObject().identifier())
+                : null)
+        .build();
+  }
+
+  @VisibleForTesting
+  Multi<ExportedPage> segmentPages(
+      QueryExecutor queryExecutor,
+      SimpleStatement statement,
+      int segment,
+      String startPagingState,
+      Function<Row, String> rowWriter) {
+
+    var requestContext = commandContext.requestContext();
+    var pageSize = operationsConfig.export().pageSize();
+    Function<Optional<String>, Uni<AsyncResultSet>> readPage =
+        pagingState ->
+            admissionController.admitPage(
+                commandContext,
+                () ->
+                    queryExecutor.executeScanRead(
+                        requestContext, statement, pagingState, pageSize, Integer.MAX_VALUE));
+    return PagePrefetcher.pages(
+            () -> readPage.apply(Optional.ofNullable(startPagingState)),
+            previousPage -> readPage.apply(Optional.of(pagingState(previousPage))),
+            operationsConfig.queriesConfig().pagePrefetchLookAhead())
+        .map(
+            page -> {
+              List<String> lines = new ArrayList<>(page.remaining() + 1);
+              for (Row row : page.currentPage()) {
+                lines.add(rowWriter.apply(row));
+              }
+              return new ExportedPage(
+                  segment, lines, page.hasMorePages() ? pagingState(page) : null);
+            });
+  }
+
+  /** Export with a filter, running <code>find</code> for each page. */
+  private Multi<String> find(ExportRequest request) {
+    // all fields by default, same as the export without a filter
+    JsonNode projection =
+        request.projection() == null
+            ? objectMapper.createObjectNode().put("*", 1)
+            : request.projection();
+
+    return Multi.createBy()
+        .repeating()
+        .uni(
+            () -> new AtomicReference<>(request.checkpoint()),
+            pageState -> {
+              // a context for each command, the context is not shared between commands
+              var findContext = findContexts.get();
+              return commandProcessor
+                  .processCommand(
+                      findContext,
+                      new FindCommand(
+                          request.filter(),
+                          projection,
+                          null,
+                          new FindCommand.Options(null, null, pageState.get(), false, false)))
+                  .invoke(result -> pageState.set(nextPageState(result)))
+                  .onTermination()
+                  .invoke(() -> close(findContext));
+            })
+        .whilst(result -> result.errors().isEmpty() && nextPageState(result) != null)
+        .onItem()
+        .transformToIterable(this::findLines);
+  }
+
+  private List<String> findLines(CommandResult result) {
+    if (!result.errors().isEmpty()) {
+      return List.of(writeLine(result));
+    }
+    List<JsonNode> documents = result.data().getResponseDocuments();
+    List<String> lines = new ArrayList<>(documents.size() + 1);
+    for (JsonNode document : documents) {
+      lines.add(writeLine(document));
+    }
+    var nextPageState = nextPageState(result);
+    if (nextPageState != null) {
+      lines.add(checkpointLine(nextPageState));
+    }
+    return lines;
+  }
+
+  private static String nextPageState(CommandResult result) {
+    return result.data() instanceof ResponseData.MultiResponseData multiResponseData
+        ? multiResponseData.nextPageState()
+        : null;
+  }
+
+  /** Writes the stored document, unchanged if there is no projection. */
+  @VisibleForTesting
+  Function<Row, String> documentWriter(JsonNode projectionDefinition) {
+    if (projectionDefinition == null) {
+      return row -> row.getString(0);
+    }
+    var projector = DocumentProjector.createFromDefinition(projectionDefinition);
+    return row -> {
+      JsonNode document;
+      try {
+        document = objectMapper.readTree(row.getString(0));
+      } catch (JacksonException e) {
+        throw CollectionReadOperation.parsingExceptionToApiException(e);
+      }
+      projector.applyProjection(document);
+      return writeLine(document);
+    };
+  }
+
+  private static void close(CommandContext<?> context) {
+    try {
+      context.close();
+    } catch (Exception e) {
+      LOGGER.error("Error closing the command context for the export find command", e);
+    }
+  }
+
+  private DriverExceptionHandler exceptionHandler(SimpleStatement statement) {
+    return commandContext.isCollectionContext()
+        ? new CollectionDriverExceptionHandler(
+            commandContext.asCollectionContext().schemaObject(), statement)
+        : new TableDriverExceptionHandler(commandContext.schemaObject(), statement);
+  }
+
+  private String checkpointLine(String checkpoint) {
+    return writeLine(objectMapper.createObjectNode().put(CHECKPOINT_FIELD, checkpoint));
+  }
+
+  /** The line with the errors of a {@link CommandResult} for the failure. */
+  public static String errorLine(ObjectMapper objectMapper, Throwable throwable) {
+    return writeLine(
+        objectMapper,
+        CommandResult.statusOnlyBuilder(RequestTracing.NO_OP).addThrowable(throwable).build());
+  }
+
+  private String writeLine(Object value) {
+    return writeLine(objectMapper, value);
+  }
+
+  private static String writeLine(ObjectMapper objectMapper, Object value) {
+    try {
+      return objectMapper.writeValueAsString(value);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Failed to write export line: " + e.getMessage(), e);
+    }
+  }
+
+  private static String pagingState(AsyncResultSet page) {
+    return Base64.getEncoder().encodeToString(page.getExecutionInfo().getPagingState().array());
+  }
+
+  /**
+   * Token at the start of the segment, exclusive, or the end of the segment before it, inclusive.
+   * Bound <code>0</code> is the start of the ring and bound <code>segmentCount</code> the end.
+   */
+  @VisibleForTesting
+  static long segmentBound(int bound, int segmentCount) {
+    return RING_START
+        .add(RING_SIZE.multiply(BigInteger.valueOf(bound)).divide(BigInteger.valueOf(segmentCount)))
+        .longValueExact();
+  }
+
+  /** The lines from a page of a segment, and the paging state for the next page if there is one. */
+  @VisibleForTesting
+  record ExportedPage(int segment, List<String> lines, String nextPagingState) {}
+}
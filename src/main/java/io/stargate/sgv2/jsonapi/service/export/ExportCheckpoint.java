@@ -0,0 +1,112 @@
+package io.stargate.sgv2.jsonapi.service.export;
+
+import io.stargate.sgv2.jsonapi.exception.RequestException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Progress of a token range export, one state per segment of the token ring.
+ *
+ * <p>The state of a segment is either not started, the paging state to read the next page of the
+ * segment, or done. The checkpoint is encoded as <code>v1.</code> followed by the segment states
+ * separated by <code>.</code>, an empty state is not started, <code>-</code> is done, and anything
+ * else is the Base64 paging state from the driver. Base64 does not use <code>.</code> or <code>-
+ * </code>, so no escaping is needed.
+ *
+ * <p>Not thread safe, the exporter updates it from the single ordered stream of pages.
+ */
+public class ExportCheckpoint {
+
+  private static final String VERSION = "v1";
+  private static final String SEPARATOR = ".";
+  private static final String NOT_STARTED = "";
+  private static final String DONE = "-";
+  // same as the max for the export segments config
+  private static final int MAX_SEGMENTS = 1024;
+
+  private static final Pattern SPLIT = Pattern.compile(Pattern.quote(SEPARATOR));
+  private static final Pattern PAGING_STATE = Pattern.compile("[A-Za-z0-9+/=]*");
+
+  private final String[] segments;
+
+  private ExportCheckpoint(String[] segments) {
+    this.segments = segments;
+  }
+
+  /** Checkpoint for a new export, with all the segments not started. */
+  public static ExportCheckpoint start(int segmentCount) {
+    if (segmentCount < 1) {
+      throw new IllegalArgumentException(
+          "segmentCount must be greater than 0, got " + segmentCount);
+    }
+    var segments = new String[segmentCount];
+    Arrays.fill(segments, NOT_STARTED);
+    return new ExportCheckpoint(segments);
+  }
+
+  /**
+   * Parses a checkpoint previously returned from {@link #encode()}.
+   *
+   * @throws RequestException with {@link RequestException.Code#COMMAND_FIELD_VALUE_INVALID} if the
+   *     checkpoint is not valid.
+   */
+  public static ExportCheckpoint parse(String checkpoint) {
+    var parts = SPLIT.split(checkpoint, -1);
+    if (parts.length < 2 || !VERSION.equals(parts[0])) {
+      throw invalid(checkpoint, "not a checkpoint from an export without a filter");
+    }
+    var segments = Arrays.copyOfRange(parts, 1, parts.length);
+    if (segments.length > MAX_SEGMENTS) {
+      throw invalid(checkpoint, "more than %d segments".formatted(MAX_SEGMENTS));
+    }
+    for (var segment : segments) {
+      if (!DONE.equals(segment) && !PAGING_STATE.matcher(segment).matches()) {
+        throw invalid(checkpoint, "segment state '%s' is not valid".formatted(segment));
+      }
+    }
+    return new ExportCheckpoint(segments);
+  }
+
+  private static RequestException invalid(String checkpoint, String message) {
+    return RequestException.Code.COMMAND_FIELD_VALUE_INVALID.get(
+        Map.of("field", "checkpoint", "value", "'" + checkpoint + "'", "message", message));
+  }
+
+  public int segmentCount() {
+    return segments.length;
+  }
+
+  public boolean isDone(int segment) {
+    return DONE.equals(segments[segment]);
+  }
+
+  /**
+   * @return The Base64 paging state to continue reading the segment from, or <code>null</code> if
+   *     the segment is not started or done.
+   */
+  public String pagingState(int segment) {
+    var state = segments[segment];
+    return NOT_STARTED.equals(state) || DONE.equals(state) ? null : state;
+  }
+
+  /**
+   * Records that a page of the segment has been exported.
+   *
+   * @param segment The segment the page is from.
+   * @param nextPagingState The Base64 paging state of the next page, or <code>null</code> if it was
+   *     the last page of the segment.
+   */
+  public void pageExported(int segment, String nextPagingState) {
+    segments[segment] = nextPagingState == null ? DONE : nextPagingState;
+  }
+
+  public String encode() {
+    return VERSION + SEPARATOR + String.join(SEPARATOR, segments);
+  }
+
+  @Override
+  public String toString() {
+    return encode();
+  }
+}
@@ -0,0 +1,45 @@
+package io.stargate.sgv2.jsonapi.service.export;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.stargate.sgv2.jsonapi.api.model.command.clause.filter.FilterDefinition;
+import jakarta.validation.Valid;
+import org.eclipse.microprofile.openapi.annotations.enums.SchemaType;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+/**
+ * Request body for the bulk export endpoint, all the fields are optional and an empty body exports
+ * all the documents or rows.
+ *
+ * @param filter Filter for the documents or rows to export, same as the <code>find</code> command.
+ * @param projection Projection for the documents or rows, same as the <code>find</code> command.
+ *     All fields are exported if not set, including <code>$vector</code> for collections.
+ * @param checkpoint Checkpoint from a previous export with the same filter to continue from.
+ */
+@Schema(description = "Request to export all the documents or rows of a collection or table.")
+public record ExportRequest(
+    @Valid
+        @Schema(
+            description = "Optional filter, exports all documents or rows if not set.",
+            type = SchemaType.OBJECT,
+            implementation = Object.class,
+            nullable = true)
+        @JsonProperty("filter")
+        FilterDefinition filter,
+    @Schema(
+            description = "Optional projection, exports all fields if not set.",
+            type = SchemaType.OBJECT,
+            implementation = Object.class,
+            nullable = true)
+        @JsonProperty("projection")
+        JsonNode projection,
+    @Schema(
+            description =
+                "Optional checkpoint from a previous export with the same filter to continue from.",
+            type = SchemaType.STRING,
+            nullable = true)
+        @JsonProperty("checkpoint")
+        String checkpoint) {
+
+  public static final ExportRequest EXPORT_ALL = new ExportRequest(null, null, null);
+}
@@ -6,8 +6,13 @@ import io.stargate.sgv2.jsonapi.api.model.command.CommandContext;
 import io.stargate.sgv2.jsonapi.api.model.command.CommandResult;
 import io.stargate.sgv2.jsonapi.api.request.RequestContext;
 import io.stargate.sgv2.jsonapi.config.OperationsConfig;
+import io.stargate.sgv2.jsonapi.service.cqldriver.executor.AdaptivePageSizer;
 import io.stargate.sgv2.jsonapi.service.cqldriver.executor.DriverExceptionHandler;
+import io.stargate.sgv2.jsonapi.service.cqldriver.executor.MultiGetReader;
 import io.stargate.sgv2.jsonapi.service.cqldriver.executor.QueryExecutor;
+import io.stargate.sgv2.jsonapi.service.cqldriver.executor.ReadCoalescer;
+import io.stargate.sgv2.jsonapi.service.cqldriver.executor.ReadConsistencyPolicy;
+import io.stargate.sgv2.jsonapi.service.cqldriver.executor.ReadHedger;
 import io.stargate.sgv2.jsonapi.service.operation.collections.CollectionDriverExceptionHandler;
 import io.stargate.sgv2.jsonapi.service.operation.databases.DatabaseDriverExceptionHandler;
 import io.stargate.sgv2.jsonapi.service.operation.keyspaces.KeyspaceDriverExceptionHandler;
@@ -53,13 +58,88 @@ public interface Operation<SchemaT extends SchemaObject> {
     Function<SimpleStatement, DriverExceptionHandler> exceptionHandlerFactory =
         exceptionHandlerFactory(commandContext);
 
+    var operationsConfig = commandContext.config().get(OperationsConfig.class);
+
     return execute(
         commandContext.requestContext(),
-        new QueryExecutor(
-            commandContext.cqlSessionCache(),
-            commandContext.config().get(OperationsConfig.class),
-            exceptionHandlerFactory,
-            commandContext.requestTracing()));
+        QueryExecutor.builder(commandContext.cqlSessionCache(), operationsConfig)
+            .exceptionHandlerFactory(exceptionHandlerFactory)
+            .requestTracing(commandContext.requestTracing())
+            .readHedger(readHedger(commandContext, operationsConfig))
+            .readCoalescer(readCoalescer(commandContext, operationsConfig))
+            .multiGetReader(multiGetReader(commandContext, operationsConfig))
+            .readConsistencyPolicy(
+                isReadOnly() ? readConsistencyPolicy(commandContext, operationsConfig) : null)
+            .adaptivePageSizer(adaptivePageSizer(commandContext, operationsConfig))
+            .build());
+  }
+
+  /**
+   * @return If the operation only reads, so its reads can use the consistency from a {@link
+   *     ReadConsistencyPolicy}. Operations that read before they write keep the configured
+   *     consistency for the reads.
+   */
+  default boolean isReadOnly() {
+    return false;
+  }
+
+  /** Reads are only hedged for collections, where we know the table being read. */
+  static ReadHedger readHedger(
+      CommandContext<?> commandContext, OperationsConfig operationsConfig) {
+    var hedgedReadsConfig = operationsConfig.queriesConfig().hedgedReads();
+    if (!hedgedReadsConfig.enabled() || !commandContext.isCollectionContext()) {
+      return null;
+    }
+    return new ReadHedger(
+        hedgedReadsConfig,
+        commandContext.meterRegistry(),
+        commandContext.schemaObject().identifier(),
+        commandContext.hedgedReadStats());
+  }
+
+  /** Reads are only coalesced for collections, where we know the table being read. */
+  static ReadCoalescer readCoalescer(
+      CommandContext<?> commandContext, OperationsConfig operationsConfig) {
+    if (!operationsConfig.queriesConfig().coalescedReads().enabled()
+        || !commandContext.isCollectionContext()) {
+      return null;
+    }
+    return new ReadCoalescer(
+        commandContext.meterRegistry(), commandContext.schemaObject().identifier());
+  }
+
+  /** Reads by <code>_id</code> are only grouped for collections, where we know the table. */
+  static MultiGetReader multiGetReader(
+      CommandContext<?> commandContext, OperationsConfig operationsConfig) {
+    var multiGetConfig = operationsConfig.queriesConfig().multiGet();
+    if (!multiGetConfig.enabled() || !commandContext.isCollectionContext()) {
+      return null;
+    }
+    return new MultiGetReader(
+        multiGetConfig, commandContext.meterRegistry(), commandContext.schemaObject().identifier());
+  }
+
+  /** Read consistency is only set for collections, where we know the table being read. */
+  static ReadConsistencyPolicy readConsistencyPolicy(
+      CommandContext<?> commandContext, OperationsConfig operationsConfig) {
+    if (!commandContext.isCollectionContext()) {
+      return null;
+    }
+    return ReadConsistencyPolicy.forCommand(
+        commandContext, operationsConfig.queriesConfig().consistency());
+  }
+
+  /** Scan pages are only sized from the observed rows for collections, where we know the table. */
+  static AdaptivePageSizer adaptivePageSizer(
+      CommandContext<?> commandContext, OperationsConfig operationsConfig) {
+    var adaptivePagingConfig = operationsConfig.queriesConfig().adaptivePaging();
+    if (!adaptivePagingConfig.enabled() || !commandContext.isCollectionContext()) {
+      return null;
+    }
+    return new AdaptivePageSizer(
+        adaptivePagingConfig,
+        commandContext.meterRegistry(),
+        commandContext.schemaObject().identifier());
   }
 
   static Function<SimpleStatement, DriverExceptionHandler> exceptionHandlerFactory(
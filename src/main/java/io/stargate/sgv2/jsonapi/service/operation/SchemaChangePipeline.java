@@ -0,0 +1,188 @@
+package io.stargate.sgv2.jsonapi.service.operation;
+
+import static io.stargate.sgv2.jsonapi.metrics.MetricsConstants.MetricNames.SCHEMA_CHANGE_PHASE_DURATION_METRIC;
+import static io.stargate.sgv2.jsonapi.metrics.MetricsConstants.MetricTags.SCHEMA_CHANGE_PHASE_TAG;
+
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.stargate.sgv2.jsonapi.api.model.command.CommandContext;
+import io.stargate.sgv2.jsonapi.config.OperationsConfig;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs the steps of a schema change, such as creating a table and then its indexes, with each phase
+ * timed in the <code>schema.change.phase.duration</code> metric.
+ *
+ * <p>After a schema change we wait until the nodes agree on the schema before making the next one,
+ * rather than waiting a fixed time. The driver already waits for agreement before completing a
+ * schema change, so usually there is no wait at all, and if it gave up we poll {@link
+ * com.datastax.oss.driver.api.core.session.Session#checkSchemaAgreementAsync()} for up to the
+ * <code>ddl-delay-millis</code>. If the schema is still not in agreement we carry on, same as when
+ * we waited a fixed time.
+ *
+ * <p>Schema changes that do not depend on each other, such as the indexes on a table, are run using
+ * {@link #executeConcurrently(List, Function)}. By default they run one after the other, as
+ * parallel schema changes can cause disagreements on clusters with many nodes, the <code>
+ * ddl-index-concurrency</code> opts in to running them in parallel.
+ */
+public class SchemaChangePipeline {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SchemaChangePipeline.class);
+
+  /** The phases of a schema change we time, the tag value for the metric. */
+  public enum Phase {
+    CREATE_TABLE("create.table"),
+    CREATE_INDEXES("create.indexes"),
+    SCHEMA_CHANGE("schema.change"),
+    SCHEMA_AGREEMENT("schema.agreement");
+
+    private final String tagValue;
+
+    Phase(String tagValue) {
+      this.tagValue = tagValue;
+    }
+
+    public String tagValue() {
+      return tagValue;
+    }
+  }
+
+  private final Duration maxAgreementWait;
+  private final Duration agreementPollInterval;
+  private final int concurrency;
+  private final MeterRegistry meterRegistry;
+
+  public SchemaChangePipeline(
+      Duration maxAgreementWait,
+      Duration agreementPollInterval,
+      int concurrency,
+      MeterRegistry meterRegistry) {
+    this.maxAgreementWait = Objects.requireNonNull(maxAgreementWait, "maxAgreementWait");
+    this.agreementPollInterval =
+        Objects.requireNonNull(agreementPollInterval, "agreementPollInterval");
+    if (concurrency < 1) {
+      throw new IllegalArgumentException("concurrency must be at least 1, got " + concurrency);
+    }
+    this.concurrency = concurrency;
+    this.meterRegistry = Objects.requireNonNull(meterRegistry, "meterRegistry must not be null");
+  }
+
+  /**
+   * Create a pipeline using the {@link OperationsConfig.DatabaseConfig} for the command.
+   *
+   * @param commandContext The context for the command making the schema change.
+   * @param maxAgreementWaitMillis Maximum time to wait for schema agreement, normally the <code>
+   *     ddl-delay-millis</code>.
+   */
+  public static SchemaChangePipeline forCommand(
+      CommandContext<?> commandContext, int maxAgreementWaitMillis) {
+    var databaseConfig = commandContext.config().get(OperationsConfig.class).databaseConfig();
+    return new SchemaChangePipeline(
+        Duration.ofMillis(Math.max(0, maxAgreementWaitMillis)),
+        Duration.ofMillis(Math.max(1, databaseConfig.ddlSchemaAgreementPollMillis())),
+        databaseConfig.ddlIndexConcurrency(),
+        commandContext.meterRegistry());
+  }
+
+  /** Same as {@link #forCommand(CommandContext, int)} using the configured max wait. */
+  public static SchemaChangePipeline forCommand(CommandContext<?> commandContext) {
+    return forCommand(
+        commandContext,
+        commandContext.config().get(OperationsConfig.class).databaseConfig().ddlDelayMillis());
+  }
+
+  /** Records how long the <code>uni</code> takes, to complete or fail, against the phase. */
+  public <T> Uni<T> timed(Phase phase, Uni<T> uni) {
+    return Uni.createFrom()
+        .deferred(
+            () -> {
+              long startNanos = System.nanoTime();
+              return uni.onTermination()
+                  .invoke(
+                      () ->
+                          meterRegistry
+                              .timer(
+                                  SCHEMA_CHANGE_PHASE_DURATION_METRIC,
+                                  SCHEMA_CHANGE_PHASE_TAG,
+                                  phase.tagValue())
+                              .record(Duration.ofNanos(System.nanoTime() - startNanos)));
+            });
+  }
+
+  /**
+   * Waits until the schema is in agreement after the schema change that returned the <code>
+   * resultSet</code>.
+   *
+   * @param resultSet The result of the schema change, if the driver reports the schema is in
+   *     agreement we do not check again.
+   * @param agreementCheck Called to check if the schema is in agreement.
+   * @return Uni of true if the schema is in agreement, false if we stopped waiting. Never fails.
+   */
+  public Uni<Boolean> awaitSchemaAgreement(
+      AsyncResultSet resultSet, Supplier<Uni<Boolean>> agreementCheck) {
+
+    var executionInfo = resultSet == null ? null : resultSet.getExecutionInfo();
+    if (executionInfo != null && executionInfo.isSchemaInAgreement()) {
+      return Uni.createFrom().item(true);
+    }
+    if (maxAgreementWait.isZero()) {
+      return Uni.createFrom().item(false);
+    }
+    long deadlineNanos = System.nanoTime() + maxAgreementWait.toNanos();
+    return timed(Phase.SCHEMA_AGREEMENT, pollSchemaAgreement(agreementCheck, deadlineNanos));
+  }
+
+  private Uni<Boolean> pollSchemaAgreement(
+      Supplier<Uni<Boolean>> agreementCheck, long deadlineNanos) {
+
+    return Uni.createFrom()
+        .deferred(agreementCheck)
+        .onItem()
+        .transformToUni(
+            agreed -> {
+              if (Boolean.TRUE.equals(agreed)) {
+                return Uni.createFrom().item(true);
+              }
+              if (System.nanoTime() >= deadlineNanos) {
+                LOGGER.warn(
+                    "awaitSchemaAgreement() - schema not in agreement after {}ms, continuing",
+                    maxAgreementWait.toMillis());
+                return Uni.createFrom().item(false);
+              }
+              return Uni.createFrom()
+                  .voidItem()
+                  .onItem()
+                  .delayIt()
+                  .by(agreementPollInterval)
+                  .onItem()
+                  .transformToUni(ignored -> pollSchemaAgreement(agreementCheck, deadlineNanos));
+            })
+        .onFailure()
+        .recoverWithItem(
+            throwable -> {
+              LOGGER.warn(
+                  "awaitSchemaAgreement() - failed checking schema agreement, continuing",
+                  throwable);
+              return false;
+            });
+  }
+
+  /**
+   * Runs the schema changes with at most the configured number at the same time. With a
+   * concurrency of 1 they run in order, each after the previous one completed, otherwise the
+   * results are in the order they complete.
+   */
+  public <T, R> Multi<R> executeConcurrently(
+      List<T> schemaChanges, Function<? super T, Uni<? extends R>> executor) {
+    var unis = Multi.createFrom().iterable(schemaChanges).onItem().transformToUni(executor);
+    return concurrency == 1 ? unis.concatenate() : unis.merge(concurrency);
+  }
+}
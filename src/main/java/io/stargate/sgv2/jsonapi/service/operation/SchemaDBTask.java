@@ -18,6 +18,8 @@ import org.slf4j.LoggerFactory;
 /**
  * A task to make a DB schema change.
  *
+ * <p>After the change we wait for schema agreement using the {@link SchemaChangePipeline}.
+ *
  * @param <SchemaT>
  */
 public abstract class SchemaDBTask<SchemaT extends SchemaObject> extends DBTask<SchemaT> {
@@ -44,8 +46,24 @@ public abstract class SchemaDBTask<SchemaT extends SchemaObject> extends DBTask<
     var statement = buildStatement();
 
     logStatement(LOGGER, "buildResultSupplier()", statement);
+
+    // wait for the nodes to agree on the change, so the next schema change or a read of the new
+    // schema from the client works
+    var pipeline = SchemaChangePipeline.forCommand(commandContext);
     return new AsyncResultSetSupplier(
-        commandContext, this, statement, () -> queryExecutor.executeCreateSchema(statement));
+        commandContext,
+        this,
+        statement,
+        () ->
+            pipeline
+                .timed(
+                    SchemaChangePipeline.Phase.SCHEMA_CHANGE,
+                    queryExecutor.executeCreateSchema(statement))
+                .onItem()
+                .call(
+                    resultSet ->
+                        pipeline.awaitSchemaAgreement(
+                            resultSet, queryExecutor::checkSchemaAgreement)));
   }
 
   // =================================================================================================
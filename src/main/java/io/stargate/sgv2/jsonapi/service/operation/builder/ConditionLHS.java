@@ -28,6 +28,13 @@ public abstract class ConditionLHS {
   // TODO: COMMENT!
   public abstract void appendToBuilder(StringBuilder builder);
 
+  /**
+   * Appends a key that identifies the CQL rendered by {@link #appendToBuilder(StringBuilder)},
+   * without quoting the identifier, used to key the {@link
+   * io.stargate.sgv2.jsonapi.service.cql.builder.CqlTemplateCache}.
+   */
+  public abstract void appendShapeKey(StringBuilder builder);
+
   static final class ColumnName extends ConditionLHS {
     private final String columnName;
 
@@ -40,6 +47,11 @@ public abstract class ConditionLHS {
       builder.append(ColumnUtils.maybeQuote(columnName));
     }
 
+    @Override
+    public void appendShapeKey(StringBuilder builder) {
+      builder.append("c:").append(columnName).append(':');
+    }
+
     @Override
     public boolean equals(Object other) {
       if (other == this) {
@@ -72,6 +84,12 @@ public abstract class ConditionLHS {
       builder.append(ColumnUtils.maybeQuote(columnName)).append("[?]");
     }
 
+    @Override
+    public void appendShapeKey(StringBuilder builder) {
+      // the key is bound as a value, so it is not part of the shape
+      builder.append("m:").append(columnName).append(':');
+    }
+
     @Override
     public boolean equals(Object other) {
       if (other == this) {
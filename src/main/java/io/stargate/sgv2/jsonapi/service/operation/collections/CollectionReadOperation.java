@@ -15,6 +15,7 @@ import io.stargate.sgv2.jsonapi.api.request.RequestContext;
 import io.stargate.sgv2.jsonapi.api.request.tenant.Tenant;
 import io.stargate.sgv2.jsonapi.exception.*;
 import io.stargate.sgv2.jsonapi.metrics.JsonProcessingMetricsReporter;
+import io.stargate.sgv2.jsonapi.service.cqldriver.executor.PagePrefetcher;
 import io.stargate.sgv2.jsonapi.service.cqldriver.executor.QueryExecutor;
 import io.stargate.sgv2.jsonapi.service.projection.DocumentProjector;
 import io.stargate.sgv2.jsonapi.service.shredding.collections.DocumentId;
@@ -24,7 +25,7 @@ import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 /**
@@ -81,10 +82,10 @@ public interface CollectionReadOperation extends CollectionOperation {
       Tenant tenant,
       String commandName,
       JsonProcessingMetricsReporter jsonProcessingMetricsReporter) {
-    return Multi.createFrom()
-        .items(queries.stream())
-        .onItem()
-        .transformToUniAndMerge(
+    return queryExecutor
+        .executeReads(
+            dataApiRequestInfo,
+            queries,
             simpleStatement -> {
               if (vectorSearch) {
                 return queryExecutor.executeVectorSearch(
@@ -214,35 +215,24 @@ public interface CollectionReadOperation extends CollectionOperation {
         .items(queries.stream())
         .onItem()
         .transformToMultiAndMerge(
-            q ->
-                Multi.createBy()
-                    .repeating()
-                    .uni(
-                        () -> new AtomicReference<String>(null),
-                        stateRef -> {
-                          if (vectorSearch) {
-                            return queryExecutor
-                                .executeVectorSearch(
-                                    dataApiRequestInfo,
-                                    q,
-                                    Optional.ofNullable(stateRef.get()),
-                                    pageSize)
-                                .onItem()
-                                .invoke(rs -> stateRef.set(extractPageStateFromResultSet(rs)));
-                          } else {
-                            return queryExecutor
-                                .executeRead(
-                                    dataApiRequestInfo,
-                                    q,
-                                    Optional.ofNullable(stateRef.get()),
-                                    pageSize)
-                                .onItem()
-                                .invoke(rs -> stateRef.set(extractPageStateFromResultSet(rs)));
-                          }
-                        })
-                    // Read document while pageState exists, limit for read is set at updateLimit
-                    // +1
-                    .whilst(resultSet -> extractPageStateFromResultSet(resultSet) != null))
+            q -> {
+              // each page is read with the paging state from the page before it, and the next
+              // pages are requested while the rows from this page are sorted, no page needs more
+              // rows than it takes to reach the error limit
+              Function<Optional<String>, Uni<AsyncResultSet>> readPage =
+                  pageState ->
+                      vectorSearch
+                          ? queryExecutor.executeVectorSearch(
+                              dataApiRequestInfo, q, pageState, pageSize)
+                          : queryExecutor.executeScanRead(
+                              dataApiRequestInfo, q, pageState, pageSize, errorLimit);
+              return PagePrefetcher.pages(
+                  () -> readPage.apply(Optional.empty()),
+                  previousPage ->
+                      readPage.apply(
+                          Optional.of(extractPageStateFromResultSet(previousPage))),
+                  queryExecutor.pagePrefetchLookAhead());
+            })
         .onItem()
         .transformToUniAndMerge(
             resultSet -> {
@@ -388,21 +378,11 @@ public interface CollectionReadOperation extends CollectionOperation {
       QueryExecutor queryExecutor,
       SimpleStatement simpleStatement) {
 
-    return Multi.createBy()
-        .repeating()
-        .uni(
-            () -> new AtomicReference<AsyncResultSet>(null),
-            stateRef -> {
-              // First repetition runs the query, following repetitions fetch the next page
-              AsyncResultSet previousPage = stateRef.get();
-              Uni<AsyncResultSet> page =
-                  previousPage == null
-                      ? queryExecutor.executeCount(dataApiRequestInfo, simpleStatement)
-                      : Uni.createFrom().completionStage(previousPage.fetchNextPage());
-              return page.onItem().invoke(stateRef::set);
-            })
-        // Read keys while more pages exist, the last page is still emitted and counted
-        .whilst(resultSet -> resultSet.hasMorePages())
+    // Read keys while more pages exist, the last page is still emitted and counted. The next
+    // pages are requested while the current page is counted.
+    return PagePrefetcher.pages(
+            () -> queryExecutor.executeCount(dataApiRequestInfo, simpleStatement),
+            queryExecutor.pagePrefetchLookAhead())
         .collect()
         // IMPORTANT: remaining() is the number of rows left in the driver's iterator for the
         // current page, not the number of rows the page was fetched with - the driver has no way
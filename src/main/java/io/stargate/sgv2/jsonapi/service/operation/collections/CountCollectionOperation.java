@@ -22,6 +22,12 @@ public record CountCollectionOperation(
     CommandContext commandContext, DBLogicalExpression dbLogicalExpression, int pageSize, int limit)
     implements CollectionReadOperation {
 
+  /** Counting only reads, so the count uses the consistency of the command. */
+  @Override
+  public boolean isReadOnly() {
+    return true;
+  }
+
   @Override
   public Uni<Supplier<CommandResult>> execute(
       RequestContext dataApiRequestInfo, QueryExecutor queryExecutor) {
@@ -51,7 +57,7 @@ public record CountCollectionOperation(
     Query query;
     if (limit == -1) {
       query =
-          new QueryBuilder()
+          new QueryBuilder(commandContext.cqlTemplateCache())
               .select()
               .count()
               .as("count")
@@ -62,7 +68,7 @@ public record CountCollectionOperation(
               .build();
     } else {
       query =
-          new QueryBuilder()
+          new QueryBuilder(commandContext.cqlTemplateCache())
               .select()
               .column("key")
               .from(
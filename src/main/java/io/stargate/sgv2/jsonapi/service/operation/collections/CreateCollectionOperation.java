@@ -17,7 +17,6 @@ import com.datastax.oss.driver.api.querybuilder.schema.CreateTable;
 import com.datastax.oss.driver.internal.querybuilder.schema.DefaultCreateIndex;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.annotations.VisibleForTesting;
-import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 import io.stargate.sgv2.jsonapi.api.model.command.CommandContext;
 import io.stargate.sgv2.jsonapi.api.model.command.CommandResult;
@@ -33,6 +32,7 @@ import io.stargate.sgv2.jsonapi.service.cqldriver.executor.QueryExecutor;
 import io.stargate.sgv2.jsonapi.service.cqldriver.override.ExtendedCreateIndex;
 import io.stargate.sgv2.jsonapi.service.cqldriver.override.ExtendedVectorType;
 import io.stargate.sgv2.jsonapi.service.operation.Operation;
+import io.stargate.sgv2.jsonapi.service.operation.SchemaChangePipeline;
 import io.stargate.sgv2.jsonapi.service.schema.CollectionSchemaVersion;
 import io.stargate.sgv2.jsonapi.service.schema.EmbeddingSourceModel;
 import io.stargate.sgv2.jsonapi.service.schema.KeyspaceSchemaObject;
@@ -43,7 +43,6 @@ import io.stargate.sgv2.jsonapi.service.schema.collections.CollectionRerankDef;
 import io.stargate.sgv2.jsonapi.service.schema.collections.CollectionSchemaObject;
 import io.stargate.sgv2.jsonapi.service.schema.collections.spec.SuperShreddingTablePredicate;
 import io.stargate.sgv2.jsonapi.service.schema.tables.CQLSAIIndex;
-import java.time.Duration;
 import java.util.*;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -275,51 +274,45 @@ public record CreateCollectionOperation(
       CollectionLexicalDef collectionLexicalDef,
       boolean collectionExisted) {
 
+    var pipeline = SchemaChangePipeline.forCommand(commandContext, ddlDelayMillis);
+
     final Uni<AsyncResultSet> execCreateTable =
-        queryExecutor.executeCreateSchemaChange(
-            requestContext, getCreateTable(tableComment, collectionLexicalDef));
+        pipeline.timed(
+            SchemaChangePipeline.Phase.CREATE_TABLE,
+            queryExecutor.executeCreateSchemaChange(
+                requestContext, getCreateTable(tableComment, collectionLexicalDef)));
 
     final Uni<Boolean> indexResult =
         execCreateTable
-            .onItem()
-            .delayIt()
-            .by(Duration.ofMillis(ddlDelayMillis > 0 ? ddlDelayMillis : 100))
             .onItem()
             .transformToUni(
                 res -> {
-                  if (res.wasApplied()) {
-                    final List<SimpleStatement> indexStatements =
-                        getIndexStatements(collectionLexicalDef, collectionExisted);
-                    Multi<AsyncResultSet> indexResultMulti;
-                    /*
-                    CI will override ddlDelayMillis to 0 using `-Dstargate.jsonapi.operations.database-config.ddl-delay-millis=0`
-                       to speed up the test execution
-                       This is ok because CI is run as single cassandra instance and there is no need to wait for the schema changes to propagate
-                    */
-
-                    if (ddlDelayMillis == 0) {
-                      indexResultMulti =
-                          createIndexParallel(queryExecutor, requestContext, indexStatements);
-                    } else {
-                      indexResultMulti =
-                          createIndexOrdered(queryExecutor, requestContext, indexStatements);
-                    }
-
-                    return indexResultMulti
-                        .collect()
-                        .asList()
-                        .onItem()
-                        .transform(
-                            results -> {
-                              final Optional<AsyncResultSet> first =
-                                  results.stream()
-                                      .filter(indexRes -> !(indexRes.wasApplied()))
-                                      .findFirst();
-                              return !first.isPresent();
-                            });
-                  } else {
+                  if (!res.wasApplied()) {
                     return Uni.createFrom().item(false);
                   }
+                  // wait for the nodes to agree on the new table before creating the indexes,
+                  // they are created one after the other unless parallel creation is configured
+                  final List<SimpleStatement> indexStatements =
+                      getIndexStatements(collectionLexicalDef, collectionExisted);
+                  return pipeline
+                      .awaitSchemaAgreement(
+                          res, () -> queryExecutor.checkSchemaAgreement(requestContext))
+                      .onItem()
+                      .transformToUni(
+                          agreed ->
+                              pipeline.timed(
+                                  SchemaChangePipeline.Phase.CREATE_INDEXES,
+                                  pipeline
+                                      .executeConcurrently(
+                                          indexStatements,
+                                          indexStatement ->
+                                              queryExecutor.executeCreateSchemaChange(
+                                                  requestContext, indexStatement))
+                                      .collect()
+                                      .asList()))
+                      .onItem()
+                      .transform(
+                          results -> results.stream().allMatch(AsyncResultSet::wasApplied));
                 });
 
     return indexResult
@@ -396,36 +389,6 @@ public record CreateCollectionOperation(
         CommandResult.statusOnlyBuilder(RequestTracing.NO_OP).addThrowable(throwable).build();
   }
 
-  /** Create indexes for collections in ordered. This is to avoid schema change conflicts. */
-  private Multi<AsyncResultSet> createIndexOrdered(
-      QueryExecutor queryExecutor,
-      RequestContext requestContext,
-      List<SimpleStatement> indexStatements) {
-
-    return Multi.createFrom()
-        .items(indexStatements.stream())
-        .onItem()
-        .transformToUni(
-            indexStatement ->
-                queryExecutor.executeCreateSchemaChange(requestContext, indexStatement))
-        .concatenate();
-  }
-
-  /** Create indexes for collections in parallel. Only used to speed up the CI actions. */
-  private Multi<AsyncResultSet> createIndexParallel(
-      QueryExecutor queryExecutor,
-      RequestContext requestContext,
-      List<SimpleStatement> indexStatements) {
-
-    return Multi.createFrom()
-        .items(indexStatements.stream())
-        .onItem()
-        .transformToUni(
-            indexStatement ->
-                queryExecutor.executeCreateSchemaChange(requestContext, indexStatement))
-        .merge();
-  }
-
   public Uni<Supplier<CommandResult>> cleanUpCollectionFailedWithTooManyIndex(
       RequestContext requestContext, QueryExecutor queryExecutor) {
 
@@ -0,0 +1,185 @@
+package io.stargate.sgv2.jsonapi.service.operation.collections;
+
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import io.stargate.sgv2.jsonapi.service.cqldriver.serializer.CQLBindValues;
+import io.stargate.sgv2.jsonapi.service.shredding.collections.WritableShreddedDocument;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The changes to the index columns of a collection document made by an update, found by comparing
+ * the shredded document before and after the update.
+ *
+ * <p>The update statement from {@link #bindUpdateValues(String, String, boolean, boolean)} adds
+ * and removes only the map and set elements that changed, rather than replacing every index column
+ * the way {@link ReadAndUpdateCollectionOperation#buildUpdateQuery(String, String, boolean,
+ * boolean)} does. A <code>$set</code> of one field on a document with thousands of indexed paths
+ * then writes a few cells rather than thousands, and the storage attached indexes have a few
+ * entries to update. The <code>doc_json</code> is always written in full, and the update uses the
+ * same <code>tx_id</code> condition as the full rewrite.
+ *
+ * <p>Callers should use {@link #changedEntries()} and {@link #totalEntries()} to fall back to the
+ * full rewrite when most of the entries changed, as the delta is then no smaller.
+ */
+class DocumentUpdateDelta {
+
+  private final WritableShreddedDocument after;
+  private final List<ColumnDelta> columns = new ArrayList<>(8);
+  private final boolean vectorChanged;
+  private final boolean lexicalChanged;
+  private int changedEntries;
+  private int totalEntries;
+
+  /**
+   * @param before The document as it was read, shredded, see {@link
+   *     io.stargate.sgv2.jsonapi.service.shredding.collections.DocumentShredder#shredExisting}.
+   * @param after The updated document, shredded, with the <code>tx_id</code> read with the
+   *     document.
+   */
+  DocumentUpdateDelta(WritableShreddedDocument before, WritableShreddedDocument after) {
+    this.after = Objects.requireNonNull(after, "after must not be null");
+    Objects.requireNonNull(before, "before must not be null");
+
+    // Note: must use the same bind values as ReadAndUpdateCollectionOperation.bindUpdateValues()
+    diffSet(
+        "exist_keys",
+        CQLBindValues.getSetValue(before.existKeys()),
+        CQLBindValues.getSetValue(after.existKeys()));
+    diffMap(
+        "array_size",
+        CQLBindValues.getIntegerMapValues(before.arraySize()),
+        CQLBindValues.getIntegerMapValues(after.arraySize()));
+    diffSet(
+        "array_contains",
+        CQLBindValues.getStringSetValue(before.arrayContains()),
+        CQLBindValues.getStringSetValue(after.arrayContains()));
+    diffMap(
+        "query_bool_values",
+        CQLBindValues.getBooleanMapValues(before.queryBoolValues()),
+        CQLBindValues.getBooleanMapValues(after.queryBoolValues()));
+    diffMap(
+        "query_dbl_values",
+        CQLBindValues.getDoubleMapValues(before.queryNumberValues()),
+        CQLBindValues.getDoubleMapValues(after.queryNumberValues()));
+    diffMap(
+        "query_text_values",
+        CQLBindValues.getStringMapValues(before.queryTextValues()),
+        CQLBindValues.getStringMapValues(after.queryTextValues()));
+    diffSet(
+        "query_null_values",
+        CQLBindValues.getSetValue(before.queryNullValues()),
+        CQLBindValues.getSetValue(after.queryNullValues()));
+    diffMap(
+        "query_timestamp_values",
+        CQLBindValues.getTimestampMapValues(before.queryTimestampValues()),
+        CQLBindValues.getTimestampMapValues(after.queryTimestampValues()));
+
+    vectorChanged = !Arrays.equals(before.queryVectorValues(), after.queryVectorValues());
+    lexicalChanged = !Objects.equals(before.queryLexicalValue(), after.queryLexicalValue());
+  }
+
+  /** Number of map and set elements added, changed or removed. */
+  int changedEntries() {
+    return changedEntries;
+  }
+
+  /** Number of map and set elements in the updated document. */
+  int totalEntries() {
+    return totalEntries;
+  }
+
+  /**
+   * Builds the update statement that writes only the changes, bound with the values.
+   *
+   * @param keyspaceName Keyspace of the collection.
+   * @param collectionName Name of the collection.
+   * @param vectorEnabled If the collection has the vector column.
+   * @param lexicalEnabled If the collection has the lexical column.
+   * @return Statement that updates the document if the <code>tx_id</code> has not changed.
+   */
+  SimpleStatement bindUpdateValues(
+      String keyspaceName, String collectionName, boolean vectorEnabled, boolean lexicalEnabled) {
+
+    var updateQuery = new StringBuilder(200);
+    var positional = new ArrayList<>(columns.size() * 2 + 5);
+    updateQuery
+        .append("UPDATE \"")
+        .append(keyspaceName)
+        .append("\".\"")
+        .append(collectionName)
+        .append("\" SET tx_id = now()");
+
+    // adding and removing elements of the same column in one update is allowed, the keys never
+    // overlap because only keys that are not in the updated document are removed
+    for (var column : columns) {
+      if (column.hasAdditions()) {
+        updateQuery.append(",\n%1$s = %1$s + ?".formatted(column.name()));
+        positional.add(column.additions());
+      }
+      if (!column.removals().isEmpty()) {
+        updateQuery.append(",\n%1$s = %1$s - ?".formatted(column.name()));
+        positional.add(column.removals());
+      }
+    }
+    if (vectorEnabled && vectorChanged) {
+      updateQuery.append(",\nquery_vector_value = ?");
+      positional.add(CQLBindValues.getVectorValue(after.queryVectorValues()));
+    }
+    if (lexicalEnabled && lexicalChanged) {
+      updateQuery.append(",\nquery_lexical_value = ?");
+      positional.add(after.queryLexicalValue());
+    }
+    updateQuery.append(",\ndoc_json = ?\nWHERE key = ?\nIF tx_id = ?");
+    positional.add(after.docJson());
+    positional.add(CQLBindValues.getDocumentIdValue(after.id()));
+    positional.add(after.txID());
+    return SimpleStatement.newInstance(updateQuery.toString(), positional.toArray(new Object[0]));
+  }
+
+  private <V> void diffMap(String column, Map<String, V> before, Map<String, V> after) {
+    Map<String, V> additions = new HashMap<>();
+    for (var entry : after.entrySet()) {
+      if (!Objects.equals(before.get(entry.getKey()), entry.getValue())) {
+        additions.put(entry.getKey(), entry.getValue());
+      }
+    }
+    Set<String> removals = new HashSet<>(before.keySet());
+    removals.removeAll(after.keySet());
+    addColumn(new ColumnDelta(column, additions, additions.size(), removals), after.size());
+  }
+
+  private void diffSet(String column, Set<String> before, Set<String> after) {
+    Set<String> additions = new HashSet<>(after);
+    additions.removeAll(before);
+    Set<String> removals = new HashSet<>(before);
+    removals.removeAll(after);
+    addColumn(new ColumnDelta(column, additions, additions.size(), removals), after.size());
+  }
+
+  private void addColumn(ColumnDelta column, int size) {
+    totalEntries += size;
+    changedEntries += column.additionCount() + column.removals().size();
+    if (column.hasAdditions() || !column.removals().isEmpty()) {
+      columns.add(column);
+    }
+  }
+
+  /**
+   * Changes to one map or set column.
+   *
+   * @param additions The map entries or set elements to add, a map or set to bind.
+   * @param removals The map keys or set elements to remove.
+   */
+  private record ColumnDelta(
+      String name, Object additions, int additionCount, Set<String> removals) {
+    boolean hasAdditions() {
+      return additionCount > 0;
+    }
+  }
+}
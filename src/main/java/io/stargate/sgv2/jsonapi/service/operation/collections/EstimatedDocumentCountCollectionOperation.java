@@ -15,6 +15,12 @@ import java.util.function.Supplier;
 public record EstimatedDocumentCountCollectionOperation<T extends SchemaObject>(
     CommandContext<T> commandContext) implements CollectionReadOperation {
 
+  /** Estimating the count only reads, so it uses the consistency of the command. */
+  @Override
+  public boolean isReadOnly() {
+    return true;
+  }
+
   @Override
   public Uni<Supplier<CommandResult>> execute(
       RequestContext dataApiRequestInfo, QueryExecutor queryExecutor) {
@@ -1,19 +1,27 @@
 package io.stargate.sgv2.jsonapi.service.operation.collections;
 
+import com.bpodgursky.jbool_expressions.And;
 import com.bpodgursky.jbool_expressions.Expression;
 import com.bpodgursky.jbool_expressions.Variable;
+import com.datastax.oss.driver.api.core.data.TupleValue;
 import io.stargate.sgv2.jsonapi.exception.FilterException;
 import io.stargate.sgv2.jsonapi.service.cql.ExpressionUtils;
 import io.stargate.sgv2.jsonapi.service.operation.builder.BuiltCondition;
+import io.stargate.sgv2.jsonapi.service.operation.builder.BuiltConditionPredicate;
+import io.stargate.sgv2.jsonapi.service.operation.builder.ConditionLHS;
+import io.stargate.sgv2.jsonapi.service.operation.builder.JsonTerm;
 import io.stargate.sgv2.jsonapi.service.operation.filters.collection.*;
 import io.stargate.sgv2.jsonapi.service.operation.query.DBFilterBase;
 import io.stargate.sgv2.jsonapi.service.operation.query.DBLogicalExpression;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 public class ExpressionBuilder {
 
+  private static final ConditionLHS PARTITION_KEY = ConditionLHS.column("key");
+
   public static List<Expression<BuiltCondition>> buildExpressions(
       DBLogicalExpression dbLogicalExpression, IDCollectionFilter additionalIdFilter) {
     // an empty filter should find everything
@@ -31,6 +39,34 @@ public class ExpressionBuilder {
     return buildExpressionWithId(additionalIdFilter, expressionWithoutId, idFilters);
   }
 
+  /**
+   * Gets the value for the partition key when the expression reads a single document by <code>_id
+   * </code>, so the read can be routed to a replica that has the document.
+   *
+   * @param expression One of the expressions from {@link #buildExpressions(DBLogicalExpression,
+   *     IDCollectionFilter)}, may be null.
+   * @return The value for the <code>key</code> column, empty if the expression does not have an
+   *     <code>_id</code> equality condition at the top level.
+   */
+  public static Optional<TupleValue> partitionKeyValue(Expression<BuiltCondition> expression) {
+    List<Expression<BuiltCondition>> terms =
+        switch (expression) {
+          case Variable<BuiltCondition> variable -> List.of(variable);
+          case And<BuiltCondition> and -> and.getChildren();
+          case null, default -> List.of();
+        };
+    for (var term : terms) {
+      if (term instanceof Variable<BuiltCondition> variable
+          && PARTITION_KEY.equals(variable.getValue().lhs)
+          && variable.getValue().predicate == BuiltConditionPredicate.EQ
+          && variable.getValue().rhsTerm instanceof JsonTerm jsonTerm
+          && jsonTerm.getValue() instanceof TupleValue keyValue) {
+        return Optional.of(keyValue);
+      }
+    }
+    return Optional.empty();
+  }
+
   // buildExpressionWithId only handles IDFilter ($eq, $ne, $in)
   private static List<Expression<BuiltCondition>> buildExpressionWithId(
       IDCollectionFilter additionalIdFilter,
@@ -3,7 +3,9 @@ package io.stargate.sgv2.jsonapi.service.operation.collections;
 import static io.stargate.sgv2.jsonapi.exception.ErrorFormatters.errVars;
 
 import com.bpodgursky.jbool_expressions.Expression;
+import com.datastax.oss.driver.api.core.ProtocolVersion;
 import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.datastax.oss.driver.api.core.type.codec.TypeCodecs;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.Lists;
 import io.smallrye.mutiny.Uni;
@@ -361,6 +363,15 @@ public record FindCollectionOperation(
         includeSortVector);
   }
 
+  /**
+   * Only reads when executed as a command, reads before a write run the find through the {@link
+   * QueryExecutor} of the writing operation.
+   */
+  @Override
+  public boolean isReadOnly() {
+    return true;
+  }
+
   @Override
   public Uni<Supplier<CommandResult>> execute(
       RequestContext dataApiRequestInfo, QueryExecutor queryExecutor) {
@@ -509,7 +520,7 @@ public record FindCollectionOperation(
           final Query query;
           if (vector() == null) {
             QueryBuilder qb =
-                new QueryBuilder()
+                new QueryBuilder(commandContext.cqlTemplateCache())
                     .select()
                     .column(
                         CollectionReadType.DOCUMENT == readType
@@ -530,7 +541,7 @@ public record FindCollectionOperation(
           } else {
             query = getVectorSearchQueryByExpression(expression);
           }
-          queries.add(query.queryToStatement());
+          queries.add(withRoutingKey(query.queryToStatement(), expression));
         });
 
     return queries;
@@ -542,7 +553,7 @@ public record FindCollectionOperation(
    */
   private Query getVectorSearchQueryByExpression(Expression<BuiltCondition> expression) {
     if (projection().doIncludeSimilarityScore()) {
-      return new QueryBuilder()
+      return new QueryBuilder(commandContext.cqlTemplateCache())
           .select()
           .column(CollectionReadType.DOCUMENT == readType ? documentColumns : documentKeyColumns)
           .similarityFunction(
@@ -556,7 +567,7 @@ public record FindCollectionOperation(
           .vsearch(SuperShreddingMetadata.Names.QUERY_VECTOR_VALUE, vector())
           .build();
     } else {
-      return new QueryBuilder()
+      return new QueryBuilder(commandContext.cqlTemplateCache())
           .select()
           .column(CollectionReadType.DOCUMENT == readType ? documentColumns : documentKeyColumns)
           .from(
@@ -594,7 +605,7 @@ public record FindCollectionOperation(
     expressions.forEach(
         expression -> {
           final Query query =
-              new QueryBuilder()
+              new QueryBuilder(commandContext.cqlTemplateCache())
                   .select()
                   .column(columnsToAdd)
                   .from(
@@ -603,12 +614,30 @@ public record FindCollectionOperation(
                   .where(expression)
                   .limit(maxSortReadLimit())
                   .build();
-          queries.add(query.queryToStatement());
+          queries.add(withRoutingKey(query.queryToStatement(), expression));
         });
 
     return queries;
   }
 
+  /**
+   * Sets the routing key on a read for a single document by <code>_id</code>, so the driver sends
+   * it to a replica that has the document, see {@link
+   * io.stargate.sgv2.jsonapi.service.cqldriver.executor.MultiGetReader}.
+   */
+  private SimpleStatement withRoutingKey(
+      SimpleStatement statement, Expression<BuiltCondition> expression) {
+    return ExpressionBuilder.partitionKeyValue(expression)
+        .map(
+            keyValue ->
+                statement
+                    .setRoutingKeyspace(commandContext.schemaObject().identifier().keyspace())
+                    .setRoutingKey(
+                        TypeCodecs.tupleOf(keyValue.getType())
+                            .encode(keyValue, ProtocolVersion.DEFAULT)))
+        .orElse(statement);
+  }
+
   /**
    * Represents sort field name and option to be sorted ascending/descending.
    *
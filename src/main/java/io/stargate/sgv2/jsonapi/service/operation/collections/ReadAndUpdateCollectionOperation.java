@@ -9,6 +9,7 @@ import io.smallrye.mutiny.Uni;
 import io.stargate.sgv2.jsonapi.api.model.command.CommandContext;
 import io.stargate.sgv2.jsonapi.api.model.command.CommandResult;
 import io.stargate.sgv2.jsonapi.api.request.RequestContext;
+import io.stargate.sgv2.jsonapi.config.OperationsConfig;
 import io.stargate.sgv2.jsonapi.exception.APIException;
 import io.stargate.sgv2.jsonapi.exception.DatabaseException;
 import io.stargate.sgv2.jsonapi.exception.unchecked.LWTFailureException;
@@ -24,6 +25,7 @@ import io.stargate.sgv2.jsonapi.service.shredding.collections.WritableShreddedDo
 import io.stargate.sgv2.jsonapi.service.updater.DocumentUpdater;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
@@ -223,7 +225,10 @@ public record ReadAndUpdateCollectionOperation(
                         JsonNode updatedDocument = writableShreddedDocument.docJsonNode();
                         // update the document
                         return updatedDocument(
-                                dataApiRequestInfo, queryExecutor, writableShreddedDocument)
+                                dataApiRequestInfo,
+                                queryExecutor,
+                                originalDocument,
+                                writableShreddedDocument)
 
                             // send result back depending on the input
                             .onItem()
@@ -260,16 +265,20 @@ public record ReadAndUpdateCollectionOperation(
   private Uni<DocumentId> updatedDocument(
       RequestContext dataApiRequestInfo,
       QueryExecutor queryExecutor,
+      JsonNode originalDocument,
       WritableShreddedDocument writableShreddedDocument) {
     final boolean vectorEnabled = commandContext().schemaObject().vectorConfig().vectorEnabled();
     var lexicalEnabled = commandContext().schemaObject().lexicalDef().enabled();
 
     final SimpleStatement updateQuery =
-        bindUpdateValues(
-            buildUpdateQuery(vectorEnabled, lexicalEnabled),
-            writableShreddedDocument,
-            vectorEnabled,
-            lexicalEnabled);
+        deltaUpdateQuery(originalDocument, writableShreddedDocument, vectorEnabled, lexicalEnabled)
+            .orElseGet(
+                () ->
+                    bindUpdateValues(
+                        buildUpdateQuery(vectorEnabled, lexicalEnabled),
+                        writableShreddedDocument,
+                        vectorEnabled,
+                        lexicalEnabled));
     return queryExecutor
         .executeWrite(dataApiRequestInfo, updateQuery)
         .onItem()
@@ -283,6 +292,52 @@ public record ReadAndUpdateCollectionOperation(
             });
   }
 
+  /**
+   * Builds the update that writes only the index entries that changed, see {@link
+   * DocumentUpdateDelta}, when delta updates are enabled and the document is not being inserted.
+   *
+   * <p>The entries the document was written with are found by shredding the document as read. If
+   * that fails, such as for a document written before a limit was lowered, or does not give the
+   * same document id, the entries it was written with are not known and the full rewrite is used
+   * so no stale entries are left behind.
+   *
+   * @param originalDocument The document as read before the update, null for an upsert.
+   * @return The update, or empty if the full rewrite should be used because delta updates are
+   *     disabled, the existing entries are not known, or too many of the entries changed.
+   */
+  private Optional<SimpleStatement> deltaUpdateQuery(
+      JsonNode originalDocument,
+      WritableShreddedDocument writableShreddedDocument,
+      boolean vectorEnabled,
+      boolean lexicalEnabled) {
+    var deltaUpdatesConfig = commandContext.config().get(OperationsConfig.class).deltaUpdates();
+    if (!deltaUpdatesConfig.enabled() || originalDocument == null) {
+      return Optional.empty();
+    }
+
+    WritableShreddedDocument existing;
+    try {
+      existing = documentShredder().shredExisting(commandContext(), originalDocument);
+    } catch (RuntimeException e) {
+      return Optional.empty();
+    }
+    if (!existing.id().equals(writableShreddedDocument.id())) {
+      return Optional.empty();
+    }
+
+    var delta = new DocumentUpdateDelta(existing, writableShreddedDocument);
+    if (delta.changedEntries() > deltaUpdatesConfig.maxChangedRatio() * delta.totalEntries()) {
+      return Optional.empty();
+    }
+    var identifier = commandContext.schemaObject().identifier();
+    return Optional.of(
+        delta.bindUpdateValues(
+            identifier.keyspace().asInternal(),
+            identifier.table().asInternal(),
+            vectorEnabled,
+            lexicalEnabled));
+  }
+
   private String buildUpdateQuery(boolean vectorEnabled, boolean lexicalEnabled) {
     var identifier = commandContext.schemaObject().identifier();
     return buildUpdateQuery(
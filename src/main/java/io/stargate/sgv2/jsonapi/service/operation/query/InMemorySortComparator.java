@@ -1,19 +1,30 @@
 package io.stargate.sgv2.jsonapi.service.operation.query;
 
 import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.type.DataType;
+import com.datastax.oss.driver.api.core.type.DataTypes;
+import com.datastax.oss.driver.api.core.type.codec.TypeCodecs;
 import com.datastax.oss.driver.internal.core.data.IdentifierIndex;
-import io.stargate.sgv2.jsonapi.service.cqldriver.executor.ValueCachingRow;
+import io.stargate.sgv2.jsonapi.service.cqldriver.executor.SortKeyRow;
+import io.stargate.sgv2.jsonapi.service.cqldriver.executor.SortedRowAccumulator;
 import io.stargate.sgv2.jsonapi.service.schema.tables.ApiColumnDef;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 
 /*
  * Comparator implementation to do in-memory sorting of rows read.
+ *
+ * The values of the sort columns are read once when the row is accumulated into a SortKeyRow.
+ * Numeric, boolean, and date and time columns are read straight from the column bytes into a long
+ * that compares in the same order as the value.
  */
-public class InMemorySortComparator implements Comparator<ValueCachingRow> {
+public class InMemorySortComparator implements SortedRowAccumulator.SortKeyComparator {
 
   private final List<SortByTerm> sortTerms;
+  // array copy of the sortTerms for the compare loop
+  private final SortByTerm[] sortTermsArray;
+  private final boolean hasObjectKeys;
 
   public InMemorySortComparator(List<SortByTerm> sortTerms) {
     this.sortTerms = Objects.requireNonNull(sortTerms, "sortBy must not be null");
@@ -22,6 +33,15 @@ public class InMemorySortComparator implements Comparator<ValueCachingRow> {
     if (sortTerms.isEmpty()) {
       throw new IllegalArgumentException("No sort columns provided");
     }
+    // null keys are tracked as a bit set in a long
+    if (sortTerms.size() > Long.SIZE) {
+      throw new IllegalArgumentException(
+          "Too many sort columns provided, maximum is %s but got %s"
+              .formatted(Long.SIZE, sortTerms.size()));
+    }
+    this.sortTermsArray = sortTerms.toArray(new SortByTerm[0]);
+    this.hasObjectKeys =
+        sortTerms.stream().anyMatch(sortByTerm -> sortByTerm.keyType == KeyType.OBJECT);
   }
 
   /**
@@ -34,39 +54,27 @@ public class InMemorySortComparator implements Comparator<ValueCachingRow> {
   }
 
   @Override
-  public int compare(ValueCachingRow o1, ValueCachingRow o2) {
-    for (SortByTerm sortColumn : sortTerms) {
-      int compareValue = compareValues(o1, o2, sortColumn);
-      if (compareValue != 0) {
-        return compareValue;
+  public SortKeyRow sortKeyRow(Row row) {
+    var longKeys = new long[sortTermsArray.length];
+    var objectKeys = hasObjectKeys ? new Object[sortTermsArray.length] : null;
+    long nullKeys = 0;
+    for (int i = 0; i < sortTermsArray.length; i++) {
+      if (!sortTermsArray[i].readKey(row, i, longKeys, objectKeys)) {
+        nullKeys |= 1L << i;
       }
     }
-    return 0; // All compared values are equal
+    return new SortKeyRow(row, longKeys, objectKeys, nullKeys);
   }
 
-  private static int compareValues(ValueCachingRow o1, ValueCachingRow o2, SortByTerm sortByTerm) {
-    final Object value1 = sortByTerm.getColumnValue(o1);
-    final Object value2 = sortByTerm.getColumnValue(o2);
-
-    // Handle nulls explicitly to avoid NullPointerExceptions
-    if (value1 == null && value2 == null) {
-      return 0;
-    }
-    if (value1 == null) {
-      return sortByTerm.ascending ? -1 : 1;
-    }
-    if (value2 == null) {
-      return sortByTerm.ascending ? 1 : -1;
-    }
-
-    int compare;
-    if (value1 instanceof Comparable) {
-      compare = uncheckedToComparable(value1).compareTo(value2);
-    } else {
-      throw new IllegalArgumentException("value1 is not comparable: " + value1 + ", " + value2);
+  @Override
+  public int compare(SortKeyRow o1, SortKeyRow o2) {
+    for (int i = 0; i < sortTermsArray.length; i++) {
+      int compareValue = sortTermsArray[i].compareKeys(o1, o2, i);
+      if (compareValue != 0) {
+        return compareValue;
+      }
     }
-
-    return sortByTerm.ascending ? compare : (-1 * compare);
+    return 0; // All compared values are equal
   }
 
   @SuppressWarnings("unchecked")
@@ -74,11 +82,71 @@ public class InMemorySortComparator implements Comparator<ValueCachingRow> {
     return (Comparable<Object>) object;
   }
 
+  /**
+   * Encodes the double so the longs compare in the same order as {@link Double#compare(double,
+   * double)}, flipping the bits other than the sign for negative values.
+   */
+  static long sortableDoubleBits(double value) {
+    long bits = Double.doubleToLongBits(value);
+    return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+  }
+
+  /** How the key for a sort term is kept in the {@link SortKeyRow}. */
+  enum KeyType {
+    BIGINT,
+    BOOLEAN,
+    DATE,
+    DOUBLE,
+    FLOAT,
+    INT,
+    SMALLINT,
+    TIME,
+    TIMESTAMP,
+    TINYINT,
+    // the object from the driver, compared as Comparable
+    OBJECT;
+
+    static KeyType forType(DataType dataType) {
+      if (dataType.equals(DataTypes.BIGINT) || dataType.equals(DataTypes.COUNTER)) {
+        return BIGINT;
+      }
+      if (dataType.equals(DataTypes.BOOLEAN)) {
+        return BOOLEAN;
+      }
+      if (dataType.equals(DataTypes.DATE)) {
+        return DATE;
+      }
+      if (dataType.equals(DataTypes.DOUBLE)) {
+        return DOUBLE;
+      }
+      if (dataType.equals(DataTypes.FLOAT)) {
+        return FLOAT;
+      }
+      if (dataType.equals(DataTypes.INT)) {
+        return INT;
+      }
+      if (dataType.equals(DataTypes.SMALLINT)) {
+        return SMALLINT;
+      }
+      if (dataType.equals(DataTypes.TIME)) {
+        return TIME;
+      }
+      if (dataType.equals(DataTypes.TIMESTAMP)) {
+        return TIMESTAMP;
+      }
+      if (dataType.equals(DataTypes.TINYINT)) {
+        return TINYINT;
+      }
+      return OBJECT;
+    }
+  }
+
   /** The sort column and option to be sorted and the direction ascending/descending. */
   public static class SortByTerm {
 
     final ApiColumnDef apiColumnDef;
     final boolean ascending;
+    final KeyType keyType;
 
     // using int not Integer to avoid boxing/unboxing because driver wants int
     private int columnIndex = Integer.MIN_VALUE;
@@ -86,25 +154,97 @@ public class InMemorySortComparator implements Comparator<ValueCachingRow> {
     public SortByTerm(ApiColumnDef apiColumnDef, boolean ascending) {
       this.apiColumnDef = Objects.requireNonNull(apiColumnDef, "apiColumnDef must not be null");
       this.ascending = ascending;
+      this.keyType = KeyType.forType(apiColumnDef.type().cqlType());
     }
 
     /**
-     * Get the value of the column this term is sorting on, from the row.
+     * Reads the key for this term from the row into the arrays.
      *
      * <p>Pushing down here so we can cache the column index and avoid looking up the column name in
      * the row, see the {@link IdentifierIndex} in the driver. Getting the column index from the
      * name is quick, but if we need to do it thousands of times we should do it once.
      *
-     * @param row The row to get the column value from
-     * @return The value of the column
+     * @return False if the value is null, the driver decodes empty bytes for the types we keep as a
+     *     long as null so they are also null.
      */
-    Object getColumnValue(ValueCachingRow row) {
+    boolean readKey(Row row, int term, long[] longKeys, Object[] objectKeys) {
       if (columnIndex < 0) {
         // using the column index to avoid the need to look up the column name in the row
         // will throw if the column is not found, that is OK should not happen
-        columnIndex = row.getRow().firstIndexOf(apiColumnDef.name());
+        columnIndex = row.firstIndexOf(apiColumnDef.name());
       }
-      return row.getObject(columnIndex);
+
+      if (keyType == KeyType.OBJECT) {
+        return (objectKeys[term] = row.getObject(columnIndex)) != null;
+      }
+
+      var bytes = row.getBytesUnsafe(columnIndex);
+      if (bytes == null || !bytes.hasRemaining()) {
+        return false;
+      }
+      var protocolVersion = row.protocolVersion();
+      longKeys[term] =
+          switch (keyType) {
+            case BIGINT -> TypeCodecs.BIGINT.decodePrimitive(bytes, protocolVersion);
+            case BOOLEAN -> TypeCodecs.BOOLEAN.decodePrimitive(bytes, protocolVersion) ? 1 : 0;
+            case DATE -> TypeCodecs.DATE.decode(bytes, protocolVersion).toEpochDay();
+            case DOUBLE ->
+                sortableDoubleBits(TypeCodecs.DOUBLE.decodePrimitive(bytes, protocolVersion));
+            case FLOAT ->
+                sortableDoubleBits(TypeCodecs.FLOAT.decodePrimitive(bytes, protocolVersion));
+            case INT -> TypeCodecs.INT.decodePrimitive(bytes, protocolVersion);
+            case SMALLINT -> TypeCodecs.SMALLINT.decodePrimitive(bytes, protocolVersion);
+            case TIME -> TypeCodecs.TIME.decode(bytes, protocolVersion).toNanoOfDay();
+            case TIMESTAMP -> TypeCodecs.TIMESTAMP.decode(bytes, protocolVersion).toEpochMilli();
+            case TINYINT -> TypeCodecs.TINYINT.decodePrimitive(bytes, protocolVersion);
+            case OBJECT -> throw new IllegalStateException("OBJECT keys are not longs");
+          };
+      return true;
+    }
+
+    int compareKeys(SortKeyRow o1, SortKeyRow o2, int term) {
+      boolean null1 = o1.isNullKey(term);
+      boolean null2 = o2.isNullKey(term);
+
+      // Handle nulls explicitly to avoid NullPointerExceptions
+      if (null1 && null2) {
+        return 0;
+      }
+      if (null1) {
+        return ascending ? -1 : 1;
+      }
+      if (null2) {
+        return ascending ? 1 : -1;
+      }
+
+      int compare;
+      if (keyType != KeyType.OBJECT) {
+        compare = Long.compare(o1.longKey(term), o2.longKey(term));
+      } else {
+        var value1 = o1.objectKey(term);
+        var value2 = o2.objectKey(term);
+        if (value1 instanceof Comparable) {
+          compare = uncheckedToComparable(value1).compareTo(value2);
+        } else {
+          throw new IllegalArgumentException(
+              "value1 is not comparable: " + value1 + ", " + value2);
+        }
+      }
+      return ascending ? compare : (-1 * compare);
+    }
+
+    @Override
+    public String toString() {
+      return new StringBuilder()
+          .append("SortByTerm{")
+          .append("column=")
+          .append(apiColumnDef.name())
+          .append(", ascending=")
+          .append(ascending)
+          .append(", keyType=")
+          .append(keyType)
+          .append('}')
+          .toString();
     }
   }
 
@@ -8,9 +8,12 @@ import io.stargate.sgv2.jsonapi.api.model.command.CommandStatus;
 import io.stargate.sgv2.jsonapi.api.model.command.ResponseData;
 import io.stargate.sgv2.jsonapi.api.model.command.tracing.RequestTracing;
 import io.stargate.sgv2.jsonapi.api.model.command.tracing.TraceMessage;
+import io.stargate.sgv2.jsonapi.metrics.jfr.JfrEvents;
+import io.stargate.sgv2.jsonapi.metrics.jfr.ModelProviderCallEvent;
 import io.stargate.sgv2.jsonapi.service.operation.tasks.BaseTask;
 import io.stargate.sgv2.jsonapi.service.operation.tasks.TaskRetryPolicy;
 import io.stargate.sgv2.jsonapi.service.projection.DocumentProjector;
+import io.stargate.sgv2.jsonapi.service.provider.ModelType;
 import io.stargate.sgv2.jsonapi.service.provider.ModelUsage;
 import io.stargate.sgv2.jsonapi.service.reranking.operation.RerankingProvider;
 import io.stargate.sgv2.jsonapi.service.schema.tables.TableBasedSchemaObject;
@@ -303,9 +306,21 @@ public class RerankingTask<SchemaT extends TableBasedSchemaObject>
       // Start the timer
       var sample = rerankingMetrics.startCallLatency();
 
-      return rerankingProvider
-          .rerank(
-              query.query(), passages, commandContext.requestContext().getRerankingCredentials())
+      var rerankCall =
+          rerankingProvider.rerank(
+              query.query(), passages, commandContext.requestContext().getRerankingCredentials());
+
+      return JfrEvents.recorded(
+              ModelProviderCallEvent::new,
+              rerankCall,
+              (event, response, failure) ->
+                  event.complete(
+                      ModelType.RERANKING,
+                      commandContext.requestContext().tenant(),
+                      rerankingProvider.modelProvider().apiName(),
+                      rerankingProvider.modelName(),
+                      passages.size(),
+                      failure))
           // Use .eventually() to execute the provided Runnable when the Uni terminates,
           // either successfully (onItem) or with a failure (onFailure).
           // This is preferred over .onItemOrFailure() when the side-effect action is identical
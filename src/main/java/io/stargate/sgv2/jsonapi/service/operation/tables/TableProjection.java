@@ -15,10 +15,7 @@ import io.stargate.sgv2.jsonapi.api.model.command.*;
 import io.stargate.sgv2.jsonapi.api.model.command.table.SchemaDescSource;
 import io.stargate.sgv2.jsonapi.api.model.command.table.definition.ColumnsDescContainer;
 import io.stargate.sgv2.jsonapi.exception.ProjectionException;
-import io.stargate.sgv2.jsonapi.exception.checked.MissingJSONCodecException;
-import io.stargate.sgv2.jsonapi.exception.checked.ToJSONCodecException;
 import io.stargate.sgv2.jsonapi.service.operation.OperationProjection;
-import io.stargate.sgv2.jsonapi.service.operation.filters.table.codecs.*;
 import io.stargate.sgv2.jsonapi.service.operation.query.SelectCQLClause;
 import io.stargate.sgv2.jsonapi.service.schema.tables.ApiSupportDef;
 import io.stargate.sgv2.jsonapi.service.schema.tables.TableSchemaObject;
@@ -51,6 +48,7 @@ public class TableProjection implements SelectCQLClause, OperationProjection {
   private List<ColumnMetadata> columns;
   private ColumnsDescContainer columnsDesc;
   private TableSimilarityFunction tableSimilarityFunction;
+  private TableRowWriter rowWriter;
 
   private TableProjection(
       ObjectMapper objectMapper,
@@ -64,6 +62,7 @@ public class TableProjection implements SelectCQLClause, OperationProjection {
     this.columns = columns;
     this.columnsDesc = columnsDesc;
     this.tableSimilarityFunction = tableSimilarityFunction;
+    this.rowWriter = TableRowWriter.create(objectMapper, table.tableMetadata(), columns);
   }
 
   /**
@@ -137,55 +136,9 @@ public class TableProjection implements SelectCQLClause, OperationProjection {
   @Override
   public JsonNode projectRow(Row row) {
     long startNano = System.nanoTime();
-    int nonNullCount = 0;
-    int skippedNullCount = 0;
 
     ObjectNode result = objectMapper.createObjectNode();
-    for (int i = 0, len = columns.size(); i < len; ++i) {
-      final ColumnMetadata column = columns.get(i);
-      final String columnName = column.getName().asInternal();
-      JSONCodec codec;
-
-      // TODO: maybe optimize common case of String, Boolean to avoid conversions, lookups
-      try {
-        codec = JSONCodecRegistries.DEFAULT_REGISTRY.codecToJSON(table.tableMetadata(), column);
-      } catch (MissingJSONCodecException e) {
-        throw ProjectionException.Code.UNSUPPORTED_PROJECTION_PARAM.get(
-            Map.of(
-                "errorMessage",
-                "column '%s' has unsupported type '%s'"
-                    .formatted(columnName, column.getType().toString())));
-      }
-      try {
-        final Object columnValue = row.getObject(i);
-        // By default, null value will not be returned.
-        // https://github.com/stargate/data-api/issues/1636 issue for adding nullOption
-        switch (columnValue) {
-          case null -> {
-            skippedNullCount++;
-          }
-            // For set/list/map values, java driver wrap up as empty Collection/Map, Data API only
-            // returns non-sparse data currently.
-          case Collection<?> collection when collection.isEmpty() -> {
-            skippedNullCount++;
-          }
-          case Map<?, ?> map when map.isEmpty() -> {
-            skippedNullCount++;
-          }
-          default -> {
-            nonNullCount++;
-            result.set(columnName, codec.toJSON(objectMapper, columnValue));
-          }
-        }
-
-      } catch (ToJSONCodecException e) {
-        throw ProjectionException.Code.UNSUPPORTED_PROJECTION_PARAM.get(
-            Map.of(
-                "errorMessage",
-                "column '%s' has invalid value of type '%s'; failed to convert to JSON: %s."
-                    .formatted(columnName, column.getType().toString(), e.getMessage())));
-      }
-    }
+    int nonNullCount = rowWriter.writeRow(row, result);
 
     if (LOGGER.isDebugEnabled()) {
       double durationMs = (System.nanoTime() - startNano) / 1_000_000.0;
@@ -194,7 +147,7 @@ public class TableProjection implements SelectCQLClause, OperationProjection {
           durationMs,
           columns.size(),
           nonNullCount,
-          skippedNullCount);
+          columns.size() - nonNullCount);
     }
 
     // If user specify includeSimilarity, but no ANN sort clause, then we won't generate
@@ -0,0 +1,258 @@
+package io.stargate.sgv2.jsonapi.service.operation.tables;
+
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.metadata.schema.ColumnMetadata;
+import com.datastax.oss.driver.api.core.metadata.schema.TableMetadata;
+import com.datastax.oss.driver.api.core.type.DataTypes;
+import com.datastax.oss.driver.api.core.type.VectorType;
+import com.datastax.oss.driver.api.core.type.codec.TypeCodec;
+import com.datastax.oss.driver.api.core.type.codec.TypeCodecs;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.stargate.sgv2.jsonapi.exception.ProjectionException;
+import io.stargate.sgv2.jsonapi.exception.checked.MissingJSONCodecException;
+import io.stargate.sgv2.jsonapi.exception.checked.ToJSONCodecException;
+import io.stargate.sgv2.jsonapi.service.cqldriver.executor.optvector.SubtypeOnlyFloatVectorToArrayCodec;
+import io.stargate.sgv2.jsonapi.service.operation.filters.table.codecs.JSONCodec;
+import io.stargate.sgv2.jsonapi.service.operation.filters.table.codecs.JSONCodecRegistries;
+import io.stargate.sgv2.jsonapi.util.FloatVectorNode;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the selected columns of a {@link Row} into a JSON document, used by {@link
+ * TableProjection}.
+ *
+ * <p>The writer for each column is worked out once when the projection is created, rather than
+ * looking up the {@link JSONCodec} for every column of every row. The common scalar types and float
+ * vectors are decoded straight from the column bytes with the driver codec for the type, so there
+ * is no codec registry lookup or boxing, and vectors are kept as a <code>float[]</code> in a {@link
+ * FloatVectorNode}. All other types use the {@link JSONCodec} from the {@link
+ * JSONCodecRegistries#DEFAULT_REGISTRY}.
+ *
+ * <p>The JSON produced is the same as using the {@link JSONCodec} for all columns.
+ */
+class TableRowWriter {
+
+  private final String[] columnNames;
+  private final ColumnWriter[] columnWriters;
+
+  private TableRowWriter(String[] columnNames, ColumnWriter[] columnWriters) {
+    this.columnNames = columnNames;
+    this.columnWriters = columnWriters;
+  }
+
+  static TableRowWriter create(
+      ObjectMapper objectMapper, TableMetadata tableMetadata, List<ColumnMetadata> columns) {
+
+    var columnNames = new String[columns.size()];
+    var columnWriters = new ColumnWriter[columns.size()];
+    for (int i = 0; i < columns.size(); i++) {
+      var column = columns.get(i);
+      columnNames[i] = column.getName().asInternal();
+      columnWriters[i] = columnWriter(objectMapper, tableMetadata, column);
+    }
+    return new TableRowWriter(columnNames, columnWriters);
+  }
+
+  /**
+   * Writes the non-null columns from the row into the <code>result</code>, null and empty
+   * collection values are not written.
+   *
+   * @return The number of columns written.
+   */
+  int writeRow(Row row, ObjectNode result) {
+    int written = 0;
+    for (int i = 0; i < columnWriters.length; i++) {
+      JsonNode value;
+      try {
+        value = columnWriters[i].toJSON(row, i);
+      } catch (ToJSONCodecException e) {
+        var column = columnWriters[i].column();
+        throw ProjectionException.Code.UNSUPPORTED_PROJECTION_PARAM.get(
+            Map.of(
+                "errorMessage",
+                "column '%s' has invalid value of type '%s'; failed to convert to JSON: %s."
+                    .formatted(columnNames[i], column.getType().toString(), e.getMessage())));
+      }
+      if (value != null) {
+        result.set(columnNames[i], value);
+        written++;
+      }
+    }
+    return written;
+  }
+
+  private static ColumnWriter columnWriter(
+      ObjectMapper objectMapper, TableMetadata tableMetadata, ColumnMetadata column) {
+
+    var nodeFactory = objectMapper.getNodeFactory();
+    var type = column.getType();
+
+    if (type.equals(DataTypes.TEXT)) {
+      return textWriter(column, nodeFactory, TypeCodecs.TEXT);
+    }
+    if (type.equals(DataTypes.ASCII)) {
+      return textWriter(column, nodeFactory, TypeCodecs.ASCII);
+    }
+    if (type.equals(DataTypes.BOOLEAN)) {
+      return fixedSizeWriter(
+          column,
+          (bytes, row) ->
+              nodeFactory.booleanNode(
+                  TypeCodecs.BOOLEAN.decodePrimitive(bytes, row.protocolVersion())));
+    }
+    if (type.equals(DataTypes.INT)) {
+      return fixedSizeWriter(
+          column,
+          (bytes, row) ->
+              nodeFactory.numberNode(TypeCodecs.INT.decodePrimitive(bytes, row.protocolVersion())));
+    }
+    if (type.equals(DataTypes.BIGINT) || type.equals(DataTypes.COUNTER)) {
+      return fixedSizeWriter(
+          column,
+          (bytes, row) ->
+              nodeFactory.numberNode(
+                  TypeCodecs.BIGINT.decodePrimitive(bytes, row.protocolVersion())));
+    }
+    if (type.equals(DataTypes.SMALLINT)) {
+      return fixedSizeWriter(
+          column,
+          (bytes, row) ->
+              nodeFactory.numberNode(
+                  TypeCodecs.SMALLINT.decodePrimitive(bytes, row.protocolVersion())));
+    }
+    if (type.equals(DataTypes.TINYINT)) {
+      return fixedSizeWriter(
+          column,
+          (bytes, row) ->
+              nodeFactory.numberNode(
+                  TypeCodecs.TINYINT.decodePrimitive(bytes, row.protocolVersion())));
+    }
+    if (type.equals(DataTypes.FLOAT)) {
+      return fixedSizeWriter(
+          column,
+          (bytes, row) ->
+              nodeFactory.numberNode(
+                  TypeCodecs.FLOAT.decodePrimitive(bytes, row.protocolVersion())));
+    }
+    if (type.equals(DataTypes.DOUBLE)) {
+      return fixedSizeWriter(
+          column,
+          (bytes, row) ->
+              nodeFactory.numberNode(
+                  TypeCodecs.DOUBLE.decodePrimitive(bytes, row.protocolVersion())));
+    }
+    if (type.equals(DataTypes.TIMESTAMP)) {
+      return fixedSizeWriter(
+          column,
+          (bytes, row) ->
+              nodeFactory.textNode(
+                  TypeCodecs.TIMESTAMP.decode(bytes, row.protocolVersion()).toString()));
+    }
+    if (type.equals(DataTypes.UUID) || type.equals(DataTypes.TIMEUUID)) {
+      var uuidCodec = type.equals(DataTypes.UUID) ? TypeCodecs.UUID : TypeCodecs.TIMEUUID;
+      return fixedSizeWriter(
+          column,
+          (bytes, row) ->
+              nodeFactory.textNode(uuidCodec.decode(bytes, row.protocolVersion()).toString()));
+    }
+    if (type instanceof VectorType vectorType
+        && vectorType.getElementType().equals(DataTypes.FLOAT)) {
+      return fixedSizeWriter(
+          column,
+          (bytes, row) ->
+              new FloatVectorNode(
+                  nodeFactory,
+                  SubtypeOnlyFloatVectorToArrayCodec.instance()
+                      .decode(bytes, row.protocolVersion())));
+    }
+    return codecWriter(objectMapper, tableMetadata, column);
+  }
+
+  /** Writer for text types, where empty bytes are an empty string rather than null. */
+  private static ColumnWriter textWriter(
+      ColumnMetadata column, JsonNodeFactory nodeFactory, TypeCodec<String> codec) {
+    return new ColumnWriter(
+        column,
+        (row, index) -> {
+          var bytes = row.getBytesUnsafe(index);
+          return bytes == null
+              ? null
+              : nodeFactory.textNode(codec.decode(bytes, row.protocolVersion()));
+        });
+  }
+
+  /**
+   * Writer for types where the driver codec decodes empty bytes as null, so we skip them the same
+   * as null.
+   */
+  private static ColumnWriter fixedSizeWriter(ColumnMetadata column, BytesDecoder decoder) {
+    return new ColumnWriter(
+        column,
+        (row, index) -> {
+          var bytes = row.getBytesUnsafe(index);
+          return bytes == null || !bytes.hasRemaining() ? null : decoder.decode(bytes, row);
+        });
+  }
+
+  /** Writer that uses the {@link JSONCodec} for the column type. */
+  private static ColumnWriter codecWriter(
+      ObjectMapper objectMapper, TableMetadata tableMetadata, ColumnMetadata column) {
+
+    JSONCodec<Object, Object> codec;
+    try {
+      codec = JSONCodecRegistries.DEFAULT_REGISTRY.codecToJSON(tableMetadata, column);
+    } catch (MissingJSONCodecException e) {
+      // fail when reading a row, so a read that returns no rows still works as it always has
+      return new ColumnWriter(
+          column,
+          (row, index) -> {
+            throw ProjectionException.Code.UNSUPPORTED_PROJECTION_PARAM.get(
+                Map.of(
+                    "errorMessage",
+                    "column '%s' has unsupported type '%s'"
+                        .formatted(column.getName().asInternal(), column.getType().toString())));
+          });
+    }
+
+    return new ColumnWriter(
+        column,
+        (row, index) -> {
+          var columnValue = row.getObject(index);
+          // By default, null value will not be returned.
+          // https://github.com/stargate/data-api/issues/1636 issue for adding nullOption
+          return switch (columnValue) {
+            case null -> null;
+              // For set/list/map values, java driver wrap up as empty Collection/Map, Data API
+              // only returns non-sparse data currently.
+            case Collection<?> collection when collection.isEmpty() -> null;
+            case Map<?, ?> map when map.isEmpty() -> null;
+            default -> codec.toJSON(objectMapper, columnValue);
+          };
+        });
+  }
+
+  @FunctionalInterface
+  private interface ValueReader {
+    /**
+     * @return The JSON value for the column, or null if the column should not be written.
+     */
+    JsonNode read(Row row, int index) throws ToJSONCodecException;
+  }
+
+  @FunctionalInterface
+  private interface BytesDecoder {
+    JsonNode decode(ByteBuffer bytes, Row row);
+  }
+
+  private record ColumnWriter(ColumnMetadata column, ValueReader reader) {
+    JsonNode toJSON(Row row, int index) throws ToJSONCodecException {
+      return reader.read(row, index);
+    }
+  }
+}
@@ -224,6 +224,11 @@ public class CompositeTask<InnerTaskT extends Task<SchemaT>, SchemaT extends Sch
         .append("lastTaskAccumulator", lastTaskAccumulator);
   }
 
+  /** The class name of the inner tasks, used to describe this task when tracing. */
+  String innerTaskClassName() {
+    return innerTaskGroup.taskClassName();
+  }
+
   /**
    * If we are the last task, then the {@link CompositeTaskOuterPage} will call this to get the
    * accumulator from the inner operation to get the result for the entire operation.
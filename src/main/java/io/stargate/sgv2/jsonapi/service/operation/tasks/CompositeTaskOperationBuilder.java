@@ -3,6 +3,10 @@ package io.stargate.sgv2.jsonapi.service.operation.tasks;
 import io.stargate.sgv2.jsonapi.api.model.command.CommandContext;
 import io.stargate.sgv2.jsonapi.service.operation.Operation;
 import io.stargate.sgv2.jsonapi.service.schema.SchemaObject;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 /**
  * Helps build an {@link Operation} to run composite tasks of inner task groups.
@@ -13,11 +17,14 @@ import io.stargate.sgv2.jsonapi.service.schema.SchemaObject;
  * <p>To use this builder:
  *
  * <ol>
- *   <li>The Composite Tasks created by the builder will run in a sequential task group.
+ *   <li>The Composite Tasks created by the builder will run in a task group where each task starts
+ *       once the tasks it depends on have completed, see {@link TaskGroup#addWithDependencies}.
  *   <li>Create task groups for the intermediate Composite Tasks, these are any composite task that
  *       is not the last. For each of these call {@link #withIntermediateTasks} with the retry
  *       policy. These tasks all use a {@link CompositeTaskInnerPage} which lifts erors and
- *       warnings, so you do not provide an accumulator.
+ *       warnings, so you do not provide an accumulator. By default a task depends on all the tasks
+ *       added before it, pass the inner task groups it depends on to run it as soon as they have
+ *       completed instead.
  *   <li>Create the last group of tasks, it's retry policy, and a {@link TaskAccumulator} that will
  *       build the page of results from the last group of tasks. Pass these to {@link
  *       #build(TaskGroup, TaskRetryPolicy, TaskAccumulator)} to make the last Composite Tasks and
@@ -30,12 +37,15 @@ public class CompositeTaskOperationBuilder<SchemaT extends SchemaObject>
     extends TaskBuilder<
         CompositeTask<?, SchemaT>, SchemaT, CompositeTaskOperationBuilder<SchemaT>> {
 
-  // Always use sequential processing for composite tasks, the idea is the composite tasks can be
-  // groups
-  // of parallel tasks, but the composite task itself is always sequential
+  // The composite tasks are run in the order of their dependencies, the idea is the composite tasks
+  // can be groups of parallel tasks, and a composite task starts once the ones it needs are done
   private final TaskGroup<CompositeTask<?, SchemaT>, SchemaT> compositeTasks =
       new TaskGroup<>(true);
 
+  // the composite task for each inner task group, so callers can use the groups as dependencies
+  private final Map<TaskGroup<?, SchemaT>, CompositeTask<?, SchemaT>> tasksByInnerGroup =
+      new IdentityHashMap<>();
+
   private CommandContext<SchemaT> commandContext;
 
   public CompositeTaskOperationBuilder(CommandContext<SchemaT> commandContext) {
@@ -44,7 +54,8 @@ public class CompositeTaskOperationBuilder<SchemaT extends SchemaObject>
   }
 
   /**
-   * Call to add an intermediate task group of tasks, that is not the last ones.
+   * Call to add an intermediate task group of tasks, that is not the last ones. The tasks start
+   * once all the tasks added before them have completed.
    *
    * @param innerTasks The tasks for the Composite Task to run.
    * @param retryPolicy Retry policy when running the inner tasks.
@@ -55,15 +66,36 @@ public class CompositeTaskOperationBuilder<SchemaT extends SchemaObject>
       CompositeTaskOperationBuilder<SchemaT> withIntermediateTasks(
           TaskGroup<InnerTaskT, SchemaT> innerTasks, TaskRetryPolicy retryPolicy) {
 
+    return withIntermediateTasks(innerTasks, retryPolicy, List.copyOf(tasksByInnerGroup.keySet()));
+  }
+
+  /**
+   * Call to add an intermediate task group of tasks, that is not the last ones, that starts as soon
+   * as the <code>dependsOn</code> tasks have completed.
+   *
+   * @param innerTasks The tasks for the Composite Task to run.
+   * @param retryPolicy Retry policy when running the inner tasks.
+   * @param dependsOn Inner task groups already added to this builder that must complete before
+   *     these tasks start, may be empty to start straight away.
+   * @return This builder for chaining.
+   * @param <InnerTaskT> The type of the inner tasks that will be run.
+   */
+  public <InnerTaskT extends Task<SchemaT>>
+      CompositeTaskOperationBuilder<SchemaT> withIntermediateTasks(
+          TaskGroup<InnerTaskT, SchemaT> innerTasks,
+          TaskRetryPolicy retryPolicy,
+          List<? extends TaskGroup<?, SchemaT>> dependsOn) {
+
     CompositeTask<InnerTaskT, SchemaT> intermediaTask =
         CompositeTask.intermediateTask(nextPosition(), schemaObject, retryPolicy, innerTasks);
-    compositeTasks.add(intermediaTask);
+    addCompositeTask(innerTasks, intermediaTask, dependsOn);
     return this;
   }
 
   /**
    * Call to build the last group of tasks to run, the builder will append these to the task groups
-   * and create a new operation that will run the composite tasks.
+   * and create a new operation that will run the composite tasks. The last tasks start once all the
+   * other tasks have completed.
    *
    * @param lastTaskInnerTasks The tasks for the last Composite Task to run.
    * @param lastTaskRetryPolicy Retry policy for the last task.
@@ -85,11 +117,29 @@ public class CompositeTaskOperationBuilder<SchemaT extends SchemaObject>
             lastTaskInnerTasks,
             lastTaskAccumulator);
 
-    compositeTasks.add(lastTask);
+    // the last task must finish last, the outer page gets the result from the last task
+    addCompositeTask(lastTaskInnerTasks, lastTask, List.copyOf(tasksByInnerGroup.keySet()));
 
     CompositeTaskOuterPage.Accumulator<SchemaT> outerAccumulator =
         CompositeTaskOuterPage.accumulator(commandContext);
 
     return new TaskOperation<>(compositeTasks, outerAccumulator);
   }
+
+  private void addCompositeTask(
+      TaskGroup<?, SchemaT> innerTasks,
+      CompositeTask<?, SchemaT> compositeTask,
+      List<? extends TaskGroup<?, SchemaT>> dependsOn) {
+
+    var dependencies =
+        dependsOn.stream()
+            .map(
+                innerGroup ->
+                    Objects.requireNonNull(
+                        tasksByInnerGroup.get(innerGroup),
+                        "dependsOn inner task group was not added to this builder"))
+            .toList();
+    compositeTasks.addWithDependencies(compositeTask, dependencies);
+    tasksByInnerGroup.put(innerTasks, compositeTask);
+  }
 }
@@ -10,6 +10,8 @@ import io.stargate.sgv2.jsonapi.api.model.command.CommandContext;
 import io.stargate.sgv2.jsonapi.api.model.command.CommandStatus;
 import io.stargate.sgv2.jsonapi.api.model.command.table.definition.ColumnsDescContainer;
 import io.stargate.sgv2.jsonapi.api.model.command.tracing.DBTraceMessages;
+import io.stargate.sgv2.jsonapi.config.OperationsConfig;
+import io.stargate.sgv2.jsonapi.service.cqldriver.executor.AdaptivePageSizer;
 import io.stargate.sgv2.jsonapi.service.cqldriver.executor.CommandQueryExecutor;
 import io.stargate.sgv2.jsonapi.service.cqldriver.executor.DefaultDriverExceptionHandler;
 import io.stargate.sgv2.jsonapi.service.cqldriver.executor.DriverExceptionHandler;
@@ -184,10 +186,19 @@ public abstract class DBTask<SchemaT extends SchemaObject>
 
     // TODO: HACK: aaron feb 4th '25, quick code to get the command query executor we use with tasks
     // , improve later
+    var queriesConfig = commandContext.config().get(OperationsConfig.class).queriesConfig();
+    var adaptivePagingConfig = queriesConfig.adaptivePaging();
     return new CommandQueryExecutor(
         commandContext.cqlSessionCache(),
         commandContext.requestContext(),
-        CommandQueryExecutor.QueryTarget.TABLE);
+        CommandQueryExecutor.QueryTarget.TABLE,
+        queriesConfig.pagePrefetchLookAhead(),
+        adaptivePagingConfig.enabled()
+            ? new AdaptivePageSizer(
+                adaptivePagingConfig,
+                commandContext.meterRegistry(),
+                commandContext.schemaObject().identifier())
+            : null);
   }
 
   /**
@@ -0,0 +1,182 @@
+package io.stargate.sgv2.jsonapi.service.operation.tasks;
+
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.stargate.sgv2.jsonapi.api.model.command.CommandContext;
+import io.stargate.sgv2.jsonapi.api.model.command.tracing.TraceMessage;
+import io.stargate.sgv2.jsonapi.service.schema.SchemaObject;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs the tasks in a {@link TaskGroup} that has dependencies, see {@link
+ * TaskGroup#addWithDependencies(Task, List)}.
+ *
+ * <p>Each task starts as soon as the tasks it depends on have completed, rather than waiting for
+ * every task before it in the group. Dependencies are added to the group before the tasks that
+ * depend on them, so the group order is always a valid order to start the tasks in. A task is
+ * skipped, as with sequential processing, if any task it depends on failed or was skipped.
+ *
+ * <p>When request tracing is enabled the time each task started and ran for is traced as it
+ * completes, and once all tasks have completed the critical path is traced: the chain of
+ * dependencies that decided when the last task finished.
+ *
+ * @param <TaskT> The type of the tasks in the group.
+ * @param <SchemaT> The schema object type.
+ */
+class TaskGraphScheduler<TaskT extends Task<SchemaT>, SchemaT extends SchemaObject> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(TaskGraphScheduler.class);
+
+  private final TaskGroup<TaskT, SchemaT> taskGroup;
+
+  // each task adds its timing once when it finishes, read once all the tasks have finished
+  private final Map<TaskT, Timing> timings = Collections.synchronizedMap(new IdentityHashMap<>());
+  private volatile long startNanos;
+
+  TaskGraphScheduler(TaskGroup<TaskT, SchemaT> taskGroup) {
+    this.taskGroup = Objects.requireNonNull(taskGroup, "taskGroup cannot be null");
+  }
+
+  /**
+   * Start a {@link Multi} that runs the tasks, emitting each task when it has finished.
+   *
+   * @param commandContext The context to run the tasks in.
+   * @return A {@link Multi} that emits the tasks in the order they finish.
+   */
+  Multi<TaskT> start(CommandContext<SchemaT> commandContext) {
+
+    // one memoized Uni per task, so a task shared by several dependents only runs once
+    Map<TaskT, Uni<TaskT>> runs = new IdentityHashMap<>();
+    for (var task : taskGroup) {
+      var dependencies = taskGroup.dependencies(task);
+      Uni<Void> ready =
+          dependencies.isEmpty()
+              ? Uni.createFrom().voidItem()
+              : Uni.join()
+                  .all(dependencies.stream().map(runs::get).toList())
+                  .andFailFast()
+                  .replaceWithVoid();
+
+      runs.put(
+          task,
+          ready
+              .flatMap(ignored -> run(commandContext, task, dependencies))
+              .memoize()
+              .indefinitely());
+    }
+
+    return Multi.createFrom()
+        .deferred(
+            () -> {
+              startNanos = System.nanoTime();
+              return Multi.createFrom()
+                  .iterable(taskGroup)
+                  .onItem()
+                  .transformToUniAndMerge(runs::get);
+            })
+        .onCompletion()
+        .invoke(() -> traceCriticalPath(commandContext));
+  }
+
+  private Uni<TaskT> run(
+      CommandContext<SchemaT> commandContext, TaskT task, List<TaskT> dependencies) {
+
+    long readyNanos = System.nanoTime();
+    var failedDependency =
+        dependencies.stream()
+            .filter(dependency -> dependency.status() != Task.TaskStatus.COMPLETED)
+            .findFirst();
+
+    if (failedDependency.isPresent()) {
+      LOGGER.debug(
+          "run() - skipping task because a dependency did not complete, task={}, dependency={}",
+          task,
+          failedDependency.get());
+      // do not call execute(), set the task to skipped and return it like sequential processing
+      task.setSkippedIfReady();
+      timings.put(task, new Timing(readyNanos, readyNanos));
+      return Uni.createFrom().item(task);
+    }
+
+    return task.<TaskT>execute(commandContext)
+        .invoke(
+            () -> {
+              var timing = new Timing(readyNanos, System.nanoTime());
+              timings.put(task, timing);
+              commandContext
+                  .requestTracing()
+                  .maybeTrace(
+                      () ->
+                          new TraceMessage(
+                              "Finished task %s with status=%s, startedAtMs=%s, ranMs=%s"
+                                  .formatted(
+                                      stageName(task),
+                                      task.status(),
+                                      millis(readyNanos - startNanos),
+                                      millis(timing.durationNanos()))));
+            });
+  }
+
+  /**
+   * Walks back from the task that finished last, each time to the dependency that finished last,
+   * as that is the one the task was waiting for.
+   */
+  private void traceCriticalPath(CommandContext<SchemaT> commandContext) {
+    commandContext
+        .requestTracing()
+        .maybeTrace(
+            () -> {
+              var path = new ArrayList<String>();
+              var task =
+                  taskGroup.stream()
+                      .filter(timings::containsKey)
+                      .max(Comparator.comparingLong(t -> timings.get(t).finishNanos()));
+
+              while (task.isPresent()) {
+                var current = task.get();
+                path.addFirst(
+                    "%s(%sms)"
+                        .formatted(
+                            stageName(current), millis(timings.get(current).durationNanos())));
+                task =
+                    taskGroup.dependencies(current).stream()
+                        .filter(timings::containsKey)
+                        .max(Comparator.comparingLong(t -> timings.get(t).finishNanos()));
+              }
+              return new TraceMessage(
+                  "Critical path of taskGroup of %s: %s, totalMs=%s"
+                      .formatted(
+                          taskGroup.taskClassName(),
+                          String.join(" -> ", path),
+                          millis(System.nanoTime() - startNanos)));
+            });
+  }
+
+  private static String stageName(Task<?> task) {
+    var name =
+        task instanceof CompositeTask<?, ?> compositeTask
+            ? compositeTask.innerTaskClassName()
+            : task.getClass().getSimpleName();
+    return "%s[%s]".formatted(name, task.position());
+  }
+
+  private static long millis(long nanos) {
+    return TimeUnit.NANOSECONDS.toMillis(nanos);
+  }
+
+  /** When a task was ready to start, after its dependencies, and when it finished. */
+  private record Timing(long readyNanos, long finishNanos) {
+    long durationNanos() {
+      return finishNanos - readyNanos;
+    }
+  }
+}
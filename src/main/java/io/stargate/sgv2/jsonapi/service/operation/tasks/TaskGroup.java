@@ -21,6 +21,9 @@ public class TaskGroup<TaskT extends Task<SchemaT>, SchemaT extends SchemaObject
   private boolean sequentialProcessing = false;
   private final UUID groupId = UUID.randomUUID();
 
+  // tasks are not compared by value, and there are only dependencies if added with them
+  private final Map<TaskT, List<TaskT>> dependencies = new IdentityHashMap<>();
+
   public TaskGroup() {
     super();
   }
@@ -46,6 +49,45 @@ public class TaskGroup<TaskT extends Task<SchemaT>, SchemaT extends SchemaObject
     super(tasks);
   }
 
+  /**
+   * Adds a task that can only start once all the <code>dependsOn</code> tasks have completed.
+   *
+   * <p>Once any task in the group has dependencies the group is processed as a graph, overriding
+   * sequential processing: each task starts as soon as the tasks it depends on have completed, so
+   * independent tasks overlap. A task is skipped if any task it depends on does not complete.
+   *
+   * @param task The task to add.
+   * @param dependsOn Tasks already in this group that must complete before the task starts, may be
+   *     empty.
+   */
+  public void addWithDependencies(TaskT task, List<? extends TaskT> dependsOn) {
+    for (var dependency : dependsOn) {
+      if (stream().noneMatch(existing -> existing == dependency)) {
+        throw new IllegalArgumentException(
+            "addWithDependencies() - dependency is not in the group, dependency="
+                + dependency.taskDesc());
+      }
+    }
+    add(task);
+    dependencies.put(task, List.copyOf(dependsOn));
+  }
+
+  /**
+   * @return <code>true</code> if a task was added with {@link #addWithDependencies(Task, List)},
+   *     and the group should be processed as a graph.
+   */
+  public boolean hasDependencies() {
+    return !dependencies.isEmpty();
+  }
+
+  /**
+   * @return The tasks that must complete before the <code>task</code> starts, empty if there are
+   *     none.
+   */
+  public List<TaskT> dependencies(TaskT task) {
+    return dependencies.getOrDefault(task, List.of());
+  }
+
   /**
    * @return Returns <code>true</code> if the container is configured for sequential processing.
    */
@@ -6,6 +6,8 @@ import io.stargate.sgv2.jsonapi.api.model.command.CommandContext;
 import io.stargate.sgv2.jsonapi.api.model.command.CommandResult;
 import io.stargate.sgv2.jsonapi.api.model.command.tracing.TraceMessage;
 import io.stargate.sgv2.jsonapi.service.operation.Operation;
+import io.stargate.sgv2.jsonapi.service.processor.CommandStageTimer;
+import io.stargate.sgv2.jsonapi.service.processor.CommandStageTimer.Stage;
 import io.stargate.sgv2.jsonapi.service.schema.SchemaObject;
 import io.stargate.sgv2.jsonapi.util.recordable.PrettyPrintable;
 import java.util.Objects;
@@ -101,9 +103,11 @@ public class TaskOperation<TaskT extends Task<SchemaT>, SchemaT extends SchemaOb
           "executeInternal() - starting to process tasks={}", PrettyPrintable.print(taskGroup));
     }
 
-    return startMulti(commandContext)
-        .collect()
-        .in(() -> taskAccumulator, TaskAccumulator::accumulate)
+    // timed as the tasks stage, for a CompositeTask this is recorded for each inner task group
+    var accumulated =
+        startMulti(commandContext).collect().in(() -> taskAccumulator, TaskAccumulator::accumulate);
+
+    return CommandStageTimer.timed(commandContext, Stage.TASKS, accumulated)
         .onItem()
         .invoke(
             () -> {
@@ -127,6 +131,11 @@ public class TaskOperation<TaskT extends Task<SchemaT>, SchemaT extends SchemaOb
    */
   protected Multi<TaskT> startMulti(CommandContext<SchemaT> commandContext) {
 
+    if (taskGroup.hasDependencies()) {
+      // Tasks start as soon as the tasks they depend on have completed, see TaskGraphScheduler
+      return new TaskGraphScheduler<>(taskGroup).start(commandContext);
+    }
+
     // Common start pattern for all operations
     var taskMulti = Multi.createFrom().iterable(taskGroup).onItem();
 
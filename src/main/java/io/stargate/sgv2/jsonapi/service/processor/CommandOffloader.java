@@ -0,0 +1,164 @@
+package io.stargate.sgv2.jsonapi.service.processor;
+
+import static io.stargate.sgv2.jsonapi.metrics.MetricsConstants.MetricNames.COMMAND_EVENT_LOOP_BLOCKED_METRIC;
+import static io.stargate.sgv2.jsonapi.metrics.MetricsConstants.MetricNames.COMMAND_OFFLOADED_METRIC;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import io.stargate.sgv2.jsonapi.api.model.command.Command;
+import io.stargate.sgv2.jsonapi.api.model.command.CommandContext;
+import io.stargate.sgv2.jsonapi.api.v1.metrics.JsonApiMetricsConfig;
+import io.stargate.sgv2.jsonapi.config.OperationsConfig;
+import io.vertx.core.Context;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Moves the CPU heavy parts of expensive commands off the event loop, so a large <code>insertMany
+ * </code> does not delay the cheap commands that happen to share its event loop. See {@link
+ * OperationsConfig.OffloadConfig}.
+ *
+ * <p>A command is offloaded when its cost from {@link TenantAdmissionController#estimateCost} is at
+ * least the configured minimum. For those commands resolving the command, which is when documents
+ * are shredded and filters, sorts and updates are parsed, runs on a virtual thread or the worker
+ * pool, and the result of the operation is also handed back there so building the response,
+ * including projections and in memory sorting, does not run on the event loop. The driver calls
+ * themselves are still asynchronous. Cheap commands run where they are, because the hop between
+ * threads would cost more than it saves.
+ *
+ * <p>The time the work of a command holds the event loop is recorded in {@link
+ * io.stargate.sgv2.jsonapi.metrics.MetricsConstants.MetricNames#COMMAND_EVENT_LOOP_BLOCKED_METRIC}
+ * by command, so the effect of offloading shows as the expensive commands no longer being recorded
+ * there. This is the synchronous part of the work, which for most commands is resolving the
+ * command into the operation.
+ */
+@ApplicationScoped
+public class CommandOffloader {
+
+  private final OperationsConfig.OffloadConfig config;
+  private final MeterRegistry meterRegistry;
+  private final JsonApiMetricsConfig jsonApiMetricsConfig;
+  // only created when virtual threads are used, the worker pool is shared and not ours to shut down
+  private final ExecutorService virtualThreadExecutor;
+  private final Executor executor;
+
+  @Inject
+  public CommandOffloader(
+      OperationsConfig operationsConfig,
+      MeterRegistry meterRegistry,
+      JsonApiMetricsConfig jsonApiMetricsConfig) {
+    this.config = operationsConfig.offload();
+    this.meterRegistry = Objects.requireNonNull(meterRegistry, "meterRegistry must not be null");
+    this.jsonApiMetricsConfig =
+        Objects.requireNonNull(jsonApiMetricsConfig, "jsonApiMetricsConfig must not be null");
+
+    if (config.enabled() && config.virtualThreads()) {
+      virtualThreadExecutor = Executors.newVirtualThreadPerTaskExecutor();
+      executor = virtualThreadExecutor;
+    } else {
+      virtualThreadExecutor = null;
+      executor = Infrastructure.getDefaultWorkerPool();
+    }
+  }
+
+  @PreDestroy
+  void shutdown() {
+    if (virtualThreadExecutor != null) {
+      virtualThreadExecutor.shutdown();
+    }
+  }
+
+  /**
+   * Runs the <code>work</code> for the command once the <code>input</code> is available, on the
+   * offload executor if the command is expensive.
+   *
+   * @param commandContext Context for the command, used for the command features.
+   * @param command The command, used to estimate the cost.
+   * @param input Uni the work starts from, such as the vectorized command.
+   * @param work Function to run with the item from <code>input</code>.
+   * @return Uni with the result of the work, emitted on the offload executor if the command was
+   *     offloaded.
+   */
+  public <I, T> Uni<T> offload(
+      CommandContext<?> commandContext, Command command, Uni<I> input, Function<I, Uni<T>> work) {
+
+    if (!shouldOffload(commandContext, command)) {
+      return input.flatMap(item -> timeOnEventLoop(command, work, item));
+    }
+
+    meterRegistry
+        .counter(
+            COMMAND_OFFLOADED_METRIC,
+            jsonApiMetricsConfig.command(),
+            command.getClass().getSimpleName())
+        .increment();
+    return input.emitOn(executor).flatMap(work).emitOn(executor);
+  }
+
+  /**
+   * Runs the work, and records how long it held the event loop if it ran on one.
+   *
+   * <p>The work only builds a lazy Uni, the resolving and shredding happen when it is subscribed
+   * to. So the time is from the subscription until the subscription returns, which is when the work
+   * is waiting on the driver, or until the first item or failure if that comes sooner.
+   */
+  private <I, T> Uni<T> timeOnEventLoop(Command command, Function<I, Uni<T>> work, I item) {
+    return Uni.createFrom()
+        .deferred(
+            () ->
+                Context.isOnEventLoopThread()
+                    ? timedSubscription(command, work.apply(item))
+                    : work.apply(item));
+  }
+
+  private <T> Uni<T> timedSubscription(Command command, Uni<T> work) {
+    var timer =
+        meterRegistry.timer(
+            COMMAND_EVENT_LOOP_BLOCKED_METRIC,
+            jsonApiMetricsConfig.command(),
+            command.getClass().getSimpleName());
+    return Uni.createFrom()
+        .emitter(
+            emitter -> {
+              long start = System.nanoTime();
+              var recorded = new AtomicBoolean();
+              Runnable stop =
+                  () -> {
+                    if (recorded.compareAndSet(false, true)) {
+                      timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    }
+                  };
+              try {
+                var cancellable =
+                    work.subscribe()
+                        .with(
+                            result -> {
+                              stop.run();
+                              emitter.complete(result);
+                            },
+                            failure -> {
+                              stop.run();
+                              emitter.fail(failure);
+                            });
+                emitter.onTermination(cancellable::cancel);
+              } finally {
+                stop.run();
+              }
+            });
+  }
+
+  private boolean shouldOffload(CommandContext<?> commandContext, Command command) {
+    return config.enabled()
+        && TenantAdmissionController.estimateCost(command, commandContext.commandFeatures())
+            >= config.minCost();
+  }
+}
@@ -10,8 +10,11 @@ import io.stargate.sgv2.jsonapi.api.model.command.DeprecatedCommand;
 import io.stargate.sgv2.jsonapi.api.model.command.tracing.TraceMessage;
 import io.stargate.sgv2.jsonapi.exception.APIException;
 import io.stargate.sgv2.jsonapi.exception.ExceptionFlags;
+import io.stargate.sgv2.jsonapi.metrics.jfr.CommandEvent;
+import io.stargate.sgv2.jsonapi.metrics.jfr.JfrEvents;
 import io.stargate.sgv2.jsonapi.service.embedding.DataVectorizerService;
 import io.stargate.sgv2.jsonapi.service.operation.Operation;
+import io.stargate.sgv2.jsonapi.service.processor.CommandStageTimer.Stage;
 import io.stargate.sgv2.jsonapi.service.resolver.CommandResolverService;
 import io.stargate.sgv2.jsonapi.service.schema.SchemaObject;
 import io.stargate.sgv2.jsonapi.util.recordable.PrettyPrintable;
@@ -35,11 +38,24 @@ public class CommandProcessor {
 
   private final CommandResolverService commandResolverService;
 
+  private final TenantAdmissionController tenantAdmissionController;
+
+  private final ReadResultCache readResultCache;
+
+  private final CommandOffloader commandOffloader;
+
   @Inject
   public CommandProcessor(
-      CommandResolverService commandResolverService, DataVectorizerService dataVectorizerService) {
+      CommandResolverService commandResolverService,
+      DataVectorizerService dataVectorizerService,
+      TenantAdmissionController tenantAdmissionController,
+      ReadResultCache readResultCache,
+      CommandOffloader commandOffloader) {
     this.commandResolverService = commandResolverService;
     this.dataVectorizerService = dataVectorizerService;
+    this.tenantAdmissionController = tenantAdmissionController;
+    this.readResultCache = readResultCache;
+    this.commandOffloader = commandOffloader;
   }
 
   /**
@@ -78,27 +94,77 @@ public class CommandProcessor {
               cmd.addCommandFeatures(commandContext.commandFeatures());
             })
 
-        // Step 2: Vectorize relevant parts of the command (asynchronous)
-        .flatMap(cmd -> dataVectorizerService.vectorize(commandContext, cmd))
-
-        // Step 3: Resolve the vectorized command to a runnable Operation (asynchronous)
-        .flatMap(cmd -> resolveCommandToOperation(commandContext, cmd))
-
-        // Step 4: Execute the operation (asynchronous)
-        .flatMap(operation -> operation.execute(commandContext))
+        // Step 2: Wait for the command to be admitted, the admission is held while the command
+        // is vectorized, resolved and executed in steps 3 to 5. Rejections are failures.
+        // Cached read results are returned without running steps 3 to 5.
+        .flatMap(
+            cmd ->
+                tenantAdmissionController.admit(
+                    commandContext,
+                    cmd,
+                    () ->
+                        readResultCache.execute(
+                            commandContext,
+                            cmd,
+                            () -> vectorizeResolveAndExecute(commandContext, cmd))))
 
-        // Step 5: Handle any failures from the preceding steps
+        // Step 6: Handle any failures from the preceding steps
         .onFailure()
         .recoverWithItem(throwable -> handleProcessingFailure(commandContext, command, throwable))
 
-        // Step 6: Transform the successful or recovered item (Supplier<CommandResult>) into
-        // CommandResult
+        // Step 7: Transform the successful or recovered item (Supplier<CommandResult>) into
+        // CommandResult, steps 3 to 5 and 7 are timed as stages, see CommandStageTimer
         .onItem()
         .ifNotNull()
-        .transform(Supplier::get)
+        .transform(
+            resultSupplier ->
+                CommandStageTimer.timed(commandContext, Stage.RESULT, resultSupplier))
+
+        // Step 8: Perform any final post-processing on the CommandResult (e.g., add warnings)
+        .map(commandResult -> postProcessCommandResult(command, commandResult))
+
+        // Step 9: Record the JFR event for the command, only when the event is enabled
+        .plug(
+            processed ->
+                JfrEvents.recorded(
+                    CommandEvent::new,
+                    processed,
+                    (event, commandResult, failure) ->
+                        event.complete(commandContext, commandResult, failure)));
+  }
+
+  /**
+   * Runs the admitted command through vectorizing, resolving and executing.
+   *
+   * @param commandContext The command context.
+   * @param command The command, after hybrid fields are expanded.
+   * @param <SchemaT> Type of the schema object.
+   * @return A {@link Uni} emitting the supplier of the {@link CommandResult}.
+   */
+  private <SchemaT extends SchemaObject> Uni<Supplier<CommandResult>> vectorizeResolveAndExecute(
+      CommandContext<SchemaT> commandContext, Command command) {
+
+    // Step 3: Vectorize relevant parts of the command (asynchronous)
+    var vectorized =
+        CommandStageTimer.timed(
+            commandContext,
+            Stage.VECTORIZE,
+            dataVectorizerService.vectorize(commandContext, command));
 
-        // Step 7: Perform any final post-processing on the CommandResult (e.g., add warnings)
-        .map(commandResult -> postProcessCommandResult(command, commandResult));
+    // Step 4: Resolve the vectorized command to a runnable Operation (asynchronous)
+    // Step 5: Execute the operation (asynchronous)
+    // Expensive commands are resolved, and their results handled, off the event loop
+    return commandOffloader.offload(
+        commandContext,
+        command,
+        vectorized,
+        cmd ->
+            CommandStageTimer.timed(
+                    commandContext, Stage.RESOLVE, resolveCommandToOperation(commandContext, cmd))
+                .flatMap(
+                    operation ->
+                        CommandStageTimer.timed(
+                            commandContext, Stage.EXECUTE, operation.execute(commandContext))));
   }
 
   /**
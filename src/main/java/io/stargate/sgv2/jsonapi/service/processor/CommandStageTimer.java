@@ -0,0 +1,121 @@
+package io.stargate.sgv2.jsonapi.service.processor;
+
+import static io.stargate.sgv2.jsonapi.metrics.MetricsConstants.MetricNames.COMMAND_STAGE_DURATION_METRIC;
+import static io.stargate.sgv2.jsonapi.metrics.MetricsConstants.MetricTags.COMMAND_STAGE_TAG;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.smallrye.mutiny.Uni;
+import io.stargate.sgv2.jsonapi.api.model.command.CommandContext;
+import io.stargate.sgv2.jsonapi.api.v1.metrics.JsonApiMetricsConfig;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Records how long each stage of processing a command takes, as the {@link
+ * io.stargate.sgv2.jsonapi.metrics.MetricsConstants.MetricNames#COMMAND_STAGE_DURATION_METRIC}
+ * timer tagged with the command name and the {@link Stage}.
+ *
+ * <p>The overall command timer from {@link MeteredCommandProcessor} says a command was slow, the
+ * stage timers say where the time went, for example waiting for the embedding provider or the
+ * database, or building a large result. The tags are deliberately bounded, there is no tenant or
+ * schema object tag, so there is one timer per command and stage.
+ *
+ * <p>A stage is timed from when the {@link Uni} is subscribed to until it completes, fails or is
+ * cancelled.
+ */
+public final class CommandStageTimer {
+
+  /** The stages of processing a command, see {@link CommandProcessor}. */
+  public enum Stage {
+    /** Reading the schema object for the command from the schema cache, or the database. */
+    SCHEMA_LOOKUP("schema.lookup"),
+    /** Calling the embedding provider for the command, when it has any text to vectorize. */
+    VECTORIZE("vectorize"),
+    /** Resolving the command to an operation. */
+    RESOLVE("resolve"),
+    /** Running the operation, including the {@link #TASKS} for task operations. */
+    EXECUTE("execute"),
+    /** Running the tasks of a task operation, mostly the CQL statements. */
+    TASKS("tasks"),
+    /** Building the command result from the operation result, including any projection. */
+    RESULT("result");
+
+    private final String tagValue;
+
+    Stage(String tagValue) {
+      this.tagValue = tagValue;
+    }
+
+    public String tagValue() {
+      return tagValue;
+    }
+  }
+
+  private CommandStageTimer() {}
+
+  /**
+   * Records how long the <code>uni</code> takes against the stage of the command in the context.
+   */
+  public static <T> Uni<T> timed(CommandContext<?> commandContext, Stage stage, Uni<T> uni) {
+    return timed(
+        commandContext.meterRegistry(),
+        commandContext.config().get(JsonApiMetricsConfig.class),
+        commandContext.commandName(),
+        stage,
+        uni);
+  }
+
+  /**
+   * Records how long the <code>uni</code> takes against the stage of the command, for stages that
+   * run before the {@link CommandContext} is created.
+   */
+  public static <T> Uni<T> timed(
+      MeterRegistry meterRegistry,
+      JsonApiMetricsConfig metricsConfig,
+      String commandName,
+      Stage stage,
+      Uni<T> uni) {
+    return Uni.createFrom()
+        .deferred(
+            () -> {
+              long startNanos = System.nanoTime();
+              return uni.onTermination()
+                  .invoke(
+                      () -> record(meterRegistry, metricsConfig, commandName, stage, startNanos));
+            });
+  }
+
+  /**
+   * Records how long the synchronous <code>supplier</code> takes against the stage of the command
+   * in the context.
+   */
+  public static <T> T timed(CommandContext<?> commandContext, Stage stage, Supplier<T> supplier) {
+    long startNanos = System.nanoTime();
+    try {
+      return supplier.get();
+    } finally {
+      record(
+          commandContext.meterRegistry(),
+          commandContext.config().get(JsonApiMetricsConfig.class),
+          commandContext.commandName(),
+          stage,
+          startNanos);
+    }
+  }
+
+  private static void record(
+      MeterRegistry meterRegistry,
+      JsonApiMetricsConfig metricsConfig,
+      String commandName,
+      Stage stage,
+      long startNanos) {
+    meterRegistry
+        .timer(
+            COMMAND_STAGE_DURATION_METRIC,
+            metricsConfig.command(),
+            commandName,
+            COMMAND_STAGE_TAG,
+            stage.tagValue())
+        .record(Duration.ofNanos(System.nanoTime() - startNanos));
+  }
+}
@@ -0,0 +1,356 @@
+package io.stargate.sgv2.jsonapi.service.processor;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.google.common.annotations.VisibleForTesting;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineStatsCounter;
+import io.smallrye.mutiny.Uni;
+import io.stargate.sgv2.jsonapi.api.model.command.Command;
+import io.stargate.sgv2.jsonapi.api.model.command.CommandContext;
+import io.stargate.sgv2.jsonapi.api.model.command.CommandResult;
+import io.stargate.sgv2.jsonapi.api.model.command.CommandStatus;
+import io.stargate.sgv2.jsonapi.api.model.command.Filterable;
+import io.stargate.sgv2.jsonapi.api.model.command.Projectable;
+import io.stargate.sgv2.jsonapi.api.model.command.Sortable;
+import io.stargate.sgv2.jsonapi.api.model.command.impl.CountDocumentsCommand;
+import io.stargate.sgv2.jsonapi.api.model.command.impl.EstimatedDocumentCountCommand;
+import io.stargate.sgv2.jsonapi.api.model.command.impl.FindCommand;
+import io.stargate.sgv2.jsonapi.api.model.command.impl.FindOneCommand;
+import io.stargate.sgv2.jsonapi.config.OperationsConfig;
+import io.stargate.sgv2.jsonapi.exception.RequestException;
+import io.stargate.sgv2.jsonapi.service.cqldriver.executor.ReadConsistencyPolicy;
+import io.stargate.sgv2.jsonapi.service.schema.SchemaObjectIdentifier;
+import io.stargate.sgv2.jsonapi.service.schema.SchemaObjectType;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Caches the results of repeated read commands on collections, for clients such as dashboards that
+ * send the same <code>find</code>, <code>findOne</code>, <code>countDocuments</code> or <code>
+ * estimatedDocumentCount</code> many times a second. See {@link
+ * OperationsConfig.ResultCacheConfig}, caching is opt-in for each collection.
+ *
+ * <p>Results are keyed by the tenant, collection, command name, the JSON of the filter, sort,
+ * projection and options, and the read consistency from the {@link ReadConsistencyPolicy}, so a
+ * result read at <code>LOCAL_ONE</code> is not returned for a <code>LOCAL_QUORUM</code> read. They
+ * are kept for a short TTL, with the total size bounded by the
+ * serialized size of the results.
+ *
+ * <p>Each collection, and each keyspace, has a generation that changes when a write is made to the
+ * collection through this node, see {@link #invalidate(SchemaObjectIdentifier)}, or when the
+ * schema changes. A result is only cached if the generation did not change while the command ran,
+ * and cached results from an older generation are not used. So we do not need to find the entries
+ * to remove on every write, they are left to expire. Generations are only kept for the collections
+ * configured for caching and their keyspaces, and are dropped when not used for a while, or when
+ * there are too many, after raising the lowest generation any result can have.
+ *
+ * <p>Results from the cache have the {@link CommandStatus#CACHED_RESULT_AGE} status so clients can
+ * see how stale they may be. Writes made through other nodes are not seen until the entry expires.
+ */
+@ApplicationScoped
+public class ReadResultCache {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ReadResultCache.class);
+
+  private static final String CACHE_NAME = "read_result_cache";
+
+  // rough overhead of a cache entry and key, added to the weight of each entry
+  private static final int ENTRY_OVERHEAD_BYTES = 128;
+
+  private static final long MAX_GENERATIONS = 10_000;
+  private static final Duration GENERATION_IDLE_EXPIRY = Duration.ofMinutes(10);
+
+  private final OperationsConfig.ResultCacheConfig config;
+  private final OperationsConfig.QueriesConfig.ConsistencyConfig consistencyConfig;
+  private final Set<String> collections;
+  private final Set<String> keyspaces;
+  private final ObjectMapper objectMapper;
+  private final Ticker ticker;
+  private final Cache<CacheKey, CacheEntry> cache;
+
+  // values come from generationSequence so a change to either the collection or keyspace generation
+  // is seen as a new max generation
+  private final AtomicLong generationSequence = new AtomicLong();
+  private final Cache<SchemaObjectIdentifier, Long> generations;
+  // highest generation dropped from generations, results from before it are not used
+  private final AtomicLong minGeneration = new AtomicLong();
+
+  @Inject
+  public ReadResultCache(
+      OperationsConfig operationsConfig, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+    this(
+        operationsConfig.resultCache(),
+        operationsConfig.queriesConfig().consistency(),
+        objectMapper,
+        meterRegistry,
+        Ticker.systemTicker());
+  }
+
+  @VisibleForTesting
+  ReadResultCache(
+      OperationsConfig.ResultCacheConfig config,
+      OperationsConfig.QueriesConfig.ConsistencyConfig consistencyConfig,
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry,
+      Ticker ticker) {
+    this.config = Objects.requireNonNull(config, "config must not be null");
+    this.consistencyConfig =
+        Objects.requireNonNull(consistencyConfig, "consistencyConfig must not be null");
+    this.objectMapper = Objects.requireNonNull(objectMapper, "objectMapper must not be null");
+    this.ticker = Objects.requireNonNull(ticker, "ticker must not be null");
+    this.collections = Set.copyOf(config.collections().orElse(List.of()));
+    this.keyspaces =
+        collections.stream()
+            .filter(collection -> collection.indexOf('.') > 0)
+            .map(collection -> collection.substring(0, collection.indexOf('.')))
+            .collect(Collectors.toUnmodifiableSet());
+
+    var statsCounter = new CaffeineStatsCounter(meterRegistry, CACHE_NAME);
+    this.cache =
+        Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofMillis(config.ttlMillis()))
+            .maximumWeight(config.maxSizeBytes())
+            .weigher((CacheKey key, CacheEntry entry) -> key.weight() + entry.weight())
+            .ticker(ticker)
+            .recordStats(() -> statsCounter)
+            .build();
+    statsCounter.registerSizeMetric(cache);
+
+    // the eviction listener runs as the entry is removed, so a dropped generation cannot be seen
+    // as a generation that did not change
+    this.generations =
+        Caffeine.newBuilder()
+            .maximumSize(MAX_GENERATIONS)
+            .expireAfterAccess(GENERATION_IDLE_EXPIRY)
+            .ticker(ticker)
+            .evictionListener(
+                (SchemaObjectIdentifier identifier, Long generation, RemovalCause cause) ->
+                    minGeneration.accumulateAndGet(generation, Math::max))
+            .build();
+
+    if (config.enabled()) {
+      LOGGER.info(
+          "Initializing ReadResultCache with collections={}, ttlMillis={}, maxSizeBytes={}",
+          collections,
+          config.ttlMillis(),
+          config.maxSizeBytes());
+    }
+  }
+
+  /**
+   * Runs the <code>work</code> for the command, using the cache if the command is a read we cache,
+   * and invalidating the cache if it is any other command on a collection we cache.
+   *
+   * @param commandContext Context for the command, used for the collection and tracing.
+   * @param command The command being run.
+   * @param work Supplier of the work to run the command, not called if the result is cached.
+   * @return Uni with the supplier of the result.
+   */
+  public Uni<Supplier<CommandResult>> execute(
+      CommandContext<?> commandContext,
+      Command command,
+      Supplier<Uni<Supplier<CommandResult>>> work) {
+
+    if (!config.enabled()) {
+      return work.get();
+    }
+    var identifier = commandContext.schemaObject().identifier();
+    if (identifier.type() != SchemaObjectType.COLLECTION || !isCachedCollection(identifier)) {
+      return work.get();
+    }
+
+    if (!isCacheable(command)) {
+      // invalidate before so reads that start while the write runs are not cached, and after so
+      // reads that finished while it ran are not used
+      invalidate(identifier);
+      return work.get().onTermination().invoke(() -> invalidate(identifier));
+    }
+
+    // tracing adds the trace to the result, which we do not want to return for other requests
+    if (commandContext.requestTracing().enabled()) {
+      return work.get();
+    }
+
+    ReadConsistencyPolicy readConsistencyPolicy;
+    try {
+      readConsistencyPolicy = ReadConsistencyPolicy.forCommand(commandContext, consistencyConfig);
+    } catch (RequestException e) {
+      // not a consistency we allow, the command fails with the same error
+      return work.get();
+    }
+    // the configured consistency is the same for every read, so is not in the key
+    var consistency =
+        readConsistencyPolicy == null ? "" : readConsistencyPolicy.consistency().toString();
+    var key = new CacheKey(identifier, consistency, commandKey(command));
+    var generation = generation(identifier);
+
+    var cached = cache.getIfPresent(key);
+    if (cached != null) {
+      if (cached.generation() == generation) {
+        var ageMillis = TimeUnit.NANOSECONDS.toMillis(ticker.read() - cached.createdNanos());
+        Supplier<CommandResult> cachedResult = () -> cached.copyResult(ageMillis);
+        return Uni.createFrom().<Supplier<CommandResult>>item(cachedResult);
+      }
+      cache.invalidate(key);
+    }
+
+    return work.get()
+        .map(
+            resultSupplier -> {
+              var commandResult = resultSupplier.get();
+              maybeCache(key, generation, commandResult);
+              return (Supplier<CommandResult>) () -> commandResult;
+            });
+  }
+
+  /**
+   * Stops the cached results for the collection, or all the collections in a keyspace, from being
+   * used.
+   */
+  public void invalidate(SchemaObjectIdentifier identifier) {
+    if (!config.enabled()) {
+      return;
+    }
+    // schema changes are invalidated for every table and keyspace, only track the ones we cache
+    switch (identifier.type()) {
+      case COLLECTION, TABLE -> {
+        if (isCachedCollection(identifier)) {
+          // schema events do not know if it is a table or collection, we only cache collections
+          generations.put(
+              SchemaObjectIdentifier.forCollection(
+                  identifier.tenant(), identifier.keyspace(), identifier.table()),
+              generationSequence.incrementAndGet());
+        }
+      }
+      case KEYSPACE -> {
+        if (keyspaces.contains(identifier.keyspace().asInternal())) {
+          generations.put(identifier, generationSequence.incrementAndGet());
+        }
+      }
+      default -> {}
+    }
+  }
+
+  private boolean isCachedCollection(SchemaObjectIdentifier identifier) {
+    return collections.contains(
+        identifier.keyspace().asInternal() + "." + identifier.table().asInternal());
+  }
+
+  private static boolean isCacheable(Command command) {
+    return command instanceof FindCommand
+        || command instanceof FindOneCommand
+        || command instanceof CountDocumentsCommand
+        || command instanceof EstimatedDocumentCountCommand;
+  }
+
+  private long generation(SchemaObjectIdentifier identifier) {
+    var collectionGeneration = generations.getIfPresent(identifier);
+    var keyspaceGeneration = generations.getIfPresent(identifier.keyspaceIdentifier());
+    return Math.max(
+        minGeneration.get(),
+        Math.max(
+            collectionGeneration == null ? 0L : collectionGeneration,
+            keyspaceGeneration == null ? 0L : keyspaceGeneration));
+  }
+
+  @VisibleForTesting
+  long generationCount() {
+    generations.cleanUp();
+    return generations.estimatedSize();
+  }
+
+  /**
+   * Builds the part of the key from the command, the JSON is what the client sent with whitespace
+   * removed. Field order is kept because it matters for sorting.
+   */
+  private String commandKey(Command command) {
+    var json = objectMapper.createObjectNode();
+    json.put("command", command.commandName().getApiName());
+    if (command instanceof Filterable filterable && filterable.filterDefinition() != null) {
+      json.set("filter", filterable.filterDefinition().json());
+    }
+    if (command instanceof Sortable sortable && sortable.sortDefinition() != null) {
+      json.set("sort", sortable.sortDefinition().json());
+    }
+    if (command instanceof Projectable projectable && projectable.projectionDefinition() != null) {
+      json.set("projection", projectable.projectionDefinition());
+    }
+    switch (command) {
+      case FindCommand findCommand when findCommand.options() != null ->
+          json.set("options", objectMapper.valueToTree(findCommand.options()));
+      case FindOneCommand findOneCommand when findOneCommand.options() != null ->
+          json.set("options", objectMapper.valueToTree(findOneCommand.options()));
+      default -> {}
+    }
+    return json.toString();
+  }
+
+  private void maybeCache(CacheKey key, long generation, CommandResult commandResult) {
+    if (!commandResult.errors().isEmpty()) {
+      return;
+    }
+    int sizeBytes;
+    try {
+      sizeBytes = objectMapper.writeValueAsBytes(commandResult).length;
+    } catch (JsonProcessingException e) {
+      LOGGER.warn("maybeCache() - failed to estimate result size, not caching key: {}", key, e);
+      return;
+    }
+
+    // a write may have happened while we were reading
+    if (generation(key.identifier()) != generation) {
+      return;
+    }
+    cache.put(key, new CacheEntry(copyOf(commandResult), generation, ticker.read(), sizeBytes));
+  }
+
+  /**
+   * Copies the result so the status and errors can be changed without changing the cached result,
+   * the data is not changed after the result is built so is shared.
+   */
+  @SuppressWarnings("unchecked")
+  private static CommandResult copyOf(CommandResult commandResult) {
+    var status = new HashMap<>(commandResult.status());
+    status.computeIfPresent(
+        CommandStatus.WARNINGS, (k, warnings) -> new ArrayList<>((List<Object>) warnings));
+    return new CommandResult(commandResult.data(), status, new ArrayList<>(commandResult.errors()));
+  }
+
+  private record CacheKey(SchemaObjectIdentifier identifier, String consistency, String command) {
+
+    int weight() {
+      return ENTRY_OVERHEAD_BYTES + command.length();
+    }
+  }
+
+  private record CacheEntry(
+      CommandResult commandResult, long generation, long createdNanos, int sizeBytes) {
+
+    int weight() {
+      return sizeBytes;
+    }
+
+    CommandResult copyResult(long ageMillis) {
+      var copy = copyOf(commandResult);
+      copy.status().put(CommandStatus.CACHED_RESULT_AGE, ageMillis);
+      return copy;
+    }
+  }
+}
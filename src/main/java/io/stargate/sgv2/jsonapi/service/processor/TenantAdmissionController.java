@@ -0,0 +1,340 @@
+package io.stargate.sgv2.jsonapi.service.processor;
+
+import static io.stargate.sgv2.jsonapi.metrics.MetricsConstants.MetricNames.*;
+import static io.stargate.sgv2.jsonapi.metrics.MetricsConstants.MetricTags.TENANT_TAG;
+
+import com.google.common.annotations.VisibleForTesting;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.smallrye.mutiny.Uni;
+import io.stargate.sgv2.jsonapi.api.model.command.Command;
+import io.stargate.sgv2.jsonapi.api.model.command.CommandContext;
+import io.stargate.sgv2.jsonapi.api.model.command.Sortable;
+import io.stargate.sgv2.jsonapi.api.model.command.impl.InsertManyCommand;
+import io.stargate.sgv2.jsonapi.api.request.tenant.Tenant;
+import io.stargate.sgv2.jsonapi.config.OperationsConfig;
+import io.stargate.sgv2.jsonapi.config.constants.ErrorConstants;
+import io.stargate.sgv2.jsonapi.exception.ServerException;
+import io.stargate.sgv2.jsonapi.metrics.CommandFeature;
+import io.stargate.sgv2.jsonapi.metrics.CommandFeatures;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Admits commands into the {@link CommandProcessor} pipeline, so that a burst of heavy commands
+ * from one tenant cannot take the event loop, driver connections and embedding providers from
+ * everyone else. See {@link OperationsConfig.AdmissionControlConfig}.
+ *
+ * <p>Each command gets a cost estimate from {@link #estimateCost(Command, CommandFeatures)}, e.g. a
+ * point read is cheap and a sorted find that also vectorizes is not. A command runs straight away
+ * when its cost fits under both the tenant quota and the server wide limit and nothing is waiting.
+ * Otherwise it waits, and waiting commands are admitted in weighted fair queuing order: each
+ * command is stamped with a virtual finish time that grows by the cost divided by the tenant
+ * weight, so a tenant sending many expensive commands falls behind tenants sending a few cheap ones
+ * rather than starving them. A command whose tenant is at its quota is skipped so it does not block
+ * other tenants.
+ *
+ * <p>Commands are rejected with {@link ServerException.Code#TENANT_OVERLOADED} when the tenant
+ * already has too many waiting, or one waits too long, so clients get a fast error they can back
+ * off from rather than a timeout.
+ */
+@ApplicationScoped
+public class TenantAdmissionController {
+
+  // Cost estimates, in units of a point read. Kept coarse on purpose, they only need to rank
+  // commands relative to each other.
+  private static final int BASE_COST = 1;
+  private static final int MULTI_DOCUMENT_COST = 2;
+  private static final int SORT_COST = 4;
+  private static final int VECTORIZE_COST = 2;
+  private static final int RERANK_COST = 8;
+  private static final int INSERT_DOCUMENTS_PER_COST = 20;
+
+  private final OperationsConfig.AdmissionControlConfig config;
+  private final MeterRegistry meterRegistry;
+
+  // all state guarded by this
+  private final Map<Tenant, TenantState> tenants = new HashMap<>();
+  private final TreeSet<Waiter> waiting =
+      new TreeSet<>(
+          Comparator.comparingDouble(Waiter::finishTag).thenComparingLong(Waiter::sequence));
+  private double virtualTime;
+  private long nextSequence;
+  private int inFlightCost;
+
+  @Inject
+  public TenantAdmissionController(OperationsConfig operationsConfig, MeterRegistry meterRegistry) {
+    this.config = operationsConfig.admissionControl();
+    this.meterRegistry = Objects.requireNonNull(meterRegistry, "meterRegistry must not be null");
+
+    Gauge.builder(COMMAND_ADMISSION_IN_FLIGHT_COST_METRIC, this, c -> c.inFlightCost())
+        .register(meterRegistry);
+    Gauge.builder(COMMAND_ADMISSION_QUEUE_DEPTH_METRIC, this, c -> c.queueDepth())
+        .register(meterRegistry);
+  }
+
+  /**
+   * Runs the <code>work</code> for the command once it is admitted.
+   *
+   * @param commandContext Context for the command, used for the tenant and command features.
+   * @param command The command, used to estimate the cost.
+   * @param work Supplier of the work to do for the command, only called once admitted. The
+   *     admission is held until the Uni it returns terminates.
+   * @return Uni with the result of the work, or failed with {@link
+   *     ServerException.Code#TENANT_OVERLOADED} if the command was rejected.
+   */
+  public <T> Uni<T> admit(
+      CommandContext<?> commandContext, Command command, Supplier<Uni<T>> work) {
+
+    if (!config.enabled()) {
+      return work.get();
+    }
+
+    return admit(
+        commandContext.requestContext().tenant(),
+        estimateCost(command, commandContext.commandFeatures()),
+        work);
+  }
+
+  /**
+   * Runs the <code>work</code> for one page of a bulk read that does not run as a command, such as
+   * a page of an export, once it is admitted. The page costs the same as a multi document read, and
+   * the admission is only held while the page is read so a long export shares the tenant quota
+   * with the other commands from the tenant.
+   *
+   * @param commandContext Context for the bulk read, used for the tenant.
+   * @param work Supplier of the read for the page, only called once admitted.
+   * @return Uni with the result of the work, or failed with {@link
+   *     ServerException.Code#TENANT_OVERLOADED} if the page was rejected.
+   */
+  public <T> Uni<T> admitPage(CommandContext<?> commandContext, Supplier<Uni<T>> work) {
+    if (!config.enabled()) {
+      return work.get();
+    }
+    return admit(commandContext.requestContext().tenant(), MULTI_DOCUMENT_COST, work);
+  }
+
+  private <T> Uni<T> admit(Tenant tenant, int estimatedCost, Supplier<Uni<T>> work) {
+    // a single command cannot cost more than the limits, or it would never run
+    int cost = Math.min(estimatedCost, Math.min(config.maxTenantCost(), config.maxCost()));
+
+    return Uni.createFrom()
+        .deferred(
+            () -> {
+              long startNanos = System.nanoTime();
+              var permit = acquire(tenant, cost);
+              if (permit == null) {
+                return Uni.createFrom()
+                    .failure(
+                        rejected(
+                            tenant,
+                            "%s commands already waiting to run"
+                                .formatted(config.maxTenantQueueSize())));
+              }
+              return Uni.createFrom()
+                  .completionStage(permit)
+                  .ifNoItem()
+                  .after(Duration.ofMillis(config.maxQueueWaitMillis()))
+                  .failWith(
+                      () -> {
+                        cancel(permit, tenant, cost);
+                        return rejected(
+                            tenant,
+                            "waited more than %sms to run".formatted(config.maxQueueWaitMillis()));
+                      })
+                  .onCancellation()
+                  .invoke(() -> cancel(permit, tenant, cost))
+                  .onItem()
+                  .transformToUni(
+                      ignored -> {
+                        var tags = Tags.of(TENANT_TAG, tenant.toString());
+                        meterRegistry
+                            .timer(COMMAND_ADMISSION_WAIT_METRIC, tags)
+                            .record(Duration.ofNanos(System.nanoTime() - startNanos));
+                        meterRegistry.counter(COMMAND_ADMISSION_ADMITTED_METRIC, tags).increment();
+                        // deferred so work that throws, such as failing validation while
+                        // vectorizing, rather than returning a failed Uni still releases
+                        return Uni.createFrom()
+                            .deferred(work)
+                            .onTermination()
+                            .invoke(() -> release(tenant, cost));
+                      });
+            });
+  }
+
+  /**
+   * Estimates the relative cost of running the command, a point read costs <code>1</code>.
+   *
+   * <p>Called after the command features have been added to the context, so we know if it will
+   * vectorize, and before vectorizing or resolving the command. Also used by {@link
+   * CommandOffloader} to decide which commands to run off the event loop.
+   */
+  static int estimateCost(Command command, CommandFeatures commandFeatures) {
+    int cost =
+        switch (command.commandName()) {
+          case FIND_AND_RERANK -> RERANK_COST;
+          case FIND, COUNT_DOCUMENTS, UPDATE_MANY, DELETE_MANY -> MULTI_DOCUMENT_COST;
+          case INSERT_MANY ->
+              command instanceof InsertManyCommand insertMany && insertMany.documents() != null
+                  ? BASE_COST + insertMany.documents().size() / INSERT_DOCUMENTS_PER_COST
+                  : BASE_COST;
+          default -> BASE_COST;
+        };
+
+    if (command instanceof Sortable sortable && sortable.sortDefinition() != null) {
+      cost += SORT_COST;
+    }
+    if (commandFeatures.contains(CommandFeature.VECTORIZE)) {
+      cost += VECTORIZE_COST;
+    }
+    return cost;
+  }
+
+  /**
+   * @return Future that completes when the command is admitted, or null if the tenant queue is
+   *     full.
+   */
+  private synchronized CompletableFuture<Void> acquire(Tenant tenant, int cost) {
+    var tenantState = tenants.computeIfAbsent(tenant, k -> new TenantState(weight(tenant)));
+
+    double startTag = Math.max(virtualTime, tenantState.lastFinishTag);
+    double finishTag = startTag + (double) cost / tenantState.weight;
+
+    if (waiting.isEmpty() && fits(tenantState, cost)) {
+      tenantState.lastFinishTag = finishTag;
+      start(tenantState, cost);
+      return CompletableFuture.completedFuture(null);
+    }
+    if (tenantState.queued >= config.maxTenantQueueSize()) {
+      return null;
+    }
+
+    tenantState.lastFinishTag = finishTag;
+    tenantState.queued++;
+    var waiter =
+        new Waiter(
+            tenantState, cost, startTag, finishTag, nextSequence++, new CompletableFuture<>());
+    waiting.add(waiter);
+    return waiter.permit();
+  }
+
+  /** Called when a waiting command times out or is cancelled. */
+  private synchronized void cancel(CompletableFuture<Void> permit, Tenant tenant, int cost) {
+    if (permit.cancel(false)) {
+      // still waiting, remove it from the queue
+      waiting.removeIf(waiter -> waiter.permit() == permit);
+      var tenantState = tenants.get(tenant);
+      if (tenantState != null) {
+        tenantState.queued--;
+        maybeRemove(tenant, tenantState);
+      }
+    } else {
+      // lost the race and was admitted, give it back
+      release(tenant, cost);
+    }
+  }
+
+  private synchronized void release(Tenant tenant, int cost) {
+    var tenantState = tenants.get(tenant);
+    if (tenantState != null) {
+      tenantState.inFlightCost -= cost;
+      maybeRemove(tenant, tenantState);
+    }
+    inFlightCost -= cost;
+    dispatch();
+  }
+
+  /** Admits waiting commands in fair order while there is capacity. */
+  private void dispatch() {
+    List<Waiter> admitted = new ArrayList<>();
+    var iterator = waiting.iterator();
+    while (iterator.hasNext()) {
+      var waiter = iterator.next();
+      if (inFlightCost + waiter.cost() > config.maxCost()) {
+        // keep to the fair order for the server wide limit
+        break;
+      }
+      if (!fits(waiter.tenantState(), waiter.cost())) {
+        // tenant is at its quota, let other tenants go ahead
+        continue;
+      }
+      iterator.remove();
+      waiter.tenantState().queued--;
+      virtualTime = Math.max(virtualTime, waiter.startTag());
+      start(waiter.tenantState(), waiter.cost());
+      admitted.add(waiter);
+    }
+
+    // complete once the state is updated, completing starts the command which may re-enter.
+    // cancel() also holds the lock, so these cannot have been cancelled.
+    admitted.forEach(waiter -> waiter.permit().complete(null));
+  }
+
+  private boolean fits(TenantState tenantState, int cost) {
+    return inFlightCost + cost <= config.maxCost()
+        && tenantState.inFlightCost + cost <= config.maxTenantCost();
+  }
+
+  private void start(TenantState tenantState, int cost) {
+    tenantState.inFlightCost += cost;
+    inFlightCost += cost;
+  }
+
+  private void maybeRemove(Tenant tenant, TenantState tenantState) {
+    if (tenantState.inFlightCost == 0 && tenantState.queued == 0) {
+      tenants.remove(tenant);
+    }
+  }
+
+  private int weight(Tenant tenant) {
+    return Math.max(1, config.tenantWeights().getOrDefault(tenant.toString(), 1));
+  }
+
+  private ServerException rejected(Tenant tenant, String reason) {
+    meterRegistry
+        .counter(COMMAND_ADMISSION_REJECTED_METRIC, Tags.of(TENANT_TAG, tenant.toString()))
+        .increment();
+    return ServerException.Code.TENANT_OVERLOADED.get(
+        Map.of(ErrorConstants.TemplateVars.ERROR_MESSAGE, reason));
+  }
+
+  @VisibleForTesting
+  synchronized int inFlightCost() {
+    return inFlightCost;
+  }
+
+  @VisibleForTesting
+  synchronized int queueDepth() {
+    return waiting.size();
+  }
+
+  private static class TenantState {
+    private final int weight;
+    private int inFlightCost;
+    private int queued;
+    private double lastFinishTag;
+
+    TenantState(int weight) {
+      this.weight = weight;
+    }
+  }
+
+  private record Waiter(
+      TenantState tenantState,
+      int cost,
+      double startTag,
+      double finishTag,
+      long sequence,
+      CompletableFuture<Void> permit) {}
+}
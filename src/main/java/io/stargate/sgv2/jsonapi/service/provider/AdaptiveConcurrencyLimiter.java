@@ -0,0 +1,191 @@
+package io.stargate.sgv2.jsonapi.service.provider;
+
+import com.google.common.annotations.VisibleForTesting;
+import io.smallrye.mutiny.Uni;
+import io.stargate.sgv2.jsonapi.config.OperationsConfig;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Adaptive concurrency limit for calls to a single model provider and credential, see {@link
+ * OperationsConfig.ProviderConcurrencyConfig}.
+ *
+ * <p>The limit follows AIMD: each successful call adds <code>1 / limit</code>, so the limit grows
+ * by about one for each round of calls that succeeds, and each call that the <code>overloadSignal
+ * </code> says was rate limited or timed out multiplies the limit by the backoff ratio. Other
+ * failures, such as a bad API key, do not change the limit.
+ *
+ * <p>Calls over the limit wait in a FIFO queue and are started in order as permits are released, so
+ * no caller can jump ahead of others using the same provider and credential. Calls are rejected
+ * straight away using the <code>rejectionFactory</code> when the queue is full, or when they have
+ * waited longer than the max wait, so the caller gets a clear error rather than piling on a
+ * provider that is already struggling.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+  private final OperationsConfig.ProviderConcurrencyConfig config;
+
+  // all state guarded by this
+  private double limit;
+  private int inFlight;
+  private final ArrayDeque<CompletableFuture<Void>> waiting = new ArrayDeque<>();
+  private long rejectedCount;
+
+  public AdaptiveConcurrencyLimiter(OperationsConfig.ProviderConcurrencyConfig config) {
+    this.config = Objects.requireNonNull(config, "config must not be null");
+    this.limit = Math.max(config.minLimit(), Math.min(config.maxLimit(), config.initialLimit()));
+  }
+
+  /**
+   * Runs the call when a permit is available.
+   *
+   * @param call Supplier of the call to make, only called once the permit is acquired.
+   * @param overloadSignal Returns true if the failure means the provider is overloaded, e.g. a rate
+   *     limit or timeout error.
+   * @param rejectionFactory Creates the error to fail with when the call is rejected, passed a
+   *     message describing why.
+   * @return Uni with the result of the call, or failed with the rejection error.
+   */
+  public <T> Uni<T> execute(
+      Supplier<Uni<T>> call,
+      Predicate<Throwable> overloadSignal,
+      Function<String, RuntimeException> rejectionFactory) {
+
+    return Uni.createFrom()
+        .deferred(
+            () -> {
+              var permit = acquire();
+              if (permit == null) {
+                return Uni.createFrom()
+                    .failure(
+                        rejectionFactory.apply(
+                            "%s calls already waiting for the provider"
+                                .formatted(config.maxQueueSize())));
+              }
+              return Uni.createFrom()
+                  .completionStage(permit)
+                  .ifNoItem()
+                  .after(Duration.ofMillis(config.maxQueueWaitMillis()))
+                  .failWith(
+                      () -> {
+                        abandon(permit);
+                        return rejectionFactory.apply(
+                            "waited more than %sms for the provider"
+                                .formatted(config.maxQueueWaitMillis()));
+                      })
+                  .onCancellation()
+                  .invoke(() -> abandon(permit))
+                  .onItem()
+                  .transformToUni(
+                      // deferred so a call that throws rather than returning a failed Uni still
+                      // releases the permit
+                      ignored ->
+                          Uni.createFrom()
+                              .deferred(call)
+                              .onTermination()
+                              .invoke(
+                                  (item, failure, cancelled) ->
+                                      release(
+                                          failure == null && !cancelled,
+                                          failure != null && overloadSignal.test(failure))));
+            });
+  }
+
+  /**
+   * @return Future that completes when the permit is granted, or null if the queue is full.
+   */
+  private synchronized CompletableFuture<Void> acquire() {
+    if (waiting.isEmpty() && inFlight < currentLimit()) {
+      inFlight++;
+      return CompletableFuture.completedFuture(null);
+    }
+    if (waiting.size() >= config.maxQueueSize()) {
+      rejectedCount++;
+      return null;
+    }
+    var permit = new CompletableFuture<Void>();
+    waiting.add(permit);
+    return permit;
+  }
+
+  /**
+   * Gives up waiting for the permit when the wait timed out or was cancelled. A waiter still in the
+   * queue is removed so it does not count against the max queue size, if the permit was already
+   * granted it is given back.
+   */
+  private void abandon(CompletableFuture<Void> permit) {
+    synchronized (this) {
+      if (waiting.remove(permit)) {
+        permit.cancel(false);
+        return;
+      }
+    }
+    // granted by release, if we lost the race and it was completed give it back, otherwise release
+    // sees the cancel when it tries to complete it
+    if (!permit.cancel(false)) {
+      release(false, false);
+    }
+  }
+
+  private void release(boolean succeeded, boolean overloaded) {
+    // completed outside the lock, the next calls are subscribed when their permit completes
+    for (var permit : releaseAndGrant(succeeded, overloaded)) {
+      if (!permit.complete(null)) {
+        // the waiter timed out or was cancelled after it was granted, give the permit back
+        release(false, false);
+      }
+    }
+  }
+
+  /**
+   * @return Permits granted to waiters, the caller must complete them after the lock is released.
+   */
+  private synchronized List<CompletableFuture<Void>> releaseAndGrant(
+      boolean succeeded, boolean overloaded) {
+    inFlight--;
+    if (overloaded) {
+      limit = Math.max(config.minLimit(), limit * config.backoffRatio());
+    } else if (succeeded) {
+      limit = Math.min(config.maxLimit(), limit + 1.0 / limit);
+    }
+
+    List<CompletableFuture<Void>> granted = new ArrayList<>();
+    while (inFlight < currentLimit() && !waiting.isEmpty()) {
+      granted.add(waiting.poll());
+      inFlight++;
+    }
+    return granted;
+  }
+
+  private int currentLimit() {
+    return (int) limit;
+  }
+
+  public synchronized int limit() {
+    return currentLimit();
+  }
+
+  public synchronized int inFlight() {
+    return inFlight;
+  }
+
+  public synchronized int queueDepth() {
+    return waiting.size();
+  }
+
+  public synchronized long rejectedCount() {
+    return rejectedCount;
+  }
+
+  @VisibleForTesting
+  synchronized double exactLimit() {
+    return limit;
+  }
+}
@@ -0,0 +1,68 @@
+package io.stargate.sgv2.jsonapi.service.provider;
+
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.operators.multi.processors.UnicastProcessor;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Sends a list of requests over one bidirectional streaming RPC to the embedding gateway, such as
+ * {@code EmbedStream} or {@code RerankStream}, keeping at most <code>maxInFlight</code> requests
+ * waiting for a response.
+ *
+ * <p>The first <code>maxInFlight</code> requests are sent when the stream is opened, and the next
+ * request is sent each time a response arrives, so the gateway can work on several sub-batches at
+ * once without us flooding it. The outbound side of the stream is completed once the last request
+ * is sent. Responses are emitted as they arrive, and may be out of order; callers match them to the
+ * request using the batch id in the messages.
+ *
+ * <p>gRPC and HTTP/2 flow control still apply to the stream, this is the application level window
+ * on top of that.
+ */
+public class GatewayStreamPipeline<RequestT, ResponseT> {
+
+  private final List<RequestT> requests;
+  private final int maxInFlight;
+  private final UnicastProcessor<RequestT> outbound = UnicastProcessor.create();
+  private final AtomicInteger nextRequest = new AtomicInteger();
+
+  public GatewayStreamPipeline(List<RequestT> requests, int maxInFlight) {
+    this.requests = Objects.requireNonNull(requests, "requests must not be null");
+    if (maxInFlight < 1) {
+      throw new IllegalArgumentException("maxInFlight must be positive, got " + maxInFlight);
+    }
+    this.maxInFlight = maxInFlight;
+  }
+
+  /**
+   * Opens the stream using the <code>streamingCall</code> and sends the requests.
+   *
+   * @param streamingCall Function that starts the streaming RPC with the outbound requests, e.g.
+   *     {@code grpcClient::embedStream}
+   * @return Multi of the responses, in the order they arrive.
+   */
+  public Multi<ResponseT> execute(Function<Multi<RequestT>, Multi<ResponseT>> streamingCall) {
+
+    if (requests.isEmpty()) {
+      return Multi.createFrom().empty();
+    }
+
+    // the processor buffers until the gRPC call subscribes, so we can fill the window now
+    for (int i = 0; i < Math.min(maxInFlight, requests.size()); i++) {
+      sendNext();
+    }
+    return streamingCall.apply(outbound).onItem().invoke(ignored -> sendNext());
+  }
+
+  private void sendNext() {
+    int index = nextRequest.getAndIncrement();
+    if (index < requests.size()) {
+      outbound.onNext(requests.get(index));
+      if (index == requests.size() - 1) {
+        outbound.onComplete();
+      }
+    }
+  }
+}
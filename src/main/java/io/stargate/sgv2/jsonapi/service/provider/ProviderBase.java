@@ -8,9 +8,13 @@ import io.stargate.sgv2.jsonapi.exception.SchemaException;
 import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import java.io.Closeable;
+import java.io.IOException;
 import java.time.Duration;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Predicate;
 import org.slf4j.Logger;
@@ -26,6 +30,8 @@ import org.slf4j.LoggerFactory;
  *       #retryHTTPCall(Uni)} to manage retries and backoff.
  *   <li>Once you have the response called {@link #decodeResponse(Response, Class)} to decode the
  *       response to a specific class.
+ *   <li>Pass the rest easy client to {@link #restClient(Object)} when it is built, so it is closed
+ *       with the provider. Providers are reused across commands, credentials are passed per call.
  * </ul>
  *
  * <p>. The Embedding and Rerank code *does not* share model configs, but they can & should do, so
@@ -46,6 +52,7 @@ public abstract class ProviderBase {
   private final ModelProvider modelProvider;
   private final ModelType modelType;
   private final ProviderExceptionHandler exceptionHandler;
+  private final List<Closeable> restClients = new CopyOnWriteArrayList<>();
 
   protected ProviderBase(
       ModelProvider modelProvider, ModelType modelType, ProviderExceptionHandler exceptionHandler) {
@@ -61,6 +68,33 @@ public abstract class ProviderBase {
 
   public abstract String modelName();
 
+  /**
+   * Registers a rest client built by the provider so it is closed by {@link #close()}.
+   *
+   * @return The client, to assign in the constructor.
+   */
+  protected <T> T restClient(T client) {
+    if (client instanceof Closeable closeable) {
+      restClients.add(closeable);
+    }
+    return client;
+  }
+
+  /**
+   * Closes the rest clients of the provider, and the connections they hold open. Called when a
+   * cached provider is no longer used, the provider must not be used after this.
+   */
+  public void close() {
+    for (var client : restClients) {
+      try {
+        client.close();
+      } catch (IOException | RuntimeException e) {
+        LOGGER.warn("close() - failed to close rest client for {}", modelProvider, e);
+      }
+    }
+    restClients.clear();
+  }
+
   public abstract ApiModelSupport modelSupport();
 
   /**
@@ -0,0 +1,128 @@
+package io.stargate.sgv2.jsonapi.service.provider;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.annotations.VisibleForTesting;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineStatsCounter;
+import io.stargate.sgv2.jsonapi.config.OperationsConfig;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Holds the embedding and reranking provider instances so they, and the REST clients they build
+ * with their connection pools, are reused across commands rather than created for every command.
+ *
+ * <p>Providers are keyed by the model type, provider and model, plus the settings they are built
+ * from such as the service config with the base URL and timeouts. Credentials are passed to the
+ * provider on each call, and wrappers that hold per request state such as the credential resolver
+ * and concurrency limit are applied by the factories around the cached provider.
+ *
+ * <p>A provider removed from the cache, because it was idle or the cache was full, has its REST
+ * clients closed after {@link OperationsConfig.ProviderClientsConfig#closeDelayMillis()} so the
+ * commands that got it before it was removed can finish. Work that runs for longer than that, such
+ * as an import, should get the provider again for each command rather than holding on to it.
+ *
+ * <p>Hits, misses and the size are exposed as the Micrometer cache metrics for {@link
+ * #CACHE_NAME}.
+ */
+@ApplicationScoped
+public class ProviderClientCache {
+
+  public static final String CACHE_NAME = "model_provider_clients";
+
+  private final OperationsConfig.ProviderClientsConfig config;
+  private final Executor closeExecutor;
+  private final Cache<Key, ProviderBase> providers;
+
+  @Inject
+  public ProviderClientCache(OperationsConfig operationsConfig, MeterRegistry meterRegistry) {
+    this(
+        operationsConfig,
+        meterRegistry,
+        ForkJoinPool.commonPool(),
+        CompletableFuture.delayedExecutor(
+            operationsConfig.providerClients().closeDelayMillis(), TimeUnit.MILLISECONDS));
+  }
+
+  /**
+   * @param executor Runs the cache maintenance and removal listener.
+   * @param closeExecutor Runs the close of removed providers, once the close delay has passed.
+   */
+  @VisibleForTesting
+  ProviderClientCache(
+      OperationsConfig operationsConfig,
+      MeterRegistry meterRegistry,
+      Executor executor,
+      Executor closeExecutor) {
+    this.config = operationsConfig.providerClients();
+    Objects.requireNonNull(meterRegistry, "meterRegistry must not be null");
+    this.closeExecutor = Objects.requireNonNull(closeExecutor, "closeExecutor must not be null");
+
+    var statsCounter = new CaffeineStatsCounter(meterRegistry, CACHE_NAME);
+    this.providers =
+        Caffeine.newBuilder()
+            .maximumSize(config.maxSize())
+            .expireAfterAccess(Duration.ofMillis(config.maxIdleMillis()))
+            .executor(executor)
+            .removalListener((Key key, ProviderBase provider, var cause) -> onRemoval(provider))
+            .recordStats(() -> statsCounter)
+            .build();
+    statsCounter.registerSizeMetric(providers);
+  }
+
+  public boolean enabled() {
+    return config.enabled();
+  }
+
+  /**
+   * Gets the provider for the key, creating it if there is not one already.
+   *
+   * @param key Identifies everything the provider is built from, other than credentials.
+   * @param providerClass Type of provider expected for the key.
+   * @param factory Creates the provider, called when caching is disabled or the key is not cached.
+   */
+  public <T extends ProviderBase> T get(Key key, Class<T> providerClass, Supplier<T> factory) {
+    if (!config.enabled()) {
+      return factory.get();
+    }
+    return providerClass.cast(providers.get(key, k -> factory.get()));
+  }
+
+  /**
+   * Closes the removed provider after the close delay, whatever the cause of the removal, a command
+   * may still be using it.
+   */
+  private void onRemoval(ProviderBase provider) {
+    if (provider != null) {
+      closeExecutor.execute(provider::close);
+    }
+  }
+
+  @VisibleForTesting
+  void cleanUp() {
+    providers.cleanUp();
+  }
+
+  /**
+   * Key for a cached provider.
+   *
+   * @param settings Everything else the provider is built from, such as the service config,
+   *     dimension and service parameters. Must have value equality and no nulls.
+   */
+  public record Key(
+      ModelType modelType, ModelProvider modelProvider, String modelName, List<Object> settings) {
+
+    public Key {
+      settings = List.copyOf(settings);
+    }
+  }
+}
@@ -0,0 +1,135 @@
+package io.stargate.sgv2.jsonapi.service.provider;
+
+import static io.stargate.sgv2.jsonapi.metrics.MetricsConstants.MetricNames.*;
+import static io.stargate.sgv2.jsonapi.metrics.MetricsConstants.MetricTags.*;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.hash.Hashing;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.stargate.sgv2.jsonapi.config.OperationsConfig;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Holds the {@link AdaptiveConcurrencyLimiter} for each model provider, model and credential, so
+ * all requests using the same provider account share one view of how much load it can take.
+ *
+ * <p>Credentials are only used as part of the key after hashing, and limiters that have not been
+ * used for a while are dropped. Metrics are aggregated to the model type and provider so the tags
+ * stay bounded, see {@link io.stargate.sgv2.jsonapi.metrics.MetricsConstants.MetricNames}.
+ */
+@ApplicationScoped
+public class ProviderConcurrencyLimiters {
+
+  private static final long MAX_LIMITERS = 10_000;
+  private static final Duration LIMITER_IDLE_EXPIRY = Duration.ofMinutes(10);
+
+  private final OperationsConfig.ProviderConcurrencyConfig config;
+  private final MeterRegistry meterRegistry;
+  private final Cache<LimiterKey, AdaptiveConcurrencyLimiter> limiters;
+  private final Set<Tags> registeredGauges = ConcurrentHashMap.newKeySet();
+
+  @Inject
+  public ProviderConcurrencyLimiters(
+      OperationsConfig operationsConfig, MeterRegistry meterRegistry) {
+    this.config = operationsConfig.providerConcurrency();
+    this.meterRegistry = Objects.requireNonNull(meterRegistry, "meterRegistry must not be null");
+    this.limiters =
+        Caffeine.newBuilder()
+            .maximumSize(MAX_LIMITERS)
+            .expireAfterAccess(LIMITER_IDLE_EXPIRY)
+            .build();
+  }
+
+  public boolean enabled() {
+    return config.enabled();
+  }
+
+  /**
+   * Gets the limiter to use for a call to the provider.
+   *
+   * @param modelType Type of model being called.
+   * @param modelProvider The provider being called.
+   * @param modelName Name of the model being called.
+   * @param credential Credential the provider will be called with, e.g. the API key, or the tenant
+   *     if there is no credential. Only stored as a hash.
+   */
+  public AdaptiveConcurrencyLimiter limiterFor(
+      ModelType modelType, ModelProvider modelProvider, String modelName, String credential) {
+
+    var key =
+        new LimiterKey(
+            modelType,
+            modelProvider,
+            modelName,
+            credential == null
+                ? ""
+                : Hashing.sha256().hashString(credential, StandardCharsets.UTF_8).toString());
+
+    maybeRegisterGauges(modelType, modelProvider);
+    return limiters.get(key, k -> new AdaptiveConcurrencyLimiter(config));
+  }
+
+  /** Called when a call is rejected by a limiter, to count it against the provider. */
+  public void recordRejected(ModelType modelType, ModelProvider modelProvider) {
+    meterRegistry
+        .counter(PROVIDER_CONCURRENCY_REJECTED_METRIC, tags(modelType, modelProvider))
+        .increment();
+  }
+
+  private void maybeRegisterGauges(ModelType modelType, ModelProvider modelProvider) {
+    var tags = tags(modelType, modelProvider);
+    if (!registeredGauges.add(tags)) {
+      return;
+    }
+    registerGauge(
+        PROVIDER_CONCURRENCY_LIMIT_METRIC, tags, modelType, modelProvider, l -> l.limit());
+    registerGauge(
+        PROVIDER_CONCURRENCY_IN_FLIGHT_METRIC, tags, modelType, modelProvider, l -> l.inFlight());
+    registerGauge(
+        PROVIDER_CONCURRENCY_QUEUE_DEPTH_METRIC,
+        tags,
+        modelType,
+        modelProvider,
+        l -> l.queueDepth());
+  }
+
+  /** Registers a gauge that sums the value over all the limiters for the type and provider. */
+  private void registerGauge(
+      String name,
+      Tags tags,
+      ModelType modelType,
+      ModelProvider modelProvider,
+      ToDoubleFunction<AdaptiveConcurrencyLimiter> valueFunction) {
+
+    Gauge.builder(
+            name,
+            limiters,
+            cache ->
+                cache.asMap().entrySet().stream()
+                    .filter(
+                        entry ->
+                            entry.getKey().modelType() == modelType
+                                && entry.getKey().modelProvider() == modelProvider)
+                    .mapToDouble(entry -> valueFunction.applyAsDouble(entry.getValue()))
+                    .sum())
+        .tags(tags)
+        .register(meterRegistry);
+  }
+
+  private static Tags tags(ModelType modelType, ModelProvider modelProvider) {
+    return Tags.of(MODEL_TYPE_TAG, modelType.name(), MODEL_PROVIDER_TAG, modelProvider.apiName());
+  }
+
+  private record LimiterKey(
+      ModelType modelType, ModelProvider modelProvider, String modelName, String credentialHash) {}
+}
@@ -7,9 +7,11 @@ import io.stargate.embedding.gateway.EmbeddingGateway;
 import io.stargate.embedding.gateway.RerankingService;
 import io.stargate.sgv2.jsonapi.api.request.RerankingCredentials;
 import io.stargate.sgv2.jsonapi.api.request.tenant.Tenant;
+import io.stargate.sgv2.jsonapi.config.OperationsConfig;
 import io.stargate.sgv2.jsonapi.exception.RerankingProviderException;
 import io.stargate.sgv2.jsonapi.exception.SchemaException;
 import io.stargate.sgv2.jsonapi.exception.ServerException;
+import io.stargate.sgv2.jsonapi.service.provider.GatewayStreamPipeline;
 import io.stargate.sgv2.jsonapi.service.provider.ModelProvider;
 import io.stargate.sgv2.jsonapi.service.reranking.configuration.RerankingProvidersConfig;
 import io.stargate.sgv2.jsonapi.service.reranking.operation.RerankingProvider;
@@ -29,6 +31,8 @@ public class RerankingEGWClient extends RerankingProvider {
   private final RerankingService grpcGatewayService;
   Map<String, String> authentication;
   private final String commandName;
+  // nullable, when null the unary RPC is always used
+  private final OperationsConfig.EmbeddingGatewayConfig gatewayConfig;
 
   public RerankingEGWClient(
       ModelProvider modelProvider,
@@ -38,6 +42,26 @@ public class RerankingEGWClient extends RerankingProvider {
       RerankingService grpcGatewayService,
       Map<String, String> authentication,
       String commandName) {
+    this(
+        modelProvider,
+        modelConfig,
+        tenant,
+        authToken,
+        grpcGatewayService,
+        authentication,
+        commandName,
+        null);
+  }
+
+  public RerankingEGWClient(
+      ModelProvider modelProvider,
+      RerankingProvidersConfig.RerankingProviderConfig.ModelConfig modelConfig,
+      Tenant tenant,
+      String authToken,
+      RerankingService grpcGatewayService,
+      Map<String, String> authentication,
+      String commandName,
+      OperationsConfig.EmbeddingGatewayConfig gatewayConfig) {
     super(modelProvider, modelConfig);
 
     this.tenant = tenant;
@@ -45,6 +69,7 @@ public class RerankingEGWClient extends RerankingProvider {
     this.grpcGatewayService = grpcGatewayService;
     this.authentication = authentication;
     this.commandName = commandName;
+    this.gatewayConfig = gatewayConfig;
   }
 
   @Override
@@ -53,10 +78,76 @@ public class RerankingEGWClient extends RerankingProvider {
     return "";
   }
 
+  /**
+   * When streaming is enabled and there is more than one batch of passages, sends all the batches
+   * over one {@code RerankStream} call rather than a unary call per batch.
+   */
+  @Override
+  public Uni<RerankingResponse> rerank(
+      String query, List<String> passages, RerankingCredentials rerankingCredentials) {
+
+    if (gatewayConfig == null || !gatewayConfig.streamingEnabled()) {
+      return super.rerank(query, passages, rerankingCredentials);
+    }
+    var passageBatches = createPassageBatches(passages);
+    if (passageBatches.size() < 2) {
+      return super.rerank(query, passages, rerankingCredentials);
+    }
+
+    List<EmbeddingGateway.ProviderRerankingRequest> requests =
+        new ArrayList<>(passageBatches.size());
+    for (int batchId = 0; batchId < passageBatches.size(); batchId++) {
+      requests.add(
+          buildGatewayRequest(batchId, query, passageBatches.get(batchId), rerankingCredentials));
+    }
+
+    GatewayStreamPipeline<
+            EmbeddingGateway.ProviderRerankingRequest, EmbeddingGateway.RerankingResponse>
+        pipeline = new GatewayStreamPipeline<>(requests, gatewayConfig.streamingMaxInFlight());
+
+    return pipeline
+        .execute(grpcGatewayService::rerankStream)
+        .onItem()
+        .transform(
+            gatewayResponse -> toBatchedResponse(gatewayResponse.getBatchId(), gatewayResponse))
+        .onFailure(StatusRuntimeException.class)
+        .transform(throwable -> mapStatusException((StatusRuntimeException) throwable))
+        .collect()
+        .asList()
+        .map(
+            batchResponses -> {
+              if (batchResponses.size() != requests.size()) {
+                throw new IllegalStateException(
+                    "RerankStream returned %s responses for %s batches"
+                        .formatted(batchResponses.size(), requests.size()));
+              }
+              // ranks are re-indexed and sorted using the batch id, so arrival order is fine
+              return aggregateRanks(batchResponses);
+            });
+  }
+
   @Override
   public Uni<BatchedRerankingResponse> rerank(
       int batchId, String query, List<String> passages, RerankingCredentials rerankingCredentials) {
 
+    var gatewayRequest = buildGatewayRequest(batchId, query, passages, rerankingCredentials);
+
+    // TODO: Why is this error handling here not part of the uni pipeline?
+    Uni<EmbeddingGateway.RerankingResponse> gatewayRerankingUni;
+    try {
+      gatewayRerankingUni = grpcGatewayService.rerank(gatewayRequest);
+    } catch (StatusRuntimeException e) {
+      throw mapStatusException(e);
+    }
+
+    return gatewayRerankingUni
+        .onItem()
+        .transform(gatewayResponse -> toBatchedResponse(batchId, gatewayResponse));
+  }
+
+  private EmbeddingGateway.ProviderRerankingRequest buildGatewayRequest(
+      int batchId, String query, List<String> passages, RerankingCredentials rerankingCredentials) {
+
     var gatewayReranking =
         EmbeddingGateway.ProviderRerankingRequest.RerankingRequest.newBuilder()
             .setModelName(modelName())
@@ -74,66 +165,58 @@ public class RerankingEGWClient extends RerankingProvider {
     if (!rerankingCredentials.apiKey().isEmpty()) {
       contextBuilder.putAuthTokens(RERANKING_API_KEY, rerankingCredentials.apiKey());
     }
-    var gatewayRequest =
-        EmbeddingGateway.ProviderRerankingRequest.newBuilder()
-            .setRerankingRequest(gatewayReranking)
-            .setProviderContext(contextBuilder.build())
-            .build();
+    return EmbeddingGateway.ProviderRerankingRequest.newBuilder()
+        .setRerankingRequest(gatewayReranking)
+        .setProviderContext(contextBuilder.build())
+        .setBatchId(batchId)
+        .build();
+  }
 
-    // TODO: Why is this error handling here not part of the uni pipeline?
-    Uni<EmbeddingGateway.RerankingResponse> gatewayRerankingUni;
-    try {
-      gatewayRerankingUni = grpcGatewayService.rerank(gatewayRequest);
-    } catch (StatusRuntimeException e) {
-      if (e.getStatus().getCode().equals(Status.Code.DEADLINE_EXCEEDED)) {
-        throw RerankingProviderException.Code.RERANKING_PROVIDER_TIMEOUT.get(
-            Map.of(
-                "modelProvider",
-                modelProvider().apiName(),
-                "httpStatus",
-                String.valueOf(e.getStatus().getCode()),
-                "errorMessage",
-                e.getMessage()));
-      }
-      throw e;
+  private RuntimeException mapStatusException(StatusRuntimeException e) {
+    if (e.getStatus().getCode().equals(Status.Code.DEADLINE_EXCEEDED)) {
+      return RerankingProviderException.Code.RERANKING_PROVIDER_TIMEOUT.get(
+          Map.of(
+              "modelProvider",
+              modelProvider().apiName(),
+              "httpStatus",
+              String.valueOf(e.getStatus().getCode()),
+              "errorMessage",
+              e.getMessage()));
     }
+    return e;
+  }
 
-    return gatewayRerankingUni
-        .onItem()
-        .transform(
-            gatewayResponse -> {
-              if (gatewayResponse.hasError()) {
-                // 22-Jan-2026, tatu: This is ugly. But has to be done to work around fragility
-                //   of exception mapping
-                // #2548 amorton - the remove side of hte call also has API Exceptions , if the code
-                // is UNEXPECTED_SERVER_ERROR that only exists as a ServerException so we can map
-                // that directly.
-                // otherwise make it a generic reranking issue
-                var gatewayErr = gatewayResponse.getError();
-                if (gatewayErr
-                    .getErrorCode()
-                    .equals(ServerException.Code.UNEXPECTED_SERVER_ERROR.name())) {
-                  throw ServerException.Code.UNEXPECTED_SERVER_ERROR.withPreformattedMessage(
-                      gatewayErr.getErrorBody());
-                } else {
-                  // jamming the original code as a prefix because we may lose it
-                  var msg =
-                      "Gateway Error Code: %s \nGateway Error Title: %s \nGateway Error Body: %s"
-                          .formatted(
-                              gatewayErr.getErrorCode(),
-                              gatewayErr.getErrorTitle(),
-                              gatewayErr.getErrorBody());
-                  throw SchemaException.Code.RERANKING_PROVIDER_SERVER_ERROR.get(
-                      "errorMessage", msg);
-                }
-              }
+  private BatchedRerankingResponse toBatchedResponse(
+      int batchId, EmbeddingGateway.RerankingResponse gatewayResponse) {
 
-              return new BatchedRerankingResponse(
-                  batchId,
-                  gatewayResponse.getRanksList().stream()
-                      .map(rank -> new Rank(rank.getIndex(), rank.getScore()))
-                      .toList(),
-                  createModelUsage(gatewayResponse.getModelUsage()));
-            });
+    if (gatewayResponse.hasError()) {
+      // 22-Jan-2026, tatu: This is ugly. But has to be done to work around fragility
+      //   of exception mapping
+      // #2548 amorton - the remove side of hte call also has API Exceptions , if the code
+      // is UNEXPECTED_SERVER_ERROR that only exists as a ServerException so we can map
+      // that directly.
+      // otherwise make it a generic reranking issue
+      var gatewayErr = gatewayResponse.getError();
+      if (gatewayErr.getErrorCode().equals(ServerException.Code.UNEXPECTED_SERVER_ERROR.name())) {
+        throw ServerException.Code.UNEXPECTED_SERVER_ERROR.withPreformattedMessage(
+            gatewayErr.getErrorBody());
+      } else {
+        // jamming the original code as a prefix because we may lose it
+        var msg =
+            "Gateway Error Code: %s \nGateway Error Title: %s \nGateway Error Body: %s"
+                .formatted(
+                    gatewayErr.getErrorCode(),
+                    gatewayErr.getErrorTitle(),
+                    gatewayErr.getErrorBody());
+        throw SchemaException.Code.RERANKING_PROVIDER_SERVER_ERROR.get("errorMessage", msg);
+      }
+    }
+
+    return new BatchedRerankingResponse(
+        batchId,
+        gatewayResponse.getRanksList().stream()
+            .map(rank -> new Rank(rank.getIndex(), rank.getScore()))
+            .toList(),
+        createModelUsage(gatewayResponse.getModelUsage()));
   }
 }
@@ -0,0 +1,80 @@
+package io.stargate.sgv2.jsonapi.service.reranking.operation;
+
+import io.smallrye.mutiny.Uni;
+import io.stargate.sgv2.jsonapi.api.request.RerankingCredentials;
+import io.stargate.sgv2.jsonapi.exception.RerankingProviderException;
+import io.stargate.sgv2.jsonapi.exception.SchemaException;
+import io.stargate.sgv2.jsonapi.service.provider.ModelType;
+import io.stargate.sgv2.jsonapi.service.provider.ProviderConcurrencyLimiters;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * A decorator that wraps a {@link RerankingProvider} and runs each {@link #rerank(String, List,
+ * RerankingCredentials)} call through the {@link
+ * io.stargate.sgv2.jsonapi.service.provider.AdaptiveConcurrencyLimiter} for the provider, model and
+ * API key.
+ *
+ * <p>One permit covers all the passage batches for a command, so the delegate can still send the
+ * batches in parallel. Calls that are rejected fail with {@link
+ * RerankingProviderException.Code#RERANKING_PROVIDER_OVERLOADED}.
+ */
+public class ConcurrencyLimitedRerankingProvider extends RerankingProvider {
+
+  private final RerankingProvider delegate;
+  private final ProviderConcurrencyLimiters limiters;
+
+  public ConcurrencyLimitedRerankingProvider(
+      RerankingProvider delegate, ProviderConcurrencyLimiters limiters) {
+    super(delegate.modelProvider(), delegate.modelConfig);
+
+    this.delegate = delegate;
+    this.limiters = Objects.requireNonNull(limiters, "limiters must not be null");
+  }
+
+  @Override
+  protected String errorMessageJsonPtr() {
+    return "";
+  }
+
+  @Override
+  public Uni<RerankingResponse> rerank(
+      String query, List<String> passages, RerankingCredentials rerankingCredentials) {
+
+    return limiters
+        .limiterFor(
+            ModelType.RERANKING,
+            modelProvider(),
+            modelName(),
+            rerankingCredentials == null ? null : rerankingCredentials.apiKey())
+        .execute(
+            () -> delegate.rerank(query, passages, rerankingCredentials),
+            ConcurrencyLimitedRerankingProvider::isOverloaded,
+            this::rejected);
+  }
+
+  @Override
+  public Uni<BatchedRerankingResponse> rerank(
+      int batchId, String query, List<String> passages, RerankingCredentials rerankingCredentials) {
+    return delegate.rerank(batchId, query, passages, rerankingCredentials);
+  }
+
+  private RuntimeException rejected(String reason) {
+    limiters.recordRejected(ModelType.RERANKING, modelProvider());
+    return RerankingProviderException.Code.RERANKING_PROVIDER_OVERLOADED.get(
+        Map.of("modelProvider", modelProvider().apiName(), "errorMessage", reason));
+  }
+
+  private static boolean isOverloaded(Throwable throwable) {
+    if (throwable instanceof TimeoutException) {
+      return true;
+    }
+    if (throwable instanceof SchemaException se) {
+      return SchemaException.Code.RERANKING_PROVIDER_RATE_LIMITED.name().equals(se.code);
+    }
+    return throwable instanceof RerankingProviderException rpe
+        && RerankingProviderException.Code.RERANKING_PROVIDER_TIMEOUT.name().equals(rpe.code);
+  }
+}
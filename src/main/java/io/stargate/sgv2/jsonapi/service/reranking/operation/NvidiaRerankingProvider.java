@@ -76,10 +76,11 @@ public class NvidiaRerankingProvider extends RerankingProvider {
     super(ModelProvider.NVIDIA, modelConfig);
 
     nvidiaClient =
-        QuarkusRestClientBuilder.newBuilder()
-            .baseUri(URI.create(modelConfig.url()))
-            .readTimeout(modelConfig.properties().readTimeoutMillis(), TimeUnit.MILLISECONDS)
-            .build(NvidiaRerankingClient.class);
+        restClient(
+            QuarkusRestClientBuilder.newBuilder()
+                .baseUri(URI.create(modelConfig.url()))
+                .readTimeout(modelConfig.properties().readTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .build(NvidiaRerankingClient.class));
   }
 
   @Override
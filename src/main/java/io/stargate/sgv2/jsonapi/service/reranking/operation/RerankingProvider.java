@@ -176,7 +176,7 @@ public abstract class RerankingProvider extends ProviderBase {
   }
 
   /** Create batches of passages to be reranked. */
-  private List<List<String>> createPassageBatches(List<String> passages) {
+  protected List<List<String>> createPassageBatches(List<String> passages) {
 
     List<List<String>> batches = new ArrayList<>();
     for (int i = 0; i < passages.size(); i += modelConfig.properties().maxBatchSize()) {
@@ -188,7 +188,7 @@ public abstract class RerankingProvider extends ProviderBase {
   }
 
   /** Aggregate the ranks from all batched reranking calls. */
-  private RerankingResponse aggregateRanks(List<BatchedRerankingResponse> batchResponses) {
+  protected RerankingResponse aggregateRanks(List<BatchedRerankingResponse> batchResponses) {
 
     List<Rank> finalRanks = new ArrayList<>();
     ModelUsage aggregatedModelUsage = null;
@@ -6,10 +6,14 @@ import io.stargate.sgv2.jsonapi.api.request.tenant.Tenant;
 import io.stargate.sgv2.jsonapi.config.OperationsConfig;
 import io.stargate.sgv2.jsonapi.exception.SchemaException;
 import io.stargate.sgv2.jsonapi.service.provider.ModelProvider;
+import io.stargate.sgv2.jsonapi.service.provider.ModelType;
+import io.stargate.sgv2.jsonapi.service.provider.ProviderClientCache;
+import io.stargate.sgv2.jsonapi.service.provider.ProviderConcurrencyLimiters;
 import io.stargate.sgv2.jsonapi.service.reranking.configuration.RerankingProvidersConfig;
 import io.stargate.sgv2.jsonapi.service.reranking.gateway.RerankingEGWClient;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import java.util.List;
 import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,6 +24,8 @@ public class RerankingProviderFactory {
 
   @Inject RerankingProvidersConfig rerankingConfig;
   @Inject OperationsConfig operationsConfig;
+  @Inject ProviderConcurrencyLimiters providerConcurrencyLimiters;
+  @Inject ProviderClientCache providerClientCache;
 
   @GrpcClient("embedding")
   RerankingService grpcGatewayService;
@@ -95,14 +101,16 @@ public class RerankingProviderFactory {
 
     if (operationsConfig.enableEmbeddingGateway()) {
       // return the reranking Grpc client to embedding gateway service
-      return new RerankingEGWClient(
-          modelProvider,
-          modelConfig,
-          tenant,
-          authToken,
-          grpcGatewayService,
-          authentication,
-          commandName);
+      return maybeLimitConcurrency(
+          new RerankingEGWClient(
+              modelProvider,
+              modelConfig,
+              tenant,
+              authToken,
+              grpcGatewayService,
+              authentication,
+              commandName,
+              operationsConfig.embeddingGateway()));
     }
 
     RerankingProviderFactory.ProviderConstructor ctor = RERANKING_PROVIDER_CTORS.get(modelProvider);
@@ -111,7 +119,19 @@ public class RerankingProviderFactory {
           Map.of(
               "errorMessage", "unknown service provider '%s'".formatted(modelProvider.apiName())));
     }
-    return ctor.create(modelConfig);
+
+    // reused across commands, credentials are passed per call
+    var key =
+        new ProviderClientCache.Key(
+            ModelType.RERANKING, modelProvider, modelName, List.of(modelConfig));
+    return maybeLimitConcurrency(
+        providerClientCache.get(key, RerankingProvider.class, () -> ctor.create(modelConfig)));
+  }
+
+  private RerankingProvider maybeLimitConcurrency(RerankingProvider provider) {
+    return providerConcurrencyLimiters.enabled()
+        ? new ConcurrencyLimitedRerankingProvider(provider, providerConcurrencyLimiters)
+        : provider;
   }
 
   public RerankingProvidersConfig getRerankingConfig() {
@@ -97,14 +97,16 @@ class FindAndRerankOperationBuilder {
     var rerankTasksAndDeferrables = rerankTasks(List.of(deferredBM25Read, deferredVectorRead));
 
     // Step 2 - we need to read the data from the collections, we are wrapping the old collections
-    // in the new tasks so we do not change the collection code
-    var readTasksAndDeferrables = readTasks(deferredVectorRead, deferredBM25Read);
+    // in the new tasks so we do not change the collection code. The BM25 read is a separate group
+    // because it does not need the embedding, so it can run while we vectorize
+    var vectorReadTasksAndDeferrables = vectorReadTasks(deferredVectorRead);
+    var bm25ReadTasks = bm25ReadTasks(deferredBM25Read);
 
     // Step 3 - we may need an embedding task, lets get one of those :)
     var embeddingActions =
         DeferredAction.filtered(
             EmbeddingDeferredAction.class,
-            Deferrable.deferred(readTasksAndDeferrables.deferrables()));
+            Deferrable.deferred(vectorReadTasksAndDeferrables.deferrables()));
     var embeddingTaskGroup =
         embeddingActions.isEmpty()
             ? null
@@ -115,14 +117,21 @@ class FindAndRerankOperationBuilder {
                 .build();
 
     // Step 4 - build the composite tasks and wrap them in an operation
-    // we had to build from the last to the first steps, now add them in the order we want them to
-    // run, we will only have an embedding task if we needed to do a vectorize
+    // we had to build from the last to the first steps, now add them with what they depend on,
+    // we will only have an embedding task if we needed to do a vectorize, and only the vector read
+    // waits for it. The rerank waits for everything.
     var compositeBuilder = new CompositeTaskOperationBuilder<>(commandContext);
+    if (bm25ReadTasks != null) {
+      compositeBuilder.withIntermediateTasks(bm25ReadTasks, TaskRetryPolicy.NO_RETRY, List.of());
+    }
     if (embeddingTaskGroup != null) {
-      compositeBuilder.withIntermediateTasks(embeddingTaskGroup, TaskRetryPolicy.NO_RETRY);
+      compositeBuilder.withIntermediateTasks(
+          embeddingTaskGroup, TaskRetryPolicy.NO_RETRY, List.of());
     }
     compositeBuilder.withIntermediateTasks(
-        readTasksAndDeferrables.taskGroup(), TaskRetryPolicy.NO_RETRY);
+        vectorReadTasksAndDeferrables.taskGroup(),
+        TaskRetryPolicy.NO_RETRY,
+        embeddingTaskGroup == null ? List.of() : List.of(embeddingTaskGroup));
 
     return compositeBuilder.build(
         rerankTasksAndDeferrables.taskGroup(),
@@ -293,11 +302,10 @@ class FindAndRerankOperationBuilder {
             .collect(java.util.stream.Collectors.toUnmodifiableList()));
   }
 
-  private TaskGroupAndDeferrables<IntermediateCollectionReadTask, CollectionSchemaObject> readTasks(
-      RerankingTask.DeferredCommandWithSource deferredVectorRead,
-      RerankingTask.DeferredCommandWithSource deferredBM25Read) {
+  private TaskGroupAndDeferrables<IntermediateCollectionReadTask, CollectionSchemaObject>
+      vectorReadTasks(RerankingTask.DeferredCommandWithSource deferredVectorRead) {
 
-    // we can run these tasks in parallel
+    // there is only 1 task, but the group is run as a composite task
     TaskGroup<IntermediateCollectionReadTask, CollectionSchemaObject> taskGroup =
         new TaskGroup<>(false);
 
@@ -310,25 +318,13 @@ class FindAndRerankOperationBuilder {
             FindAndRerankCommand.Options::hybridLimits,
             FindAndRerankCommand.HybridLimits.DEFAULT));
 
-    // these are the actions the reads should call when done, to pass the command result into the
-    // next tasks
-    var deferredBM25ReadAction =
-        DeferredAction.filtered(
-                DeferredCommandResultAction.class,
-                Deferrable.deferred(deferredBM25Read.deferredRead()))
-            .getFirst();
+    // the action the read should call when done, to pass the command result into the next tasks
     var deferredVectorReadAction =
         DeferredAction.filtered(
                 DeferredCommandResultAction.class,
                 Deferrable.deferred(deferredVectorRead.deferredRead()))
             .getFirst();
 
-    // The BM25 read
-    var bm25Read = buildBm25Read(deferredBM25ReadAction);
-    if (bm25Read != null) {
-      taskGroup.add(bm25Read);
-    }
-
     // always a vector or vectorize read
     var vectorReadAndDeferrables = buildVectorRead(deferredVectorReadAction);
     taskGroup.add(vectorReadAndDeferrables.task());
@@ -337,6 +333,23 @@ class FindAndRerankOperationBuilder {
     return new TaskGroupAndDeferrables<>(taskGroup, null, vectorReadAndDeferrables.deferrables());
   }
 
+  /**
+   * @return The group with the BM25 read, or null if there is no lexical sort.
+   */
+  private TaskGroup<IntermediateCollectionReadTask, CollectionSchemaObject> bm25ReadTasks(
+      RerankingTask.DeferredCommandWithSource deferredBM25Read) {
+
+    // the action the read should call when done, to pass the command result into the next tasks
+    var deferredBM25ReadAction =
+        DeferredAction.filtered(
+                DeferredCommandResultAction.class,
+                Deferrable.deferred(deferredBM25Read.deferredRead()))
+            .getFirst();
+
+    var bm25Read = buildBm25Read(deferredBM25ReadAction);
+    return bm25Read == null ? null : new TaskGroup<>(bm25Read);
+  }
+
   private IntermediateCollectionReadTask buildBm25Read(DeferredCommandResultAction deferredAction) {
 
     if (!isLexicalSort()) {
@@ -23,6 +23,7 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletionStage;
+import java.util.function.Consumer;
 import org.jspecify.annotations.NonNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,6 +34,8 @@ public class SchemaObjectCache
   private static final Logger LOGGER = LoggerFactory.getLogger(SchemaObjectCache.class);
 
   private final DynamicTTLSupplier ttlSupplier;
+  // called with the schema object that changed when the DB sends a schema change event, may be null
+  private final Consumer<SchemaObjectIdentifier> schemaChangeConsumer;
 
   SchemaObjectCache(
       long cacheMaxSize,
@@ -40,7 +43,8 @@ public class SchemaObjectCache
       UserAgent slaUserAgent,
       Duration slaUserTTL,
       SchemaObjectFactory schemaObjectFactory,
-      MeterRegistry meterRegistry) {
+      MeterRegistry meterRegistry,
+      Consumer<SchemaObjectIdentifier> schemaChangeConsumer) {
     this(
         cacheMaxSize,
         cacheTTL,
@@ -49,7 +53,8 @@ public class SchemaObjectCache
         schemaObjectFactory,
         meterRegistry,
         false,
-        null);
+        null,
+        schemaChangeConsumer);
   }
 
   @VisibleForTesting
@@ -62,6 +67,28 @@ public class SchemaObjectCache
       MeterRegistry meterRegistry,
       boolean asyncTaskOnCaller,
       Ticker cacheTicker) {
+    this(
+        cacheMaxSize,
+        cacheTTL,
+        slaUserAgent,
+        slaUserTTL,
+        schemaObjectFactory,
+        meterRegistry,
+        asyncTaskOnCaller,
+        cacheTicker,
+        null);
+  }
+
+  SchemaObjectCache(
+      long cacheMaxSize,
+      Duration cacheTTL,
+      UserAgent slaUserAgent,
+      Duration slaUserTTL,
+      SchemaObjectFactory schemaObjectFactory,
+      MeterRegistry meterRegistry,
+      boolean asyncTaskOnCaller,
+      Ticker cacheTicker,
+      Consumer<SchemaObjectIdentifier> schemaChangeConsumer) {
     super(
         "schema_object_cache",
         cacheMaxSize,
@@ -73,6 +100,7 @@ public class SchemaObjectCache
 
     Objects.requireNonNull(schemaObjectFactory, "schemaObjectFactory must not be null");
     this.ttlSupplier = new DynamicTTLSupplier(cacheTTL, slaUserAgent, slaUserTTL);
+    this.schemaChangeConsumer = schemaChangeConsumer;
 
     LOGGER.info(
         "Initializing SchemaObjectCache with cacheMaxSize={}, ttlSupplier={}",
@@ -251,6 +279,7 @@ public class SchemaObjectCache
     // need to evict both by creating two keys
     evict(evictKeyTable);
     evict(evictKeyCollection);
+    notifySchemaChange(evictKeyCollection.schemaIdentifier);
   }
 
   protected void evictKeyspace(Tenant tenant, CqlIdentifier keyspace, boolean evictAll) {
@@ -270,6 +299,19 @@ public class SchemaObjectCache
       // we need to remove all the tables, collections, etc. All of those are in this keyspace.
       evictIf(key -> evictKey.schemaIdentifier.isSameKeyspace(key.schemaIdentifier));
     }
+    notifySchemaChange(evictKey.schemaIdentifier);
+  }
+
+  private void notifySchemaChange(SchemaObjectIdentifier schemaIdentifier) {
+    if (schemaChangeConsumer == null) {
+      return;
+    }
+    // called on driver threads, do not let errors escape
+    try {
+      schemaChangeConsumer.accept(schemaIdentifier);
+    } catch (RuntimeException e) {
+      LOGGER.warn("notifySchemaChange() - error for schemaIdentifier: {}", schemaIdentifier, e);
+    }
   }
 
   private SchemaCacheKey createCacheKey(
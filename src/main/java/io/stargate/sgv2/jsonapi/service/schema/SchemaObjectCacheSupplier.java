@@ -4,6 +4,7 @@ import io.micrometer.core.instrument.MeterRegistry;
 import io.stargate.sgv2.jsonapi.api.request.UserAgent;
 import io.stargate.sgv2.jsonapi.config.OperationsConfig;
 import io.stargate.sgv2.jsonapi.service.cqldriver.CqlSessionCacheSupplier;
+import io.stargate.sgv2.jsonapi.service.processor.ReadResultCache;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import java.time.Duration;
@@ -18,7 +19,8 @@ public class SchemaObjectCacheSupplier implements Supplier<SchemaObjectCache> {
   public SchemaObjectCacheSupplier(
       CqlSessionCacheSupplier cqlSessionCacheSupplier,
       OperationsConfig operationsConfig,
-      MeterRegistry meterRegistry) {
+      MeterRegistry meterRegistry,
+      ReadResultCache readResultCache) {
 
     var dbConfig = operationsConfig.databaseConfig();
 
@@ -31,7 +33,8 @@ public class SchemaObjectCacheSupplier implements Supplier<SchemaObjectCache> {
             operationsConfig.slaUserAgent().map(UserAgent::new).orElse(null),
             Duration.ofSeconds(dbConfig.slaSessionCacheTtlSeconds()),
             factory,
-            meterRegistry);
+            meterRegistry,
+            readResultCache::invalidate);
   }
 
   @Override
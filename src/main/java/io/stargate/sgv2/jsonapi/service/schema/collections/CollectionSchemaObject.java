@@ -27,6 +27,7 @@ import io.stargate.sgv2.jsonapi.service.schema.CollectionSchemaVersion;
 import io.stargate.sgv2.jsonapi.service.schema.SchemaHolder;
 import io.stargate.sgv2.jsonapi.service.schema.collections.spec.SuperShreddingMetadata;
 import io.stargate.sgv2.jsonapi.service.schema.tables.TableBasedSchemaObject;
+import io.stargate.sgv2.jsonapi.service.shredding.collections.JsonPathDictionary;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -45,6 +46,8 @@ public final class CollectionSchemaObject extends TableBasedSchemaObject {
   private final TableMetadata tableMetadata;
   private final SchemaHolder<CollectionLexicalDef> lexicalDef;
   private final SchemaHolder<CollectionRerankDef> rerankDef;
+  // not part of equals() or hashCode(), it only caches the paths of the documents
+  private final JsonPathDictionary pathDictionary = new JsonPathDictionary();
 
   public CollectionSchemaObject(
       Tenant tenant,
@@ -129,6 +132,15 @@ public final class CollectionSchemaObject extends TableBasedSchemaObject {
     return indexingConfig.indexingProjector();
   }
 
+  /**
+   * Dictionary of the paths in the documents of this collection, used to share the {@link
+   * io.stargate.sgv2.jsonapi.service.shredding.collections.JsonPath} instances when shredding.
+   * There is a new dictionary each time the collection schema is refreshed.
+   */
+  public JsonPathDictionary pathDictionary() {
+    return pathDictionary;
+  }
+
   public static CollectionSchemaObject getCollectionSettings(
       RequestContext requestContext, TableMetadata table, ObjectMapper objectMapper) {
 
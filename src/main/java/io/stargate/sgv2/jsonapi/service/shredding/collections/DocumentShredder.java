@@ -19,6 +19,7 @@ import io.stargate.sgv2.jsonapi.exception.DocumentException;
 import io.stargate.sgv2.jsonapi.exception.SchemaException;
 import io.stargate.sgv2.jsonapi.exception.ServerException;
 import io.stargate.sgv2.jsonapi.metrics.JsonProcessingMetricsReporter;
+import io.stargate.sgv2.jsonapi.metrics.jfr.DocumentShredEvent;
 import io.stargate.sgv2.jsonapi.service.projection.IndexingProjector;
 import io.stargate.sgv2.jsonapi.service.schema.collections.CollectionIdType;
 import io.stargate.sgv2.jsonapi.service.schema.collections.CollectionSchemaObject;
@@ -103,6 +104,29 @@ public class DocumentShredder {
         docIdToReturn);
   }
 
+  /**
+   * Shreds a document read from the database, to get the index entries it was written with so an
+   * update only has to write the entries that changed. The document is not written, so no JSON
+   * write metrics are reported.
+   *
+   * @param ctx Command context for processing, used for accessing Collection settings and indexing
+   *     projector
+   * @param doc Document as read from the database
+   * @return Shredded document
+   */
+  public WritableShreddedDocument shredExisting(
+      CommandContext<CollectionSchemaObject> ctx, JsonNode doc) {
+    return shred(
+        doc,
+        null,
+        ctx.schemaObject().indexingProjector(),
+        ctx.requestContext().tenant(),
+        ctx.commandName(),
+        ctx.schemaObject(),
+        null,
+        false);
+  }
+
   public WritableShreddedDocument shred(
       JsonNode doc,
       UUID txId,
@@ -111,6 +135,30 @@ public class DocumentShredder {
       String commandName,
       CollectionSchemaObject collectionSettings,
       AtomicReference<DocumentId> docIdToReturn) {
+    return shred(
+        doc,
+        txId,
+        indexProjector,
+        tenant,
+        commandName,
+        collectionSettings,
+        docIdToReturn,
+        true);
+  }
+
+  private WritableShreddedDocument shred(
+      JsonNode doc,
+      UUID txId,
+      IndexingProjector indexProjector,
+      Tenant tenant,
+      String commandName,
+      CollectionSchemaObject collectionSettings,
+      AtomicReference<DocumentId> docIdToReturn,
+      boolean reportMetrics) {
+    // only committed when the event is enabled and the document is shredded without error
+    var shredEvent = new DocumentShredEvent();
+    shredEvent.begin();
+
     // Although we could otherwise allow non-Object documents, requirement
     // to have the _id (or at least place for it) means we cannot allow that.
     if (!doc.isObject()) {
@@ -145,7 +193,7 @@ public class DocumentShredder {
     validateDocumentSize(documentLimits, docJson);
 
     // Create json bytes written metrics
-    if (jsonProcessingMetricsReporter != null) {
+    if (reportMetrics && jsonProcessingMetricsReporter != null) {
       jsonProcessingMetricsReporter.reportJsonWriteBytesMetrics(
           tenant, commandName, docJson.length());
     }
@@ -170,7 +218,7 @@ public class DocumentShredder {
     new IndexableValueValidator(documentLimits).validate(indexableDocument);
 
     // And finally let's traverse the document to actually "shred" (build index properties)
-    new ShreddingTraverser(b).traverse(indexableDocument);
+    new ShreddingTraverser(b, collectionSettings.pathDictionary()).traverse(indexableDocument);
 
     WritableShreddedDocument shreddedDoc = b.build();
 
@@ -180,6 +228,11 @@ public class DocumentShredder {
           errVars(collectionSettings));
     }
 
+    shredEvent.end();
+    if (shredEvent.shouldCommit()) {
+      shredEvent.complete(tenant, commandName, collectionSettings, shreddedDoc);
+      shredEvent.commit();
+    }
     return shreddedDoc;
   }
 
@@ -475,8 +528,12 @@ public class DocumentShredder {
   static class ShreddingTraverser {
     private final DocumentShredderListener shredder;
 
-    ShreddingTraverser(DocumentShredderListener shredder) {
+    // nullable, paths are not interned if null
+    private final JsonPathDictionary pathDictionary;
+
+    ShreddingTraverser(DocumentShredderListener shredder, JsonPathDictionary pathDictionary) {
       this.shredder = shredder;
+      this.pathDictionary = pathDictionary;
     }
 
     /**
@@ -484,7 +541,8 @@ public class DocumentShredder {
      * shredding logic from that of recursive-descent traversal.
      */
     public void traverse(JsonNode doc) {
-      final JsonPath.Builder pathBuilder = JsonPath.rootBuilder();
+      final JsonPath.Builder pathBuilder =
+          (pathDictionary == null) ? JsonPath.rootBuilder() : JsonPath.rootBuilder(pathDictionary);
       // NOTE: main level is handled a bit differently; no callbacks for Objects or Arrays,
       // only for the (rare) case of atomic values. Just traversal.
 
@@ -72,6 +72,14 @@ public final class JsonPath implements Comparable<JsonPath> {
     return new Builder(null);
   }
 
+  /**
+   * Factory method for constructing root-level {@link Builder} that uses the paths interned in the
+   * dictionary, see {@link JsonPathDictionary}.
+   */
+  public static Builder rootBuilder(JsonPathDictionary dictionary) {
+    return new Builder(null, false, dictionary, dictionary.root());
+  }
+
   /**
    * @return Whether path points to an array element or not
    */
@@ -131,13 +139,34 @@ public final class JsonPath implements Comparable<JsonPath> {
     /** Flag that indicates that the currently pointed-to path is to an array element */
     private final boolean inArray;
 
+    /** Dictionary to get the paths from, or {@code null} if paths are not interned. */
+    private final JsonPathDictionary dictionary;
+
+    /**
+     * Dictionary entries for the context node and currently traversed child, {@code null} if not
+     * interned.
+     */
+    private final JsonPathDictionary.Entry baseEntry;
+
+    private JsonPathDictionary.Entry childEntry;
+
     public Builder(String base) {
       this(base, false);
     }
 
     Builder(String base, boolean inArray) {
+      this(base, inArray, null, null);
+    }
+
+    private Builder(
+        String base,
+        boolean inArray,
+        JsonPathDictionary dictionary,
+        JsonPathDictionary.Entry baseEntry) {
       this.basePath = base;
       this.inArray = inArray;
+      this.dictionary = dictionary;
+      this.baseEntry = baseEntry;
     }
 
     /** Factory method used to construct a builder for elements of an Array value */
@@ -148,7 +177,7 @@ public final class JsonPath implements Comparable<JsonPath> {
             "Shredder path being built does not point to a property or element (basePath: '%s')"
                 .formatted(basePath));
       }
-      return new Builder(childPath, true);
+      return new Builder(childPath, true, dictionary, childEntry);
     }
 
     /** Factory method used to construct a builder for properties of an Object value */
@@ -159,7 +188,7 @@ public final class JsonPath implements Comparable<JsonPath> {
             "Shredder path being built does not point to a property or element (basePath: '%s')"
                 .formatted(basePath));
       }
-      return new Builder(childPath, false);
+      return new Builder(childPath, false, dictionary, childEntry);
     }
 
     /**
@@ -178,7 +207,12 @@ public final class JsonPath implements Comparable<JsonPath> {
         throw ServerException.internalServerError(
             "Cannot add property '%s' when in array context: %s".formatted(propName, build()));
       }
-      childPath = (basePath == null) ? propName : (basePath + '.' + propName);
+      childEntry = (baseEntry == null) ? null : dictionary.property(baseEntry, propName);
+      if (childEntry != null) {
+        childPath = childEntry.path().toString();
+      } else {
+        childPath = (basePath == null) ? propName : (basePath + '.' + propName);
+      }
       return this;
     }
 
@@ -187,6 +221,11 @@ public final class JsonPath implements Comparable<JsonPath> {
         throw ServerException.internalServerError(
             "Cannot add index (%d) when not in array context: %s".formatted(index, build()));
       }
+      childEntry = (baseEntry == null) ? null : dictionary.element(baseEntry, index);
+      if (childEntry != null) {
+        childPath = childEntry.path().toString();
+        return this;
+      }
       StringBuilder sb;
       if (basePath == null) { // root
         sb = new StringBuilder(6);
@@ -212,7 +251,7 @@ public final class JsonPath implements Comparable<JsonPath> {
         }
         return new JsonPath(basePath, inArray);
       }
-      return new JsonPath(childPath, inArray);
+      return (childEntry != null) ? childEntry.path() : new JsonPath(childPath, inArray);
     }
   }
 }
@@ -0,0 +1,138 @@
+package io.stargate.sgv2.jsonapi.service.shredding.collections;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded dictionary of the {@link JsonPath}s seen when shredding the documents of a collection,
+ * so documents with the same fields share the same {@link JsonPath} instances, and their encoded
+ * path Strings, rather than building new ones for every field of every document.
+ *
+ * <p>Collections usually have a few hundred distinct paths repeated over all their documents.
+ * Sharing the instances avoids building the path String for each field, and because the String is
+ * shared its hash code is only calculated once, which is then used by the <code>existKeys</code>
+ * and <code>query_*_values</code> maps of the shredded document and the maps bound to the CQL
+ * statements.
+ *
+ * <p>The dictionary is a tree with an entry for each path, looked up by the property name or array
+ * index of the path below its parent, so the full path is never built or hashed to find it. Paths
+ * that are not in the dictionary are built as before.
+ *
+ * <p>A path is only added once it has been seen {@link #DEFAULT_ADMIT_AFTER} times, so paths that
+ * are only used once, such as fields named by an id or the elements of a long array, do not fill
+ * the dictionary before the paths every document has. The paths seen but not yet added are
+ * forgotten when there are as many of them as the max size. Once the dictionary has {@link
+ * #DEFAULT_MAX_SIZE} paths no more are added. Safe to use from multiple threads, see {@link
+ * io.stargate.sgv2.jsonapi.service.schema.collections.CollectionSchemaObject#pathDictionary()}.
+ */
+public final class JsonPathDictionary {
+
+  /** Maximum number of paths for a collection, a few hundred bytes each. */
+  public static final int DEFAULT_MAX_SIZE = 10_000;
+
+  /** Number of times a path is seen before it is added. */
+  public static final int DEFAULT_ADMIT_AFTER = 2;
+
+  private final int maxSize;
+  private final int admitAfter;
+  private final AtomicInteger size = new AtomicInteger();
+  private final Entry root = new Entry(null);
+  // paths seen fewer than admitAfter times, cleared when it has maxSize paths
+  private final ConcurrentMap<SeenKey, AtomicInteger> seen = new ConcurrentHashMap<>();
+
+  public JsonPathDictionary() {
+    this(DEFAULT_MAX_SIZE);
+  }
+
+  public JsonPathDictionary(int maxSize) {
+    this(maxSize, DEFAULT_ADMIT_AFTER);
+  }
+
+  public JsonPathDictionary(int maxSize, int admitAfter) {
+    this.maxSize = maxSize;
+    this.admitAfter = admitAfter;
+  }
+
+  /**
+   * @return Number of paths in the dictionary.
+   */
+  public int size() {
+    return size.get();
+  }
+
+  /** Entry for the root of the document, which has no path. */
+  Entry root() {
+    return root;
+  }
+
+  /**
+   * @return Entry for the property of the Object at the <code>parent</code> path, or {@code null}
+   *     if it is not in the dictionary and is not added.
+   */
+  Entry property(Entry parent, String propName) {
+    return lookup(parent.properties, propName, parent, propName, false);
+  }
+
+  /**
+   * @return Entry for the element of the Array at the <code>parent</code> path, or {@code null} if
+   *     it is not in the dictionary and is not added.
+   */
+  Entry element(Entry parent, int index) {
+    return lookup(parent.elements, index, parent, String.valueOf(index), true);
+  }
+
+  private <K> Entry lookup(
+      ConcurrentMap<K, Entry> children, K key, Entry parent, Object segment, boolean element) {
+    var entry = children.get(key);
+    if (entry != null || size.get() >= maxSize || !admit(parent, key)) {
+      return entry;
+    }
+    return children.computeIfAbsent(
+        key,
+        k -> {
+          size.incrementAndGet();
+          var encoded = parent.path == null ? segment.toString() : parent.path + "." + segment;
+          return new Entry(new JsonPath(encoded, element));
+        });
+  }
+
+  /**
+   * @return True if the path has now been seen enough times to be added.
+   */
+  private boolean admit(Entry parent, Object key) {
+    if (admitAfter <= 1) {
+      return true;
+    }
+    if (seen.size() >= maxSize) {
+      seen.clear();
+    }
+    var seenKey = new SeenKey(parent, key);
+    if (seen.computeIfAbsent(seenKey, k -> new AtomicInteger()).incrementAndGet() < admitAfter) {
+      return false;
+    }
+    seen.remove(seenKey);
+    return true;
+  }
+
+  /** Key for a path that is not in the dictionary, the parent entry is compared by identity. */
+  private record SeenKey(Entry parent, Object key) {}
+
+  /** A path in the dictionary and the paths below it. */
+  static final class Entry {
+    private final JsonPath path;
+    private final ConcurrentMap<String, Entry> properties = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Integer, Entry> elements = new ConcurrentHashMap<>();
+
+    private Entry(JsonPath path) {
+      this.path = path;
+    }
+
+    /**
+     * @return The interned path, {@code null} for the root.
+     */
+    JsonPath path() {
+      return path;
+    }
+  }
+}
@@ -6,6 +6,7 @@ import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.stargate.sgv2.jsonapi.exception.DocumentException;
 import io.stargate.sgv2.jsonapi.util.CqlVectorUtil;
+import io.stargate.sgv2.jsonapi.util.FloatVectorNode;
 import io.stargate.sgv2.jsonapi.util.JsonUtil;
 import java.math.BigDecimal;
 import java.util.*;
@@ -301,6 +302,11 @@ public record WritableShreddedDocument(
     public void shredVector(JsonPath path, ArrayNode vector) {
       // vector data is added only to queryVectorValues and exists keys index
       addKey(path);
+      if (vector instanceof FloatVectorNode floatVector && floatVector.vectorValues() != null) {
+        // already parsed as floats, see VectorAwareJsonNodeDeserializer
+        queryVectorValues = floatVector.vectorValues();
+        return;
+      }
       float[] arrayVals = new float[vector.size()];
       for (int i = 0; i < vector.size(); i++) {
         JsonNode element = vector.get(i);
@@ -8,6 +8,7 @@ import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.binder.cache.CaffeineStatsCounter;
 import io.smallrye.mutiny.Uni;
 import io.stargate.sgv2.jsonapi.api.request.UserAgent;
+import io.stargate.sgv2.jsonapi.metrics.jfr.CacheLoadEvent;
 import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
@@ -219,6 +220,10 @@ public abstract class DynamicTTLCache<KeyT extends DynamicTTLCache.CacheKey, Val
    */
   private CompletableFuture<ValueHolder<KeyT, ValueT>> onLoadValue(KeyT key, Executor executor) {
 
+    // only committed when the JFR event is enabled
+    var loadEvent = new CacheLoadEvent();
+    loadEvent.begin();
+
     // let errors from the factory when it is creating the completion stage propagate out for fast
     // failure.
     CompletionStage<ValueT> stage = valueFactory.apply(key);
@@ -245,6 +250,14 @@ public abstract class DynamicTTLCache<KeyT extends DynamicTTLCache.CacheKey, Val
               }
               return holder;
             })
+        .whenComplete(
+            (holder, failure) -> {
+              loadEvent.end();
+              if (loadEvent.shouldCommit()) {
+                loadEvent.complete(cacheName, key.forceRefresh(), failure);
+                loadEvent.commit();
+              }
+            })
         .toCompletableFuture();
   }
 
@@ -0,0 +1,132 @@
+package io.stargate.sgv2.jsonapi.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.FloatNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * {@link ArrayNode} for a vector of floats, such as <code>$vector</code>, that keeps the values in
+ * a <code>float[]</code> rather than a node per element.
+ *
+ * <p>Behaves as a regular {@link ArrayNode} of {@link FloatNode} elements, which are created when
+ * accessed. Code that needs the vector should use {@link #vectorValues()} to avoid that, see {@link
+ * JsonUtil#arrayNodeToVector(ArrayNode)}. If the array is modified the values are copied into
+ * element nodes, and it then behaves as a regular array.
+ *
+ * <p>Created by {@link
+ * io.stargate.sgv2.jsonapi.api.model.command.deserializers.VectorAwareJsonNodeDeserializer} when
+ * parsing requests, and when we add vectors to documents after vectorizing.
+ */
+public class FloatVectorNode extends ArrayNode {
+
+  private final FloatList floats;
+
+  public FloatVectorNode(JsonNodeFactory nodeFactory, float[] vector) {
+    this(nodeFactory, new FloatList(nodeFactory, Objects.requireNonNull(vector, "vector")));
+  }
+
+  private FloatVectorNode(JsonNodeFactory nodeFactory, FloatList floats) {
+    super(nodeFactory, floats);
+    this.floats = floats;
+  }
+
+  /**
+   * @return The vector values, or null if the array has been modified. The returned array is not
+   *     copied and must not be modified.
+   */
+  public float[] vectorValues() {
+    return floats.values();
+  }
+
+  @Override
+  public ArrayNode deepCopy() {
+    var values = vectorValues();
+    return values == null ? super.deepCopy() : new FloatVectorNode(_nodeFactory, values.clone());
+  }
+
+  @Override
+  public void serialize(JsonGenerator g, SerializerProvider provider) throws IOException {
+    var values = vectorValues();
+    if (values == null) {
+      super.serialize(g, provider);
+      return;
+    }
+    g.writeStartArray(this, values.length);
+    for (float value : values) {
+      g.writeNumber(value);
+    }
+    g.writeEndArray();
+  }
+
+  /**
+   * List of the element nodes for the array, created on access from the float values until the
+   * list is modified.
+   */
+  private static class FloatList extends AbstractList<JsonNode> implements RandomAccess {
+    private final JsonNodeFactory nodeFactory;
+    private float[] values;
+    // only set once the list is modified, values is then null
+    private List<JsonNode> nodes;
+
+    FloatList(JsonNodeFactory nodeFactory, float[] values) {
+      this.nodeFactory = nodeFactory;
+      this.values = values;
+    }
+
+    float[] values() {
+      return values;
+    }
+
+    @Override
+    public JsonNode get(int index) {
+      if (nodes != null) {
+        return nodes.get(index);
+      }
+      Objects.checkIndex(index, values.length);
+      return nodeFactory.numberNode(values[index]);
+    }
+
+    @Override
+    public int size() {
+      return nodes != null ? nodes.size() : values.length;
+    }
+
+    @Override
+    public JsonNode set(int index, JsonNode element) {
+      return nodes().set(index, element);
+    }
+
+    @Override
+    public void add(int index, JsonNode element) {
+      nodes().add(index, element);
+      modCount++;
+    }
+
+    @Override
+    public JsonNode remove(int index) {
+      var removed = nodes().remove(index);
+      modCount++;
+      return removed;
+    }
+
+    private List<JsonNode> nodes() {
+      if (nodes == null) {
+        nodes = new ArrayList<>(values.length + 1);
+        for (float value : values) {
+          nodes.add(nodeFactory.numberNode(value));
+        }
+        values = null;
+      }
+      return nodes;
+    }
+  }
+}
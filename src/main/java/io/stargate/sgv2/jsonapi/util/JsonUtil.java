@@ -324,10 +324,15 @@ public class JsonUtil {
 
   public static float[] arrayNodeToVector(ArrayNode arrayNode) {
 
-    float[] arrayVals = new float[arrayNode.size()];
     if (arrayNode.isEmpty()) {
       throw DocumentException.Code.SHRED_BAD_VECTOR_SIZE.get();
     }
+    // already parsed as floats, see VectorAwareJsonNodeDeserializer
+    if (arrayNode instanceof FloatVectorNode floatVector && floatVector.vectorValues() != null) {
+      return floatVector.vectorValues();
+    }
+
+    float[] arrayVals = new float[arrayNode.size()];
 
     for (int i = 0; i < arrayNode.size(); i++) {
       JsonNode element = arrayNode.get(i);
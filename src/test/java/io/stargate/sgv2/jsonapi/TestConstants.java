@@ -5,7 +5,7 @@ import static io.stargate.sgv2.jsonapi.util.CqlIdentifierUtil.cqlIdentifierToCQL
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
-import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.stargate.sgv2.jsonapi.api.model.command.CommandConfig;
 import io.stargate.sgv2.jsonapi.api.model.command.CommandContext;
 import io.stargate.sgv2.jsonapi.api.model.command.CommandName;
@@ -18,6 +18,7 @@ import io.stargate.sgv2.jsonapi.config.DatabaseType;
 import io.stargate.sgv2.jsonapi.config.constants.DocumentConstants;
 import io.stargate.sgv2.jsonapi.config.feature.ApiFeatures;
 import io.stargate.sgv2.jsonapi.metrics.JsonProcessingMetricsReporter;
+import io.stargate.sgv2.jsonapi.service.cql.builder.CqlTemplateCache;
 import io.stargate.sgv2.jsonapi.service.cqldriver.CQLSessionCache;
 import io.stargate.sgv2.jsonapi.service.cqldriver.executor.*;
 import io.stargate.sgv2.jsonapi.service.embedding.operation.EmbeddingProvider;
@@ -304,7 +305,9 @@ public class TestConstants {
         .withCommandConfig(new CommandConfig())
         .withEmbeddingProviderFactory(mock(EmbeddingProviderFactory.class))
         .withRerankingProviderFactory(mock(RerankingProviderFactory.class))
-        .withMeterRegistry(mock(MeterRegistry.class))
+        .withMeterRegistry(new SimpleMeterRegistry())
+        .withHedgedReadStats(new HedgedReadStats())
+        .withCqlTemplateCache(new CqlTemplateCache())
         .getBuilder(schema)
         .withEmbeddingProvider(embeddingProvider)
         .withCommandName(commandName)
@@ -342,7 +345,9 @@ public class TestConstants {
         .withCommandConfig(new CommandConfig())
         .withEmbeddingProviderFactory(mock(EmbeddingProviderFactory.class))
         .withRerankingProviderFactory(mock(RerankingProviderFactory.class))
-        .withMeterRegistry(mock(MeterRegistry.class))
+        .withMeterRegistry(new SimpleMeterRegistry())
+        .withHedgedReadStats(new HedgedReadStats())
+        .withCqlTemplateCache(new CqlTemplateCache())
         .getBuilder(schema)
         .withCommandName(commandName)
         .withRequestContext(requestContext())
@@ -356,7 +361,9 @@ public class TestConstants {
         .withCommandConfig(new CommandConfig())
         .withEmbeddingProviderFactory(mock(EmbeddingProviderFactory.class))
         .withRerankingProviderFactory(mock(RerankingProviderFactory.class))
-        .withMeterRegistry(mock(MeterRegistry.class))
+        .withMeterRegistry(new SimpleMeterRegistry())
+        .withHedgedReadStats(new HedgedReadStats())
+        .withCqlTemplateCache(new CqlTemplateCache())
         .getBuilder(DATABASE_SCHEMA_OBJECT)
         .withCommandName(COMMAND_NAME)
         .withRequestContext(requestContext())
@@ -0,0 +1,62 @@
+package io.stargate.sgv2.jsonapi.api.model.command.deserializers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.DecimalNode;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import io.stargate.sgv2.jsonapi.testresource.NoGlobalResourcesTestProfile;
+import io.stargate.sgv2.jsonapi.util.FloatVectorNode;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+@TestProfile(NoGlobalResourcesTestProfile.Impl.class)
+public class VectorAwareJsonNodeDeserializerTest {
+
+  @Inject ObjectMapper objectMapper;
+
+  @Test
+  public void vectorReadAsFloats() throws Exception {
+    JsonNode doc =
+        objectMapper.readTree(
+            """
+            {"price": 0.1, "$vector": [0.25, -1, 1.5e2], "nested": {"$vector": [0.5]}}
+            """);
+
+    assertThat(doc.get("price")).isInstanceOf(DecimalNode.class);
+    assertThat(doc.get("$vector")).isInstanceOf(FloatVectorNode.class);
+    assertThat(((FloatVectorNode) doc.get("$vector")).vectorValues())
+        .containsExactly(0.25f, -1.0f, 150.0f);
+    assertThat(doc.get("nested").get("$vector")).isInstanceOf(FloatVectorNode.class);
+
+    // behaves as a regular array
+    assertThat(doc.get("$vector").size()).isEqualTo(3);
+    assertThat(doc.get("$vector").get(1).floatValue()).isEqualTo(-1.0f);
+    assertThat(objectMapper.writeValueAsString(doc.get("$vector"))).isEqualTo("[0.25,-1.0,150.0]");
+    assertThat(objectMapper.readTree(objectMapper.writeValueAsString(doc))).isEqualTo(doc);
+  }
+
+  @Test
+  public void vectorWithNonNumbersReadAsArray() throws Exception {
+    JsonNode doc = objectMapper.readTree("{\"$vector\": [0.25, \"abc\", true]}");
+
+    assertThat(doc.get("$vector")).isNotInstanceOf(FloatVectorNode.class);
+    assertThat(doc.get("$vector").size()).isEqualTo(3);
+    assertThat(doc.get("$vector").get(1).textValue()).isEqualTo("abc");
+  }
+
+  @Test
+  public void modifiedVectorIsRegularArray() throws Exception {
+    JsonNode doc = objectMapper.readTree("{\"$vector\": [0.25, 0.5]}");
+    var vector = (FloatVectorNode) doc.get("$vector");
+
+    vector.add(0.75f);
+
+    assertThat(vector.vectorValues()).isNull();
+    assertThat(vector.size()).isEqualTo(3);
+    assertThat(objectMapper.writeValueAsString(vector)).isEqualTo("[0.25,0.5,0.75]");
+  }
+}
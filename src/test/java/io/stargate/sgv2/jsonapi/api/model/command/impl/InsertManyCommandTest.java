@@ -1,10 +1,14 @@
 package io.stargate.sgv2.jsonapi.api.model.command.impl;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.junit.TestProfile;
+import io.stargate.sgv2.jsonapi.config.DocumentLimitsConfig;
+import io.stargate.sgv2.jsonapi.exception.DocumentException;
+import io.stargate.sgv2.jsonapi.exception.RequestException;
 import io.stargate.sgv2.jsonapi.testresource.NoGlobalResourcesTestProfile;
 import jakarta.inject.Inject;
 import jakarta.validation.ConstraintViolation;
@@ -83,13 +87,10 @@ class InsertManyCommandTest {
           }
           """;
 
-    InsertManyCommand command = objectMapper.readValue(json, InsertManyCommand.class);
-    Set<ConstraintViolation<InsertManyCommand>> result = validator.validate(command);
-
-    assertThat(result)
-        .isNotEmpty()
-        .extracting(ConstraintViolation::getMessage)
-        .contains("amount of documents to insert is over the max limit (3 vs 2)");
+    assertThatThrownBy(() -> objectMapper.readValue(json, InsertManyCommand.class))
+        .rootCause()
+        .isInstanceOf(RequestException.class)
+        .hasMessageContaining("amount of documents to insert is over the max limit (more than 2)");
   }
 
   @Test
@@ -111,4 +112,72 @@ class InsertManyCommandTest {
 
     assertThat(result).isEmpty();
   }
+
+  @Test
+  public void tooManyDocumentsStopsReading() {
+    // the rest of the request is not read, so the invalid JSON after the limit is not seen
+    String json =
+        """
+          {
+            "insertMany": {
+              "documents": [
+                {"a": 1},
+                {"b": 2},
+                {"c": {"d": [1, 2, 3]}},
+                not json
+          """;
+
+    assertThatThrownBy(() -> objectMapper.readValue(json, InsertManyCommand.class))
+        .rootCause()
+        .isInstanceOf(RequestException.class)
+        .hasMessageContaining("over the max limit");
+  }
+
+  @Test
+  public void documentTooDeep() {
+    String document = "{\"a\":".repeat(DocumentLimitsConfig.DEFAULT_MAX_DOCUMENT_DEPTH) + "1";
+    document += "}".repeat(DocumentLimitsConfig.DEFAULT_MAX_DOCUMENT_DEPTH);
+    String json = "{\"insertMany\": {\"documents\": [{\"a\": " + document + "}]}}";
+
+    assertThatThrownBy(() -> objectMapper.readValue(json, InsertManyCommand.class))
+        .rootCause()
+        .isInstanceOf(DocumentException.class)
+        .hasMessageContaining(
+            "document depth exceeds maximum allowed ("
+                + DocumentLimitsConfig.DEFAULT_MAX_DOCUMENT_DEPTH
+                + ")");
+  }
+
+  @Test
+  public void documentTooLarge() {
+    String text = "x".repeat(DocumentLimitsConfig.DEFAULT_MAX_DOCUMENT_SIZE);
+    String json = "{\"insertMany\": {\"documents\": [{\"text\": \"" + text + "\"}]}}";
+
+    assertThatThrownBy(() -> objectMapper.readValue(json, InsertManyCommand.class))
+        .rootCause()
+        .isInstanceOf(DocumentException.class)
+        .hasMessageContaining(
+            "exceeds maximum allowed (" + DocumentLimitsConfig.DEFAULT_MAX_DOCUMENT_SIZE + ")");
+  }
+
+  @Test
+  public void documentsWithinLimits() throws Exception {
+    String json =
+        """
+          {
+            "insertMany": {
+              "documents": [
+                {"a": 1, "$vector": [0.25, 0.5]},
+                {"b": {"c": [1, {"d": 2}]}}
+              ]
+            }
+          }
+          """;
+
+    InsertManyCommand command = objectMapper.readValue(json, InsertManyCommand.class);
+
+    assertThat(command.documents()).hasSize(2);
+    assertThat(command.documents().get(0).path("$vector").size()).isEqualTo(2);
+    assertThat(command.documents().get(1).at("/b/c/1/d").asInt()).isEqualTo(2);
+  }
 }
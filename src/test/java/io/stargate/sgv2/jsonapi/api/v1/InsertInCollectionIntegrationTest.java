@@ -1736,12 +1736,9 @@ public class InsertInCollectionIntegrationTest extends AbstractCollectionIntegra
           .body(
               "errors[0].message",
               containsString(
-                  "not valid: amount of documents to insert is over the max limit ("
-                      + docs.size()
-                      + " vs "
+                  "not valid: amount of documents to insert is over the max limit (more than "
                       + MAX_DOCS
-                      + ")."))
-          .body("errors[0].message", containsString("[TRUNCATED from "));
+                      + ")."));
     }
   }
 
@@ -0,0 +1,83 @@
+package io.stargate.sgv2.jsonapi.metrics.jfr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import io.smallrye.mutiny.Uni;
+import io.stargate.sgv2.jsonapi.TestConstants;
+import java.nio.file.Files;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+public class JfrEventsTest {
+
+  private static final TestConstants TEST_CONSTANTS = new TestConstants();
+
+  private static final SimpleStatement STATEMENT =
+      SimpleStatement.newInstance("SELECT key, doc_json FROM \"ks\".\"coll\" WHERE key = ?", "k")
+          .setPageSize(20);
+
+  private static Uni<AsyncResultSet> recordedRead(Uni<AsyncResultSet> read) {
+    return JfrEvents.recorded(
+        CqlStatementEvent::new,
+        read,
+        (event, resultSet, failure) ->
+            event.complete(TEST_CONSTANTS.TENANT, STATEMENT, resultSet, failure));
+  }
+
+  @Test
+  public void disabledEventDoesNotWrap() {
+    var read = Uni.createFrom().item(mock(AsyncResultSet.class));
+
+    assertThat(recordedRead(read)).isSameAs(read);
+  }
+
+  @Test
+  public void enabledEventRecorded() throws Exception {
+    var resultSet = mock(AsyncResultSet.class);
+    when(resultSet.remaining()).thenReturn(3);
+    when(resultSet.hasMorePages()).thenReturn(true);
+
+    List<RecordedEvent> events;
+    try (var recording = new Recording()) {
+      recording.enable(CqlStatementEvent.class).withoutThreshold();
+      recording.start();
+      recordedRead(Uni.createFrom().item(resultSet)).await().indefinitely();
+      recording.stop();
+
+      var file = Files.createTempFile("jfr-events-test", ".jfr");
+      try {
+        recording.dump(file);
+        events = RecordingFile.readAllEvents(file);
+      } finally {
+        Files.deleteIfExists(file);
+      }
+    }
+
+    var event =
+        events.stream()
+            .filter(e -> e.getEventType().getName().equals("io.stargate.sgv2.jsonapi.CqlStatement"))
+            .findFirst()
+            .orElseThrow();
+    assertThat(event.getString("kind")).isEqualTo("SELECT");
+    assertThat(event.getString("keyspace")).isEqualTo("ks");
+    assertThat(event.getString("table")).isEqualTo("coll");
+    assertThat(event.getInt("rows")).isEqualTo(3);
+    assertThat(event.getInt("pageSize")).isEqualTo(20);
+    assertThat(event.getBoolean("hasMorePages")).isTrue();
+    assertThat(event.getString("failure")).isNull();
+  }
+
+  @Test
+  public void statementKind() {
+    assertThat(CqlStatementEvent.statementKind("  insert INTO ks.t")).isEqualTo("INSERT");
+    assertThat(CqlStatementEvent.statementKind("UPDATE \"ks\".\"t\" SET")).isEqualTo("UPDATE");
+    assertThat(CqlStatementEvent.statementKind("")).isEmpty();
+  }
+}
@@ -0,0 +1,231 @@
+package io.stargate.sgv2.jsonapi.service.bulkimport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.stargate.sgv2.jsonapi.api.model.command.CommandConfig;
+import io.stargate.sgv2.jsonapi.api.model.command.CommandContext;
+import io.stargate.sgv2.jsonapi.api.model.command.CommandError;
+import io.stargate.sgv2.jsonapi.api.model.command.CommandResult;
+import io.stargate.sgv2.jsonapi.api.model.command.CommandStatus;
+import io.stargate.sgv2.jsonapi.api.model.command.impl.InsertManyCommand;
+import io.stargate.sgv2.jsonapi.config.OperationsConfig;
+import io.stargate.sgv2.jsonapi.exception.RequestException;
+import io.stargate.sgv2.jsonapi.service.processor.MeteredCommandProcessor;
+import io.stargate.sgv2.jsonapi.service.schema.collections.CollectionSchemaObject;
+import io.stargate.sgv2.jsonapi.service.schema.tables.TableBasedSchemaObject;
+import jakarta.ws.rs.core.Response;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+
+public class BulkImporterTest {
+
+  private static final String NOT_JSON = RequestException.Code.REQUEST_NOT_JSON.name();
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final MeteredCommandProcessor commandProcessor = mock(MeteredCommandProcessor.class);
+  private final List<CommandContext<CollectionSchemaObject>> batchContexts = new ArrayList<>();
+  private final List<InsertManyCommand> commands = new ArrayList<>();
+
+  @SuppressWarnings("unchecked")
+  private BulkImporter importer(int batchSize) {
+    var bulkImportConfig = mock(OperationsConfig.BulkImportConfig.class);
+    when(bulkImportConfig.parallelism()).thenReturn(1);
+    var operationsConfig = mock(OperationsConfig.class);
+    when(operationsConfig.maxDocumentInsertCount()).thenReturn(batchSize);
+    when(operationsConfig.bulkImport()).thenReturn(bulkImportConfig);
+    var commandConfig = mock(CommandConfig.class);
+    when(commandConfig.get(OperationsConfig.class)).thenReturn(operationsConfig);
+    CommandContext<CollectionSchemaObject> commandContext = mock(CommandContext.class);
+    when(commandContext.config()).thenReturn(commandConfig);
+
+    Supplier<CommandContext<? extends TableBasedSchemaObject>> batchContextSupplier =
+        () -> {
+          CommandContext<CollectionSchemaObject> batchContext = mock(CommandContext.class);
+          batchContexts.add(batchContext);
+          return batchContext;
+        };
+    return new BulkImporter(commandContext, batchContextSupplier, commandProcessor, objectMapper);
+  }
+
+  /** Inserts return the results from the function, and the commands are kept. */
+  private void insertReturns(Function<InsertManyCommand, CommandResult> result) {
+    when(commandProcessor.processCommand(any(), any(InsertManyCommand.class)))
+        .thenAnswer(
+            invocation -> {
+              InsertManyCommand command = invocation.getArgument(1);
+              commands.add(command);
+              return Uni.createFrom().item(result.apply(command));
+            });
+  }
+
+  /** All the documents are inserted, the <code>_id</code> is the line in the document. */
+  private static CommandResult allInserted(InsertManyCommand command) {
+    var responses =
+        command.documents().stream()
+            .map(document -> Map.of("_id", document.path("line").asInt(), "status", "OK"))
+            .toList();
+    return new CommandResult(null, Map.of(CommandStatus.DOCUMENT_RESPONSES, responses), List.of());
+  }
+
+  private static CommandError insertError(String errorCode) {
+    return CommandError.builder()
+        .id(UUID.randomUUID())
+        .family("REQUEST")
+        .scope("DOCUMENT")
+        .errorCode(errorCode)
+        .title("Insert failed")
+        .message("Insert failed")
+        .httpStatus(Response.Status.OK)
+        .build();
+  }
+
+  private List<JsonNode> importLines(BulkImporter importer, String... lines) throws Exception {
+    var resultLines =
+        importer
+            .importLines(Multi.createFrom().items(lines))
+            .collect()
+            .asList()
+            .await()
+            .indefinitely();
+    List<JsonNode> results = new ArrayList<>();
+    for (var resultLine : resultLines) {
+      results.add(objectMapper.readTree(resultLine));
+    }
+    return results;
+  }
+
+  @Test
+  public void lineNumbersSkipBlankLines() throws Exception {
+    insertReturns(BulkImporterTest::allInserted);
+
+    var results =
+        importLines(importer(10), "{\"line\":1}", "", "  ", "{\"line\":4}", "{\"line\":5}");
+
+    assertThat(results).hasSize(1);
+    var result = results.getFirst();
+    assertThat(result.path("firstLine").asInt()).isEqualTo(1);
+    assertThat(result.path("lastLine").asInt()).isEqualTo(5);
+    assertThat(result.path("documentResponses"))
+        .extracting(response -> response.path("line").asInt())
+        .containsExactly(1, 4, 5);
+    // the _id from the insert response is for the document on the same line
+    assertThat(result.path("documentResponses"))
+        .extracting(response -> response.path("_id").asInt())
+        .containsExactly(1, 4, 5);
+    assertThat(result.has("errors")).isFalse();
+    assertThat(result.path("progress"))
+        .isEqualTo(
+            objectMapper.createObjectNode().put("lines", 3).put("inserted", 3).put("failed", 0));
+
+    assertThat(commands).hasSize(1);
+    assertThat(commands.getFirst().documents()).hasSize(3);
+  }
+
+  @Test
+  public void invalidLinesAreErrorsAfterInsertErrors() throws Exception {
+    // the second document fails, with the first error of the insert
+    insertReturns(
+        command ->
+            new CommandResult(
+                null,
+                Map.of(
+                    CommandStatus.DOCUMENT_RESPONSES,
+                    List.of(
+                        Map.of("_id", 1, "status", "OK"),
+                        Map.of("_id", 4, "status", "ERROR", "errorsIdx", 0))),
+                List.of(insertError("DOCUMENT_ALREADY_EXISTS"))));
+
+    var result =
+        importLines(importer(10), "{\"line\":1}", "not json", "[1, 2]", "{\"line\":4}")
+            .getFirst();
+
+    var responses = result.path("documentResponses");
+    assertThat(responses).hasSize(4);
+    assertThat(responses.get(0).path("status").asText()).isEqualTo("OK");
+    assertThat(responses.get(1).path("line").asInt()).isEqualTo(2);
+    assertThat(responses.get(1).path("status").asText()).isEqualTo("ERROR");
+    assertThat(responses.get(1).path("errorsIdx").asInt()).isEqualTo(1);
+    assertThat(responses.get(2).path("line").asInt()).isEqualTo(3);
+    assertThat(responses.get(2).path("errorsIdx").asInt()).isEqualTo(2);
+    // the index from the insert still points at the insert error
+    assertThat(responses.get(3).path("line").asInt()).isEqualTo(4);
+    assertThat(responses.get(3).path("_id").asInt()).isEqualTo(4);
+    assertThat(responses.get(3).path("errorsIdx").asInt()).isEqualTo(0);
+
+    assertThat(result.path("errors"))
+        .extracting(error -> error.path("errorCode").asText())
+        .containsExactly("DOCUMENT_ALREADY_EXISTS", NOT_JSON, NOT_JSON);
+    assertThat(result.path("progress").path("inserted").asInt()).isEqualTo(1);
+    assertThat(result.path("progress").path("failed").asInt()).isEqualTo(3);
+
+    // only the valid documents are inserted
+    assertThat(commands.getFirst().documents())
+        .extracting(document -> document.path("line").asInt())
+        .containsExactly(1, 4);
+  }
+
+  @Test
+  public void failedInsertFailsAllDocuments() throws Exception {
+    insertReturns(
+        command -> new CommandResult(null, Map.of(), List.of(insertError("COLLECTION_NOT_EXIST"))));
+
+    var result = importLines(importer(10), "{\"line\":1}", "{\"line\":2}").getFirst();
+
+    assertThat(result.path("documentResponses"))
+        .allSatisfy(
+            response -> {
+              assertThat(response.path("status").asText()).isEqualTo("ERROR");
+              assertThat(response.path("errorsIdx").asInt()).isEqualTo(0);
+            });
+    assertThat(result.path("errors")).hasSize(1);
+    assertThat(result.path("progress").path("failed").asInt()).isEqualTo(2);
+  }
+
+  @Test
+  public void batchWithOnlyInvalidLinesIsNotInserted() throws Exception {
+    var result = importLines(importer(10), "not json").getFirst();
+
+    assertThat(result.path("documentResponses").get(0).path("errorsIdx").asInt()).isEqualTo(0);
+    assertThat(result.path("errors").get(0).path("errorCode").asText()).isEqualTo(NOT_JSON);
+    verify(commandProcessor, never()).processCommand(any(), any());
+    assertThat(batchContexts).isEmpty();
+  }
+
+  @Test
+  public void batchesHaveOwnContext() throws Exception {
+    insertReturns(BulkImporterTest::allInserted);
+
+    var results =
+        importLines(importer(2), "{\"line\":1}", "{\"line\":2}", "{\"line\":3}", "{\"line\":4}");
+
+    assertThat(results)
+        .extracting(result -> result.path("firstLine").asInt())
+        .containsExactly(1, 3);
+    // the progress is the total for all the batches so far
+    assertThat(results)
+        .extracting(result -> result.path("progress").path("inserted").asInt())
+        .containsExactly(2, 4);
+
+    // a context for each command, closed when the command completes
+    assertThat(batchContexts).hasSize(2).doesNotHaveDuplicates();
+    for (var batchContext : batchContexts) {
+      verify(commandProcessor).processCommand(eq(batchContext), any(InsertManyCommand.class));
+      verify(batchContext).close();
+    }
+  }
+}
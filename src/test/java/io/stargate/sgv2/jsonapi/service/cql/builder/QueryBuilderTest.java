@@ -10,6 +10,7 @@ import io.stargate.sgv2.jsonapi.service.cql.ExpressionUtils;
 import io.stargate.sgv2.jsonapi.service.cqldriver.serializer.CQLBindValues;
 import io.stargate.sgv2.jsonapi.service.operation.builder.BuiltCondition;
 import io.stargate.sgv2.jsonapi.service.operation.builder.BuiltConditionPredicate;
+import io.stargate.sgv2.jsonapi.service.operation.builder.ConditionLHS;
 import io.stargate.sgv2.jsonapi.service.operation.builder.JsonTerm;
 import io.stargate.sgv2.jsonapi.service.schema.SimilarityFunction;
 import java.util.ArrayList;
@@ -30,6 +31,8 @@ public class QueryBuilderTest {
 
   public static final List<Object> EMPTY_VALUES = new ArrayList<>();
 
+  private final CqlTemplateCache templateCache = new CqlTemplateCache();
+
   @ParameterizedTest
   @MethodSource("sampleQueries")
   @DisplayName("Should generate expected CQL string and values")
@@ -264,5 +267,98 @@ public class QueryBuilderTest {
       assertThat(query2.cql()).isEqualTo("SELECT * FROM ks.tbl WHERE (address = ? OR age = ?)");
       assertThat(query2.values()).contains("testAge", "testAddress");
     }
+
+    @Test
+    public void sameShapeDifferentValues() {
+      Query query1 =
+          new QueryBuilder(templateCache)
+              .select()
+              .from("ks", "tbl")
+              .where(
+                  ExpressionUtils.andOf(
+                      Variable.of(
+                          BuiltCondition.of(
+                              ConditionLHS.mapAccess("query_text_values", "name"),
+                              BuiltConditionPredicate.EQ,
+                              new JsonTerm("name", "testName"))),
+                      Variable.of(
+                          BuiltCondition.of(
+                              "age", BuiltConditionPredicate.EQ, new JsonTerm("testAge")))))
+              .build();
+      Query query2 =
+          new QueryBuilder(templateCache)
+              .select()
+              .from("ks", "tbl")
+              .where(
+                  ExpressionUtils.andOf(
+                      Variable.of(
+                          BuiltCondition.of(
+                              ConditionLHS.mapAccess("query_text_values", "city"),
+                              BuiltConditionPredicate.EQ,
+                              new JsonTerm("city", "otherCity"))),
+                      Variable.of(
+                          BuiltCondition.of(
+                              "age", BuiltConditionPredicate.EQ, new JsonTerm("otherAge")))))
+              .build();
+
+      assertThat(query1.cql())
+          .isEqualTo("SELECT * FROM ks.tbl WHERE (query_text_values[?] = ? AND age = ?)");
+      // same shape, so the text comes from the template cache
+      assertThat(query2.cql()).isSameAs(query1.cql());
+      assertThat(query1.values()).containsExactly("name", "testName", "testAge");
+      assertThat(query2.values()).containsExactly("city", "otherCity", "otherAge");
+    }
+
+    @Test
+    public void differentShapeDifferentCql() {
+      Query query1 =
+          new QueryBuilder()
+              .select()
+              .from("ks", "tbl")
+              .where(
+                  Variable.of(
+                      BuiltCondition.of("age", BuiltConditionPredicate.EQ, new JsonTerm("1"))))
+              .build();
+      Query query2 =
+          new QueryBuilder()
+              .select()
+              .from("ks", "tbl")
+              .where(
+                  Variable.of(
+                      BuiltCondition.of("age", BuiltConditionPredicate.GT, new JsonTerm("1"))))
+              .build();
+
+      assertThat(query1.cql()).isEqualTo("SELECT * FROM ks.tbl WHERE age = ?");
+      assertThat(query2.cql()).isEqualTo("SELECT * FROM ks.tbl WHERE age > ?");
+    }
+  }
+
+    @Test
+    public void differentLimitsShareTemplate() {
+      Query query1 =
+          new QueryBuilder(templateCache)
+              .select()
+              .column("key")
+              .from("ks", "tbl")
+              .where(
+                  Variable.of(
+                      BuiltCondition.of("age", BuiltConditionPredicate.EQ, new JsonTerm("1"))))
+              .limit(1)
+              .build();
+      Query query2 =
+          new QueryBuilder(templateCache)
+              .select()
+              .column("key")
+              .from("ks", "tbl")
+              .where(
+                  Variable.of(
+                      BuiltCondition.of("age", BuiltConditionPredicate.EQ, new JsonTerm("2"))))
+              .limit(20)
+              .build();
+
+      assertThat(query1.cql()).isEqualTo("SELECT key FROM ks.tbl WHERE age = ? LIMIT 1");
+      assertThat(query2.cql()).isEqualTo("SELECT key FROM ks.tbl WHERE age = ? LIMIT 20");
+      assertThat(templateCache.estimatedSize()).isEqualTo(1);
+    }
   }
 }
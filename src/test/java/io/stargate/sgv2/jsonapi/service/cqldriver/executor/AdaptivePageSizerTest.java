@@ -0,0 +1,105 @@
+package io.stargate.sgv2.jsonapi.service.cqldriver.executor;
+
+import static io.stargate.sgv2.jsonapi.metrics.MetricsConstants.MetricNames.ADAPTIVE_PAGE_SIZE_METRIC;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.ExecutionInfo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.mutiny.Uni;
+import io.stargate.sgv2.jsonapi.TestConstants;
+import io.stargate.sgv2.jsonapi.config.OperationsConfig;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+public class AdaptivePageSizerTest {
+
+  private static final TestConstants TEST_CONSTANTS = new TestConstants();
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final AdaptivePageSizer.SharedState sharedState = new AdaptivePageSizer.SharedState();
+
+  private AdaptivePageSizer sizer(long targetPageBytes, int minSamples) {
+    var config = mock(OperationsConfig.QueriesConfig.AdaptivePagingConfig.class);
+    when(config.enabled()).thenReturn(true);
+    when(config.targetPageBytes()).thenReturn(targetPageBytes);
+    when(config.targetPageLatencyMillis()).thenReturn(Duration.ofMinutes(1).toMillis());
+    when(config.minPageSize()).thenReturn(20);
+    when(config.maxPageSize()).thenReturn(2000);
+    when(config.minSamples()).thenReturn(minSamples);
+    return new AdaptivePageSizer(
+        config, meterRegistry, TEST_CONSTANTS.COLLECTION_IDENTIFIER, sharedState);
+  }
+
+  private AsyncResultSet page(int rows, int bytes) {
+    var executionInfo = mock(ExecutionInfo.class);
+    when(executionInfo.getResponseSizeInBytes()).thenReturn(bytes);
+    var page = mock(AsyncResultSet.class);
+    when(page.remaining()).thenReturn(rows);
+    when(page.getExecutionInfo()).thenReturn(executionInfo);
+    return page;
+  }
+
+  private void read(AdaptivePageSizer sizer, AsyncResultSet page, int times) {
+    for (int i = 0; i < times; i++) {
+      sizer.measured(() -> Uni.createFrom().item(page)).await().indefinitely();
+    }
+  }
+
+  @Test
+  public void configuredPageSizeUntilMinSamples() {
+    var sizer = sizer(100_000, 3);
+    read(sizer, page(100, 100_000), 2);
+
+    assertThat(sizer.pageSize(100, 10_000)).isEqualTo(100);
+    assertThat(sizer.pageSize(100, 50)).isEqualTo(50);
+    assertThat(meterRegistry.find(ADAPTIVE_PAGE_SIZE_METRIC).summary()).isNull();
+  }
+
+  @Test
+  public void sizedFromBytesPerRow() {
+    var sizer = sizer(100_000, 3);
+
+    // small rows, 100 bytes each, fewer round trips
+    read(sizer, page(100, 10_000), 3);
+    assertThat(sizer.pageSize(100, 10_000)).isEqualTo(1000);
+    assertThat(meterRegistry.get(ADAPTIVE_PAGE_SIZE_METRIC).summary().count()).isEqualTo(1);
+
+    // never more than the caller can use
+    assertThat(sizer.pageSize(100, 300)).isEqualTo(300);
+  }
+
+  @Test
+  public void clampedToMinAndMax() {
+    var wideRows = sizer(100_000, 1);
+    read(wideRows, page(10, 1_000_000), 1);
+    assertThat(wideRows.pageSize(100, 10_000)).isEqualTo(20);
+
+    var tinyRows = sizer(100_000_000, 1);
+    read(tinyRows, page(100, 100), 1);
+    assertThat(tinyRows.pageSize(100, 10_000)).isEqualTo(2000);
+  }
+
+  @Test
+  public void unknownSizeAndEmptyPagesIgnored() {
+    var sizer = sizer(100_000, 1);
+    read(sizer, page(100, -1), 5);
+    read(sizer, page(0, 1000), 5);
+
+    assertThat(sizer.pageSize(100, 10_000)).isEqualTo(100);
+  }
+
+  @Test
+  public void latencyLimitsPageSize() {
+    var stats = new AdaptivePageSizer.PageStats();
+    // 1 ms per row
+    stats.record(100, 10_000, Duration.ofMillis(100).toNanos());
+
+    assertThat(stats.estimatePageSize(1, 1_000_000, Duration.ofMillis(50).toNanos()))
+        .isEqualTo(50);
+    assertThat(stats.estimatePageSize(2, 1_000_000, Duration.ofMillis(50).toNanos()))
+        .isEqualTo(-1);
+  }
+}
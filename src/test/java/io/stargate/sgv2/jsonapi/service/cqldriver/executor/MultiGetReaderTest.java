@@ -0,0 +1,126 @@
+package io.stargate.sgv2.jsonapi.service.cqldriver.executor;
+
+import static io.stargate.sgv2.jsonapi.metrics.MetricsConstants.MetricNames.MULTI_GET_FAN_OUT_METRIC;
+import static io.stargate.sgv2.jsonapi.metrics.MetricsConstants.MetricNames.MULTI_GET_KEYS_METRIC;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.datastax.oss.driver.api.core.metadata.Metadata;
+import com.datastax.oss.driver.api.core.metadata.Node;
+import com.datastax.oss.driver.api.core.metadata.TokenMap;
+import com.datastax.oss.driver.api.core.metadata.token.Token;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.helpers.test.AssertSubscriber;
+import io.stargate.sgv2.jsonapi.TestConstants;
+import io.stargate.sgv2.jsonapi.config.OperationsConfig;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+public class MultiGetReaderTest {
+
+  private static final TestConstants TEST_CONSTANTS = new TestConstants();
+  private static final CqlIdentifier KEYSPACE = CqlIdentifier.fromInternal("ks");
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private MultiGetReader reader(int maxConcurrency) {
+    var config = mock(OperationsConfig.QueriesConfig.MultiGetConfig.class);
+    when(config.enabled()).thenReturn(true);
+    when(config.maxConcurrency()).thenReturn(maxConcurrency);
+    return new MultiGetReader(config, meterRegistry, TEST_CONSTANTS.COLLECTION_IDENTIFIER);
+  }
+
+  private static SimpleStatement statement(int key) {
+    return SimpleStatement.newInstance("SELECT * FROM ks.coll WHERE key = ?", key)
+        .setRoutingKeyspace(KEYSPACE)
+        .setRoutingKey(ByteBuffer.wrap(new byte[] {(byte) key}));
+  }
+
+  private static List<SimpleStatement> statements(int count) {
+    return IntStream.range(0, count).mapToObj(MultiGetReaderTest::statement).toList();
+  }
+
+  /** Token map where the replica for each statement is the node at the same index. */
+  private static TokenMap tokenMap(List<SimpleStatement> statements, List<Node> replicas) {
+    var tokenMap = mock(TokenMap.class);
+    for (int i = 0; i < statements.size(); i++) {
+      var token = mock(Token.class);
+      when(tokenMap.newToken(statements.get(i).getRoutingKey())).thenReturn(token);
+      when(tokenMap.getReplicas(KEYSPACE, token)).thenReturn(Set.of(replicas.get(i)));
+    }
+    return tokenMap;
+  }
+
+  @Test
+  public void groupsByReplica() {
+    var statements = statements(5);
+    var nodeA = mock(Node.class);
+    var nodeB = mock(Node.class);
+    var tokenMap = tokenMap(statements, List.of(nodeA, nodeB, nodeA, nodeB, nodeA));
+
+    var groups = MultiGetReader.groupByReplica(Optional.of(tokenMap), statements);
+
+    assertThat(groups).containsExactly(List.of(0, 2, 4), List.of(1, 3));
+  }
+
+  @Test
+  public void noTokenMapEachReadInOwnGroup() {
+    var groups = MultiGetReader.groupByReplica(Optional.empty(), statements(3));
+
+    assertThat(groups).containsExactly(List.of(0), List.of(1), List.of(2));
+  }
+
+  @Test
+  public void interleavesGroups() {
+    var interleaved =
+        MultiGetReader.interleave(List.of(List.of(0, 1, 2), List.of(3), List.of(4, 5)));
+
+    assertThat(interleaved).containsExactly(0, 3, 4, 1, 5, 2);
+  }
+
+  @Test
+  public void resultsInStatementOrderWithLimitedConcurrency() {
+    var statements = statements(4);
+    var resultSets = statements.stream().map(s -> mock(AsyncResultSet.class)).toList();
+    var dbReads = new ArrayList<CompletableFuture<AsyncResultSet>>();
+    var metadata = mock(Metadata.class);
+    when(metadata.getTokenMap()).thenReturn(Optional.empty());
+
+    var subscriber =
+        reader(2)
+            .execute(
+                TEST_CONSTANTS.TENANT,
+                metadata,
+                statements,
+                statement -> {
+                  var dbRead = new CompletableFuture<AsyncResultSet>();
+                  dbReads.add(dbRead);
+                  return Uni.createFrom().completionStage(dbRead);
+                })
+            .subscribe()
+            .withSubscriber(AssertSubscriber.create(Long.MAX_VALUE));
+
+    // only two reads run at once, complete them in reverse order
+    assertThat(dbReads).hasSize(2);
+    dbReads.get(1).complete(resultSets.get(1));
+    dbReads.get(0).complete(resultSets.get(0));
+    assertThat(dbReads).hasSize(4);
+    dbReads.get(3).complete(resultSets.get(3));
+    dbReads.get(2).complete(resultSets.get(2));
+
+    assertThat(subscriber.awaitCompletion().getItems()).containsExactlyElementsOf(resultSets);
+    assertThat(meterRegistry.get(MULTI_GET_FAN_OUT_METRIC).summary().totalAmount()).isEqualTo(4);
+    assertThat(meterRegistry.get(MULTI_GET_KEYS_METRIC).summary().totalAmount()).isEqualTo(4);
+  }
+}
@@ -0,0 +1,92 @@
+package io.stargate.sgv2.jsonapi.service.cqldriver.executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.helpers.test.AssertSubscriber;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+
+public class PagePrefetcherTest {
+
+  private final List<CompletableFuture<AsyncResultSet>> reads = new ArrayList<>();
+
+  /** Page <code>index</code> of <code>pageCount</code>, the index is returned from remaining(). */
+  private static AsyncResultSet page(int index, int pageCount) {
+    var resultSet = mock(AsyncResultSet.class);
+    when(resultSet.remaining()).thenReturn(index);
+    when(resultSet.hasMorePages()).thenReturn(index < pageCount - 1);
+    return resultSet;
+  }
+
+  private Uni<AsyncResultSet> read() {
+    var read = new CompletableFuture<AsyncResultSet>();
+    reads.add(read);
+    return Uni.createFrom().completionStage(read);
+  }
+
+  private Multi<AsyncResultSet> pages(int lookAhead) {
+    return PagePrefetcher.pages(this::read, previousPage -> read(), lookAhead);
+  }
+
+  @Test
+  public void pagesInOrder() {
+    var subscriber = pages(2).subscribe().withSubscriber(AssertSubscriber.create(10));
+    for (int i = 0; i < 3; i++) {
+      reads.get(i).complete(page(i, 3));
+    }
+
+    subscriber.awaitCompletion();
+    assertThat(subscriber.getItems())
+        .extracting(AsyncResultSet::remaining)
+        .containsExactly(0, 1, 2);
+    assertThat(reads).hasSize(3);
+  }
+
+  @Test
+  public void nextPageRequestedBeforeItIsNeeded() {
+    var subscriber = pages(1).subscribe().withSubscriber(AssertSubscriber.create(1));
+    reads.get(0).complete(page(0, 3));
+
+    subscriber.awaitItems(1);
+    // page 1 is read while page 0 is processed, before the next page is requested
+    assertThat(reads).hasSize(2);
+
+    reads.get(1).complete(page(1, 3));
+    subscriber.request(1).awaitItems(2);
+    assertThat(reads).hasSize(3);
+
+    reads.get(2).complete(page(2, 3));
+    subscriber.request(1).awaitCompletion();
+    assertThat(subscriber.getItems())
+        .extracting(AsyncResultSet::remaining)
+        .containsExactly(0, 1, 2);
+  }
+
+  @Test
+  public void noLookAheadReadsEachPageOnce() {
+    var subscriber = pages(0).subscribe().withSubscriber(AssertSubscriber.create(10));
+    reads.get(0).complete(page(0, 2));
+    reads.get(1).complete(page(1, 2));
+
+    subscriber.awaitCompletion();
+    assertThat(reads).hasSize(2);
+    assertThat(subscriber.getItems()).extracting(AsyncResultSet::remaining).containsExactly(0, 1);
+  }
+
+  @Test
+  public void failedPageFailsPages() {
+    var subscriber = pages(1).subscribe().withSubscriber(AssertSubscriber.create(10));
+    reads.get(0).complete(page(0, 3));
+    reads.get(1).completeExceptionally(new IllegalStateException("read failed"));
+
+    subscriber.awaitFailure().assertFailedWith(IllegalStateException.class, "read failed");
+    assertThat(subscriber.getItems()).hasSize(1);
+  }
+}
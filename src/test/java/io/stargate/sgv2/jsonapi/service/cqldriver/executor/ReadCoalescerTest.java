@@ -0,0 +1,164 @@
+package io.stargate.sgv2.jsonapi.service.cqldriver.executor;
+
+import static io.stargate.sgv2.jsonapi.metrics.MetricsConstants.MetricNames.COALESCED_READS_COLLAPSED_METRIC;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.helpers.test.UniAssertSubscriber;
+import io.stargate.sgv2.jsonapi.TestConstants;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+public class ReadCoalescerTest {
+
+  private static final TestConstants TEST_CONSTANTS = new TestConstants();
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final ReadCoalescer coalescer =
+      new ReadCoalescer(
+          meterRegistry, TEST_CONSTANTS.COLLECTION_IDENTIFIER, new ConcurrentHashMap<>());
+  private final AtomicInteger reads = new AtomicInteger();
+
+  private static SimpleStatement statement(Object value) {
+    return SimpleStatement.newInstance("SELECT * FROM ks.coll WHERE key = ?", value);
+  }
+
+  /** Result set where the page can only be iterated once, same as the driver. */
+  private static AsyncResultSet resultSet(List<Row> rows) {
+    var resultSet = mock(AsyncResultSet.class);
+    var iterator = rows.iterator();
+    when(resultSet.currentPage()).thenReturn(() -> iterator);
+    when(resultSet.remaining()).thenReturn(rows.size());
+    return resultSet;
+  }
+
+  private UniAssertSubscriber<AsyncResultSet> execute(
+      SimpleStatement statement, CompletableFuture<AsyncResultSet> dbRead) {
+    return coalescer
+        .execute(
+            TEST_CONSTANTS.requestContext(),
+            statement,
+            () -> {
+              reads.incrementAndGet();
+              return Uni.createFrom().completionStage(dbRead);
+            })
+        .subscribe()
+        .withSubscriber(UniAssertSubscriber.create());
+  }
+
+  @Test
+  public void collapsesInFlightReads() {
+    var dbRead = new CompletableFuture<AsyncResultSet>();
+    var first = execute(statement("a"), dbRead);
+    var second = execute(statement("a"), dbRead);
+    var third = execute(statement("a"), dbRead);
+
+    var rows = List.of(mock(Row.class), mock(Row.class));
+    dbRead.complete(resultSet(rows));
+
+    assertThat(reads).hasValue(1);
+    for (var subscriber : List.of(first, second, third)) {
+      var resultSet = subscriber.awaitItem().getItem();
+      assertThat(resultSet.remaining()).isEqualTo(2);
+      assertThat(resultSet.currentPage()).containsExactlyElementsOf(rows);
+      assertThat(resultSet.remaining()).isZero();
+    }
+    assertThat(meterRegistry.get(COALESCED_READS_COLLAPSED_METRIC).counter().count())
+        .isEqualTo(2);
+  }
+
+  @Test
+  public void eachResultSetReadsFromItsOwnPosition() {
+    var dbRead = new CompletableFuture<AsyncResultSet>();
+    var first = execute(statement("a"), dbRead);
+    var second = execute(statement("a"), dbRead);
+
+    var rows = List.of(mock(Row.class), mock(Row.class));
+    dbRead.complete(resultSet(rows));
+
+    var firstResultSet = first.awaitItem().getItem();
+    assertThat(firstResultSet.one()).isSameAs(rows.get(0));
+    assertThat(firstResultSet.remaining()).isEqualTo(1);
+    assertThat(firstResultSet.currentPage()).containsExactly(rows.get(1));
+    assertThat(firstResultSet.one()).isNull();
+
+    var secondResultSet = second.awaitItem().getItem();
+    assertThat(secondResultSet.remaining()).isEqualTo(2);
+    assertThat(secondResultSet.currentPage()).containsExactlyElementsOf(rows);
+  }
+
+  @Test
+  public void differentValuesNotCollapsed() {
+    var dbRead = new CompletableFuture<AsyncResultSet>();
+    execute(statement("a"), dbRead);
+    execute(statement("b"), dbRead);
+    execute(statement("a").setPageSize(7), dbRead);
+
+    assertThat(reads).hasValue(3);
+  }
+
+  @Test
+  public void completedReadNotReused() {
+    execute(statement("a"), CompletableFuture.completedFuture(resultSet(List.of()))).awaitItem();
+    execute(statement("a"), CompletableFuture.completedFuture(resultSet(List.of()))).awaitItem();
+
+    assertThat(reads).hasValue(2);
+  }
+
+  @Test
+  public void failurePassedToWaitingReads() {
+    var dbRead = new CompletableFuture<AsyncResultSet>();
+    var first = execute(statement("a"), dbRead);
+    var second = execute(statement("a"), dbRead);
+
+    dbRead.completeExceptionally(new IllegalStateException("read failed"));
+
+    first.awaitFailure().assertFailedWith(IllegalStateException.class, "read failed");
+    second.awaitFailure().assertFailedWith(IllegalStateException.class, "read failed");
+    assertThat(reads).hasValue(1);
+  }
+
+  @Test
+  public void cancelledFirstReadLetsWaitingReadRun() {
+    var firstRead = new CompletableFuture<AsyncResultSet>();
+    var first = execute(statement("a"), firstRead);
+    var secondRead = new CompletableFuture<AsyncResultSet>();
+    var second = execute(statement("a"), secondRead);
+
+    first.cancel();
+    var rows = List.of(mock(Row.class));
+    secondRead.complete(resultSet(rows));
+
+    assertThat(second.awaitItem().getItem().currentPage()).containsExactlyElementsOf(rows);
+    assertThat(reads).hasValue(2);
+  }
+
+  @Test
+  public void readThatThrowsIsRemoved() {
+    var thrown =
+        coalescer
+            .execute(
+                TEST_CONSTANTS.requestContext(),
+                statement("a"),
+                () -> {
+                  throw new IllegalStateException("no session");
+                })
+            .subscribe()
+            .withSubscriber(UniAssertSubscriber.create());
+    thrown.assertFailedWith(IllegalStateException.class, "no session");
+
+    // an identical read afterwards runs rather than waiting forever
+    execute(statement("a"), CompletableFuture.completedFuture(resultSet(List.of())))
+        .assertCompleted();
+    assertThat(reads).hasValue(1);
+  }
+}
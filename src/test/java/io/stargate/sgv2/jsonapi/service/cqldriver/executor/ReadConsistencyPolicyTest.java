@@ -0,0 +1,167 @@
+package io.stargate.sgv2.jsonapi.service.cqldriver.executor;
+
+import static com.datastax.oss.driver.api.core.DefaultConsistencyLevel.LOCAL_ONE;
+import static com.datastax.oss.driver.api.core.DefaultConsistencyLevel.LOCAL_QUORUM;
+import static io.stargate.sgv2.jsonapi.metrics.MetricsConstants.MetricNames.READ_CONSISTENCY_OVERRIDES_METRIC;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.DefaultConsistencyLevel;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.mutiny.Uni;
+import io.stargate.sgv2.jsonapi.TestConstants;
+import io.stargate.sgv2.jsonapi.api.request.RequestContext;
+import io.stargate.sgv2.jsonapi.config.OperationsConfig;
+import io.stargate.sgv2.jsonapi.exception.RequestException;
+import io.stargate.sgv2.jsonapi.service.cqldriver.CQLSessionCache;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+public class ReadConsistencyPolicyTest {
+
+  private static final TestConstants TEST_CONSTANTS = new TestConstants();
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private OperationsConfig.QueriesConfig.ConsistencyConfig config(
+      Map<String, DefaultConsistencyLevel> tenantReads,
+      Map<String, Map<String, DefaultConsistencyLevel>> collectionReads,
+      boolean headerEnabled) {
+    var config = mock(OperationsConfig.QueriesConfig.ConsistencyConfig.class);
+    when(config.tenantReads()).thenReturn(tenantReads);
+    when(config.collectionReads()).thenReturn(collectionReads);
+    when(config.readsHeaderEnabled()).thenReturn(headerEnabled);
+    when(config.readsHeaderAllowed()).thenReturn(List.of(LOCAL_ONE, LOCAL_QUORUM));
+    return config;
+  }
+
+  private ReadConsistencyPolicy resolve(
+      OperationsConfig.QueriesConfig.ConsistencyConfig config, String headerValue) {
+    return ReadConsistencyPolicy.resolve(
+        config,
+        meterRegistry,
+        TEST_CONSTANTS.TENANT,
+        TEST_CONSTANTS.COLLECTION_IDENTIFIER,
+        headerValue);
+  }
+
+  private Map<String, Map<String, DefaultConsistencyLevel>> collectionReads(
+      DefaultConsistencyLevel consistency) {
+    var identifier = TEST_CONSTANTS.COLLECTION_IDENTIFIER;
+    return Map.of(
+        identifier.keyspace().asInternal(), Map.of(identifier.table().asInternal(), consistency));
+  }
+
+  @Test
+  public void nothingSetUsesConfigured() {
+    assertThat(resolve(config(Map.of(), Map.of(), true), null)).isNull();
+  }
+
+  @Test
+  public void tenantConsistency() {
+    var config = config(Map.of(TEST_CONSTANTS.TENANT.toString(), LOCAL_ONE), Map.of(), false);
+
+    var policy = resolve(config, null);
+
+    assertThat(policy.consistency()).isEqualTo(LOCAL_ONE);
+    assertThat(policy.source()).isEqualTo(ReadConsistencyPolicy.Source.TENANT);
+  }
+
+  @Test
+  public void collectionTakesPrecedenceOverTenant() {
+    var config =
+        config(
+            Map.of(TEST_CONSTANTS.TENANT.toString(), LOCAL_ONE),
+            collectionReads(LOCAL_QUORUM),
+            false);
+
+    var policy = resolve(config, null);
+
+    assertThat(policy.consistency()).isEqualTo(LOCAL_QUORUM);
+    assertThat(policy.source()).isEqualTo(ReadConsistencyPolicy.Source.COLLECTION);
+  }
+
+  @Test
+  public void headerTakesPrecedenceWhenEnabled() {
+    var collectionReads = collectionReads(LOCAL_QUORUM);
+
+    var policy = resolve(config(Map.of(), collectionReads, true), "local_one");
+    assertThat(policy.consistency()).isEqualTo(LOCAL_ONE);
+    assertThat(policy.source()).isEqualTo(ReadConsistencyPolicy.Source.HEADER);
+
+    // header ignored when not enabled
+    policy = resolve(config(Map.of(), collectionReads, false), "LOCAL_ONE");
+    assertThat(policy.source()).isEqualTo(ReadConsistencyPolicy.Source.COLLECTION);
+  }
+
+  @Test
+  public void headerNotAllowedRejected() {
+    var config = config(Map.of(), Map.of(), true);
+
+    assertThatThrownBy(() -> resolve(config, "ALL"))
+        .isInstanceOf(RequestException.class)
+        .satisfies(
+            e ->
+                assertThat(((RequestException) e).code)
+                    .isEqualTo(RequestException.Code.UNSUPPORTED_READ_CONSISTENCY.name()));
+  }
+
+  @Test
+  public void appliedConsistencyCounted() {
+    var policy = resolve(config(Map.of(), Map.of(), true), "LOCAL_ONE");
+
+    var statement = policy.apply(SimpleStatement.newInstance("SELECT * FROM ks.coll"));
+
+    assertThat(statement.getConsistencyLevel()).isEqualTo(LOCAL_ONE);
+    var counter =
+        meterRegistry
+            .get(READ_CONSISTENCY_OVERRIDES_METRIC)
+            .tag("consistency", "LOCAL_ONE")
+            .tag("source", "header")
+            .counter();
+    assertThat(counter.count()).isEqualTo(1);
+  }
+
+  @Test
+  public void countsUseConsistency() {
+    var policy = resolve(config(Map.of(), Map.of(), true), "LOCAL_ONE");
+    var operationsConfig = mock(OperationsConfig.class, RETURNS_DEEP_STUBS);
+    when(operationsConfig.queriesConfig().consistency().reads()).thenReturn(LOCAL_QUORUM);
+    var session = mock(CqlSession.class);
+    when(session.executeAsync(any(Statement.class)))
+        .thenReturn(CompletableFuture.completedFuture(mock(AsyncResultSet.class)));
+    var cqlSessionCache = mock(CQLSessionCache.class);
+    when(cqlSessionCache.getSession(any(RequestContext.class)))
+        .thenReturn(Uni.createFrom().item(session));
+    var requestContext = mock(RequestContext.class);
+    when(requestContext.tenant()).thenReturn(TEST_CONSTANTS.TENANT);
+
+    var queryExecutor =
+        QueryExecutor.builder(cqlSessionCache, operationsConfig)
+            .exceptionHandlerFactory(statement -> mock(DriverExceptionHandler.class))
+            .readConsistencyPolicy(policy)
+            .build();
+    var statement = SimpleStatement.newInstance("SELECT * FROM ks.coll");
+    queryExecutor.executeCount(requestContext, statement).await().indefinitely();
+    queryExecutor.executeEstimatedCount(requestContext, statement).await().indefinitely();
+
+    var executed = ArgumentCaptor.forClass(SimpleStatement.class);
+    verify(session, times(2)).executeAsync(executed.capture());
+    assertThat(executed.getAllValues())
+        .extracting(SimpleStatement::getConsistencyLevel)
+        .containsExactly(LOCAL_ONE, LOCAL_ONE);
+  }
+}
@@ -0,0 +1,280 @@
+package io.stargate.sgv2.jsonapi.service.cqldriver.executor;
+
+import static io.stargate.sgv2.jsonapi.metrics.MetricsConstants.MetricNames.HEDGED_READS_SENT_METRIC;
+import static io.stargate.sgv2.jsonapi.metrics.MetricsConstants.MetricNames.HEDGED_READS_WON_METRIC;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.helpers.test.UniAssertSubscriber;
+import io.stargate.sgv2.jsonapi.TestConstants;
+import io.stargate.sgv2.jsonapi.config.OperationsConfig;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+public class ReadHedgerTest {
+
+  private static final TestConstants TEST_CONSTANTS = new TestConstants();
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final HedgedReadStats stats = new HedgedReadStats();
+
+  private ReadHedger hedger(int minSamples, int budgetBurst) {
+    var config = mock(OperationsConfig.QueriesConfig.HedgedReadsConfig.class);
+    when(config.enabled()).thenReturn(true);
+    when(config.percentile()).thenReturn(0.95);
+    when(config.minDelayMillis()).thenReturn(1L);
+    when(config.minSamples()).thenReturn(minSamples);
+    when(config.budgetRatio()).thenReturn(0.05);
+    when(config.budgetBurst()).thenReturn(budgetBurst);
+    return new ReadHedger(config, meterRegistry, TEST_CONSTANTS.COLLECTION_IDENTIFIER, stats);
+  }
+
+  private void warmUp(ReadHedger hedger, int reads) {
+    for (int i = 0; i < reads; i++) {
+      hedger
+          .execute(
+              TEST_CONSTANTS.requestContext(),
+              () -> Uni.createFrom().item(mock(AsyncResultSet.class)))
+          .await()
+          .indefinitely();
+    }
+  }
+
+  @Test
+  public void notHedgedUntilMinSamples() {
+    var hedger = hedger(10, 10);
+    var calls = new AtomicInteger();
+
+    for (int i = 0; i < 10; i++) {
+      hedger
+          .execute(
+              TEST_CONSTANTS.requestContext(),
+              () -> {
+                calls.incrementAndGet();
+                return Uni.createFrom().item(mock(AsyncResultSet.class));
+              })
+          .await()
+          .indefinitely();
+    }
+
+    assertThat(calls.get()).isEqualTo(10);
+    assertThat(meterRegistry.find(HEDGED_READS_SENT_METRIC).counter()).isNull();
+  }
+
+  @Test
+  public void hedgeWinsWhenPrimaryStalls() {
+    var hedger = hedger(10, 10);
+    warmUp(hedger, 10);
+
+    var hedgeResult = mock(AsyncResultSet.class);
+    var calls = new AtomicInteger();
+    var result =
+        hedger
+            .execute(
+                TEST_CONSTANTS.requestContext(),
+                () ->
+                    calls.getAndIncrement() == 0
+                        ? Uni.createFrom().nothing()
+                        : Uni.createFrom().item(hedgeResult))
+            .subscribe()
+            .withSubscriber(UniAssertSubscriber.create());
+
+    assertThat(result.awaitItem(Duration.ofSeconds(5)).getItem()).isSameAs(hedgeResult);
+    assertThat(calls.get()).isEqualTo(2);
+    assertThat(meterRegistry.find(HEDGED_READS_SENT_METRIC).counter().count()).isEqualTo(1);
+    assertThat(meterRegistry.find(HEDGED_READS_WON_METRIC).counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  public void failedHedgeDoesNotFailRead() {
+    var hedger = hedger(10, 10);
+    warmUp(hedger, 10);
+
+    var primaryResult = mock(AsyncResultSet.class);
+    var calls = new AtomicInteger();
+    var result =
+        hedger
+            .execute(
+                TEST_CONSTANTS.requestContext(),
+                () ->
+                    calls.getAndIncrement() == 0
+                        ? Uni.createFrom()
+                            .item(primaryResult)
+                            .onItem()
+                            .delayIt()
+                            .by(Duration.ofMillis(200))
+                        : Uni.createFrom().failure(new RuntimeException("hedge failed")))
+            .subscribe()
+            .withSubscriber(UniAssertSubscriber.create());
+
+    assertThat(result.awaitItem(Duration.ofSeconds(5)).getItem()).isSameAs(primaryResult);
+    assertThat(meterRegistry.find(HEDGED_READS_WON_METRIC).counter()).isNull();
+  }
+
+  /** Read that fails after the delay. */
+  private static Uni<AsyncResultSet> failsAfter(Duration delay, String message) {
+    return Uni.createFrom()
+        .<AsyncResultSet>nullItem()
+        .onItem()
+        .delayIt()
+        .by(delay)
+        .onItem()
+        .failWith(() -> new RuntimeException(message));
+  }
+
+  @Test
+  public void hedgeWinsWhenPrimaryFails() {
+    var hedger = hedger(10, 10);
+    warmUp(hedger, 10);
+
+    var hedgeResult = mock(AsyncResultSet.class);
+    var calls = new AtomicInteger();
+    var result =
+        hedger
+            .execute(
+                TEST_CONSTANTS.requestContext(),
+                () ->
+                    calls.getAndIncrement() == 0
+                        ? failsAfter(Duration.ofMillis(50), "primary failed")
+                        : Uni.createFrom()
+                            .item(hedgeResult)
+                            .onItem()
+                            .delayIt()
+                            .by(Duration.ofMillis(200)))
+            .subscribe()
+            .withSubscriber(UniAssertSubscriber.create());
+
+    assertThat(result.awaitItem(Duration.ofSeconds(5)).getItem()).isSameAs(hedgeResult);
+    assertThat(meterRegistry.find(HEDGED_READS_WON_METRIC).counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  public void failsWhenPrimaryAndHedgeFail() {
+    var hedger = hedger(10, 10);
+    warmUp(hedger, 10);
+
+    var calls = new AtomicInteger();
+    var result =
+        hedger
+            .execute(
+                TEST_CONSTANTS.requestContext(),
+                () ->
+                    calls.getAndIncrement() == 0
+                        ? failsAfter(Duration.ofMillis(50), "primary failed")
+                        : failsAfter(Duration.ofMillis(200), "hedge failed"))
+            .subscribe()
+            .withSubscriber(UniAssertSubscriber.create());
+
+    result
+        .awaitFailure(Duration.ofSeconds(5))
+        .assertFailedWith(RuntimeException.class, "hedge failed");
+    assertThat(calls.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void failsWhenPrimaryFailsBeforeHedge() {
+    var hedger = hedger(10, 10);
+    warmUp(hedger, 10);
+
+    var calls = new AtomicInteger();
+    var result =
+        hedger
+            .execute(
+                TEST_CONSTANTS.requestContext(),
+                () -> {
+                  calls.incrementAndGet();
+                  return Uni.createFrom().failure(new RuntimeException("primary failed"));
+                })
+            .subscribe()
+            .withSubscriber(UniAssertSubscriber.create());
+
+    result
+        .awaitFailure(Duration.ofSeconds(5))
+        .assertFailedWith(RuntimeException.class, "primary failed");
+    assertThat(calls.get()).isEqualTo(1);
+    assertThat(meterRegistry.find(HEDGED_READS_SENT_METRIC).counter()).isNull();
+  }
+
+  @Test
+  public void primaryLatencyRecordedWhenHedgeWins() {
+    var hedger = hedger(10, 10);
+    warmUp(hedger, 10);
+
+    var calls = new AtomicInteger();
+    hedger
+        .execute(
+            TEST_CONSTANTS.requestContext(),
+            () ->
+                calls.getAndIncrement() == 0
+                    ? Uni.createFrom().nothing()
+                    : Uni.createFrom()
+                        .item(mock(AsyncResultSet.class))
+                        .onItem()
+                        .delayIt()
+                        .by(Duration.ofMillis(50)))
+        .await()
+        .atMost(Duration.ofSeconds(5));
+
+    // the primary had been running for at least as long as the hedge took when it was cancelled
+    var latencies = stats.latencies(TEST_CONSTANTS.COLLECTION_IDENTIFIER.fullName(), 10);
+    assertThat(latencies.percentileNanos(1.0))
+        .isGreaterThanOrEqualTo(Duration.ofMillis(50).toNanos());
+  }
+
+  @Test
+  public void noHedgeWithoutBudget() {
+    var hedger = hedger(10, 1);
+    warmUp(hedger, 10);
+
+    // first slow read uses the only token
+    var calls = new AtomicInteger();
+    hedger
+        .execute(
+            TEST_CONSTANTS.requestContext(),
+            () ->
+                calls.getAndIncrement() == 0
+                    ? Uni.createFrom().nothing()
+                    : Uni.createFrom().item(mock(AsyncResultSet.class)))
+        .await()
+        .atMost(Duration.ofSeconds(5));
+
+    var primaryResult = mock(AsyncResultSet.class);
+    calls.set(0);
+    var result =
+        hedger
+            .execute(
+                TEST_CONSTANTS.requestContext(),
+                () -> {
+                  calls.incrementAndGet();
+                  return Uni.createFrom()
+                      .item(primaryResult)
+                      .onItem()
+                      .delayIt()
+                      .by(Duration.ofMillis(100));
+                })
+            .await()
+            .atMost(Duration.ofSeconds(5));
+
+    assertThat(result).isSameAs(primaryResult);
+    assertThat(calls.get()).isEqualTo(1);
+    assertThat(meterRegistry.find(HEDGED_READS_SENT_METRIC).counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  public void latencyWindowPercentile() {
+    var window = new ReadHedger.LatencyWindow(4);
+    window.record(1);
+    window.record(2);
+    window.record(3);
+    assertThat(window.percentileNanos(0.5)).isEqualTo(-1);
+
+    window.record(4);
+    assertThat(window.percentileNanos(0.5)).isEqualTo(2);
+    assertThat(window.percentileNanos(1.0)).isEqualTo(4);
+  }
+}
@@ -7,11 +7,13 @@ import static org.mockito.Mockito.when;
 
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.junit.TestProfile;
+import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 import io.smallrye.mutiny.helpers.test.UniAssertSubscriber;
 import io.stargate.embedding.gateway.EmbeddingGateway;
 import io.stargate.embedding.gateway.EmbeddingService;
 import io.stargate.sgv2.jsonapi.TestConstants;
+import io.stargate.sgv2.jsonapi.config.OperationsConfig;
 import io.stargate.sgv2.jsonapi.exception.APIException;
 import io.stargate.sgv2.jsonapi.exception.EmbeddingProviderException;
 import io.stargate.sgv2.jsonapi.service.embedding.configuration.EmbeddingProvidersConfig;
@@ -239,4 +241,78 @@ public class EmbeddingGatewayClientTest {
               assertThat(exception.code).isEqualTo(apiException.code);
             });
   }
+
+  @Test
+  void streamSubBatchesInOrder() {
+
+    EmbeddingService embeddingService = mock(EmbeddingService.class);
+    // each response has one embedding per input, the value of the embedding is the input
+    when(embeddingService.embedStream(any()))
+        .thenAnswer(
+            invocation -> {
+              Multi<EmbeddingGateway.ProviderEmbedRequest> requests = invocation.getArgument(0);
+              return requests.map(
+                  request -> {
+                    var responseBuilder =
+                        EmbeddingGateway.EmbeddingResponse.newBuilder()
+                            .setBatchId(request.getBatchId())
+                            .setModelUsage(
+                                EmbeddingGateway.ModelUsage.newBuilder()
+                                    .setModelProvider(ModelProvider.OPENAI.apiName())
+                                    .setModelType(EmbeddingGateway.ModelUsage.ModelType.EMBEDDING)
+                                    .setModelName("test-model")
+                                    .setTenantId(testConstants.TENANT.toString())
+                                    .setInputType(EmbeddingGateway.ModelUsage.InputType.INDEX)
+                                    .setPromptTokens(1)
+                                    .setTotalTokens(1));
+                    for (String input : request.getEmbeddingRequest().getInputsList()) {
+                      responseBuilder.addEmbeddings(
+                          EmbeddingGateway.EmbeddingResponse.FloatEmbedding.newBuilder()
+                              .addEmbedding(Float.parseFloat(input)));
+                    }
+                    return responseBuilder.build();
+                  });
+            });
+
+    var gatewayConfig = mock(OperationsConfig.EmbeddingGatewayConfig.class);
+    when(gatewayConfig.streamingEnabled()).thenReturn(true);
+    when(gatewayConfig.streamingBatchSize()).thenReturn(2);
+    when(gatewayConfig.streamingMaxInFlight()).thenReturn(2);
+
+    EmbeddingGatewayClient embeddingGatewayClient =
+        new EmbeddingGatewayClient(
+            ModelProvider.OPENAI,
+            PROVIDER_CONFIG,
+            MODEL_CONFIG,
+            SERVICE_CONFIG,
+            1536,
+            Map.of(),
+            testConstants.TENANT,
+            "default",
+            embeddingService,
+            Map.of(),
+            TESTING_COMMAND_NAME,
+            gatewayConfig);
+
+    final EmbeddingProvider.BatchedEmbeddingResponse response =
+        embeddingGatewayClient
+            .vectorize(
+                1,
+                List.of("0", "1", "2", "3", "4"),
+                testConstants.EMBEDDING_CREDENTIALS,
+                EmbeddingGatewayClient.EmbeddingRequestType.INDEX)
+            .subscribe()
+            .withSubscriber(UniAssertSubscriber.create())
+            .awaitItem()
+            .getItem();
+
+    assertThat(response.batchId()).isEqualTo(1);
+    assertThat(response.embeddings()).hasSize(5);
+    for (int i = 0; i < 5; i++) {
+      assertThat(response.embeddings().get(i)).containsExactly((float) i);
+    }
+    // three sub-batches of 2, 2 and 1 texts
+    assertThat(response.modelUsage().batchCount()).isEqualTo(3);
+    assertThat(response.modelUsage().promptTokens()).isEqualTo(3);
+  }
 }
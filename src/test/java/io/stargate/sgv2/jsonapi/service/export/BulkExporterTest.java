@@ -0,0 +1,316 @@
+package io.stargate.sgv2.jsonapi.service.export;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.ExecutionInfo;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.datastax.oss.driver.api.core.metadata.schema.ColumnMetadata;
+import com.datastax.oss.driver.api.core.metadata.schema.TableMetadata;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.smallrye.mutiny.Uni;
+import io.stargate.sgv2.jsonapi.api.model.command.CommandConfig;
+import io.stargate.sgv2.jsonapi.api.model.command.CommandContext;
+import io.stargate.sgv2.jsonapi.api.model.command.CommandResult;
+import io.stargate.sgv2.jsonapi.api.model.command.ResponseData;
+import io.stargate.sgv2.jsonapi.api.model.command.clause.filter.FilterDefinition;
+import io.stargate.sgv2.jsonapi.api.model.command.impl.FindCommand;
+import io.stargate.sgv2.jsonapi.api.request.RequestContext;
+import io.stargate.sgv2.jsonapi.config.OperationsConfig;
+import io.stargate.sgv2.jsonapi.service.cqldriver.executor.QueryExecutor;
+import io.stargate.sgv2.jsonapi.service.processor.MeteredCommandProcessor;
+import io.stargate.sgv2.jsonapi.service.processor.TenantAdmissionController;
+import io.stargate.sgv2.jsonapi.service.schema.collections.CollectionSchemaObject;
+import io.stargate.sgv2.jsonapi.service.schema.tables.TableBasedSchemaObject;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+public class BulkExporterTest {
+
+  private static final String PAGE_2 = "AQ==";
+  private static final String PAGE_3 = "Ag==";
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final MeteredCommandProcessor commandProcessor = mock(MeteredCommandProcessor.class);
+  private final TenantAdmissionController admissionController =
+      mock(TenantAdmissionController.class);
+  private final QueryExecutor queryExecutor = mock(QueryExecutor.class);
+
+  // pages returned by the query executor, keyed by the segment start bound and paging state
+  private final Map<String, AsyncResultSet> pages = new HashMap<>();
+  private final List<CommandContext<CollectionSchemaObject>> findContexts = new ArrayList<>();
+
+  private CommandContext<CollectionSchemaObject> commandContext;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  public void setup() {
+    var exportConfig = mock(OperationsConfig.ExportConfig.class);
+    when(exportConfig.segments()).thenReturn(2);
+    when(exportConfig.parallelism()).thenReturn(1);
+    when(exportConfig.pageSize()).thenReturn(10);
+    var queriesConfig = mock(OperationsConfig.QueriesConfig.class);
+    when(queriesConfig.pagePrefetchLookAhead()).thenReturn(0);
+    var operationsConfig = mock(OperationsConfig.class);
+    when(operationsConfig.export()).thenReturn(exportConfig);
+    when(operationsConfig.queriesConfig()).thenReturn(queriesConfig);
+    var commandConfig = mock(CommandConfig.class);
+    when(commandConfig.get(OperationsConfig.class)).thenReturn(operationsConfig);
+
+    var partitionKey = mock(ColumnMetadata.class);
+    when(partitionKey.getName()).thenReturn(CqlIdentifier.fromInternal("key"));
+    var tableMetadata = mock(TableMetadata.class);
+    when(tableMetadata.getPartitionKey()).thenReturn(List.of(partitionKey));
+    var schemaObject = mock(CollectionSchemaObject.class);
+    when(schemaObject.keyspaceName()).thenReturn(CqlIdentifier.fromInternal("keyspace"));
+    when(schemaObject.tableName()).thenReturn(CqlIdentifier.fromInternal("collection"));
+    when(schemaObject.tableMetadata()).thenReturn(tableMetadata);
+
+    commandContext = mock(CommandContext.class);
+    when(commandContext.config()).thenReturn(commandConfig);
+    when(commandContext.requestContext()).thenReturn(mock(RequestContext.class));
+    when(commandContext.schemaObject()).thenReturn(schemaObject);
+    when(commandContext.isCollectionContext()).thenReturn(true);
+
+    when(admissionController.admitPage(any(), any()))
+        .thenAnswer(invocation -> invocation.<Supplier<Uni<?>>>getArgument(1).get());
+    when(queryExecutor.executeScanRead(any(), any(), any(), anyInt(), anyInt()))
+        .thenAnswer(
+            invocation -> {
+              SimpleStatement statement = invocation.getArgument(1);
+              Optional<String> pagingState = invocation.getArgument(2);
+              var page = pages.get(pageKey(statement, pagingState.orElse(null)));
+              return page == null
+                  ? Uni.createFrom().failure(new IllegalStateException("no page " + pagingState))
+                  : Uni.createFrom().item(page);
+            });
+  }
+
+  private BulkExporter exporter() {
+    Supplier<CommandContext<? extends TableBasedSchemaObject>> findContextSupplier =
+        () -> {
+          @SuppressWarnings("unchecked")
+          CommandContext<CollectionSchemaObject> findContext = mock(CommandContext.class);
+          findContexts.add(findContext);
+          return findContext;
+        };
+    return new BulkExporter(
+        commandContext, findContextSupplier, commandProcessor, admissionController, objectMapper) {
+      @Override
+      QueryExecutor scanQueryExecutor() {
+        return queryExecutor;
+      }
+    };
+  }
+
+  private static String pageKey(SimpleStatement statement, String pagingState) {
+    return statement.getPositionalValues().get(0) + "/" + pagingState;
+  }
+
+  private static String pageKey(int segment, String pagingState) {
+    return BulkExporter.segmentBound(segment, 2) + "/" + pagingState;
+  }
+
+  private static Row row(String document) {
+    var row = mock(Row.class);
+    when(row.getString(0)).thenReturn(document);
+    return row;
+  }
+
+  /** A page of <code>doc_json</code> rows, the last page if there is no next paging state. */
+  private static AsyncResultSet page(String nextPagingState, String... documents) {
+    var page = mock(AsyncResultSet.class);
+    List<Row> rows = Arrays.stream(documents).map(BulkExporterTest::row).toList();
+    when(page.currentPage()).thenReturn(rows);
+    when(page.remaining()).thenReturn(rows.size());
+    when(page.hasMorePages()).thenReturn(nextPagingState != null);
+    if (nextPagingState != null) {
+      var executionInfo = mock(ExecutionInfo.class);
+      when(executionInfo.getPagingState())
+          .thenReturn(ByteBuffer.wrap(Base64.getDecoder().decode(nextPagingState)));
+      when(page.getExecutionInfo()).thenReturn(executionInfo);
+    }
+    return page;
+  }
+
+  private static String checkpointLine(String checkpoint) {
+    return "{\"$checkpoint\":\"" + checkpoint + "\"}";
+  }
+
+  @Test
+  public void segmentPagesReadsAllPages() {
+    var statement = SimpleStatement.newInstance("select", 0L, 100L);
+    pages.put(pageKey(statement, null), page(PAGE_2, "{\"_id\":1}", "{\"_id\":2}"));
+    pages.put(pageKey(statement, PAGE_2), page(PAGE_3, "{\"_id\":3}"));
+    pages.put(pageKey(statement, PAGE_3), page(null));
+
+    var exported =
+        exporter()
+            .segmentPages(queryExecutor, statement, 3, null, row -> row.getString(0))
+            .collect()
+            .asList()
+            .await()
+            .indefinitely();
+
+    assertThat(exported)
+        .containsExactly(
+            new BulkExporter.ExportedPage(3, List.of("{\"_id\":1}", "{\"_id\":2}"), PAGE_2),
+            new BulkExporter.ExportedPage(3, List.of("{\"_id\":3}"), PAGE_3),
+            new BulkExporter.ExportedPage(3, List.of(), null));
+    // each page read is admitted on its own
+    verify(admissionController, times(3)).admitPage(eq(commandContext), any());
+  }
+
+  @Test
+  public void scanReadsEachSegment() {
+    pages.put(pageKey(0, null), page(PAGE_2, "{\"_id\":1}"));
+    pages.put(pageKey(0, PAGE_2), page(null, "{\"_id\":2}"));
+    pages.put(pageKey(1, null), page(null, "{\"_id\":3}"));
+
+    var lines =
+        exporter().export(ExportRequest.EXPORT_ALL).collect().asList().await().indefinitely();
+
+    assertThat(lines)
+        .containsExactly(
+            "{\"_id\":1}",
+            checkpointLine("v1.AQ==."),
+            "{\"_id\":2}",
+            checkpointLine("v1.-."),
+            "{\"_id\":3}",
+            checkpointLine("v1.-.-"));
+
+    var statement = ArgumentCaptor.forClass(SimpleStatement.class);
+    verify(queryExecutor, times(3))
+        .executeScanRead(any(), statement.capture(), any(), eq(10), anyInt());
+    // the segments split the token ring, and the CQL reads the tokens of the range
+    assertThat(statement.getAllValues())
+        .extracting(SimpleStatement::getPositionalValues)
+        .containsExactly(
+            List.of(Long.MIN_VALUE, -1L),
+            List.of(Long.MIN_VALUE, -1L),
+            List.of(-1L, Long.MAX_VALUE));
+    assertThat(statement.getValue().getQuery())
+        .isEqualTo(
+            "SELECT doc_json FROM keyspace.collection"
+                + " WHERE token(key)>? AND token(key)<=?");
+  }
+
+  @Test
+  public void scanResumesFromCheckpoint() {
+    pages.put(pageKey(1, PAGE_2), page(null, "{\"_id\":4}"));
+
+    var lines =
+        exporter()
+            .export(new ExportRequest(null, null, "v1.-." + PAGE_2))
+            .collect()
+            .asList()
+            .await()
+            .indefinitely();
+
+    // the done segment is not read, and the other continues from its paging state
+    assertThat(lines).containsExactly("{\"_id\":4}", checkpointLine("v1.-.-"));
+    verify(queryExecutor, times(1))
+        .executeScanRead(any(), any(), eq(Optional.of(PAGE_2)), anyInt(), anyInt());
+  }
+
+  @Test
+  public void scanFailureIsLastLine() {
+    pages.put(pageKey(0, null), page(null, "{\"_id\":1}"));
+
+    var lines =
+        exporter().export(ExportRequest.EXPORT_ALL).collect().asList().await().indefinitely();
+
+    // no page for the second segment
+    assertThat(lines).hasSize(3);
+    assertThat(lines.get(2)).contains("\"errors\"");
+  }
+
+  private static CommandResult findResult(String nextPageState, JsonNode... documents) {
+    return new CommandResult(
+        new ResponseData.MultiResponseData(List.of(documents), nextPageState), Map.of(), List.of());
+  }
+
+  @Test
+  public void findRunsCommandForEachPage() throws Exception {
+    var first = objectMapper.createObjectNode().put("_id", 1);
+    var second = objectMapper.createObjectNode().put("_id", 2);
+    List<FindCommand> commands = new ArrayList<>();
+    when(commandProcessor.processCommand(any(), any(FindCommand.class)))
+        .thenAnswer(
+            invocation -> {
+              FindCommand command = invocation.getArgument(1);
+              commands.add(command);
+              return Uni.createFrom()
+                  .item(
+                      command.options().pageState() == null
+                          ? findResult("next-page", first)
+                          : findResult(null, second));
+            });
+
+    var filter = objectMapper.createObjectNode().put("status", "active");
+    var lines =
+        exporter()
+            .export(new ExportRequest(new FilterDefinition(filter), null, null))
+            .collect()
+            .asList()
+            .await()
+            .indefinitely();
+
+    assertThat(lines).containsExactly("{\"_id\":1}", checkpointLine("next-page"), "{\"_id\":2}");
+    assertThat(commands)
+        .extracting(command -> command.options().pageState())
+        .containsExactly(null, "next-page");
+    // all fields by default, same as the scan
+    assertThat(commands.get(0).projectionDefinition())
+        .isEqualTo(objectMapper.createObjectNode().put("*", 1));
+
+    // a context for each command, closed when the command completes
+    assertThat(findContexts).hasSize(2).doesNotHaveDuplicates();
+    for (var findContext : findContexts) {
+      verify(commandProcessor).processCommand(eq(findContext), any(FindCommand.class));
+      verify(findContext).close();
+    }
+    verify(commandProcessor, never()).processCommand(eq(commandContext), any());
+    verify(queryExecutor, never()).executeScanRead(any(), any(), any(), anyInt(), anyInt());
+  }
+
+  @Test
+  public void documentWriterWithoutProjection() {
+    var document = "{\"_id\":1,  \"name\":\"a\"}";
+
+    // the stored document is written unchanged
+    assertThat(exporter().documentWriter(null).apply(row(document))).isEqualTo(document);
+  }
+
+  @Test
+  public void documentWriterWithProjection() {
+    var projection = objectMapper.createObjectNode().put("name", 1);
+
+    assertThat(
+            exporter()
+                .documentWriter(projection)
+                .apply(row("{\"_id\":1,\"name\":\"a\",\"other\":true}")))
+        .isEqualTo("{\"_id\":1,\"name\":\"a\"}");
+  }
+}
@@ -0,0 +1,63 @@
+package io.stargate.sgv2.jsonapi.service.export;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.stargate.sgv2.jsonapi.exception.RequestException;
+import org.junit.jupiter.api.Test;
+
+public class ExportCheckpointTest {
+
+  @Test
+  public void startHasAllSegmentsNotStarted() {
+    var checkpoint = ExportCheckpoint.start(3);
+
+    assertThat(checkpoint.segmentCount()).isEqualTo(3);
+    for (int i = 0; i < 3; i++) {
+      assertThat(checkpoint.isDone(i)).isFalse();
+      assertThat(checkpoint.pagingState(i)).isNull();
+    }
+  }
+
+  @Test
+  public void encodeAndParse() {
+    var checkpoint = ExportCheckpoint.start(3);
+    checkpoint.pageExported(0, "AAEC+/8=");
+    checkpoint.pageExported(2, null);
+
+    var parsed = ExportCheckpoint.parse(checkpoint.encode());
+
+    assertThat(parsed.segmentCount()).isEqualTo(3);
+    assertThat(parsed.pagingState(0)).isEqualTo("AAEC+/8=");
+    assertThat(parsed.isDone(0)).isFalse();
+    assertThat(parsed.pagingState(1)).isNull();
+    assertThat(parsed.isDone(1)).isFalse();
+    assertThat(parsed.isDone(2)).isTrue();
+    assertThat(parsed.encode()).isEqualTo(checkpoint.encode());
+  }
+
+  @Test
+  public void parseInvalid() {
+    for (var invalid : new String[] {"", "v1", "v2.-", "find-page-state", "v1.abc$"}) {
+      assertThatThrownBy(() -> ExportCheckpoint.parse(invalid))
+          .as("checkpoint '%s'", invalid)
+          .isInstanceOf(RequestException.class)
+          .hasFieldOrPropertyWithValue(
+              "code", RequestException.Code.COMMAND_FIELD_VALUE_INVALID.name());
+    }
+  }
+
+  @Test
+  public void segmentBoundsCoverRing() {
+    assertThat(BulkExporter.segmentBound(0, 16)).isEqualTo(Long.MIN_VALUE);
+    assertThat(BulkExporter.segmentBound(16, 16)).isEqualTo(Long.MAX_VALUE);
+    assertThat(BulkExporter.segmentBound(1, 2)).isEqualTo(-1L);
+
+    long previous = Long.MIN_VALUE;
+    for (int i = 1; i <= 7; i++) {
+      long bound = BulkExporter.segmentBound(i, 7);
+      assertThat(bound).isGreaterThan(previous);
+      previous = bound;
+    }
+  }
+}
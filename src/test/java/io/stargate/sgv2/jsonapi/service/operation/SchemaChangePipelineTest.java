@@ -0,0 +1,216 @@
+package io.stargate.sgv2.jsonapi.service.operation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.ExecutionInfo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.mutiny.Uni;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+public class SchemaChangePipelineTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private SchemaChangePipeline pipeline(Duration maxWait, int concurrency) {
+    return new SchemaChangePipeline(maxWait, Duration.ofMillis(5), concurrency, meterRegistry);
+  }
+
+  private static AsyncResultSet resultSet(boolean schemaInAgreement) {
+    var executionInfo = mock(ExecutionInfo.class);
+    when(executionInfo.isSchemaInAgreement()).thenReturn(schemaInAgreement);
+    var resultSet = mock(AsyncResultSet.class);
+    when(resultSet.getExecutionInfo()).thenReturn(executionInfo);
+    return resultSet;
+  }
+
+  @Test
+  public void noCheckWhenDriverReportsAgreement() {
+    var checks = new AtomicInteger();
+
+    var agreed =
+        pipeline(Duration.ofSeconds(1), 1)
+            .awaitSchemaAgreement(
+                resultSet(true),
+                () -> {
+                  checks.incrementAndGet();
+                  return Uni.createFrom().item(false);
+                })
+            .await()
+            .indefinitely();
+
+    assertThat(agreed).isTrue();
+    assertThat(checks).hasValue(0);
+  }
+
+  @Test
+  public void pollsUntilAgreement() {
+    var checks = new AtomicInteger();
+
+    var agreed =
+        pipeline(Duration.ofSeconds(5), 1)
+            .awaitSchemaAgreement(
+                resultSet(false), () -> Uni.createFrom().item(checks.incrementAndGet() >= 3))
+            .await()
+            .indefinitely();
+
+    assertThat(agreed).isTrue();
+    assertThat(checks).hasValue(3);
+    assertThat(
+            meterRegistry
+                .get("schema.change.phase.duration")
+                .tag("phase", "schema.agreement")
+                .timer()
+                .count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  public void stopsWaitingAfterMaxWait() {
+    var agreed =
+        pipeline(Duration.ofMillis(30), 1)
+            .awaitSchemaAgreement(resultSet(false), () -> Uni.createFrom().item(false))
+            .await()
+            .atMost(Duration.ofSeconds(5));
+
+    assertThat(agreed).isFalse();
+  }
+
+  @Test
+  public void checkFailureDoesNotFail() {
+    var agreed =
+        pipeline(Duration.ofSeconds(1), 1)
+            .awaitSchemaAgreement(
+                resultSet(false),
+                () -> Uni.createFrom().failure(new IllegalStateException("no session")))
+            .await()
+            .indefinitely();
+
+    assertThat(agreed).isFalse();
+  }
+
+  @Test
+  public void noWaitWhenMaxWaitIsZero() {
+    var checks = new AtomicInteger();
+
+    var agreed =
+        pipeline(Duration.ZERO, 1)
+            .awaitSchemaAgreement(
+                resultSet(false),
+                () -> {
+                  checks.incrementAndGet();
+                  return Uni.createFrom().item(true);
+                })
+            .await()
+            .indefinitely();
+
+    assertThat(agreed).isFalse();
+    assertThat(checks).hasValue(0);
+  }
+
+  @Test
+  public void executeConcurrentlyIsBounded() {
+    var inFlight = new AtomicInteger();
+    var maxInFlight = new AtomicInteger();
+
+    var results =
+        pipeline(Duration.ZERO, 3)
+            .executeConcurrently(
+                IntStream.range(0, 10).boxed().toList(),
+                i ->
+                    Uni.createFrom()
+                        .item(i)
+                        .onItem()
+                        .invoke(
+                            () ->
+                                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max))
+                        .onItem()
+                        .delayIt()
+                        .by(Duration.ofMillis(10))
+                        .onItem()
+                        .invoke(inFlight::decrementAndGet))
+            .collect()
+            .asList()
+            .await()
+            .atMost(Duration.ofSeconds(5));
+
+    assertThat(results)
+        .containsExactlyInAnyOrderElementsOf(IntStream.range(0, 10).boxed().toList());
+    assertThat(maxInFlight.get()).isBetween(1, 3);
+  }
+
+  @Test
+  public void executeSequentiallyByDefault() {
+    var inFlight = new AtomicInteger();
+    var maxInFlight = new AtomicInteger();
+    List<Integer> started = new ArrayList<>();
+
+    var results =
+        pipeline(Duration.ZERO, 1)
+            .executeConcurrently(
+                IntStream.range(0, 5).boxed().toList(),
+                i ->
+                    Uni.createFrom()
+                        .item(i)
+                        .onItem()
+                        .invoke(
+                            () -> {
+                              started.add(i);
+                              maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                            })
+                        .onItem()
+                        .delayIt()
+                        // later changes complete sooner, they still run in order
+                        .by(Duration.ofMillis(10 - i))
+                        .onItem()
+                        .invoke(inFlight::decrementAndGet))
+            .collect()
+            .asList()
+            .await()
+            .atMost(Duration.ofSeconds(5));
+
+    assertThat(started).containsExactly(0, 1, 2, 3, 4);
+    assertThat(results).containsExactly(0, 1, 2, 3, 4);
+    assertThat(maxInFlight).hasValue(1);
+  }
+
+  @Test
+  public void timedRecordsFailures() {
+    var failed =
+        pipeline(Duration.ZERO, 1)
+            .timed(
+                SchemaChangePipeline.Phase.CREATE_TABLE,
+                Uni.createFrom().failure(new IllegalStateException("boom")));
+
+    var error = failed.onFailure().recoverWithItem(Throwable::getMessage).await().indefinitely();
+
+    assertThat(error).isEqualTo("boom");
+    assertThat(
+            meterRegistry
+                .get("schema.change.phase.duration")
+                .tag("phase", "create.table")
+                .timer()
+                .count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  public void noSchemaChanges() {
+    var results =
+        pipeline(Duration.ZERO, 2)
+            .executeConcurrently(List.<Integer>of(), i -> Uni.createFrom().item(i))
+            .collect()
+            .asList()
+            .await()
+            .indefinitely();
+
+    assertThat(results).isEmpty();
+  }
+}
@@ -0,0 +1,104 @@
+package io.stargate.sgv2.jsonapi.service.operation.collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import io.stargate.sgv2.jsonapi.api.model.command.CommandContext;
+import io.stargate.sgv2.jsonapi.service.schema.collections.CollectionSchemaObject;
+import io.stargate.sgv2.jsonapi.service.shredding.collections.DocumentShredder;
+import io.stargate.sgv2.jsonapi.service.shredding.collections.WritableShreddedDocument;
+import io.stargate.sgv2.jsonapi.testresource.NoGlobalResourcesTestProfile;
+import jakarta.inject.Inject;
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+@TestProfile(NoGlobalResourcesTestProfile.Impl.class)
+public class DocumentUpdateDeltaTest extends OperationTestBase {
+
+  private CommandContext<CollectionSchemaObject> commandContext;
+
+  @Inject DocumentShredder documentShredder;
+  @Inject ObjectMapper objectMapper;
+
+  @BeforeEach
+  public void beforeEach() {
+    super.beforeEach();
+    commandContext = createCommandContextWithCommandName("testCommand");
+  }
+
+  private WritableShreddedDocument shred(String json, UUID txId) throws Exception {
+    return documentShredder.shred(commandContext, objectMapper.readTree(json), txId);
+  }
+
+  private DocumentUpdateDelta delta(String before, String after) throws Exception {
+    var txId = UUID.randomUUID();
+    return new DocumentUpdateDelta(shred(before, null), shred(after, txId));
+  }
+
+  @Test
+  public void changedValueOnlyWritesThatEntry() throws Exception {
+    var delta =
+        delta(
+            """
+            {"_id": "doc1", "count": 1, "name": "Bob", "active": true}
+            """,
+            """
+            {"_id": "doc1", "count": 2, "name": "Bob", "active": true}
+            """);
+
+    assertThat(delta.changedEntries()).isEqualTo(1);
+    var statement = delta.bindUpdateValues("ks", "coll", false, false);
+    assertThat(statement.getQuery())
+        .isEqualTo(
+            """
+            UPDATE "ks"."coll" SET tx_id = now(),
+            query_dbl_values = query_dbl_values + ?,
+            doc_json = ?
+            WHERE key = ?
+            IF tx_id = ?""");
+    assertThat(statement.getPositionalValues().getFirst())
+        .isEqualTo(Map.of("count", new BigDecimal(2)));
+  }
+
+  @Test
+  public void removedFieldRemovesEntries() throws Exception {
+    var delta =
+        delta(
+            """
+            {"_id": "doc1", "count": 1, "name": "Bob"}
+            """,
+            """
+            {"_id": "doc1", "count": 1}
+            """);
+
+    assertThat(delta.changedEntries()).isEqualTo(2);
+    var statement = delta.bindUpdateValues("ks", "coll", false, false);
+    assertThat(statement.getQuery())
+        .contains("exist_keys = exist_keys - ?")
+        .contains("query_text_values = query_text_values - ?")
+        .doesNotContain("exist_keys + ?")
+        .doesNotContain("query_dbl_values");
+    assertThat(statement.getPositionalValues()).startsWith(Set.of("name"), Set.of("name"));
+  }
+
+  @Test
+  public void unchangedDocumentOnlyWritesDocJson() throws Exception {
+    var json =
+        """
+        {"_id": "doc1", "tags": ["a", "b"], "nested": {"x": null}}
+        """;
+    var delta = delta(json, json);
+
+    assertThat(delta.changedEntries()).isZero();
+    assertThat(delta.totalEntries()).isPositive();
+    assertThat(delta.bindUpdateValues("ks", "coll", false, false).getPositionalValues())
+        .hasSize(3);
+  }
+}
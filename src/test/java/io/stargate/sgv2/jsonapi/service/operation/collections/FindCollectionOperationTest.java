@@ -136,6 +136,7 @@ public class FindCollectionOperationTest extends OperationTestBase {
       AsyncResultSet results = new MockAsyncResultSet(KEY_TXID_JSON_COLUMNS, rows, null);
       final AtomicInteger callCount = new AtomicInteger();
       QueryExecutor queryExecutor = mock(QueryExecutor.class);
+      when(queryExecutor.executeReads(any(), any(), any())).thenCallRealMethod();
       when(queryExecutor.executeRead(eq(requestContext), eq(stmt), any(), anyInt()))
           .then(
               invocation -> {
@@ -271,6 +272,7 @@ public class FindCollectionOperationTest extends OperationTestBase {
       final AtomicInteger callCount1 = new AtomicInteger();
       final AtomicInteger callCount2 = new AtomicInteger();
       QueryExecutor queryExecutor = mock(QueryExecutor.class);
+      when(queryExecutor.executeReads(any(), any(), any())).thenCallRealMethod();
       when(queryExecutor.executeRead(eq(requestContext), eq(stmt1), any(), anyInt()))
           .then(
               invocation -> {
@@ -355,6 +357,7 @@ public class FindCollectionOperationTest extends OperationTestBase {
       final AtomicInteger callCount1 = new AtomicInteger();
       final AtomicInteger callCount2 = new AtomicInteger();
       QueryExecutor queryExecutor = mock(QueryExecutor.class);
+      when(queryExecutor.executeReads(any(), any(), any())).thenCallRealMethod();
       when(queryExecutor.executeRead(eq(requestContext), eq(stmt1), any(), anyInt()))
           .then(
               invocation -> {
@@ -417,6 +420,7 @@ public class FindCollectionOperationTest extends OperationTestBase {
           new DBLogicalExpression(DBLogicalExpression.DBLogicalOperator.AND);
       implicitAnd.addFilter(new IDCollectionFilter(IDCollectionFilter.Operator.IN, List.of()));
       QueryExecutor queryExecutor = mock(QueryExecutor.class);
+      when(queryExecutor.executeReads(any(), any(), any())).thenCallRealMethod();
 
       FindCollectionOperation operation =
           FindCollectionOperation.unsorted(
@@ -479,6 +483,7 @@ public class FindCollectionOperationTest extends OperationTestBase {
       final AtomicInteger callCount1 = new AtomicInteger();
       final AtomicInteger callCount2 = new AtomicInteger();
       QueryExecutor queryExecutor = mock(QueryExecutor.class);
+      when(queryExecutor.executeReads(any(), any(), any())).thenCallRealMethod();
       when(queryExecutor.executeRead(eq(requestContext), eq(stmt1), any(), anyInt()))
           .then(
               invocation -> {
@@ -563,6 +568,7 @@ public class FindCollectionOperationTest extends OperationTestBase {
       final AtomicInteger callCount1 = new AtomicInteger();
       final AtomicInteger callCount2 = new AtomicInteger();
       QueryExecutor queryExecutor = mock(QueryExecutor.class);
+      when(queryExecutor.executeReads(any(), any(), any())).thenCallRealMethod();
       when(queryExecutor.executeRead(eq(requestContext), eq(stmt1), any(), anyInt()))
           .then(
               invocation -> {
@@ -634,6 +640,7 @@ public class FindCollectionOperationTest extends OperationTestBase {
       AsyncResultSet results = new MockAsyncResultSet(KEY_TXID_JSON_COLUMNS, rows, null);
       final AtomicInteger callCount = new AtomicInteger();
       QueryExecutor queryExecutor = mock(QueryExecutor.class);
+      when(queryExecutor.executeReads(any(), any(), any())).thenCallRealMethod();
       when(queryExecutor.executeRead(eq(requestContext), eq(stmt), any(), anyInt()))
           .then(
               invocation -> {
@@ -686,6 +693,7 @@ public class FindCollectionOperationTest extends OperationTestBase {
       AsyncResultSet results = new MockAsyncResultSet(KEY_TXID_JSON_COLUMNS, List.of(), null);
       final AtomicInteger callCount = new AtomicInteger();
       QueryExecutor queryExecutor = mock(QueryExecutor.class);
+      when(queryExecutor.executeReads(any(), any(), any())).thenCallRealMethod();
       when(queryExecutor.executeRead(eq(requestContext), eq(stmt), any(), anyInt()))
           .then(
               invocation -> {
@@ -748,6 +756,7 @@ public class FindCollectionOperationTest extends OperationTestBase {
       AsyncResultSet results = new MockAsyncResultSet(KEY_TXID_JSON_COLUMNS, rows, null);
       final AtomicInteger callCount = new AtomicInteger();
       QueryExecutor queryExecutor = mock(QueryExecutor.class);
+      when(queryExecutor.executeReads(any(), any(), any())).thenCallRealMethod();
       when(queryExecutor.executeRead(eq(requestContext), eq(stmt), any(), anyInt()))
           .then(
               invocation -> {
@@ -810,6 +819,7 @@ public class FindCollectionOperationTest extends OperationTestBase {
       AsyncResultSet results = new MockAsyncResultSet(KEY_TXID_JSON_COLUMNS, rows, null);
       final AtomicInteger callCount = new AtomicInteger();
       QueryExecutor queryExecutor = mock(QueryExecutor.class);
+      when(queryExecutor.executeReads(any(), any(), any())).thenCallRealMethod();
       when(queryExecutor.executeRead(eq(requestContext), eq(stmt), any(), anyInt()))
           .then(
               invocation -> {
@@ -873,6 +883,7 @@ public class FindCollectionOperationTest extends OperationTestBase {
       AsyncResultSet results = new MockAsyncResultSet(KEY_TXID_JSON_COLUMNS, rows, null);
       final AtomicInteger callCount = new AtomicInteger();
       QueryExecutor queryExecutor = mock(QueryExecutor.class);
+      when(queryExecutor.executeReads(any(), any(), any())).thenCallRealMethod();
       when(queryExecutor.executeRead(eq(requestContext), eq(stmt), any(), anyInt()))
           .then(
               invocation -> {
@@ -937,6 +948,7 @@ public class FindCollectionOperationTest extends OperationTestBase {
       AsyncResultSet results = new MockAsyncResultSet(KEY_TXID_JSON_COLUMNS, rows, null);
       final AtomicInteger callCount = new AtomicInteger();
       QueryExecutor queryExecutor = mock(QueryExecutor.class);
+      when(queryExecutor.executeReads(any(), any(), any())).thenCallRealMethod();
       when(queryExecutor.executeRead(eq(requestContext), eq(stmt), any(), anyInt()))
           .then(
               invocation -> {
@@ -1001,6 +1013,7 @@ public class FindCollectionOperationTest extends OperationTestBase {
       AsyncResultSet results = new MockAsyncResultSet(KEY_TXID_JSON_COLUMNS, rows, null);
       final AtomicInteger callCount = new AtomicInteger();
       QueryExecutor queryExecutor = mock(QueryExecutor.class);
+      when(queryExecutor.executeReads(any(), any(), any())).thenCallRealMethod();
       when(queryExecutor.executeRead(eq(requestContext), eq(stmt), any(), anyInt()))
           .then(
               invocation -> {
@@ -1064,6 +1077,7 @@ public class FindCollectionOperationTest extends OperationTestBase {
       AsyncResultSet results = new MockAsyncResultSet(KEY_TXID_JSON_COLUMNS, rows, null);
       final AtomicInteger callCount = new AtomicInteger();
       QueryExecutor queryExecutor = mock(QueryExecutor.class);
+      when(queryExecutor.executeReads(any(), any(), any())).thenCallRealMethod();
       when(queryExecutor.executeRead(eq(requestContext), eq(stmt), any(), anyInt()))
           .then(
               invocation -> {
@@ -1127,6 +1141,7 @@ public class FindCollectionOperationTest extends OperationTestBase {
       AsyncResultSet results = new MockAsyncResultSet(KEY_TXID_JSON_COLUMNS, rows, null);
       final AtomicInteger callCount = new AtomicInteger();
       QueryExecutor queryExecutor = mock(QueryExecutor.class);
+      when(queryExecutor.executeReads(any(), any(), any())).thenCallRealMethod();
       when(queryExecutor.executeRead(eq(requestContext), eq(stmt), any(), anyInt()))
           .then(
               invocation -> {
@@ -1189,6 +1204,7 @@ public class FindCollectionOperationTest extends OperationTestBase {
       AsyncResultSet results = new MockAsyncResultSet(KEY_TXID_JSON_COLUMNS, rows, null);
       final AtomicInteger callCount = new AtomicInteger();
       QueryExecutor queryExecutor = mock(QueryExecutor.class);
+      when(queryExecutor.executeReads(any(), any(), any())).thenCallRealMethod();
       when(queryExecutor.executeRead(eq(requestContext), eq(stmt), any(), anyInt()))
           .then(
               invocation -> {
@@ -1251,6 +1267,7 @@ public class FindCollectionOperationTest extends OperationTestBase {
       AsyncResultSet results = new MockAsyncResultSet(KEY_TXID_JSON_COLUMNS, rows, null);
       final AtomicInteger callCount = new AtomicInteger();
       QueryExecutor queryExecutor = mock(QueryExecutor.class);
+      when(queryExecutor.executeReads(any(), any(), any())).thenCallRealMethod();
       when(queryExecutor.executeRead(eq(requestContext), eq(stmt), any(), anyInt()))
           .then(
               invocation -> {
@@ -1314,6 +1331,7 @@ public class FindCollectionOperationTest extends OperationTestBase {
       AsyncResultSet results = new MockAsyncResultSet(KEY_TXID_JSON_COLUMNS, rows, null);
       final AtomicInteger callCount = new AtomicInteger();
       QueryExecutor queryExecutor = mock(QueryExecutor.class);
+      when(queryExecutor.executeReads(any(), any(), any())).thenCallRealMethod();
       when(queryExecutor.executeRead(eq(requestContext), eq(stmt), any(), anyInt()))
           .then(
               invocation -> {
@@ -1382,6 +1400,7 @@ public class FindCollectionOperationTest extends OperationTestBase {
       AsyncResultSet results = new MockAsyncResultSet(KEY_TXID_JSON_COLUMNS, rows, null);
       final AtomicInteger callCount = new AtomicInteger();
       QueryExecutor queryExecutor = mock(QueryExecutor.class);
+      when(queryExecutor.executeReads(any(), any(), any())).thenCallRealMethod();
       when(queryExecutor.executeRead(eq(requestContext), eq(stmt), any(), anyInt()))
           .then(
               invocation -> {
@@ -1448,6 +1467,7 @@ public class FindCollectionOperationTest extends OperationTestBase {
       AsyncResultSet results = new MockAsyncResultSet(KEY_TXID_JSON_COLUMNS, rows, null);
       final AtomicInteger callCount = new AtomicInteger();
       QueryExecutor queryExecutor = mock(QueryExecutor.class);
+      when(queryExecutor.executeReads(any(), any(), any())).thenCallRealMethod();
       when(queryExecutor.executeRead(eq(requestContext), eq(stmt), any(), anyInt()))
           .then(
               invocation -> {
@@ -1515,6 +1535,7 @@ public class FindCollectionOperationTest extends OperationTestBase {
       AsyncResultSet results = new MockAsyncResultSet(KEY_TXID_JSON_COLUMNS, rows, null);
       final AtomicInteger callCount = new AtomicInteger();
       QueryExecutor queryExecutor = mock(QueryExecutor.class);
+      when(queryExecutor.executeReads(any(), any(), any())).thenCallRealMethod();
       when(queryExecutor.executeRead(eq(requestContext), eq(stmt), any(), anyInt()))
           .then(
               invocation -> {
@@ -1582,6 +1603,7 @@ public class FindCollectionOperationTest extends OperationTestBase {
       AsyncResultSet results = new MockAsyncResultSet(KEY_TXID_JSON_COLUMNS, rows, null);
       final AtomicInteger callCount = new AtomicInteger();
       QueryExecutor queryExecutor = mock(QueryExecutor.class);
+      when(queryExecutor.executeReads(any(), any(), any())).thenCallRealMethod();
       when(queryExecutor.executeRead(eq(requestContext), eq(stmt), any(), anyInt()))
           .then(
               invocation -> {
@@ -1648,6 +1670,7 @@ public class FindCollectionOperationTest extends OperationTestBase {
       AsyncResultSet results = new MockAsyncResultSet(KEY_TXID_JSON_COLUMNS, rows, null);
       final AtomicInteger callCount = new AtomicInteger();
       QueryExecutor queryExecutor = mock(QueryExecutor.class);
+      when(queryExecutor.executeReads(any(), any(), any())).thenCallRealMethod();
       when(queryExecutor.executeRead(eq(requestContext), eq(stmt), any(), anyInt()))
           .then(
               invocation -> {
@@ -1714,6 +1737,7 @@ public class FindCollectionOperationTest extends OperationTestBase {
       AsyncResultSet results = new MockAsyncResultSet(KEY_TXID_JSON_COLUMNS, rows, null);
       final AtomicInteger callCount = new AtomicInteger();
       QueryExecutor queryExecutor = mock(QueryExecutor.class);
+      when(queryExecutor.executeReads(any(), any(), any())).thenCallRealMethod();
       when(queryExecutor.executeRead(eq(requestContext), eq(stmt), any(), anyInt()))
           .then(
               invocation -> {
@@ -1774,6 +1798,7 @@ public class FindCollectionOperationTest extends OperationTestBase {
           SimpleStatement.newInstance(collectionReadCql, boundKeyForStatement("doc1"));
       final AtomicInteger callCount = new AtomicInteger();
       QueryExecutor queryExecutor = mock(QueryExecutor.class);
+      when(queryExecutor.executeReads(any(), any(), any())).thenCallRealMethod();
       when(queryExecutor.executeRead(eq(requestContext), eq(stmt), any(), anyInt()))
           .then(
               invocation -> {
@@ -1942,6 +1967,9 @@ public class FindCollectionOperationTest extends OperationTestBase {
       AsyncResultSet results = new MockAsyncResultSet(columnDefs, rows, null);
       final AtomicInteger callCount = new AtomicInteger();
       QueryExecutor queryExecutor = mock(QueryExecutor.class);
+      when(queryExecutor.executeReads(any(), any(), any())).thenCallRealMethod();
+      when(queryExecutor.executeScanRead(any(), any(), any(), anyInt(), anyInt()))
+          .thenCallRealMethod();
       when(queryExecutor.executeRead(eq(requestContext), eq(stmt), any(), anyInt()))
           .then(
               invocation -> {
@@ -2143,6 +2171,9 @@ public class FindCollectionOperationTest extends OperationTestBase {
       AsyncResultSet results = new MockAsyncResultSet(columnDefs, rows, null);
       final AtomicInteger callCount = new AtomicInteger();
       QueryExecutor queryExecutor = mock(QueryExecutor.class);
+      when(queryExecutor.executeReads(any(), any(), any())).thenCallRealMethod();
+      when(queryExecutor.executeScanRead(any(), any(), any(), anyInt(), anyInt()))
+          .thenCallRealMethod();
       when(queryExecutor.executeRead(eq(requestContext), eq(stmt), any(), anyInt()))
           .then(
               invocation -> {
@@ -2325,6 +2356,9 @@ public class FindCollectionOperationTest extends OperationTestBase {
       AsyncResultSet results = new MockAsyncResultSet(columnDefs, rows, null);
       final AtomicInteger callCount = new AtomicInteger();
       QueryExecutor queryExecutor = mock(QueryExecutor.class);
+      when(queryExecutor.executeReads(any(), any(), any())).thenCallRealMethod();
+      when(queryExecutor.executeScanRead(any(), any(), any(), anyInt(), anyInt()))
+          .thenCallRealMethod();
       when(queryExecutor.executeRead(eq(requestContext), eq(stmt), any(), anyInt()))
           .then(
               invocation -> {
@@ -2501,6 +2535,9 @@ public class FindCollectionOperationTest extends OperationTestBase {
       AsyncResultSet results = new MockAsyncResultSet(columnDefs, rows, null);
       final AtomicInteger callCount = new AtomicInteger();
       QueryExecutor queryExecutor = mock(QueryExecutor.class);
+      when(queryExecutor.executeReads(any(), any(), any())).thenCallRealMethod();
+      when(queryExecutor.executeScanRead(any(), any(), any(), anyInt(), anyInt()))
+          .thenCallRealMethod();
       when(queryExecutor.executeRead(eq(requestContext), eq(stmt), any(), anyInt()))
           .then(
               invocation -> {
@@ -2632,6 +2669,9 @@ public class FindCollectionOperationTest extends OperationTestBase {
     AsyncResultSet results = new MockAsyncResultSet(columnDefs, rows, null);
     final AtomicInteger callCount = new AtomicInteger();
     QueryExecutor queryExecutor = mock(QueryExecutor.class);
+    when(queryExecutor.executeReads(any(), any(), any())).thenCallRealMethod();
+    when(queryExecutor.executeScanRead(any(), any(), any(), anyInt(), anyInt()))
+        .thenCallRealMethod();
     when(queryExecutor.executeRead(eq(requestContext), eq(stmt), any(), anyInt()))
         .then(
             invocation -> {
@@ -2713,6 +2753,7 @@ public class FindCollectionOperationTest extends OperationTestBase {
       AsyncResultSet results = new MockAsyncResultSet(KEY_TXID_JSON_COLUMNS, rows, null);
       final AtomicInteger callCount = new AtomicInteger();
       QueryExecutor queryExecutor = mock(QueryExecutor.class);
+      when(queryExecutor.executeReads(any(), any(), any())).thenCallRealMethod();
       when(queryExecutor.executeVectorSearch(eq(requestContext), eq(stmt), any(), anyInt()))
           .then(
               invocation -> {
@@ -2788,6 +2829,7 @@ public class FindCollectionOperationTest extends OperationTestBase {
       AsyncResultSet results = new MockAsyncResultSet(KEY_TXID_JSON_COLUMNS, rows, null);
       final AtomicInteger callCount = new AtomicInteger();
       QueryExecutor queryExecutor = mock(QueryExecutor.class);
+      when(queryExecutor.executeReads(any(), any(), any())).thenCallRealMethod();
       when(queryExecutor.executeVectorSearch(eq(requestContext), eq(stmt), any(), anyInt()))
           .then(
               invocation -> {
@@ -2853,6 +2895,7 @@ public class FindCollectionOperationTest extends OperationTestBase {
       AsyncResultSet results = new MockAsyncResultSet(KEY_TXID_JSON_COLUMNS, rows, null);
       final AtomicInteger callCount = new AtomicInteger();
       QueryExecutor queryExecutor = mock(QueryExecutor.class);
+      when(queryExecutor.executeReads(any(), any(), any())).thenCallRealMethod();
       when(queryExecutor.executeVectorSearch(eq(requestContext), eq(stmt), any(), anyInt()))
           .then(
               invocation -> {
@@ -2944,6 +2987,8 @@ public class FindCollectionOperationTest extends OperationTestBase {
 
       QueryExecutor queryExecutor = mock(QueryExecutor.class);
 
+      when(queryExecutor.executeReads(any(), any(), any())).thenCallRealMethod();
+
       Map<InetAddress, Integer> reasonMap = new HashMap<>();
       reasonMap.put(InetAddress.getByName("127.0.0.1"), 0x0000);
 
@@ -96,6 +96,7 @@ public class ReadAndUpdateCollectionOperationRetryTest extends OperationTestBase
   @Test
   public void findOneAndUpdateWithRetry() throws Exception {
     QueryExecutor queryExecutor = mock(QueryExecutor.class);
+    when(queryExecutor.executeReads(any(), any(), any())).thenCallRealMethod();
 
     // read1
     String collectionReadCql =
@@ -237,6 +238,7 @@ public class ReadAndUpdateCollectionOperationRetryTest extends OperationTestBase
   @Test
   public void findAndUpdateWithRetryFailure() throws Exception {
     QueryExecutor queryExecutor = mock(QueryExecutor.class);
+    when(queryExecutor.executeReads(any(), any(), any())).thenCallRealMethod();
 
     // read1
     String collectionReadCql =
@@ -387,6 +389,7 @@ public class ReadAndUpdateCollectionOperationRetryTest extends OperationTestBase
   @Test
   public void findAndUpdateWithRetryFailureWithUpsert() throws Exception {
     QueryExecutor queryExecutor = mock(QueryExecutor.class);
+    when(queryExecutor.executeReads(any(), any(), any())).thenCallRealMethod();
 
     // read1
     String collectionReadCql =
@@ -537,6 +540,7 @@ public class ReadAndUpdateCollectionOperationRetryTest extends OperationTestBase
   @Test
   public void findAndUpdateWithRetryPartialFailure() throws Exception {
     QueryExecutor queryExecutor = mock(QueryExecutor.class);
+    when(queryExecutor.executeReads(any(), any(), any())).thenCallRealMethod();
     String collectionReadCql =
         "SELECT key, tx_id, doc_json FROM \"%s\".\"%s\" WHERE array_contains CONTAINS ? LIMIT 3"
             .formatted(TEST_CONSTANTS.KEYSPACE_NAME, TEST_CONSTANTS.COLLECTION_NAME);
@@ -723,6 +727,7 @@ public class ReadAndUpdateCollectionOperationRetryTest extends OperationTestBase
   @Test
   public void findOneAndUpdateWithRetryMultipleFailure() throws Exception {
     QueryExecutor queryExecutor = mock(QueryExecutor.class);
+    when(queryExecutor.executeReads(any(), any(), any())).thenCallRealMethod();
     String collectionReadCql =
         "SELECT key, tx_id, doc_json FROM \"%s\".\"%s\" WHERE array_contains CONTAINS ? LIMIT 3"
             .formatted(TEST_CONSTANTS.KEYSPACE_NAME, TEST_CONSTANTS.COLLECTION_NAME);
@@ -4,7 +4,10 @@ import static io.restassured.RestAssured.given;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
@@ -19,11 +22,14 @@ import io.quarkus.test.junit.TestProfile;
 import io.smallrye.mutiny.Uni;
 import io.smallrye.mutiny.helpers.test.UniAssertSubscriber;
 import io.stargate.sgv2.jsonapi.TestConstants;
+import io.stargate.sgv2.jsonapi.api.model.command.CommandConfig;
 import io.stargate.sgv2.jsonapi.api.model.command.CommandContext;
 import io.stargate.sgv2.jsonapi.api.model.command.CommandResult;
 import io.stargate.sgv2.jsonapi.api.model.command.CommandStatus;
 import io.stargate.sgv2.jsonapi.api.model.command.clause.update.UpdateClause;
 import io.stargate.sgv2.jsonapi.api.model.command.clause.update.UpdateOperator;
+import io.stargate.sgv2.jsonapi.config.DocumentLimitsConfig;
+import io.stargate.sgv2.jsonapi.config.OperationsConfig;
 import io.stargate.sgv2.jsonapi.config.constants.DocumentConstants;
 import io.stargate.sgv2.jsonapi.service.cqldriver.executor.QueryExecutor;
 import io.stargate.sgv2.jsonapi.service.cqldriver.executor.VectorColumnDefinition;
@@ -54,6 +60,8 @@ import jakarta.inject.Inject;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
@@ -61,6 +69,7 @@ import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
 @QuarkusTest
 @TestProfile(NoGlobalResourcesTestProfile.Impl.class)
@@ -1791,4 +1800,133 @@ public class ReadAndUpdateCollectionOperationTest extends OperationTestBase {
       assertThat(result.errors()).isEmpty();
     }
   }
+
+  @Nested
+  class DeltaUpdates {
+
+    private CommandContext<CollectionSchemaObject> deltaUpdatesContext() {
+      var deltaUpdatesConfig = mock(OperationsConfig.DeltaUpdatesConfig.class);
+      when(deltaUpdatesConfig.enabled()).thenReturn(true);
+      when(deltaUpdatesConfig.maxChangedRatio()).thenReturn(0.5);
+      var operationsConfig = mock(OperationsConfig.class);
+      when(operationsConfig.deltaUpdates()).thenReturn(deltaUpdatesConfig);
+      var commandConfig = mock(CommandConfig.class);
+      when(commandConfig.get(OperationsConfig.class)).thenReturn(operationsConfig);
+
+      var commandContext = spy(createCommandContextWithCommandName("testCommand"));
+      doReturn(commandConfig).when(commandContext).config();
+      return commandContext;
+    }
+
+    /** Runs the update on the document "doc1", and returns the statement that wrote it. */
+    private SimpleStatement update(String doc1, String updateClause) throws Exception {
+      var commandContext = deltaUpdatesContext();
+      QueryExecutor queryExecutor = mock(QueryExecutor.class);
+
+      // read
+      String collectionReadCql =
+          "SELECT key, tx_id, doc_json FROM \"%s\".\"%s\" WHERE key = ? LIMIT 1"
+              .formatted(TEST_CONSTANTS.KEYSPACE_NAME, TEST_CONSTANTS.COLLECTION_NAME);
+      SimpleStatement stmt1 =
+          SimpleStatement.newInstance(collectionReadCql, boundKeyForStatement("doc1"));
+      List<Row> rows1 = Arrays.asList(resultRow(0, "doc1", UUID.randomUUID(), doc1));
+      AsyncResultSet results1 = new MockAsyncResultSet(KEY_TXID_JSON_COLUMNS, rows1, null);
+      when(queryExecutor.executeRead(eq(requestContext), eq(stmt1), any(), anyInt()))
+          .thenReturn(Uni.createFrom().item(results1));
+
+      // update
+      List<Row> rows2 = Arrays.asList(resultRow(COLUMNS_APPLIED, 0, Boolean.TRUE));
+      AsyncResultSet results2 = new MockAsyncResultSet(COLUMNS_APPLIED, rows2, null);
+      when(queryExecutor.executeWrite(eq(requestContext), any()))
+          .thenReturn(Uni.createFrom().item(results2));
+
+      DBLogicalExpression implicitAnd =
+          new DBLogicalExpression(DBLogicalExpression.DBLogicalOperator.AND);
+      implicitAnd.addFilter(
+          new IDCollectionFilter(IDCollectionFilter.Operator.EQ, DocumentId.fromString("doc1")));
+      FindCollectionOperation findCollectionOperation =
+          FindCollectionOperation.unsortedSingle(
+              commandContext,
+              implicitAnd,
+              DocumentProjector.defaultProjector(),
+              CollectionReadType.DOCUMENT,
+              objectMapper,
+              false);
+      DocumentUpdater documentUpdater =
+          DocumentUpdater.construct(objectMapper.readValue(updateClause, UpdateClause.class));
+      ReadAndUpdateCollectionOperation operation =
+          new ReadAndUpdateCollectionOperation(
+              commandContext,
+              findCollectionOperation,
+              documentUpdater,
+              dataVectorizerService,
+              false,
+              false,
+              false,
+              documentShredder,
+              DocumentProjector.defaultProjector(),
+              1,
+              3);
+
+      CommandResult result =
+          operation
+              .execute(requestContext, queryExecutor)
+              .subscribe()
+              .withSubscriber(UniAssertSubscriber.create())
+              .awaitItem()
+              .getItem()
+              .get();
+      assertThat(result.status()).containsEntry(CommandStatus.MODIFIED_COUNT, 1);
+      assertThat(result.errors()).isEmpty();
+
+      var statement = ArgumentCaptor.forClass(SimpleStatement.class);
+      verify(queryExecutor).executeWrite(eq(requestContext), statement.capture());
+      return statement.getValue();
+    }
+
+    @Test
+    public void writesOnlyChangedEntries() throws Exception {
+      String doc1 =
+          """
+            {
+              "_id": "doc1",
+              "username": "user1",
+              "age": 30,
+              "tags": ["a", "b"],
+              "active": true
+            }
+            """;
+
+      var statement = update(doc1, "{ \"$set\" : { \"username\" : \"user2\" }}");
+
+      assertThat(statement.getQuery())
+          .contains("query_text_values = query_text_values + ?")
+          .doesNotContain("exist_keys")
+          .doesNotContain("query_dbl_values")
+          .contains("IF tx_id = ?");
+      assertThat(statement.getPositionalValues().getFirst()).isEqualTo(Map.of("username", "user2"));
+    }
+
+    @Test
+    public void rewritesAllEntriesWhenExistingDocumentNotValid() throws Exception {
+      // written before the string limit was lowered, so it cannot be shredded again
+      String doc1 =
+          """
+            {
+              "_id": "doc1",
+              "username": "user1",
+              "notes": "%s"
+            }
+            """
+              .formatted("x".repeat(DocumentLimitsConfig.DEFAULT_MAX_STRING_LENGTH_IN_BYTES + 1));
+
+      var statement = update(doc1, "{ \"$unset\" : { \"notes\" : 1 }}");
+
+      assertThat(statement.getQuery())
+          .isEqualTo(
+              ReadAndUpdateCollectionOperation.buildUpdateQuery(
+                  TEST_CONSTANTS.KEYSPACE_NAME, TEST_CONSTANTS.COLLECTION_NAME, false, false));
+      assertThat(statement.getPositionalValues().getFirst()).isEqualTo(Set.of("_id", "username"));
+    }
+  }
 }
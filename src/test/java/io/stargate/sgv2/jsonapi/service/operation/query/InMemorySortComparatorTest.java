@@ -0,0 +1,133 @@
+package io.stargate.sgv2.jsonapi.service.operation.query;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.ProtocolVersion;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.type.codec.TypeCodecs;
+import io.stargate.sgv2.jsonapi.service.cqldriver.executor.SortedRowAccumulator;
+import io.stargate.sgv2.jsonapi.service.schema.tables.ApiColumnDef;
+import io.stargate.sgv2.jsonapi.service.schema.tables.ApiDataTypeDefs;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class InMemorySortComparatorTest {
+
+  private static final ProtocolVersion PROTOCOL_VERSION = ProtocolVersion.DEFAULT;
+
+  private static final ApiColumnDef INT_COLUMN =
+      new ApiColumnDef(CqlIdentifier.fromInternal("int_col"), ApiDataTypeDefs.INT);
+  private static final ApiColumnDef DOUBLE_COLUMN =
+      new ApiColumnDef(CqlIdentifier.fromInternal("double_col"), ApiDataTypeDefs.DOUBLE);
+  private static final ApiColumnDef TEXT_COLUMN =
+      new ApiColumnDef(CqlIdentifier.fromInternal("text_col"), ApiDataTypeDefs.TEXT);
+
+  /** Row with int_col at 0, double_col at 1 and text_col at 2, null values are not set. */
+  private static Row row(Integer intValue, Double doubleValue, String textValue) {
+    var row = mock(Row.class);
+    when(row.protocolVersion()).thenReturn(PROTOCOL_VERSION);
+    when(row.firstIndexOf(any(CqlIdentifier.class)))
+        .then(
+            invocation ->
+                switch (invocation.getArgument(0, CqlIdentifier.class).asInternal()) {
+                  case "int_col" -> 0;
+                  case "double_col" -> 1;
+                  case "text_col" -> 2;
+                  default -> throw new IllegalArgumentException("unknown column");
+                });
+    when(row.getBytesUnsafe(0))
+        .thenReturn(intValue == null ? null : TypeCodecs.INT.encode(intValue, PROTOCOL_VERSION));
+    when(row.getBytesUnsafe(1))
+        .thenReturn(
+            doubleValue == null ? null : TypeCodecs.DOUBLE.encode(doubleValue, PROTOCOL_VERSION));
+    when(row.getObject(2)).thenReturn(textValue);
+    return row;
+  }
+
+  private static List<Row> sort(InMemorySortComparator comparator, Row... rows) {
+    var sortKeyRows = new ArrayList<>(Arrays.stream(rows).map(comparator::sortKeyRow).toList());
+    sortKeyRows.sort(comparator);
+    return sortKeyRows.stream().map(sortKeyRow -> sortKeyRow.getRow()).toList();
+  }
+
+  @Test
+  public void sortsIntAscendingNullsFirst() {
+    var comparator =
+        new InMemorySortComparator(
+            List.of(new InMemorySortComparator.SortByTerm(INT_COLUMN, true)));
+    var r1 = row(5, null, null);
+    var r2 = row(-3, null, null);
+    var r3 = row(null, null, null);
+    var r4 = row(Integer.MAX_VALUE, null, null);
+
+    assertThat(sort(comparator, r1, r2, r3, r4)).containsExactly(r3, r2, r1, r4);
+  }
+
+  @Test
+  public void sortsDoubleDescending() {
+    var comparator =
+        new InMemorySortComparator(
+            List.of(new InMemorySortComparator.SortByTerm(DOUBLE_COLUMN, false)));
+    var r1 = row(null, -1.5, null);
+    var r2 = row(null, 0.0, null);
+    var r3 = row(null, -0.0, null);
+    var r4 = row(null, 2.25, null);
+    var r5 = row(null, null, null);
+
+    assertThat(sort(comparator, r1, r2, r3, r4, r5)).containsExactly(r4, r2, r3, r1, r5);
+  }
+
+  @Test
+  public void sortsByMultipleTerms() {
+    var comparator =
+        new InMemorySortComparator(
+            List.of(
+                new InMemorySortComparator.SortByTerm(TEXT_COLUMN, true),
+                new InMemorySortComparator.SortByTerm(INT_COLUMN, false)));
+    var r1 = row(1, null, "b");
+    var r2 = row(2, null, "a");
+    var r3 = row(3, null, "b");
+    var r4 = row(4, null, "a");
+
+    assertThat(sort(comparator, r1, r2, r3, r4)).containsExactly(r4, r2, r3, r1);
+  }
+
+  @Test
+  public void sortableDoubleBitsOrder() {
+    double[] values = {
+      Double.NEGATIVE_INFINITY, -1e300, -1.0, -Double.MIN_VALUE, -0.0, 0.0, Double.MIN_VALUE, 1.0,
+      1e300, Double.POSITIVE_INFINITY, Double.NaN
+    };
+    for (int i = 1; i < values.length; i++) {
+      assertThat(InMemorySortComparator.sortableDoubleBits(values[i - 1]))
+          .as("%s < %s", values[i - 1], values[i])
+          .isLessThan(InMemorySortComparator.sortableDoubleBits(values[i]));
+    }
+  }
+
+  @Test
+  public void accumulatorKeepsSortWindow() {
+    var comparator =
+        new InMemorySortComparator(
+            List.of(new InMemorySortComparator.SortByTerm(INT_COLUMN, true)));
+    var accumulator =
+        new SortedRowAccumulator(new SortedRowAccumulator.RowSortSettings(1, 2, 100), comparator);
+
+    var rows = new ArrayList<Row>();
+    for (int value : new int[] {9, 4, 7, 1, 8, 3, 6}) {
+      var row = row(value, null, null);
+      rows.add(row);
+      assertThat(accumulator.accumulate(row)).isTrue();
+    }
+
+    // sorted 1, 3, 4 ... skip 1 and return 2
+    assertThat(accumulator.getPage()).containsExactly(rows.get(5), rows.get(1));
+    assertThat(accumulator.getSortedRowsCount()).isEqualTo(7);
+  }
+}
@@ -0,0 +1,136 @@
+package io.stargate.sgv2.jsonapi.service.operation.tables;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.ProtocolVersion;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.metadata.schema.ColumnMetadata;
+import com.datastax.oss.driver.api.core.metadata.schema.TableMetadata;
+import com.datastax.oss.driver.api.core.type.DataType;
+import com.datastax.oss.driver.api.core.type.DataTypes;
+import com.datastax.oss.driver.api.core.type.codec.TypeCodecs;
+import com.datastax.oss.driver.internal.core.metadata.schema.DefaultColumnMetadata;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.stargate.sgv2.jsonapi.service.cqldriver.executor.optvector.SubtypeOnlyFloatVectorToArrayCodec;
+import io.stargate.sgv2.jsonapi.util.FloatVectorNode;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+public class TableRowWriterTest {
+
+  private static final ProtocolVersion PROTOCOL_VERSION = ProtocolVersion.DEFAULT;
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  private static ColumnMetadata column(String name, DataType type) {
+    return new DefaultColumnMetadata(
+        CqlIdentifier.fromInternal("ks"),
+        CqlIdentifier.fromInternal("tbl"),
+        CqlIdentifier.fromInternal(name),
+        type,
+        false);
+  }
+
+  private TableRowWriter writer(ColumnMetadata... columns) {
+    return TableRowWriter.create(objectMapper, mock(TableMetadata.class), List.of(columns));
+  }
+
+  @Test
+  public void writesScalarColumnsFromBytes() {
+    var writer =
+        writer(
+            column("text", DataTypes.TEXT),
+            column("int", DataTypes.INT),
+            column("bigint", DataTypes.BIGINT),
+            column("double", DataTypes.DOUBLE),
+            column("bool", DataTypes.BOOLEAN),
+            column("ts", DataTypes.TIMESTAMP),
+            column("id", DataTypes.UUID));
+
+    var uuid = UUID.fromString("6d9e0b2c-4b1f-4c39-9d67-0f1d6a3e2b11");
+    var row = mock(Row.class);
+    when(row.protocolVersion()).thenReturn(PROTOCOL_VERSION);
+    when(row.getBytesUnsafe(0)).thenReturn(TypeCodecs.TEXT.encode("hello", PROTOCOL_VERSION));
+    when(row.getBytesUnsafe(1)).thenReturn(TypeCodecs.INT.encode(42, PROTOCOL_VERSION));
+    when(row.getBytesUnsafe(2)).thenReturn(TypeCodecs.BIGINT.encode(1L << 40, PROTOCOL_VERSION));
+    when(row.getBytesUnsafe(3)).thenReturn(TypeCodecs.DOUBLE.encode(0.5, PROTOCOL_VERSION));
+    when(row.getBytesUnsafe(4)).thenReturn(TypeCodecs.BOOLEAN.encode(true, PROTOCOL_VERSION));
+    when(row.getBytesUnsafe(5))
+        .thenReturn(
+            TypeCodecs.TIMESTAMP.encode(Instant.parse("2025-01-02T03:04:05Z"), PROTOCOL_VERSION));
+    when(row.getBytesUnsafe(6)).thenReturn(TypeCodecs.UUID.encode(uuid, PROTOCOL_VERSION));
+
+    var result = objectMapper.createObjectNode();
+    assertThat(writer.writeRow(row, result)).isEqualTo(7);
+    assertThat(result.toString())
+        .isEqualTo(
+            "{\"text\":\"hello\",\"int\":42,\"bigint\":1099511627776,\"double\":0.5,"
+                + "\"bool\":true,\"ts\":\"2025-01-02T03:04:05Z\","
+                + "\"id\":\"6d9e0b2c-4b1f-4c39-9d67-0f1d6a3e2b11\"}");
+    // fast paths never use the driver codec registry
+    verify(row, never()).getObject(0);
+  }
+
+  @Test
+  public void skipsNullAndEmptyValues() {
+    var writer =
+        writer(
+            column("text", DataTypes.TEXT),
+            column("empty_text", DataTypes.TEXT),
+            column("int", DataTypes.INT),
+            column("empty_int", DataTypes.INT));
+
+    var row = mock(Row.class);
+    when(row.protocolVersion()).thenReturn(PROTOCOL_VERSION);
+    when(row.getBytesUnsafe(0)).thenReturn(null);
+    when(row.getBytesUnsafe(1)).thenReturn(ByteBuffer.allocate(0));
+    when(row.getBytesUnsafe(2)).thenReturn(null);
+    when(row.getBytesUnsafe(3)).thenReturn(ByteBuffer.allocate(0));
+
+    var result = objectMapper.createObjectNode();
+    assertThat(writer.writeRow(row, result)).isEqualTo(1);
+    // empty text is an empty string, empty int is null
+    assertThat(result.toString()).isEqualTo("{\"empty_text\":\"\"}");
+  }
+
+  @Test
+  public void writesVectorAsFloats() {
+    var writer = writer(column("vec", DataTypes.vectorOf(DataTypes.FLOAT, 3)));
+
+    var row = mock(Row.class);
+    when(row.protocolVersion()).thenReturn(PROTOCOL_VERSION);
+    when(row.getBytesUnsafe(0))
+        .thenReturn(
+            SubtypeOnlyFloatVectorToArrayCodec.instance()
+                .encode(new float[] {0.25f, -1.0f, 0.5f}, PROTOCOL_VERSION));
+
+    var result = objectMapper.createObjectNode();
+    writer.writeRow(row, result);
+    assertThat(result.get("vec")).isInstanceOf(FloatVectorNode.class);
+    assertThat(result.toString()).isEqualTo("{\"vec\":[0.25,-1.0,0.5]}");
+  }
+
+  @Test
+  public void otherTypesUseJSONCodec() {
+    var writer =
+        writer(column("date", DataTypes.DATE), column("tags", DataTypes.setOf(DataTypes.TEXT)));
+
+    var row = mock(Row.class);
+    when(row.getObject(0)).thenReturn(LocalDate.parse("2025-01-02"));
+    when(row.getObject(1)).thenReturn(Set.of());
+
+    var result = objectMapper.createObjectNode();
+    assertThat(writer.writeRow(row, result)).isEqualTo(1);
+    assertThat(result.toString()).isEqualTo("{\"date\":\"2025-01-02\"}");
+  }
+}
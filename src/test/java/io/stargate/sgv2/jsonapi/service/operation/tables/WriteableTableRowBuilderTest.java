@@ -23,7 +23,9 @@ import io.stargate.sgv2.jsonapi.fixtures.tables.AllUnderflowTypes;
 import io.stargate.sgv2.jsonapi.fixtures.tables.AllUnsupportedTypes;
 import io.stargate.sgv2.jsonapi.fixtures.types.CqlTypesForTesting;
 import io.stargate.sgv2.jsonapi.metrics.JsonProcessingMetricsReporter;
+import io.stargate.sgv2.jsonapi.service.cql.builder.CqlTemplateCache;
 import io.stargate.sgv2.jsonapi.service.cqldriver.CQLSessionCache;
+import io.stargate.sgv2.jsonapi.service.cqldriver.executor.HedgedReadStats;
 import io.stargate.sgv2.jsonapi.service.embedding.operation.EmbeddingProvider;
 import io.stargate.sgv2.jsonapi.service.embedding.operation.EmbeddingProviderFactory;
 import io.stargate.sgv2.jsonapi.service.operation.filters.table.codecs.JSONCodecRegistries;
@@ -66,6 +68,8 @@ public class WriteableTableRowBuilderTest {
             .withEmbeddingProviderFactory(mock(EmbeddingProviderFactory.class))
             .withRerankingProviderFactory(mock(RerankingProviderFactory.class))
             .withMeterRegistry(mock(MeterRegistry.class))
+            .withHedgedReadStats(new HedgedReadStats())
+            .withCqlTemplateCache(new CqlTemplateCache())
             .getBuilder(fixture.cqlFixture().tableSchemaObject())
             .withEmbeddingProvider(mock(EmbeddingProvider.class))
             .withCommandName("testCommand")
@@ -0,0 +1,87 @@
+package io.stargate.sgv2.jsonapi.service.operation.tasks;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.smallrye.mutiny.helpers.test.AssertSubscriber;
+import io.stargate.sgv2.jsonapi.api.model.command.CommandContext;
+import io.stargate.sgv2.jsonapi.api.model.command.tracing.RequestTracing;
+import io.stargate.sgv2.jsonapi.service.schema.tables.TableSchemaObject;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class TaskGraphSchedulerTest {
+
+  private static TableSchemaObject mockTable() {
+    return BaseTaskAssertions.mockTable("ks", "tbl");
+  }
+
+  private static BaseTaskTestTask okTask(int position) {
+    return new BaseTaskTestTask(position, mockTable(), TaskRetryPolicy.NO_RETRY);
+  }
+
+  private static BaseTaskTestTask errorTask(int position) {
+    var task = okTask(position);
+    task.maybeAddFailure(new RuntimeException("Exception for task " + position));
+    return task;
+  }
+
+  private static List<BaseTaskTestTask> run(TaskGroup<BaseTaskTestTask, TableSchemaObject> group) {
+    CommandContext<TableSchemaObject> commandContext = mock(CommandContext.class);
+    when(commandContext.requestTracing()).thenReturn(RequestTracing.NO_OP);
+
+    return new TaskGraphScheduler<>(group)
+        .start(commandContext)
+        .subscribe()
+        .withSubscriber(AssertSubscriber.create(Long.MAX_VALUE))
+        .awaitCompletion()
+        .getItems();
+  }
+
+  @Test
+  public void runsAllTasksOnce() {
+    var a = okTask(0);
+    var b = okTask(1);
+    var c = okTask(2);
+    TaskGroup<BaseTaskTestTask, TableSchemaObject> group = new TaskGroup<>(true);
+    group.addWithDependencies(a, List.of());
+    group.addWithDependencies(b, List.of(a));
+    group.addWithDependencies(c, List.of(a, b));
+
+    var finished = run(group);
+
+    assertThat(finished).containsExactly(a, b, c);
+    assertThat(group.allTasksCompleted()).isTrue();
+  }
+
+  @Test
+  public void skipsOnlyTasksThatDependOnFailure() {
+    var failed = errorTask(0);
+    var independent = okTask(1);
+    var dependent = okTask(2);
+    var last = okTask(3);
+    TaskGroup<BaseTaskTestTask, TableSchemaObject> group = new TaskGroup<>(true);
+    group.addWithDependencies(failed, List.of());
+    group.addWithDependencies(independent, List.of());
+    group.addWithDependencies(dependent, List.of(failed));
+    group.addWithDependencies(last, List.of(independent, dependent));
+
+    var finished = run(group);
+
+    assertThat(finished).containsExactlyInAnyOrder(failed, independent, dependent, last);
+    assertThat(failed.status()).isEqualTo(Task.TaskStatus.ERROR);
+    assertThat(independent.status()).isEqualTo(Task.TaskStatus.COMPLETED);
+    assertThat(dependent.status()).isEqualTo(Task.TaskStatus.SKIPPED);
+    assertThat(last.status()).isEqualTo(Task.TaskStatus.SKIPPED);
+  }
+
+  @Test
+  public void dependencyMustBeInGroup() {
+    TaskGroup<BaseTaskTestTask, TableSchemaObject> group = new TaskGroup<>(true);
+
+    assertThatThrownBy(() -> group.addWithDependencies(okTask(1), List.of(okTask(0))))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,163 @@
+package io.stargate.sgv2.jsonapi.service.processor;
+
+import static io.stargate.sgv2.jsonapi.metrics.MetricsConstants.MetricNames.COMMAND_EVENT_LOOP_BLOCKED_METRIC;
+import static io.stargate.sgv2.jsonapi.metrics.MetricsConstants.MetricNames.COMMAND_OFFLOADED_METRIC;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.helpers.test.UniAssertSubscriber;
+import io.stargate.sgv2.jsonapi.api.model.command.Command;
+import io.stargate.sgv2.jsonapi.api.model.command.CommandContext;
+import io.stargate.sgv2.jsonapi.api.model.command.CommandName;
+import io.stargate.sgv2.jsonapi.api.v1.metrics.JsonApiMetricsConfig;
+import io.stargate.sgv2.jsonapi.config.OperationsConfig;
+import io.stargate.sgv2.jsonapi.metrics.CommandFeatures;
+import io.vertx.core.Vertx;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+public class CommandOffloaderTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private CommandOffloader offloader(boolean enabled) {
+    var offloadConfig = mock(OperationsConfig.OffloadConfig.class);
+    when(offloadConfig.enabled()).thenReturn(enabled);
+    when(offloadConfig.minCost()).thenReturn(4);
+    when(offloadConfig.virtualThreads()).thenReturn(true);
+
+    var operationsConfig = mock(OperationsConfig.class);
+    when(operationsConfig.offload()).thenReturn(offloadConfig);
+
+    var metricsConfig = mock(JsonApiMetricsConfig.class);
+    when(metricsConfig.command()).thenReturn("command");
+    return new CommandOffloader(operationsConfig, meterRegistry, metricsConfig);
+  }
+
+  private static CommandContext<?> context() {
+    CommandContext<?> commandContext = mock(CommandContext.class);
+    when(commandContext.commandFeatures()).thenReturn(CommandFeatures.create());
+    return commandContext;
+  }
+
+  private static Command command(CommandName commandName) {
+    var command = mock(Command.class);
+    when(command.commandName()).thenReturn(commandName);
+    return command;
+  }
+
+  /** Runs the offload and returns the thread the work ran on. */
+  private static Thread workThread(CommandOffloader offloader, Command command) {
+    return offloader
+        .offload(
+            context(),
+            command,
+            Uni.createFrom().item("input"),
+            input -> Uni.createFrom().item(() -> Thread.currentThread()))
+        .subscribe()
+        .withSubscriber(UniAssertSubscriber.create())
+        .awaitItem()
+        .getItem();
+  }
+
+  @Test
+  public void cheapCommandRunsOnCallerThread() {
+    var thread = workThread(offloader(true), command(CommandName.FIND_ONE));
+
+    assertThat(thread).isSameAs(Thread.currentThread());
+    assertThat(meterRegistry.find(COMMAND_OFFLOADED_METRIC).counter()).isNull();
+  }
+
+  @Test
+  public void expensiveCommandRunsOnVirtualThread() {
+    var thread = workThread(offloader(true), command(CommandName.FIND_AND_RERANK));
+
+    assertThat(thread.isVirtual()).isTrue();
+    assertThat(meterRegistry.find(COMMAND_OFFLOADED_METRIC).counter().count()).isEqualTo(1.0);
+  }
+
+  @Test
+  public void disabledRunsOnCallerThread() {
+    var thread = workThread(offloader(false), command(CommandName.FIND_AND_RERANK));
+
+    assertThat(thread).isSameAs(Thread.currentThread());
+  }
+
+  /** Runs the offload from an event loop and returns the thread the work ran on. */
+  private static Thread workThreadFromEventLoop(CommandOffloader offloader, Command command)
+      throws Exception {
+    return workThreadFromEventLoop(
+        offloader, command, Uni.createFrom().item(() -> Thread.currentThread()));
+  }
+
+  /** As above, with the work that is subscribed to. */
+  private static Thread workThreadFromEventLoop(
+      CommandOffloader offloader, Command command, Uni<Thread> work) throws Exception {
+    var vertx = Vertx.vertx();
+    try {
+      var workThread = new CompletableFuture<Thread>();
+      vertx.runOnContext(
+          v ->
+              offloader
+                  .offload(
+                      context(),
+                      command,
+                      Uni.createFrom().item("input"),
+                      input -> work)
+                  .subscribe()
+                  .with(workThread::complete, workThread::completeExceptionally));
+      return workThread.get(10, TimeUnit.SECONDS);
+    } finally {
+      vertx.close().toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+    }
+  }
+
+  @Test
+  public void eventLoopTimeRecordedForCheapCommand() throws Exception {
+    var thread = workThreadFromEventLoop(offloader(true), command(CommandName.FIND_ONE));
+
+    assertThat(thread.getName()).contains("eventloop");
+    assertThat(meterRegistry.find(COMMAND_EVENT_LOOP_BLOCKED_METRIC).timer().count()).isEqualTo(1);
+  }
+
+  @Test
+  public void eventLoopTimeIncludesWorkAtSubscription() throws Exception {
+    // the work is done when the Uni is subscribed to, as resolving a command is
+    var work =
+        Uni.createFrom()
+            .item(
+                () -> {
+                  try {
+                    Thread.sleep(50);
+                  } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                  }
+                  return Thread.currentThread();
+                });
+
+    workThreadFromEventLoop(offloader(true), command(CommandName.FIND_ONE), work);
+
+    var timer = meterRegistry.find(COMMAND_EVENT_LOOP_BLOCKED_METRIC).timer();
+    assertThat(timer.count()).isEqualTo(1);
+    assertThat(timer.totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(50);
+  }
+
+  @Test
+  public void eventLoopTimeNotRecordedForOffloadedCommand() throws Exception {
+    var thread = workThreadFromEventLoop(offloader(true), command(CommandName.FIND_AND_RERANK));
+
+    assertThat(thread.isVirtual()).isTrue();
+    assertThat(meterRegistry.find(COMMAND_EVENT_LOOP_BLOCKED_METRIC).timer()).isNull();
+  }
+
+  @Test
+  public void eventLoopTimeNotRecordedOffEventLoop() {
+    workThread(offloader(true), command(CommandName.FIND_ONE));
+
+    assertThat(meterRegistry.find(COMMAND_EVENT_LOOP_BLOCKED_METRIC).timer()).isNull();
+  }
+}
@@ -0,0 +1,64 @@
+package io.stargate.sgv2.jsonapi.service.processor;
+
+import static io.stargate.sgv2.jsonapi.metrics.MetricsConstants.MetricNames.COMMAND_STAGE_DURATION_METRIC;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.helpers.test.UniAssertSubscriber;
+import io.stargate.sgv2.jsonapi.api.v1.metrics.JsonApiMetricsConfig;
+import io.stargate.sgv2.jsonapi.service.processor.CommandStageTimer.Stage;
+import org.junit.jupiter.api.Test;
+
+public class CommandStageTimerTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private JsonApiMetricsConfig metricsConfig() {
+    var metricsConfig = mock(JsonApiMetricsConfig.class);
+    when(metricsConfig.command()).thenReturn("command");
+    return metricsConfig;
+  }
+
+  private <T> Uni<T> timed(Stage stage, Uni<T> uni) {
+    return CommandStageTimer.timed(meterRegistry, metricsConfig(), "FindCommand", stage, uni);
+  }
+
+  @Test
+  public void recordsCompletedStage() {
+    timed(Stage.SCHEMA_LOOKUP, Uni.createFrom().item("schema"))
+        .subscribe()
+        .withSubscriber(UniAssertSubscriber.create())
+        .assertItem("schema");
+
+    var timer =
+        meterRegistry
+            .get(COMMAND_STAGE_DURATION_METRIC)
+            .tag("command", "FindCommand")
+            .tag("stage", "schema.lookup")
+            .timer();
+    assertThat(timer.count()).isEqualTo(1);
+  }
+
+  @Test
+  public void recordsFailedStage() {
+    timed(Stage.TASKS, Uni.createFrom().failure(new IllegalStateException("boom")))
+        .subscribe()
+        .withSubscriber(UniAssertSubscriber.create())
+        .assertFailedWith(IllegalStateException.class, "boom");
+
+    var timer = meterRegistry.get(COMMAND_STAGE_DURATION_METRIC).tag("stage", "tasks").timer();
+    assertThat(timer.count()).isEqualTo(1);
+  }
+
+  @Test
+  public void notRecordedUntilSubscribed() {
+    var uni = timed(Stage.EXECUTE, Uni.createFrom().item(1));
+
+    assertThat(meterRegistry.find(COMMAND_STAGE_DURATION_METRIC).timer()).isNull();
+    uni.await().indefinitely();
+    assertThat(meterRegistry.get(COMMAND_STAGE_DURATION_METRIC).timer().count()).isEqualTo(1);
+  }
+}
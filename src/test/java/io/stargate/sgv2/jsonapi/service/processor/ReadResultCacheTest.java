@@ -0,0 +1,288 @@
+package io.stargate.sgv2.jsonapi.service.processor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.DefaultConsistencyLevel;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.mutiny.Uni;
+import io.stargate.sgv2.jsonapi.api.model.command.Command;
+import io.stargate.sgv2.jsonapi.api.model.command.CommandContext;
+import io.stargate.sgv2.jsonapi.api.model.command.CommandName;
+import io.stargate.sgv2.jsonapi.api.model.command.CommandResult;
+import io.stargate.sgv2.jsonapi.api.model.command.CommandStatus;
+import io.stargate.sgv2.jsonapi.api.model.command.impl.EstimatedDocumentCountCommand;
+import io.stargate.sgv2.jsonapi.api.model.command.impl.FindOneCommand;
+import io.stargate.sgv2.jsonapi.api.model.command.tracing.RequestTracing;
+import io.stargate.sgv2.jsonapi.api.request.RequestContext;
+import io.stargate.sgv2.jsonapi.api.request.tenant.Tenant;
+import io.stargate.sgv2.jsonapi.config.DatabaseType;
+import io.stargate.sgv2.jsonapi.config.OperationsConfig;
+import io.stargate.sgv2.jsonapi.config.constants.HttpConstants;
+import io.stargate.sgv2.jsonapi.service.schema.SchemaObject;
+import io.stargate.sgv2.jsonapi.service.schema.SchemaObjectIdentifier;
+import io.vertx.core.MultiMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+
+public class ReadResultCacheTest {
+
+  private static final Tenant TENANT = Tenant.create(DatabaseType.ASTRA, "tenant-a");
+  private static final CqlIdentifier KEYSPACE = CqlIdentifier.fromInternal("ks");
+
+  private static final SchemaObjectIdentifier CACHED_COLLECTION =
+      SchemaObjectIdentifier.forCollection(TENANT, KEYSPACE, CqlIdentifier.fromInternal("cached"));
+  private static final SchemaObjectIdentifier OTHER_COLLECTION =
+      SchemaObjectIdentifier.forCollection(TENANT, KEYSPACE, CqlIdentifier.fromInternal("other"));
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final AtomicLong nanos = new AtomicLong();
+  private final AtomicInteger executions = new AtomicInteger();
+
+  private ReadResultCache cache(boolean enabled) {
+    var resultCacheConfig = mock(OperationsConfig.ResultCacheConfig.class);
+    when(resultCacheConfig.enabled()).thenReturn(enabled);
+    when(resultCacheConfig.collections()).thenReturn(Optional.of(List.of("ks.cached")));
+    when(resultCacheConfig.ttlMillis()).thenReturn(1000L);
+    when(resultCacheConfig.maxSizeBytes()).thenReturn(1024L * 1024L);
+    var consistencyConfig = mock(OperationsConfig.QueriesConfig.ConsistencyConfig.class);
+    when(consistencyConfig.readsHeaderEnabled()).thenReturn(true);
+    when(consistencyConfig.readsHeaderAllowed())
+        .thenReturn(
+            List.of(DefaultConsistencyLevel.LOCAL_ONE, DefaultConsistencyLevel.LOCAL_QUORUM));
+    when(consistencyConfig.collectionReads()).thenReturn(Map.of());
+    when(consistencyConfig.tenantReads()).thenReturn(Map.of());
+    return new ReadResultCache(
+        resultCacheConfig, consistencyConfig, objectMapper, new SimpleMeterRegistry(), nanos::get);
+  }
+
+  private static CommandContext<?> context(SchemaObjectIdentifier identifier, boolean tracing) {
+    return context(identifier, tracing, null);
+  }
+
+  private static CommandContext<?> context(
+      SchemaObjectIdentifier identifier, boolean tracing, String readConsistency) {
+    var headers = MultiMap.caseInsensitiveMultiMap();
+    if (readConsistency != null) {
+      headers.add(HttpConstants.READ_CONSISTENCY_HEADER_NAME, readConsistency);
+    }
+    var requestContext = mock(RequestContext.class);
+    when(requestContext.tenant()).thenReturn(identifier.tenant());
+    when(requestContext.getHttpHeaders()).thenReturn(new RequestContext.HttpHeaderAccess(headers));
+
+    var schemaObject = mock(SchemaObject.class);
+    when(schemaObject.identifier()).thenReturn(identifier);
+    var requestTracing = mock(RequestTracing.class);
+    when(requestTracing.enabled()).thenReturn(tracing);
+
+    CommandContext<?> commandContext = mock(CommandContext.class);
+    doReturn(schemaObject).when(commandContext).schemaObject();
+    when(commandContext.requestTracing()).thenReturn(requestTracing);
+    when(commandContext.requestContext()).thenReturn(requestContext);
+    when(commandContext.meterRegistry()).thenReturn(new SimpleMeterRegistry());
+    return commandContext;
+  }
+
+  private CommandResult execute(
+      ReadResultCache cache, SchemaObjectIdentifier identifier, Command command) {
+    return execute(cache, context(identifier, false), command);
+  }
+
+  private CommandResult execute(
+      ReadResultCache cache, CommandContext<?> commandContext, Command command) {
+    return cache
+        .execute(
+            commandContext,
+            command,
+            () -> {
+              int count = executions.incrementAndGet();
+              var status = new HashMap<CommandStatus, Object>();
+              status.put(CommandStatus.COUNTED_DOCUMENT, count);
+              Supplier<CommandResult> resultSupplier = () -> new CommandResult(null, status, null);
+              return Uni.createFrom().<Supplier<CommandResult>>item(resultSupplier);
+            })
+        .await()
+        .indefinitely()
+        .get();
+  }
+
+  @Test
+  public void cachesRepeatedRead() {
+    var cache = cache(true);
+    var command = new EstimatedDocumentCountCommand();
+
+    var first = execute(cache, CACHED_COLLECTION, command);
+    nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(250));
+    var second = execute(cache, CACHED_COLLECTION, command);
+
+    assertThat(executions).hasValue(1);
+    assertThat(first.status()).doesNotContainKey(CommandStatus.CACHED_RESULT_AGE);
+    assertThat(second.status())
+        .containsEntry(CommandStatus.COUNTED_DOCUMENT, 1)
+        .containsEntry(CommandStatus.CACHED_RESULT_AGE, 250L);
+  }
+
+  @Test
+  public void keyIncludesCommand() {
+    var cache = cache(true);
+
+    execute(
+        cache,
+        CACHED_COLLECTION,
+        new FindOneCommand(null, objectMapper.createObjectNode().put("a", 1), null, null));
+    execute(
+        cache,
+        CACHED_COLLECTION,
+        new FindOneCommand(null, objectMapper.createObjectNode().put("b", 1), null, null));
+    execute(cache, CACHED_COLLECTION, new EstimatedDocumentCountCommand());
+
+    assertThat(executions).hasValue(3);
+  }
+
+  @Test
+  public void keyIncludesReadConsistency() {
+    var cache = cache(true);
+    var command = new EstimatedDocumentCountCommand();
+
+    execute(cache, context(CACHED_COLLECTION, false, "LOCAL_ONE"), command);
+    execute(cache, context(CACHED_COLLECTION, false, "LOCAL_QUORUM"), command);
+    execute(cache, context(CACHED_COLLECTION, false, null), command);
+    var cached = execute(cache, context(CACHED_COLLECTION, false, "LOCAL_ONE"), command);
+
+    assertThat(executions).hasValue(3);
+    assertThat(cached.status()).containsEntry(CommandStatus.COUNTED_DOCUMENT, 1);
+  }
+
+  @Test
+  public void notCachedWhenReadConsistencyNotAllowed() {
+    var cache = cache(true);
+    var command = new EstimatedDocumentCountCommand();
+
+    execute(cache, context(CACHED_COLLECTION, false, "ALL"), command);
+    execute(cache, context(CACHED_COLLECTION, false, "ALL"), command);
+
+    assertThat(executions).hasValue(2);
+  }
+
+  @Test
+  public void expiresAfterTtl() {
+    var cache = cache(true);
+    var command = new EstimatedDocumentCountCommand();
+
+    execute(cache, CACHED_COLLECTION, command);
+    nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(1001));
+    var result = execute(cache, CACHED_COLLECTION, command);
+
+    assertThat(executions).hasValue(2);
+    assertThat(result.status()).doesNotContainKey(CommandStatus.CACHED_RESULT_AGE);
+  }
+
+  @Test
+  public void writeInvalidates() {
+    var cache = cache(true);
+    var command = new EstimatedDocumentCountCommand();
+    var write = mock(Command.class);
+    when(write.commandName()).thenReturn(CommandName.INSERT_ONE);
+
+    execute(cache, CACHED_COLLECTION, command);
+    execute(cache, CACHED_COLLECTION, write);
+    var result = execute(cache, CACHED_COLLECTION, command);
+
+    assertThat(executions).hasValue(3);
+    assertThat(result.status()).containsEntry(CommandStatus.COUNTED_DOCUMENT, 3);
+  }
+
+  @Test
+  public void keyspaceSchemaChangeInvalidates() {
+    var cache = cache(true);
+    var command = new EstimatedDocumentCountCommand();
+
+    execute(cache, CACHED_COLLECTION, command);
+    cache.invalidate(SchemaObjectIdentifier.forKeyspace(TENANT, KEYSPACE));
+    execute(cache, CACHED_COLLECTION, command);
+    execute(cache, CACHED_COLLECTION, command);
+
+    assertThat(executions).hasValue(2);
+  }
+
+  @Test
+  public void tableSchemaChangeInvalidatesCollection() {
+    var cache = cache(true);
+    var command = new EstimatedDocumentCountCommand();
+
+    execute(cache, CACHED_COLLECTION, command);
+    cache.invalidate(SchemaObjectIdentifier.forTable(TENANT, KEYSPACE, CACHED_COLLECTION.table()));
+    execute(cache, CACHED_COLLECTION, command);
+
+    assertThat(executions).hasValue(2);
+  }
+
+  @Test
+  public void notCachedWhenNotListedDisabledOrTracing() {
+    var command = new EstimatedDocumentCountCommand();
+
+    var disabled = cache(false);
+    execute(disabled, CACHED_COLLECTION, command);
+    execute(disabled, CACHED_COLLECTION, command);
+    assertThat(executions).hasValue(2);
+
+    var enabled = cache(true);
+    execute(enabled, OTHER_COLLECTION, command);
+    execute(enabled, OTHER_COLLECTION, command);
+    assertThat(executions).hasValue(4);
+
+    execute(enabled, context(CACHED_COLLECTION, true), command);
+    execute(enabled, context(CACHED_COLLECTION, true), command);
+    assertThat(executions).hasValue(6);
+  }
+
+  @Test
+  public void cachedResultIsNotShared() {
+    var cache = cache(true);
+    var command = new EstimatedDocumentCountCommand();
+
+    var first = execute(cache, CACHED_COLLECTION, command);
+    first.status().put(CommandStatus.MORE_DATA, true);
+    var second = execute(cache, CACHED_COLLECTION, command);
+    second.status().put(CommandStatus.OK, 1);
+    var third = execute(cache, CACHED_COLLECTION, command);
+
+    assertThat(third.status())
+        .containsOnlyKeys(CommandStatus.COUNTED_DOCUMENT, CommandStatus.CACHED_RESULT_AGE);
+    assertThat(Map.copyOf(third.status())).containsEntry(CommandStatus.COUNTED_DOCUMENT, 1);
+  }
+
+  @Test
+  public void generationsOnlyForCachedCollections() {
+    var cache = cache(true);
+    var otherKeyspace = CqlIdentifier.fromInternal("other_ks");
+
+    cache.invalidate(OTHER_COLLECTION);
+    cache.invalidate(
+        SchemaObjectIdentifier.forTable(TENANT, otherKeyspace, OTHER_COLLECTION.table()));
+    cache.invalidate(SchemaObjectIdentifier.forKeyspace(TENANT, otherKeyspace));
+    assertThat(cache.generationCount()).isZero();
+
+    cache.invalidate(CACHED_COLLECTION);
+    cache.invalidate(SchemaObjectIdentifier.forKeyspace(TENANT, KEYSPACE));
+    assertThat(cache.generationCount()).isEqualTo(2);
+
+    // dropped when idle, results are still cached after
+    nanos.addAndGet(TimeUnit.MINUTES.toNanos(11));
+    assertThat(cache.generationCount()).isZero();
+    execute(cache, CACHED_COLLECTION, new EstimatedDocumentCountCommand());
+    execute(cache, CACHED_COLLECTION, new EstimatedDocumentCountCommand());
+    assertThat(executions).hasValue(1);
+  }
+}
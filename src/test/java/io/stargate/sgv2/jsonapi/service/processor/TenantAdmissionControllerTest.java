@@ -0,0 +1,190 @@
+package io.stargate.sgv2.jsonapi.service.processor;
+
+import static io.stargate.sgv2.jsonapi.metrics.MetricsConstants.MetricNames.COMMAND_ADMISSION_REJECTED_METRIC;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.helpers.test.UniAssertSubscriber;
+import io.stargate.sgv2.jsonapi.api.model.command.Command;
+import io.stargate.sgv2.jsonapi.api.model.command.CommandContext;
+import io.stargate.sgv2.jsonapi.api.model.command.CommandName;
+import io.stargate.sgv2.jsonapi.api.request.RequestContext;
+import io.stargate.sgv2.jsonapi.api.request.tenant.Tenant;
+import io.stargate.sgv2.jsonapi.config.DatabaseType;
+import io.stargate.sgv2.jsonapi.config.OperationsConfig;
+import io.stargate.sgv2.jsonapi.exception.APIException;
+import io.stargate.sgv2.jsonapi.exception.ServerException;
+import io.stargate.sgv2.jsonapi.metrics.CommandFeature;
+import io.stargate.sgv2.jsonapi.metrics.CommandFeatures;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+
+public class TenantAdmissionControllerTest {
+
+  private static final Tenant TENANT_A = Tenant.create(DatabaseType.ASTRA, "tenant-a");
+  private static final Tenant TENANT_B = Tenant.create(DatabaseType.ASTRA, "tenant-b");
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private TenantAdmissionController controller(int maxCost, int maxTenantCost, int maxQueue) {
+    var admissionConfig = mock(OperationsConfig.AdmissionControlConfig.class);
+    when(admissionConfig.enabled()).thenReturn(true);
+    when(admissionConfig.maxCost()).thenReturn(maxCost);
+    when(admissionConfig.maxTenantCost()).thenReturn(maxTenantCost);
+    when(admissionConfig.maxTenantQueueSize()).thenReturn(maxQueue);
+    when(admissionConfig.maxQueueWaitMillis()).thenReturn(60_000L);
+    when(admissionConfig.tenantWeights()).thenReturn(Map.of());
+
+    var operationsConfig = mock(OperationsConfig.class);
+    when(operationsConfig.admissionControl()).thenReturn(admissionConfig);
+    return new TenantAdmissionController(operationsConfig, meterRegistry);
+  }
+
+  private static CommandContext<?> context(Tenant tenant) {
+    var requestContext = mock(RequestContext.class);
+    when(requestContext.tenant()).thenReturn(tenant);
+    CommandContext<?> commandContext = mock(CommandContext.class);
+    when(commandContext.requestContext()).thenReturn(requestContext);
+    when(commandContext.commandFeatures()).thenReturn(CommandFeatures.create());
+    return commandContext;
+  }
+
+  private static Command command(CommandName commandName) {
+    var command = mock(Command.class);
+    when(command.commandName()).thenReturn(commandName);
+    return command;
+  }
+
+  private static <T> UniAssertSubscriber<T> admit(
+      TenantAdmissionController controller, Tenant tenant, Uni<T> work) {
+    return controller
+        .admit(context(tenant), command(CommandName.FIND_ONE), () -> work)
+        .subscribe()
+        .withSubscriber(UniAssertSubscriber.create());
+  }
+
+  @Test
+  public void estimatesCost() {
+    assertThat(
+            TenantAdmissionController.estimateCost(
+                command(CommandName.FIND_ONE), CommandFeatures.create()))
+        .isEqualTo(1);
+    assertThat(
+            TenantAdmissionController.estimateCost(
+                command(CommandName.FIND), CommandFeatures.of(CommandFeature.VECTORIZE)))
+        .isEqualTo(4);
+    assertThat(
+            TenantAdmissionController.estimateCost(
+                command(CommandName.FIND_AND_RERANK), CommandFeatures.create()))
+        .isEqualTo(8);
+  }
+
+  @Test
+  public void admitsUnderLimits() {
+    var controller = controller(10, 10, 10);
+
+    admit(controller, TENANT_A, Uni.createFrom().item("done")).assertCompleted().assertItem("done");
+    assertThat(controller.inFlightCost()).isZero();
+    assertThat(controller.queueDepth()).isZero();
+  }
+
+  @Test
+  public void rejectsWhenTenantQueueFull() {
+    var controller = controller(1, 1, 1);
+    var blocker = new CompletableFuture<String>();
+
+    var running = admit(controller, TENANT_A, Uni.createFrom().completionStage(blocker));
+    var queued = admit(controller, TENANT_A, Uni.createFrom().item("queued"));
+    var rejected = admit(controller, TENANT_A, Uni.createFrom().item("rejected"));
+
+    running.assertNotTerminated();
+    queued.assertNotTerminated();
+    rejected.assertFailedWith(APIException.class);
+    assertThat(((APIException) rejected.getFailure()).code)
+        .isEqualTo(ServerException.Code.TENANT_OVERLOADED.name());
+    assertThat(meterRegistry.find(COMMAND_ADMISSION_REJECTED_METRIC).counter().count())
+        .isEqualTo(1);
+
+    blocker.complete("running");
+    running.assertCompleted();
+    queued.assertCompleted().assertItem("queued");
+    assertThat(controller.inFlightCost()).isZero();
+  }
+
+  @Test
+  public void fairOrderAcrossTenants() {
+    var controller = controller(1, 1, 10);
+    List<String> started = new ArrayList<>();
+    var blocker = new CompletableFuture<String>();
+
+    admit(controller, TENANT_A, Uni.createFrom().completionStage(blocker));
+    // tenant A queues two more before tenant B sends one
+    admit(controller, TENANT_A, Uni.createFrom().item(() -> started.add("a2")));
+    admit(controller, TENANT_A, Uni.createFrom().item(() -> started.add("a3")));
+    admit(controller, TENANT_B, Uni.createFrom().item(() -> started.add("b1")));
+    assertThat(controller.queueDepth()).isEqualTo(3);
+
+    blocker.complete("a1");
+    assertThat(started).containsExactly("b1", "a2", "a3");
+  }
+
+  @Test
+  public void tenantAtQuotaDoesNotBlockOthers() {
+    var controller = controller(10, 1, 10);
+    var blocker = new CompletableFuture<String>();
+
+    var runningA = admit(controller, TENANT_A, Uni.createFrom().completionStage(blocker));
+    var queuedA = admit(controller, TENANT_A, Uni.createFrom().item("a2"));
+    var runB = admit(controller, TENANT_B, Uni.createFrom().item("b1"));
+
+    runningA.assertNotTerminated();
+    queuedA.assertNotTerminated();
+    runB.assertCompleted().assertItem("b1");
+
+    blocker.complete("a1");
+    queuedA.assertCompleted().assertItem("a2");
+  }
+
+  @Test
+  public void releasesWhenWorkThrows() {
+    var controller = controller(1, 1, 10);
+
+    controller
+        .<String>admit(
+            context(TENANT_A),
+            command(CommandName.FIND_ONE),
+            () -> {
+              throw new IllegalArgumentException("invalid sort");
+            })
+        .subscribe()
+        .withSubscriber(UniAssertSubscriber.create())
+        .assertFailedWith(IllegalArgumentException.class, "invalid sort");
+    assertThat(controller.inFlightCost()).isZero();
+
+    // the tenant can still run commands
+    admit(controller, TENANT_A, Uni.createFrom().item("next")).assertCompleted().assertItem("next");
+  }
+
+  @Test
+  public void admitPageHoldsCostWhileReading() {
+    var controller = controller(10, 10, 10);
+    var page = new CompletableFuture<String>();
+
+    var pageRead =
+        controller
+            .admitPage(context(TENANT_A), () -> Uni.createFrom().completionStage(page))
+            .subscribe()
+            .withSubscriber(UniAssertSubscriber.create());
+    assertThat(controller.inFlightCost()).isEqualTo(2);
+
+    page.complete("page");
+    pageRead.assertCompleted().assertItem("page");
+    assertThat(controller.inFlightCost()).isZero();
+  }
+}
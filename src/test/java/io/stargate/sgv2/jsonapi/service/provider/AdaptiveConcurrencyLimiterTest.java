@@ -0,0 +1,158 @@
+package io.stargate.sgv2.jsonapi.service.provider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.helpers.test.UniAssertSubscriber;
+import io.stargate.sgv2.jsonapi.config.OperationsConfig;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+  private static final RuntimeException OVERLOADED = new RuntimeException("overloaded");
+
+  private static OperationsConfig.ProviderConcurrencyConfig config(
+      int initialLimit, int maxQueueSize) {
+    var config = mock(OperationsConfig.ProviderConcurrencyConfig.class);
+    when(config.initialLimit()).thenReturn(initialLimit);
+    when(config.minLimit()).thenReturn(1);
+    when(config.maxLimit()).thenReturn(100);
+    when(config.backoffRatio()).thenReturn(0.5);
+    when(config.maxQueueSize()).thenReturn(maxQueueSize);
+    when(config.maxQueueWaitMillis()).thenReturn(60_000L);
+    return config;
+  }
+
+  private static <T> UniAssertSubscriber<T> run(AdaptiveConcurrencyLimiter limiter, Uni<T> call) {
+    return limiter
+        .execute(() -> call, t -> t == OVERLOADED, IllegalStateException::new)
+        .subscribe()
+        .withSubscriber(UniAssertSubscriber.create());
+  }
+
+  @Test
+  public void limitGrowsOnSuccess() {
+    var limiter = new AdaptiveConcurrencyLimiter(config(2, 10));
+
+    for (int i = 0; i < 4; i++) {
+      run(limiter, Uni.createFrom().item("ok")).assertCompleted().assertItem("ok");
+    }
+
+    assertThat(limiter.exactLimit()).isGreaterThan(3.0);
+    assertThat(limiter.inFlight()).isZero();
+  }
+
+  @Test
+  public void limitShrinksOnOverload() {
+    var limiter = new AdaptiveConcurrencyLimiter(config(10, 10));
+
+    run(limiter, Uni.createFrom().failure(OVERLOADED)).assertFailedWith(RuntimeException.class);
+    assertThat(limiter.limit()).isEqualTo(5);
+
+    // other failures do not change the limit
+    run(limiter, Uni.createFrom().failure(new RuntimeException("bad key")))
+        .assertFailedWith(RuntimeException.class);
+    assertThat(limiter.limit()).isEqualTo(5);
+    assertThat(limiter.inFlight()).isZero();
+  }
+
+  @Test
+  public void rejectsWhenQueueFull() {
+    var limiter = new AdaptiveConcurrencyLimiter(config(1, 1));
+    var blocker = new CompletableFuture<String>();
+
+    var first = run(limiter, Uni.createFrom().completionStage(blocker));
+    var second = run(limiter, Uni.createFrom().item("second"));
+    var third = run(limiter, Uni.createFrom().item("third"));
+
+    first.assertNotTerminated();
+    second.assertNotTerminated();
+    third.assertFailedWith(IllegalStateException.class);
+    assertThat(limiter.rejectedCount()).isEqualTo(1);
+
+    blocker.complete("first");
+    first.assertCompleted().assertItem("first");
+    second.assertCompleted().assertItem("second");
+    assertThat(limiter.inFlight()).isZero();
+    assertThat(limiter.queueDepth()).isZero();
+  }
+
+  @Test
+  public void dispatchesWaitersInOrder() {
+    var limiter = new AdaptiveConcurrencyLimiter(config(1, 10));
+    var blocker = new CompletableFuture<String>();
+    List<Integer> started = new ArrayList<>();
+
+    run(limiter, Uni.createFrom().completionStage(blocker));
+    for (int i = 0; i < 3; i++) {
+      int id = i;
+      run(limiter, Uni.createFrom().item(() -> started.add(id)));
+    }
+    assertThat(started).isEmpty();
+    assertThat(limiter.queueDepth()).isEqualTo(3);
+
+    blocker.complete("done");
+    assertThat(started).containsExactly(0, 1, 2);
+  }
+
+  @Test
+  public void releasesWhenCallThrows() {
+    var limiter = new AdaptiveConcurrencyLimiter(config(1, 10));
+
+    for (int i = 0; i < 3; i++) {
+      limiter
+          .<String>execute(
+              () -> {
+                throw new IllegalArgumentException("missing api key");
+              },
+              t -> t == OVERLOADED,
+              IllegalStateException::new)
+          .subscribe()
+          .withSubscriber(UniAssertSubscriber.create())
+          .assertFailedWith(IllegalArgumentException.class, "missing api key");
+    }
+
+    assertThat(limiter.inFlight()).isZero();
+    assertThat(limiter.limit()).isEqualTo(1);
+    run(limiter, Uni.createFrom().item("ok")).assertCompleted().assertItem("ok");
+  }
+
+  @Test
+  public void cancelledWaiterLeavesQueue() {
+    var limiter = new AdaptiveConcurrencyLimiter(config(1, 1));
+    var blocker = new CompletableFuture<String>();
+
+    var first = run(limiter, Uni.createFrom().completionStage(blocker));
+    var second = run(limiter, Uni.createFrom().item("second"));
+    second.cancel();
+
+    // the cancelled waiter does not fill the queue
+    assertThat(limiter.queueDepth()).isZero();
+    var third = run(limiter, Uni.createFrom().item("third"));
+    third.assertNotTerminated();
+    assertThat(limiter.rejectedCount()).isZero();
+
+    blocker.complete("first");
+    first.assertCompleted().assertItem("first");
+    third.assertCompleted().assertItem("third");
+    second.assertNotTerminated();
+    assertThat(limiter.inFlight()).isZero();
+  }
+
+  @Test
+  public void waiterStartedOutsideLock() {
+    var limiter = new AdaptiveConcurrencyLimiter(config(1, 10));
+    var blocker = new CompletableFuture<String>();
+
+    run(limiter, Uni.createFrom().completionStage(blocker));
+    var waiter = run(limiter, Uni.createFrom().item(() -> Thread.holdsLock(limiter)));
+
+    blocker.complete("done");
+    waiter.assertCompleted().assertItem(false);
+  }
+}
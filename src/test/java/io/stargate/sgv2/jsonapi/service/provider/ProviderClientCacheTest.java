@@ -0,0 +1,128 @@
+package io.stargate.sgv2.jsonapi.service.provider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.stargate.sgv2.jsonapi.config.OperationsConfig;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+public class ProviderClientCacheTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final AtomicInteger created = new AtomicInteger();
+  // closes waiting for the close delay, run by the test
+  private final List<Runnable> pendingCloses = new ArrayList<>();
+
+  private ProviderClientCache cache(boolean enabled) {
+    return cache(enabled, 100);
+  }
+
+  private ProviderClientCache cache(boolean enabled, int maxSize) {
+    var config = mock(OperationsConfig.ProviderClientsConfig.class);
+    when(config.enabled()).thenReturn(enabled);
+    when(config.maxSize()).thenReturn(maxSize);
+    when(config.maxIdleMillis()).thenReturn(600_000L);
+    when(config.closeDelayMillis()).thenReturn(300_000L);
+    var operationsConfig = mock(OperationsConfig.class);
+    when(operationsConfig.providerClients()).thenReturn(config);
+    return new ProviderClientCache(
+        operationsConfig, meterRegistry, Runnable::run, pendingCloses::add);
+  }
+
+  private ProviderBase create() {
+    created.incrementAndGet();
+    return mock(ProviderBase.class);
+  }
+
+  private static ProviderClientCache.Key key(String modelName, Object... settings) {
+    return new ProviderClientCache.Key(
+        ModelType.EMBEDDING, ModelProvider.OPENAI, modelName, List.of(settings));
+  }
+
+  @Test
+  public void reusedForSameKey() {
+    var cache = cache(true);
+
+    var first = cache.get(key("model", "https://a", 1024), ProviderBase.class, this::create);
+    var second = cache.get(key("model", "https://a", 1024), ProviderBase.class, this::create);
+
+    assertThat(second).isSameAs(first);
+    assertThat(created).hasValue(1);
+  }
+
+  @Test
+  public void newForDifferentSettings() {
+    var cache = cache(true);
+
+    var first = cache.get(key("model", "https://a", 1024), ProviderBase.class, this::create);
+    var otherUrl = cache.get(key("model", "https://b", 1024), ProviderBase.class, this::create);
+    var otherDimension =
+        cache.get(key("model", "https://a", 512), ProviderBase.class, this::create);
+    var otherModel = cache.get(key("other", "https://a", 1024), ProviderBase.class, this::create);
+
+    assertThat(List.of(otherUrl, otherDimension, otherModel)).doesNotContain(first);
+    assertThat(created).hasValue(4);
+  }
+
+  @Test
+  public void notReusedWhenDisabled() {
+    var cache = cache(false);
+
+    var first = cache.get(key("model", "https://a", 1024), ProviderBase.class, this::create);
+    var second = cache.get(key("model", "https://a", 1024), ProviderBase.class, this::create);
+
+    assertThat(second).isNotSameAs(first);
+    assertThat(created).hasValue(2);
+  }
+
+  @Test
+  public void cacheMetrics() {
+    var cache = cache(true);
+    cache.get(key("model", "https://a", 1024), ProviderBase.class, this::create);
+    cache.get(key("model", "https://a", 1024), ProviderBase.class, this::create);
+
+    assertThat(
+            meterRegistry
+                .get("cache.gets")
+                .tag("cache", ProviderClientCache.CACHE_NAME)
+                .tag("result", "hit")
+                .counter()
+                .count())
+        .isEqualTo(1);
+    assertThat(
+            meterRegistry
+                .get("cache.size")
+                .tag("cache", ProviderClientCache.CACHE_NAME)
+                .gauge()
+                .value())
+        .isEqualTo(1);
+  }
+
+  @Test
+  public void evictedProviderClosedAfterDelay() {
+    var cache = cache(true, 1);
+
+    var first = cache.get(key("model", "https://a", 1024), ProviderBase.class, this::create);
+    var second = cache.get(key("model", "https://b", 1024), ProviderBase.class, this::create);
+    cache.cleanUp();
+
+    // one of the providers is evicted, it may still be in use so is closed only after the delay
+    assertThat(pendingCloses).hasSize(1);
+    verify(first, never()).close();
+    verify(second, never()).close();
+
+    pendingCloses.removeFirst().run();
+    assertThat(
+            mockingDetails(first).getInvocations().size()
+                + mockingDetails(second).getInvocations().size())
+        .isEqualTo(1);
+  }
+}
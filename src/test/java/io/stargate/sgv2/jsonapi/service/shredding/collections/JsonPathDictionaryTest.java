@@ -0,0 +1,80 @@
+package io.stargate.sgv2.jsonapi.service.shredding.collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+public class JsonPathDictionaryTest {
+
+  private static JsonPath property(JsonPath.Builder builder, String propName) {
+    return builder.property(propName).build();
+  }
+
+  @Test
+  public void sameInstanceForSamePath() {
+    var dictionary = new JsonPathDictionary(JsonPathDictionary.DEFAULT_MAX_SIZE, 1);
+
+    var first = JsonPath.rootBuilder(dictionary).property("address");
+    var firstCity = property(first.nestedObjectBuilder(), "city");
+    var second = JsonPath.rootBuilder(dictionary).property("address");
+    var secondCity = property(second.nestedObjectBuilder(), "city");
+
+    assertThat(secondCity).isSameAs(firstCity);
+    assertThat(secondCity.toString()).isSameAs(firstCity.toString());
+    assertThat(secondCity).isEqualTo(property(JsonPath.rootBuilder(), "address.city"));
+    assertThat(dictionary.size()).isEqualTo(2);
+  }
+
+  @Test
+  public void arrayElementsInterned() {
+    var dictionary = new JsonPathDictionary(JsonPathDictionary.DEFAULT_MAX_SIZE, 1);
+
+    var tags = JsonPath.rootBuilder(dictionary).property("tags").nestedArrayBuilder();
+    var element = tags.index(1).build();
+
+    assertThat(element).isEqualTo(JsonPath.from("tags.1", true));
+    assertThat(tags.index(1).build()).isSameAs(element);
+  }
+
+  @Test
+  public void fullDictionaryBuildsPaths() {
+    var dictionary = new JsonPathDictionary(1, 1);
+
+    var interned = property(JsonPath.rootBuilder(dictionary), "a");
+    var notInterned = property(JsonPath.rootBuilder(dictionary), "b");
+
+    assertThat(property(JsonPath.rootBuilder(dictionary), "a")).isSameAs(interned);
+    assertThat(notInterned).isEqualTo(JsonPath.from("b"));
+    assertThat(property(JsonPath.rootBuilder(dictionary), "b")).isNotSameAs(notInterned);
+    assertThat(dictionary.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void addedOnceSeenTwice() {
+    var dictionary = new JsonPathDictionary();
+
+    var first = property(JsonPath.rootBuilder(dictionary), "a");
+    var second = property(JsonPath.rootBuilder(dictionary), "a");
+
+    assertThat(second).isEqualTo(first).isNotSameAs(first);
+    assertThat(property(JsonPath.rootBuilder(dictionary), "a")).isSameAs(second);
+    assertThat(dictionary.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void pathsSeenOnceDoNotFillDictionary() {
+    var dictionary = new JsonPathDictionary(100);
+
+    // far more paths used once than the dictionary can hold, and one path every document has
+    for (int i = 0; i < 10_000; i++) {
+      property(JsonPath.rootBuilder(dictionary), "id-" + i);
+      if (i % 10 == 0) {
+        property(JsonPath.rootBuilder(dictionary), "name");
+      }
+    }
+
+    assertThat(dictionary.size()).isEqualTo(1);
+    assertThat(property(JsonPath.rootBuilder(dictionary), "name"))
+        .isSameAs(property(JsonPath.rootBuilder(dictionary), "name"));
+  }
+}